@@ -0,0 +1,230 @@
+package unitTests;
+
+import static org.junit.Assert.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InvalidObjectException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.lang.reflect.Field;
+import java.util.ConcurrentModificationException;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import utilities.Iterator;
+
+import implementations.ArrayBSTree;
+
+/**
+ * Class Description: Unit tests for the array-backed binary search tree
+ * ArrayBSTree.
+ */
+
+public class ArrayBSTreeTest
+{
+	// Attributes
+	private ArrayBSTree<Integer> tree;
+
+	/**
+	 * Initializes a new ArrayBSTree instance before each test.
+	 * 
+	 * @throws java.lang.Exception
+	 */
+	@Before
+	public void setUp() throws Exception
+	{
+		tree = new ArrayBSTree<Integer>( 2 );
+	}
+
+	/**
+	 * Cleans up instances used after each test.
+	 * 
+	 * @throws java.lang.Exception
+	 */
+	@After
+	public void tearDown() throws Exception
+	{
+		tree = null;
+	}
+
+	/**
+	 * Test method for {@link implementations.ArrayBSTree#add(Comparable)} to grow
+	 * the arrays and keep every element searchable.
+	 */
+	@Test
+	public void testAdd_Grow()
+	{
+		assertTrue( tree.add( 44 ) );
+		assertTrue( tree.add( 22 ) );
+		assertTrue( tree.add( 66 ) );
+		assertTrue( tree.add( 11 ) );
+		assertTrue( tree.add( 55 ) );
+		assertFalse( "Failed to reject duplicate.", tree.add( 22 ) );
+
+		assertEquals( "Failed to double capacity.", 8, tree.capacity() );
+		assertEquals( "Failed to update size correctly.", 5, tree.size() );
+		assertEquals( "Failed to update height correctly.", 3, tree.getHeight() );
+		assertEquals( "Failed to return the root element.", Integer.valueOf( 44 ), tree.getRoot().getElement() );
+		assertEquals( "Failed to find element.", Integer.valueOf( 55 ), tree.search( 55 ).getElement() );
+		assertNull( "Failed to return null.", tree.search( 33 ) );
+		assertTrue( "Failed to return true.", tree.contains( 11 ) );
+	}
+
+	/**
+	 * Test method for {@link implementations.ArrayBSTree#removeMin()} and
+	 * {@link implementations.ArrayBSTree#removeMax()} to release slots for reuse.
+	 */
+	@Test
+	public void testRemove_ReusesSlots()
+	{
+		for( int i = 1; i <= 8; i++ )
+		{
+			tree.add( i * 11 );
+		}
+		assertEquals( "Failed to update height correctly.", 8, tree.getHeight() );
+
+		assertEquals( "Failed to remove minimum value.", Integer.valueOf( 11 ), tree.removeMin().getElement() );
+		assertEquals( "Failed to remove maximum value.", Integer.valueOf( 88 ), tree.removeMax().getElement() );
+		assertEquals( "Failed to update height correctly.", 6, tree.getHeight() );
+
+		tree.add( 5 );
+		tree.add( 99 );
+		assertEquals( "Failed to reuse released slots.", 8, tree.capacity() );
+		assertEquals( "Failed to keep elements in order.", "[5, 22, 33, 44, 55, 66, 77, 99]", tree.toString() );
+
+		tree.clear();
+		assertNull( "Failed to return null.", tree.removeMin() );
+		assertEquals( "Failed to reset height.", 0, tree.getHeight() );
+	}
+
+	/**
+	 * Test method for the three iterators of {@link implementations.ArrayBSTree}.
+	 */
+	@Test
+	public void testIterators()
+	{
+		int[] keys = { 44, 22, 66, 11, 55, 33, 77 };
+		for( int key : keys )
+		{
+			tree.add( key );
+		}
+
+		assertEquals( "In-order iterator is out of order ", "11 22 33 44 55 66 77 ", join( tree.inorderIterator() ) );
+		assertEquals( "Preorder iterator is out of order ", "44 22 11 33 66 55 77 ", join( tree.preorderIterator() ) );
+		assertEquals( "Postorder iterator is out of order ", "11 33 22 55 77 66 44 ", join( tree.postorderIterator() ) );
+
+		Iterator<Integer> it = tree.inorderIterator();
+		tree.removeMin();
+		try
+		{
+			it.next();
+			fail( "Iterator failed to throw ConcurrentModificationException." );
+		}
+		catch( ConcurrentModificationException e )
+		{
+			assertTrue( true );
+		}
+	}
+
+	/**
+	 * Test method for the serialized form of {@link implementations.ArrayBSTree}
+	 * to restore the slots, including released ones, as they were.
+	 * 
+	 * @throws IOException if the in-memory stream fails
+	 * @throws ClassNotFoundException if the tree class cannot be loaded
+	 */
+	@Test
+	@SuppressWarnings( "unchecked" )
+	public void testSerialization() throws IOException, ClassNotFoundException
+	{
+		for( int i = 1; i <= 6; i++ )
+		{
+			tree.add( ( i * 37 ) % 50 );
+		}
+		tree.removeMin();
+
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		try( ObjectOutputStream out = new ObjectOutputStream( bytes ) )
+		{
+			out.writeObject( tree );
+		}
+		ArrayBSTree<Integer> copy;
+		try( ObjectInputStream in = new ObjectInputStream( new ByteArrayInputStream( bytes.toByteArray() ) ) )
+		{
+			copy = (ArrayBSTree<Integer>) in.readObject();
+		}
+
+		assertEquals( tree.toString(), copy.toString() );
+		assertEquals( "Failed to restore the shape.", join( tree.preorderIterator() ), join( copy.preorderIterator() ) );
+		assertTrue( "Failed to accept changes after restore.", copy.add( 1 ) );
+		assertEquals( "Failed to reuse the released slot.", tree.capacity(), copy.capacity() );
+	}
+
+	/**
+	 * Test method for the serialized form of {@link implementations.ArrayBSTree}
+	 * to reject child links that point outside the slots or back up the tree.
+	 * 
+	 * @throws Exception if the in-memory stream or reflection fails
+	 */
+	@Test
+	public void testSerialization_Corrupt() throws Exception
+	{
+		assertCorrupt( 1, 0 );
+		assertCorrupt( 2, 1000 );
+		assertCorrupt( 2, 2 );
+	}
+
+	/**
+	 * Serializes a three-element tree whose left link of one slot has been
+	 * overwritten and checks that reading it back fails.
+	 * 
+	 * @param slot the slot whose left link to overwrite
+	 * @param link the value to store
+	 * @throws Exception if the in-memory stream or reflection fails
+	 */
+	private void assertCorrupt( int slot, int link ) throws Exception
+	{
+		ArrayBSTree<Integer> corrupt = new ArrayBSTree<Integer>();
+		corrupt.add( 44 );
+		corrupt.add( 22 );
+		corrupt.add( 66 );
+		Field field = ArrayBSTree.class.getDeclaredField( "left" );
+		field.setAccessible( true );
+		( (int[]) field.get( corrupt ) )[slot] = link;
+
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		try( ObjectOutputStream out = new ObjectOutputStream( bytes ) )
+		{
+			out.writeObject( corrupt );
+		}
+		try( ObjectInputStream in = new ObjectInputStream( new ByteArrayInputStream( bytes.toByteArray() ) ) )
+		{
+			in.readObject();
+			fail( "Failed to reject left link " + link + " at slot " + slot + "." );
+		}
+		catch( InvalidObjectException e )
+		{
+			// expected
+		}
+	}
+
+	/**
+	 * Joins the remaining elements of an iterator, each followed by a space.
+	 * 
+	 * @param it the iterator to drain
+	 * @return the joined elements
+	 */
+	private String join( Iterator<Integer> it )
+	{
+		StringBuilder result = new StringBuilder();
+		while( it.hasNext() )
+		{
+			result.append( it.next() ).append( ' ' );
+		}
+		return result.toString();
+	}
+}
@@ -2,6 +2,19 @@ package unitTests;
 
 import static org.junit.Assert.*;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.stream.Collectors;
+
 import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
@@ -607,4 +620,845 @@ public class BSTreeTest
 	{
 		assertNull( "Failed to return maximum value.", tree.removeMax() );
 	}
+
+	/**
+	 * Test method for {@link implementations.BSTree#BSTree(boolean)} to keep the
+	 * height logarithmic when elements are added in sorted order.
+	 */
+	@Test
+	public void testBalanced_SortedInsertHeight()
+	{
+		BSTree<Integer> balancedTree = new BSTree<Integer>( true );
+		balancedTree.add( one );
+		balancedTree.add( two );
+		balancedTree.add( three );
+		balancedTree.add( four );
+		balancedTree.add( five );
+		balancedTree.add( six );
+		balancedTree.add( seven );
+
+		assertTrue( "Tree should be in balanced mode.", balancedTree.isBalanced() );
+		assertEquals( "Failed to update size correctly.", 7, balancedTree.size() );
+		assertEquals( "Failed to keep height balanced.", 3, balancedTree.getHeight() );
+		assertEquals( "Failed to rotate root.", four, balancedTree.getRoot().getElement() );
+	}
+
+	/**
+	 * Test method for {@link implementations.BSTree#BSTree(boolean)} to return
+	 * elements in natural order after rotations.
+	 */
+	@Test
+	public void testBalanced_InorderIterator()
+	{
+		BSTree<Integer> balancedTree = new BSTree<Integer>( true );
+		balancedTree.add( seven );
+		balancedTree.add( six );
+		balancedTree.add( five );
+		balancedTree.add( one );
+		balancedTree.add( two );
+		balancedTree.add( four );
+		balancedTree.add( three );
+
+		Integer[] shouldBe = { one, two, three, four, five, six, seven };
+		Iterator<Integer> it = balancedTree.inorderIterator();
+		int i = 0;
+		while( it.hasNext() )
+		{
+			assertEquals( "In-order iterator is out of order ", shouldBe[i++], it.next() );
+		}
+		assertEquals( "Failed to iterate over every element.", 7, i );
+	}
+
+	/**
+	 * Test method for {@link implementations.BSTree#removeMin()} and
+	 * {@link implementations.BSTree#removeMax()} to keep a balanced tree balanced.
+	 */
+	@Test
+	public void testBalanced_RemoveMinMax()
+	{
+		BSTree<Integer> balancedTree = new BSTree<Integer>( true );
+		for( int i = 1; i <= 100; i++ )
+		{
+			balancedTree.add( i );
+		}
+		assertEquals( "Failed to keep height balanced.", 7, balancedTree.getHeight() );
+
+		for( int i = 1; i <= 40; i++ )
+		{
+			assertEquals( "Failed to remove minimum value.", Integer.valueOf( i ), balancedTree.removeMin().getElement() );
+		}
+		for( int i = 100; i > 80; i-- )
+		{
+			assertEquals( "Failed to remove maximum value.", Integer.valueOf( i ), balancedTree.removeMax().getElement() );
+		}
+
+		assertEquals( "Failed to update size.", 40, balancedTree.size() );
+		assertTrue( "Failed to keep height balanced.", balancedTree.getHeight() <= 6 );
+		assertTrue( "Failed to keep remaining elements.", balancedTree.contains( 41 ) );
+		assertTrue( "Failed to keep remaining elements.", balancedTree.contains( 80 ) );
+	}
+
+	/**
+	 * Test method for {@link implementations.BSTree#add(java.lang.Comparable)} to
+	 * build and walk a degenerate tree far deeper than the call stack allows for
+	 * recursive operations.
+	 */
+	@Test
+	public void testDegenerateTree_StackSafe()
+	{
+		int count = 30000;
+		for( int i = 0; i < count; i++ )
+		{
+			tree.add( i );
+		}
+
+		assertEquals( "Failed to update size correctly.", count, tree.size() );
+		assertEquals( "Failed to return correct height.", count, tree.getHeight() );
+		assertEquals( "Failed to find deepest element.", Integer.valueOf( count - 1 ), tree.search( count - 1 ).getElement() );
+		assertFalse( "Failed to return false.", tree.contains( count ) );
+
+		int expected = 0;
+		Iterator<Integer> it = tree.inorderIterator();
+		while( it.hasNext() )
+		{
+			assertEquals( "In-order iterator is out of order ", Integer.valueOf( expected++ ), it.next() );
+		}
+		assertTrue( "Failed to iterate pre-order.", tree.preorderIterator().hasNext() );
+		assertTrue( "Failed to iterate post-order.", tree.postorderIterator().hasNext() );
+
+		assertEquals( "Failed to remove maximum value.", Integer.valueOf( count - 1 ), tree.removeMax().getElement() );
+		assertEquals( "Failed to remove minimum value.", Integer.valueOf( 0 ), tree.removeMin().getElement() );
+		assertEquals( "Failed to update size.", count - 2, tree.size() );
+	}
+
+	/**
+	 * Test method for {@link implementations.BSTree#add(java.lang.Comparable)} to
+	 * insert a large sorted sequence into a balanced tree.
+	 */
+	@Test
+	public void testBalanced_LargeSortedInsert()
+	{
+		BSTree<Integer> balancedTree = new BSTree<Integer>( true );
+		int count = 1000000;
+		for( int i = 0; i < count; i++ )
+		{
+			balancedTree.add( i );
+		}
+
+		assertEquals( "Failed to update size correctly.", count, balancedTree.size() );
+		assertTrue( "Failed to keep height balanced.", balancedTree.getHeight() <= 29 );
+		assertTrue( "Failed to find element.", balancedTree.contains( count / 2 ) );
+		assertEquals( "Failed to remove minimum value.", Integer.valueOf( 0 ), balancedTree.removeMin().getElement() );
+	}
+
+	/**
+	 * Test method for {@link implementations.BSTree#getHeight()} to stay correct
+	 * after every kind of mutation.
+	 */
+	@Test
+	public void testGetHeight_AfterMutations()
+	{
+		tree.add( four );
+		tree.add( two );
+		tree.add( one );
+		tree.add( six );
+		tree.add( seven );
+		assertEquals( "Failed to update height on add.", 3, tree.getHeight() );
+
+		tree.removeMin();
+		assertEquals( "Failed to keep height on removeMin.", 3, tree.getHeight() );
+		tree.removeMax();
+		assertEquals( "Failed to update height on removeMax.", 2, tree.getHeight() );
+		tree.removeMin();
+		tree.removeMin();
+		assertEquals( "Failed to update height when root is removed.", 1, tree.getHeight() );
+		tree.add( five );
+		tree.add( seven );
+		assertEquals( "Failed to update height on add.", 2, tree.getHeight() );
+
+		tree.clear();
+		assertEquals( "Failed to reset height on clear.", 0, tree.getHeight() );
+		tree.add( one );
+		assertEquals( "Failed to update height after clear.", 1, tree.getHeight() );
+	}
+
+	/**
+	 * Test method for {@link implementations.BSTree#inorderIterator()} to fail
+	 * fast when the tree is modified during iteration.
+	 */
+	@Test
+	public void testIterator_ConcurrentModification()
+	{
+		tree.add( four );
+		tree.add( two );
+		tree.add( six );
+
+		Iterator<Integer> it = tree.inorderIterator();
+		assertEquals( "Failed to return first element.", two, it.next() );
+		tree.add( one );
+		try
+		{
+			it.next();
+			fail( "Iterator failed to throw ConcurrentModificationException." );
+		}
+		catch( ConcurrentModificationException e )
+		{
+			assertTrue( true );
+		}
+	}
+
+	/**
+	 * Test method for {@link implementations.BSTree#postorderIterator()} to throw
+	 * NoSuchElementException when the iteration is exhausted.
+	 */
+	@Test
+	public void testIterator_NoSuchElement()
+	{
+		tree.add( four );
+		tree.add( two );
+
+		Iterator<Integer> it = tree.postorderIterator();
+		assertEquals( "Postorder iterator is out of order ", two, it.next() );
+		assertEquals( "Postorder iterator is out of order ", four, it.next() );
+		assertFalse( "Failed to return false.", it.hasNext() );
+		try
+		{
+			it.next();
+			fail( "Iterator failed to throw NoSuchElementException." );
+		}
+		catch( NoSuchElementException e )
+		{
+			assertTrue( true );
+		}
+	}
+
+	/**
+	 * Test method for
+	 * {@link implementations.BSTree#forEachInorder(java.util.function.Consumer)}
+	 * to visit every element in natural order.
+	 */
+	@Test
+	public void testForEachInorder()
+	{
+		tree.add( four );
+		tree.add( two );
+		tree.add( six );
+		tree.add( one );
+		tree.add( five );
+		tree.add( three );
+		tree.add( seven );
+
+		List<Integer> visited = new ArrayList<Integer>();
+		tree.forEachInorder( visited::add );
+
+		assertEquals( "Failed to visit elements in order.", Arrays.asList( one, two, three, four, five, six, seven ), visited );
+	}
+
+	/**
+	 * Test method for
+	 * {@link implementations.BSTree#forEachInorder(java.util.function.Consumer)}
+	 * to leave the tree intact when the action throws part way through.
+	 */
+	@Test
+	public void testForEachInorder_EarlyExit()
+	{
+		tree.add( four );
+		tree.add( two );
+		tree.add( six );
+		tree.add( one );
+		tree.add( five );
+
+		try
+		{
+			tree.forEachInorder( e -> {
+				if( e.equals( four ) )
+				{
+					throw new IllegalStateException();
+				}
+			} );
+			fail( "Traversal failed to propagate the exception." );
+		}
+		catch( IllegalStateException e )
+		{
+			assertTrue( true );
+		}
+
+		assertEquals( "Failed to keep size.", 5, tree.size() );
+		assertEquals( "Failed to keep height.", 3, tree.getHeight() );
+		assertEquals( "Failed to keep structure.", "[11, 22, 44, 55, 66]", tree.toString() );
+	}
+
+	/**
+	 * Test method for {@link implementations.BSTree#build(Comparable[])} to build
+	 * a balanced tree from sorted input containing duplicates.
+	 */
+	@Test
+	public void testBuild_SortedArray()
+	{
+		Integer[] elements = { one, two, two, three, four, five, five, six, seven };
+		BSTree<Integer> built = BSTree.build( elements );
+
+		assertEquals( "Failed to drop duplicates.", 7, built.size() );
+		assertEquals( "Failed to build a balanced tree.", 3, built.getHeight() );
+		assertEquals( "Failed to pick the middle element as root.", four, built.getRoot().getElement() );
+		assertEquals( "Failed to keep elements in order.", "[11, 22, 33, 44, 55, 66, 77]", built.toString() );
+		assertEquals( "Failed to leave the input untouched.", two, elements[2] );
+	}
+
+	/**
+	 * Test method for {@link implementations.BSTree#build(java.util.Collection)}
+	 * to sort unsorted input before building.
+	 */
+	@Test
+	public void testBuild_UnsortedList()
+	{
+		BSTree<Integer> built = BSTree.build( Arrays.asList( seven, three, one, five, three, six ) );
+
+		assertEquals( "Failed to drop duplicates.", 5, built.size() );
+		assertEquals( "Failed to build a balanced tree.", 3, built.getHeight() );
+		assertEquals( "Failed to keep elements in order.", "[11, 33, 55, 66, 77]", built.toString() );
+
+		assertTrue( "Failed to add to a built tree.", built.add( two ) );
+		assertEquals( "Failed to remove minimum value.", one, built.removeMin().getElement() );
+		assertEquals( "Failed to remove maximum value.", seven, built.removeMax().getElement() );
+		assertEquals( "Failed to update size.", 4, built.size() );
+	}
+
+	/**
+	 * Test method for {@link implementations.BSTree#build(utilities.Iterator)} to
+	 * rebuild a degenerate tree as a balanced one.
+	 */
+	@Test
+	public void testBuild_Iterator()
+	{
+		for( int i = 0; i < 1000; i++ )
+		{
+			tree.add( i );
+		}
+
+		BSTree<Integer> built = BSTree.build( tree.inorderIterator() );
+
+		assertEquals( "Failed to copy every element.", 1000, built.size() );
+		assertEquals( "Failed to build a balanced tree.", 10, built.getHeight() );
+		assertEquals( "Failed to keep elements in order.", tree.toString(), built.toString() );
+		assertEquals( "Failed to build an empty tree.", 0, BSTree.build( new Integer[0] ).size() );
+	}
+
+	/**
+	 * Test method for {@link implementations.BSTree#build(Comparable[])} to throw
+	 * NullPointerException when the input contains null.
+	 */
+	@Test
+	public void testBuild_NullPointerException()
+	{
+		try
+		{
+			BSTree.build( new Integer[] { one, null, three } );
+			fail( "Failed to throw NullPointerException." );
+		}
+		catch( NullPointerException e )
+		{
+			assertTrue( true );
+		}
+		try
+		{
+			BSTree.build( new Integer[] { three, one, null } );
+			fail( "Failed to throw NullPointerException." );
+		}
+		catch( NullPointerException e )
+		{
+			assertEquals( "Failed to reject null before sorting.", "Elements cannot contain null", e.getMessage() );
+		}
+	}
+
+	/**
+	 * Test method for {@link implementations.BSTree#addAll(java.util.Collection)}
+	 * to merge a batch into an existing tree and report the new elements.
+	 */
+	@Test
+	public void testAddAll_Collection()
+	{
+		tree.add( four );
+		tree.add( two );
+		tree.add( six );
+
+		int added = tree.addAll( Arrays.asList( seven, one, two, five, three, one ) );
+
+		assertEquals( "Failed to count new elements.", 4, added );
+		assertEquals( "Failed to update size correctly.", 7, tree.size() );
+		assertEquals( "Failed to update height correctly.", 3, tree.getHeight() );
+		assertEquals( "Failed to keep elements in order.", "[11, 22, 33, 44, 55, 66, 77]", tree.toString() );
+		assertEquals( "Failed to keep the root.", four, tree.getRoot().getElement() );
+		assertEquals( "Failed to report duplicates.", 0, tree.addAll( Arrays.asList( one, seven ) ) );
+	}
+
+	/**
+	 * Test method for {@link implementations.BSTree#addAll(Comparable[])} to land
+	 * a large batch under a single leaf as a balanced subtree.
+	 */
+	@Test
+	public void testAddAll_ArrayBelowLeaf()
+	{
+		tree.add( 0 );
+		Integer[] batch = new Integer[1023];
+		for( int i = 0; i < batch.length; i++ )
+		{
+			batch[i] = batch.length - i;
+		}
+
+		assertEquals( "Failed to count new elements.", 1023, tree.addAll( batch ) );
+		assertEquals( "Failed to update size correctly.", 1024, tree.size() );
+		assertEquals( "Failed to insert the batch as a balanced subtree.", 11, tree.getHeight() );
+		assertEquals( "Failed to remove minimum value.", Integer.valueOf( 0 ), tree.removeMin().getElement() );
+		assertEquals( "Failed to remove maximum value.", Integer.valueOf( 1023 ), tree.removeMax().getElement() );
+	}
+
+	/**
+	 * Test method for {@link implementations.BSTree#addAll(java.util.Collection)}
+	 * to keep a balanced tree balanced for small and large batches.
+	 */
+	@Test
+	public void testAddAll_Balanced()
+	{
+		BSTree<Integer> balancedTree = new BSTree<Integer>( true );
+		List<Integer> batch = new ArrayList<Integer>();
+		for( int i = 0; i < 1000; i += 2 )
+		{
+			batch.add( i );
+		}
+		assertEquals( "Failed to count new elements.", 500, balancedTree.addAll( batch ) );
+
+		assertEquals( "Failed to count new elements.", 2, balancedTree.addAll( Arrays.asList( 1, 3, 4 ) ) );
+
+		batch.clear();
+		for( int i = 0; i < 1000; i++ )
+		{
+			batch.add( i );
+		}
+		assertEquals( "Failed to count new elements.", 498, balancedTree.addAll( batch ) );
+		assertEquals( "Failed to update size correctly.", 1000, balancedTree.size() );
+		assertEquals( "Failed to keep height balanced.", 10, balancedTree.getHeight() );
+
+		int expected = 0;
+		Iterator<Integer> it = balancedTree.inorderIterator();
+		while( it.hasNext() )
+		{
+			assertEquals( "In-order iterator is out of order ", Integer.valueOf( expected++ ), it.next() );
+		}
+	}
+
+	/**
+	 * Test method for {@link implementations.BSTree#addAll(Comparable[])} to throw
+	 * NullPointerException and leave the tree unchanged when the batch contains
+	 * null.
+	 */
+	@Test
+	public void testAddAll_NullPointerException()
+	{
+		tree.add( four );
+		try
+		{
+			tree.addAll( new Integer[] { one, null } );
+			fail( "Failed to throw NullPointerException." );
+		}
+		catch( NullPointerException e )
+		{
+			assertEquals( "Failed to leave the tree unchanged.", 1, tree.size() );
+		}
+	}
+
+	/**
+	 * Test method for {@link implementations.BSTree#rank(java.lang.Comparable)}
+	 * and {@link implementations.BSTree#select(int)} to agree with sorted order.
+	 */
+	@Test
+	public void testRankAndSelect()
+	{
+		tree.add( four );
+		tree.add( two );
+		tree.add( six );
+		tree.add( one );
+		tree.add( five );
+		tree.add( three );
+		tree.add( seven );
+
+		Integer[] sorted = { one, two, three, four, five, six, seven };
+		for( int i = 0; i < sorted.length; i++ )
+		{
+			assertEquals( "Failed to return correct rank.", i, tree.rank( sorted[i] ) );
+			assertEquals( "Failed to select correct element.", sorted[i], tree.select( i ) );
+		}
+		assertEquals( "Failed to rank a missing element.", 3, tree.rank( 40 ) );
+		assertEquals( "Failed to rank beyond the maximum.", 7, tree.rank( 100 ) );
+
+		tree.removeMin();
+		tree.removeMax();
+		assertEquals( "Failed to update sizes after removal.", two, tree.select( 0 ) );
+		assertEquals( "Failed to update sizes after removal.", 2, tree.rank( four ) );
+	}
+
+	/**
+	 * Test method for {@link implementations.BSTree#select(int)} to throw
+	 * IndexOutOfBoundsException for an invalid index.
+	 */
+	@Test
+	public void testSelect_IndexOutOfBounds()
+	{
+		tree.add( one );
+		try
+		{
+			tree.select( 1 );
+			fail( "Failed to throw IndexOutOfBoundsException." );
+		}
+		catch( IndexOutOfBoundsException e )
+		{
+			assertTrue( true );
+		}
+	}
+
+	/**
+	 * Test method for {@link implementations.BSTree#median()} and
+	 * {@link implementations.BSTree#countBetween(Comparable, Comparable)}.
+	 */
+	@Test
+	public void testMedianAndCountBetween()
+	{
+		assertNull( "Failed to return null for an empty tree.", tree.median() );
+
+		BSTree<Integer> balancedTree = new BSTree<Integer>( true );
+		for( int i = 1; i <= 100; i++ )
+		{
+			balancedTree.add( i );
+		}
+
+		assertEquals( "Failed to return lower median.", Integer.valueOf( 50 ), balancedTree.median() );
+		assertEquals( "Failed to count inclusive range.", 11, balancedTree.countBetween( 10, 20 ) );
+		assertEquals( "Failed to count range past the ends.", 100, balancedTree.countBetween( -5, 500 ) );
+		assertEquals( "Failed to count an inverted range.", 0, balancedTree.countBetween( 20, 10 ) );
+
+		balancedTree.add( 101 );
+		assertEquals( "Failed to return median after add.", Integer.valueOf( 51 ), balancedTree.median() );
+	}
+
+	/**
+	 * Test method for
+	 * {@link implementations.BSTree#subTree(Comparable, boolean, Comparable, boolean)}
+	 * to return only the elements in range, honouring inclusive flags.
+	 */
+	@Test
+	public void testSubTree()
+	{
+		tree.add( four );
+		tree.add( two );
+		tree.add( six );
+		tree.add( one );
+		tree.add( five );
+		tree.add( three );
+		tree.add( seven );
+
+		assertEquals( "Failed to return inclusive range.", Arrays.asList( two, three, four, five ),
+				drain( tree.subTree( two, true, five, true ) ) );
+		assertEquals( "Failed to return exclusive range.", Arrays.asList( three, four ),
+				drain( tree.subTree( two, false, five, false ) ) );
+		assertEquals( "Failed to return range between elements.", Arrays.asList( three, four ),
+				drain( tree.subTree( 25, true, 50, true ) ) );
+		assertEquals( "Failed to return empty range.", Arrays.asList(),
+				drain( tree.subTree( 45, true, 50, true ) ) );
+		try
+		{
+			tree.subTree( five, true, two, true );
+			fail( "Failed to throw IllegalArgumentException." );
+		}
+		catch( IllegalArgumentException e )
+		{
+			assertTrue( true );
+		}
+	}
+
+	/**
+	 * Test method for {@link implementations.BSTree#headTree(Comparable, boolean)}
+	 * and {@link implementations.BSTree#tailTree(Comparable, boolean)}.
+	 */
+	@Test
+	public void testHeadTreeAndTailTree()
+	{
+		tree.add( four );
+		tree.add( two );
+		tree.add( six );
+		tree.add( one );
+		tree.add( five );
+
+		assertEquals( "Failed to return head range.", Arrays.asList( one, two ), drain( tree.headTree( four, false ) ) );
+		assertEquals( "Failed to return head range.", Arrays.asList( one, two, four ), drain( tree.headTree( four, true ) ) );
+		assertEquals( "Failed to return tail range.", Arrays.asList( five, six ), drain( tree.tailTree( four, false ) ) );
+		assertEquals( "Failed to return tail range.", Arrays.asList( four, five, six ), drain( tree.tailTree( four, true ) ) );
+		assertEquals( "Failed to return empty tail.", Arrays.asList(), drain( tree.tailTree( seven, true ) ) );
+	}
+
+	/**
+	 * Collects the remaining elements of an iterator into a list.
+	 * 
+	 * @param it the iterator to drain
+	 * @return the elements returned by the iterator, in order
+	 */
+	private List<Integer> drain( Iterator<Integer> it )
+	{
+		List<Integer> elements = new ArrayList<Integer>();
+		while( it.hasNext() )
+		{
+			elements.add( it.next() );
+		}
+		return elements;
+	}
+
+	/**
+	 * Test method for {@link implementations.BSTree#first()} and
+	 * {@link implementations.BSTree#last()} to track the extremes through
+	 * mutations.
+	 */
+	@Test
+	public void testFirstAndLast()
+	{
+		assertNull( "Failed to return null for an empty tree.", tree.first() );
+		assertNull( "Failed to return null for an empty tree.", tree.last() );
+
+		tree.add( four );
+		tree.add( two );
+		tree.add( six );
+		assertEquals( "Failed to return first element.", two, tree.first() );
+		assertEquals( "Failed to return last element.", six, tree.last() );
+
+		tree.add( one );
+		tree.add( seven );
+		assertEquals( "Failed to update first element on add.", one, tree.first() );
+		assertEquals( "Failed to update last element on add.", seven, tree.last() );
+
+		tree.removeMin();
+		tree.removeMax();
+		assertEquals( "Failed to update first element on removeMin.", two, tree.first() );
+		assertEquals( "Failed to update last element on removeMax.", six, tree.last() );
+		assertEquals( "Failed to leave the tree unchanged.", 3, tree.size() );
+
+		tree.clear();
+		assertNull( "Failed to reset first element on clear.", tree.first() );
+	}
+
+	/**
+	 * Test method for {@link implementations.BSTree#floor(Comparable)},
+	 * {@link implementations.BSTree#ceiling(Comparable)},
+	 * {@link implementations.BSTree#lower(Comparable)} and
+	 * {@link implementations.BSTree#higher(Comparable)}.
+	 */
+	@Test
+	public void testFloorCeilingLowerHigher()
+	{
+		tree.add( four );
+		tree.add( two );
+		tree.add( six );
+
+		assertEquals( "Failed to return floor of present element.", four, tree.floor( four ) );
+		assertEquals( "Failed to return floor between elements.", two, tree.floor( 30 ) );
+		assertNull( "Failed to return null floor.", tree.floor( one ) );
+		assertEquals( "Failed to return ceiling of present element.", four, tree.ceiling( four ) );
+		assertEquals( "Failed to return ceiling between elements.", six, tree.ceiling( 50 ) );
+		assertNull( "Failed to return null ceiling.", tree.ceiling( seven ) );
+		assertEquals( "Failed to return lower element.", two, tree.lower( four ) );
+		assertNull( "Failed to return null lower.", tree.lower( two ) );
+		assertEquals( "Failed to return higher element.", six, tree.higher( four ) );
+		assertNull( "Failed to return null higher.", tree.higher( six ) );
+	}
+
+	/**
+	 * Test method for {@link implementations.BSTree#stream()} to return the
+	 * elements in order with the sorted-set characteristics.
+	 */
+	@Test
+	public void testStream()
+	{
+		tree.add( four );
+		tree.add( two );
+		tree.add( six );
+		tree.add( one );
+
+		assertEquals( "Failed to stream elements in order.", Arrays.asList( one, two, four, six ),
+				tree.stream().collect( Collectors.toList() ) );
+		Spliterator<Integer> spliterator = tree.stream().spliterator();
+		assertTrue( "Failed to report characteristics.", spliterator.hasCharacteristics(
+				Spliterator.ORDERED | Spliterator.SORTED | Spliterator.DISTINCT | Spliterator.SIZED ) );
+		assertEquals( "Failed to report size.", 4, spliterator.estimateSize() );
+		assertEquals( "Failed to stream empty tree.", 0, new BSTree<Integer>().stream().count() );
+
+		java.util.Iterator<Integer> it = tree.stream().iterator();
+		it.next();
+		tree.add( seven );
+		try
+		{
+			it.next();
+			fail( "Failed to detect modification during streaming." );
+		}
+		catch( ConcurrentModificationException e )
+		{
+			// expected
+		}
+	}
+
+	/**
+	 * Test method for {@link implementations.BSTree#parallelStream()} to split
+	 * a large tree and still produce ordered results.
+	 */
+	@Test
+	public void testParallelStream()
+	{
+		int count = 200000;
+		Integer[] values = new Integer[count];
+		for( int i = 0; i < count; i++ )
+		{
+			values[i] = i;
+		}
+		BSTree<Integer> large = BSTree.build( values );
+
+		long expectedSum = (long) count * ( count - 1 ) / 2;
+		assertEquals( "Failed to sum in parallel.", expectedSum,
+				large.parallelStream().mapToLong( Integer::longValue ).sum() );
+		List<Integer> evens = large.parallelStream().filter( x -> x % 2 == 0 ).collect( Collectors.toList() );
+		assertEquals( count / 2, evens.size() );
+		for( int i = 0; i < evens.size(); i++ )
+		{
+			assertEquals( "Failed to keep encounter order.", i * 2, (int) evens.get( i ) );
+		}
+
+		Spliterator<Integer> right = large.stream().spliterator();
+		Spliterator<Integer> left = right.trySplit();
+		assertEquals( "Failed to split in half.", count / 2, left.estimateSize() );
+		assertEquals( count / 2, right.estimateSize() );
+	}
+
+	/**
+	 * Test method for {@link implementations.BSTree#buildParallel(Comparable[])}
+	 * to build the same balanced tree as a sequential build from unsorted
+	 * input with duplicates.
+	 */
+	@Test
+	public void testBuildParallel()
+	{
+		int count = 100000;
+		Integer[] values = new Integer[count + 1000];
+		for( int i = 0; i < count; i++ )
+		{
+			values[i] = (int) ( (long) i * 7919 % count );
+		}
+		for( int i = 0; i < 1000; i++ )
+		{
+			values[count + i] = i * 3;
+		}
+
+		BSTree<Integer> parallel = BSTree.buildParallel( values );
+		BSTree<Integer> sequential = BSTree.build( values );
+		assertEquals( "Failed to drop duplicates.", count, parallel.size() );
+		assertEquals( "Failed to build minimum height.", 17, parallel.getHeight() );
+		assertEquals( sequential.getRoot().getElement(), parallel.getRoot().getElement() );
+		assertEquals( 0, (int) parallel.first() );
+		assertEquals( count - 1, (int) parallel.last() );
+		assertEquals( "Failed to link subtree sizes.", 54321, (int) parallel.select( 54321 ) );
+
+		Iterator<Integer> it = parallel.inorderIterator();
+		for( int i = 0; i < count; i++ )
+		{
+			assertEquals( i, (int) it.next() );
+		}
+		assertEquals( "Failed to remove from built tree.", count - 1, (int) parallel.removeMax().getElement() );
+		assertTrue( parallel.add( count ) );
+		assertEquals( 0, BSTree.buildParallel( new Integer[0] ).size() );
+	}
+
+	/**
+	 * Test method for the serialized form of {@link implementations.BSTree} to
+	 * survive a deep degenerate tree and come back balanced, and for
+	 * {@link implementations.BSTreeNode} to write such a subtree without
+	 * overflowing the stack.
+	 * 
+	 * @throws IOException if the in-memory stream fails
+	 * @throws ClassNotFoundException if the tree class cannot be loaded
+	 */
+	@Test
+	@SuppressWarnings( "unchecked" )
+	public void testSerialization() throws IOException, ClassNotFoundException
+	{
+		int count = 20000;
+		BSTree<Integer> deep = new BSTree<Integer>();
+		for( int i = 0; i < count; i++ )
+		{
+			deep.add( i );
+		}
+		assertEquals( count, deep.getHeight() );
+
+		ByteArrayOutputStream leaf = new ByteArrayOutputStream();
+		try( ObjectOutputStream out = new ObjectOutputStream( leaf ) )
+		{
+			out.writeObject( deep.search( count - 1 ) );
+		}
+		assertTrue( "Failed to serialize a node without its ancestors.", leaf.size() < 1000 );
+
+		ByteArrayOutputStream chain = new ByteArrayOutputStream();
+		try( ObjectOutputStream out = new ObjectOutputStream( chain ) )
+		{
+			out.writeObject( deep.getRoot() );
+		}
+		BSTreeNode<Integer> node;
+		try( ObjectInputStream in = new ObjectInputStream( new ByteArrayInputStream( chain.toByteArray() ) ) )
+		{
+			node = (BSTreeNode<Integer>) in.readObject();
+		}
+		for( int i = 0; i < count - 1; i++ )
+		{
+			assertEquals( i, (int) node.getElement() );
+			assertNull( node.getLeft() );
+			node = node.getRight();
+		}
+		assertEquals( "Failed to restore a deep subtree.", count - 1, (int) node.getElement() );
+		assertTrue( node.isLeaf() );
+
+		BSTree<Integer> copy = roundTrip( deep );
+		assertEquals( "Failed to restore size.", count, copy.size() );
+		assertEquals( "Failed to rebuild balanced.", 15, copy.getHeight() );
+		assertFalse( copy.isBalanced() );
+		assertEquals( 0, (int) copy.first() );
+		assertEquals( count - 1, (int) copy.last() );
+		Iterator<Integer> it = copy.inorderIterator();
+		for( int i = 0; i < count; i++ )
+		{
+			assertEquals( i, (int) it.next() );
+		}
+		assertTrue( "Failed to accept changes after restore.", copy.add( -1 ) );
+		assertEquals( -1, (int) copy.removeMin().getElement() );
+
+		BSTree<Integer> balanced = new BSTree<Integer>( true );
+		balanced.add( four );
+		BSTree<Integer> balancedCopy = roundTrip( balanced );
+		assertTrue( "Failed to restore balanced mode.", balancedCopy.isBalanced() );
+		assertEquals( "[" + four + "]", balancedCopy.toString() );
+		assertTrue( roundTrip( new BSTree<Integer>() ).isEmpty() );
+	}
+
+	/**
+	 * Serializes a tree to memory and reads it back.
+	 * 
+	 * @param original the tree to copy
+	 * @return the deserialized copy
+	 * @throws IOException if the in-memory stream fails
+	 * @throws ClassNotFoundException if the tree class cannot be loaded
+	 */
+	@SuppressWarnings( "unchecked" )
+	private static BSTree<Integer> roundTrip( BSTree<Integer> original ) throws IOException, ClassNotFoundException
+	{
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		try( ObjectOutputStream out = new ObjectOutputStream( bytes ) )
+		{
+			out.writeObject( original );
+		}
+		try( ObjectInputStream in = new ObjectInputStream( new ByteArrayInputStream( bytes.toByteArray() ) ) )
+		{
+			return (BSTree<Integer>) in.readObject();
+		}
+	}
 }
@@ -0,0 +1,195 @@
+package unitTests;
+
+import static org.junit.Assert.*;
+
+import java.util.ConcurrentModificationException;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import utilities.Iterator;
+
+import implementations.BTree;
+
+/**
+ * Class Description: Unit tests for the B-tree implementation BTree.
+ */
+
+public class BTreeTest
+{
+	// Attributes
+	private BTree<Integer> tree;
+
+	/**
+	 * Initializes a new BTree instance of minimum degree 2 before each test.
+	 * 
+	 * @throws java.lang.Exception
+	 */
+	@Before
+	public void setUp() throws Exception
+	{
+		tree = new BTree<Integer>( 2 );
+	}
+
+	/**
+	 * Cleans up instances used after each test.
+	 * 
+	 * @throws java.lang.Exception
+	 */
+	@After
+	public void tearDown() throws Exception
+	{
+		tree = null;
+	}
+
+	/**
+	 * Test method for {@link implementations.BTree#add(Comparable)} to split
+	 * full nodes and keep every leaf at the same depth.
+	 */
+	@Test
+	public void testAdd()
+	{
+		for( int i = 1; i <= 10; i++ )
+		{
+			assertTrue( tree.add( i ) );
+		}
+		assertFalse( "Failed to reject duplicate.", tree.add( 5 ) );
+
+		assertEquals( 10, tree.size() );
+		assertEquals( 3, tree.getHeight() );
+		assertEquals( 4, (int) tree.getRoot().getElement() );
+		assertTrue( tree.contains( 10 ) );
+		assertEquals( 7, (int) tree.search( 7 ).getElement() );
+		assertNull( tree.search( 11 ) );
+	}
+
+	/**
+	 * Test method for the iterators of {@link implementations.BTree}, defined
+	 * over the keys of each node.
+	 */
+	@Test
+	public void testIterators()
+	{
+		for( int i = 1; i <= 10; i++ )
+		{
+			tree.add( i );
+		}
+		assertEquals( "[1, 2, 3, 4, 5, 6, 7, 8, 9, 10]", tree.toString() );
+		assertEquals( "4 2 1 3 6 8 5 7 9 10", join( tree.preorderIterator() ) );
+		assertEquals( "1 3 2 5 7 9 10 6 8 4", join( tree.postorderIterator() ) );
+
+		Iterator<Integer> it = tree.inorderIterator();
+		tree.add( 11 );
+		try
+		{
+			it.next();
+			fail( "Failed to detect modification during iteration." );
+		}
+		catch( ConcurrentModificationException e )
+		{
+			// expected
+		}
+	}
+
+	/**
+	 * Test method for the iterators of {@link implementations.BTree} to report
+	 * a modification from hasNext() after removals have merged nodes.
+	 */
+	@Test
+	public void testIterators_ModifiedByMerge()
+	{
+		for( int i = 1; i <= 10; i++ )
+		{
+			tree.add( i );
+		}
+		Iterator<Integer> it = tree.postorderIterator();
+		assertEquals( 1, (int) it.next() );
+		while( tree.getHeight() == 3 )
+		{
+			tree.removeMax();
+		}
+		try
+		{
+			it.hasNext();
+			fail( "Failed to detect merges during iteration." );
+		}
+		catch( ConcurrentModificationException e )
+		{
+			// expected
+		}
+	}
+
+	/**
+	 * Test method for {@link implementations.BTree#removeMin()} and
+	 * {@link implementations.BTree#removeMax()} to borrow from and merge
+	 * siblings until the tree is empty.
+	 */
+	@Test
+	public void testRemoveMinMax()
+	{
+		for( int i = 1; i <= 1000; i++ )
+		{
+			tree.add( ( i * 37 ) % 1000 );
+		}
+		for( int low = 0, high = 999; low <= high; low++, high-- )
+		{
+			assertEquals( low, (int) tree.removeMin().getElement() );
+			if( low < high )
+			{
+				assertEquals( high, (int) tree.removeMax().getElement() );
+			}
+			assertFalse( tree.contains( low ) );
+		}
+		assertTrue( tree.isEmpty() );
+		assertEquals( 0, tree.getHeight() );
+		assertNull( tree.removeMin() );
+		assertNull( tree.removeMax() );
+	}
+
+	/**
+	 * Test method for {@link implementations.BTree#BTree(int)} to reject
+	 * degrees below two and keep large-degree trees shallow.
+	 */
+	@Test
+	public void testMinimumDegree()
+	{
+		try
+		{
+			new BTree<Integer>( 1 );
+			fail( "Failed to reject a minimum degree of 1." );
+		}
+		catch( IllegalArgumentException e )
+		{
+			// expected
+		}
+
+		BTree<Integer> wide = new BTree<Integer>();
+		for( int i = 0; i < 100000; i++ )
+		{
+			wide.add( i );
+		}
+		assertEquals( 32, wide.getMinimumDegree() );
+		assertTrue( "Failed to keep a wide tree shallow.", wide.getHeight() <= 4 );
+	}
+
+	/**
+	 * Joins the elements returned by an iterator with spaces.
+	 * 
+	 * @param it the iterator to drain
+	 * @return the elements separated by single spaces
+	 */
+	private static String join( Iterator<Integer> it )
+	{
+		StringBuilder result = new StringBuilder();
+		while( it.hasNext() )
+		{
+			if( result.length() > 0 )
+			{
+				result.append( ' ' );
+			}
+			result.append( it.next() );
+		}
+		return result.toString();
+	}
+}
@@ -0,0 +1,264 @@
+package unitTests;
+
+import static org.junit.Assert.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import utilities.Iterator;
+
+import implementations.ConcurrentBSTree;
+
+/**
+ * Class Description: Unit tests for the thread-safe binary search tree
+ * ConcurrentBSTree.
+ */
+
+public class ConcurrentBSTreeTest
+{
+	// Attributes
+	private ConcurrentBSTree<Integer> tree;
+
+	/**
+	 * Initializes a new balanced ConcurrentBSTree instance before each test.
+	 * 
+	 * @throws java.lang.Exception
+	 */
+	@Before
+	public void setUp() throws Exception
+	{
+		tree = new ConcurrentBSTree<Integer>( true );
+	}
+
+	/**
+	 * Cleans up instances used after each test.
+	 * 
+	 * @throws java.lang.Exception
+	 */
+	@After
+	public void tearDown() throws Exception
+	{
+		tree = null;
+	}
+
+	/**
+	 * Test method for {@link implementations.ConcurrentBSTree#add(Comparable)},
+	 * {@link implementations.ConcurrentBSTree#search(Comparable)} and the
+	 * removals on a single thread.
+	 */
+	@Test
+	public void testSingleThread()
+	{
+		assertTrue( tree.isEmpty() );
+		assertTrue( tree.add( 20 ) );
+		assertTrue( tree.add( 10 ) );
+		assertTrue( tree.add( 30 ) );
+		assertFalse( "Failed to reject duplicate.", tree.add( 10 ) );
+
+		assertEquals( 3, tree.size() );
+		assertEquals( 2, tree.getHeight() );
+		assertEquals( 20, (int) tree.getRoot().getElement() );
+		assertEquals( 30, (int) tree.search( 30 ).getElement() );
+		assertNull( tree.search( 25 ) );
+		assertEquals( 10, (int) tree.removeMin().getElement() );
+		assertEquals( 30, (int) tree.removeMax().getElement() );
+		assertEquals( "[20]", tree.toString() );
+
+		tree.clear();
+		assertTrue( tree.isEmpty() );
+	}
+
+	/**
+	 * Test method for {@link implementations.ConcurrentBSTree#inorderIterator()}
+	 * to keep iterating over its copy while the tree changes.
+	 */
+	@Test
+	public void testIterator_Snapshot()
+	{
+		for( int i = 1; i <= 5; i++ )
+		{
+			tree.add( i );
+		}
+		Iterator<Integer> it = tree.inorderIterator();
+		tree.add( 6 );
+		tree.removeMin();
+
+		int expected = 1;
+		while( it.hasNext() )
+		{
+			assertEquals( expected++, (int) it.next() );
+		}
+		assertEquals( 6, expected );
+	}
+
+	/**
+	 * Test method for {@link implementations.ConcurrentBSTree#contains(Comparable)}
+	 * to always find stable elements while other threads add and remove
+	 * elements around them.
+	 * 
+	 * @throws InterruptedException if a thread is interrupted
+	 */
+	@Test
+	public void testContains_ConcurrentWriters() throws InterruptedException
+	{
+		for( int i = 0; i < 1000; i++ )
+		{
+			tree.add( i * 4 );
+		}
+		AtomicReference<String> failure = new AtomicReference<String>();
+		List<Thread> threads = new ArrayList<Thread>();
+
+		for( int w = 0; w < 2; w++ )
+		{
+			final int offset = w + 1;
+			threads.add( new Thread( () ->
+			{
+				for( int i = 0; i < 20000; i++ )
+				{
+					tree.add( 4000 + i * 2 + offset );
+					if( i % 2 == 0 )
+					{
+						tree.removeMax();
+					}
+				}
+			} ) );
+		}
+		for( int r = 0; r < 4; r++ )
+		{
+			threads.add( new Thread( () ->
+			{
+				for( int i = 0; i < 50000; i++ )
+				{
+					int stable = ( i % 500 ) * 4;
+					if( !tree.contains( stable ) )
+					{
+						failure.compareAndSet( null, "Lost element " + stable );
+					}
+				}
+			} ) );
+		}
+		for( Thread thread : threads )
+		{
+			thread.start();
+		}
+		for( Thread thread : threads )
+		{
+			thread.join();
+		}
+
+		assertNull( failure.get() );
+		int count = 0;
+		int previous = Integer.MIN_VALUE;
+		Iterator<Integer> it = tree.inorderIterator();
+		while( it.hasNext() )
+		{
+			int value = it.next();
+			assertTrue( "Tree out of order after concurrent writes.", value > previous );
+			previous = value;
+			count++;
+		}
+		assertEquals( tree.size(), count );
+	}
+
+	/**
+	 * Test method for {@link implementations.ConcurrentBSTree#contains(Comparable)}
+	 * to retry under the read lock when a comparison fails during the
+	 * optimistic read.
+	 */
+	@Test
+	public void testContains_RetriesAfterException()
+	{
+		ConcurrentBSTree<Flaky> flaky = new ConcurrentBSTree<Flaky>();
+		flaky.add( new Flaky( 10 ) );
+		flaky.add( new Flaky( 20 ) );
+
+		Flaky probe = new Flaky( 20 );
+		probe.failures = 1;
+		assertTrue( "Failed to retry after an optimistic failure.", flaky.contains( probe ) );
+
+		probe.failures = 2;
+		try
+		{
+			flaky.contains( probe );
+			fail( "Failed to report an exception thrown under the read lock." );
+		}
+		catch( IllegalStateException e )
+		{
+			// expected
+		}
+	}
+
+	/**
+	 * Test method for the serialized form of {@link implementations.ConcurrentBSTree}
+	 * to restore the elements and a working lock.
+	 * 
+	 * @throws IOException if the in-memory stream fails
+	 * @throws ClassNotFoundException if the tree class cannot be loaded
+	 */
+	@Test
+	@SuppressWarnings( "unchecked" )
+	public void testSerialization() throws IOException, ClassNotFoundException
+	{
+		for( int i = 1; i <= 50; i++ )
+		{
+			tree.add( i );
+		}
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		try( ObjectOutputStream out = new ObjectOutputStream( bytes ) )
+		{
+			out.writeObject( tree );
+		}
+		ConcurrentBSTree<Integer> copy;
+		try( ObjectInputStream in = new ObjectInputStream( new ByteArrayInputStream( bytes.toByteArray() ) ) )
+		{
+			copy = (ConcurrentBSTree<Integer>) in.readObject();
+		}
+
+		assertEquals( tree.toString(), copy.toString() );
+		assertTrue( copy.add( 51 ) );
+		assertTrue( copy.contains( 51 ) );
+	}
+
+	/**
+	 * A key whose comparisons throw a given number of times before working,
+	 * standing in for a comparison that fails on a torn structure.
+	 */
+	private static class Flaky implements Comparable<Flaky>
+	{
+		// Attributes
+		private final int value;
+		private int failures;
+
+		/**
+		 * Constructs a key that never fails.
+		 * 
+		 * @param value the value compared
+		 */
+		Flaky( int value )
+		{
+			this.value = value;
+		}
+
+		@Override
+		public int compareTo( Flaky other )
+		{
+			if( failures > 0 )
+			{
+				failures--;
+				throw new IllegalStateException( "Comparison failed" );
+			}
+			return Integer.compare( value, other.value );
+		}
+	}
+}
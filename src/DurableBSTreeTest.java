@@ -0,0 +1,542 @@
+package unitTests;
+
+import static org.junit.Assert.*;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.reflect.Field;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.zip.CRC32;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import utilities.KeyCodec;
+
+import implementations.DurableBSTree;
+
+/**
+ * Class Description: Unit tests for the write-ahead logged DurableBSTree.
+ */
+
+public class DurableBSTreeTest
+{
+	// Attributes
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	private Path directory;
+	private DurableBSTree<Integer> tree;
+
+	/**
+	 * Opens a durable tree in an empty directory before each test.
+	 * 
+	 * @throws java.lang.Exception
+	 */
+	@Before
+	public void setUp() throws Exception
+	{
+		directory = folder.newFolder( "tree" ).toPath();
+		tree = DurableBSTree.open( directory, KeyCodec.ofInt() );
+	}
+
+	/**
+	 * Closes the durable tree after each test.
+	 * 
+	 * @throws java.lang.Exception
+	 */
+	@After
+	public void tearDown() throws Exception
+	{
+		tree.close();
+		tree = null;
+	}
+
+	/**
+	 * Test method for {@link implementations.DurableBSTree#open(Path, KeyCodec)}
+	 * to replay every logged mutation after reopening.
+	 * 
+	 * @throws IOException if the directory cannot be used
+	 */
+	@Test
+	public void testReplay() throws IOException
+	{
+		for( int i = 1; i <= 10; i++ )
+		{
+			assertTrue( tree.add( i * 10 ) );
+		}
+		assertFalse( tree.add( 50 ) );
+		assertEquals( 10, tree.removeMin().getElement().intValue() );
+		assertEquals( 100, tree.removeMax().getElement().intValue() );
+		long logSize = tree.logSize();
+		tree.close();
+
+		tree = DurableBSTree.open( directory, KeyCodec.ofInt() );
+		assertEquals( "[20, 30, 40, 50, 60, 70, 80, 90]", tree.toString() );
+		assertEquals( logSize, tree.logSize() );
+
+		tree.clear();
+		tree.add( 7 );
+		tree.close();
+		tree = DurableBSTree.open( directory, KeyCodec.ofInt() );
+		assertEquals( "[7]", tree.toString() );
+	}
+
+	/**
+	 * Test method for {@link implementations.DurableBSTree#checkpoint()}
+	 * to restart the log and to ignore a log left from before a checkpoint.
+	 * 
+	 * @throws IOException if the directory cannot be used
+	 */
+	@Test
+	public void testCheckpoint() throws IOException
+	{
+		tree.close();
+		tree = DurableBSTree.open( directory, KeyCodec.ofInt(), 4, 8 );
+		for( int i = 1; i <= 6; i++ )
+		{
+			tree.add( i );
+		}
+		tree.removeMin();
+		tree.sync();
+		Path stale = folder.newFile( "stale.log" ).toPath();
+		Files.copy( directory.resolve( "tree.log" ), stale, StandardCopyOption.REPLACE_EXISTING );
+
+		tree.add( 7 );
+		assertTrue( "Failed to write a checkpoint.", Files.exists( directory.resolve( "tree.checkpoint" ) ) );
+		assertEquals( 16, tree.logSize() );
+		tree.add( 8 );
+		tree.close();
+
+		tree = DurableBSTree.open( directory, KeyCodec.ofInt() );
+		assertEquals( "[2, 3, 4, 5, 6, 7, 8]", tree.toString() );
+		tree.close();
+
+		Files.copy( stale, directory.resolve( "tree.log" ), StandardCopyOption.REPLACE_EXISTING );
+		tree = DurableBSTree.open( directory, KeyCodec.ofInt() );
+		assertEquals( "[2, 3, 4, 5, 6, 7]", tree.toString() );
+	}
+
+	/**
+	 * Test method for {@link implementations.DurableBSTree#open(Path, KeyCodec)}
+	 * to truncate a torn or corrupt record at the end of the log.
+	 * 
+	 * @throws IOException if the directory cannot be used
+	 */
+	@Test
+	public void testTornTail() throws IOException
+	{
+		tree.addAll( new Integer[] { 3, 1, 2 } );
+		tree.close();
+		Path log = directory.resolve( "tree.log" );
+		long intact = Files.size( log );
+
+		try( FileChannel channel = FileChannel.open( log, StandardOpenOption.WRITE ) )
+		{
+			channel.write( ByteBuffer.wrap( new byte[] { 0, 0, 0, 5, 1, 2 } ), intact );
+		}
+		tree = DurableBSTree.open( directory, KeyCodec.ofInt() );
+		assertEquals( "[1, 2, 3]", tree.toString() );
+		assertEquals( "Failed to truncate the torn record.", intact, Files.size( log ) );
+
+		tree.add( 4 );
+		tree.close();
+		try( FileChannel channel = FileChannel.open( log, StandardOpenOption.WRITE ) )
+		{
+			channel.write( ByteBuffer.wrap( new byte[] { 9 } ), Files.size( log ) - 1 );
+		}
+		tree = DurableBSTree.open( directory, KeyCodec.ofInt() );
+		assertEquals( "[1, 2, 3]", tree.toString() );
+		assertEquals( intact, Files.size( log ) );
+	}
+
+	/**
+	 * Test method for the mutators of {@link implementations.DurableBSTree}
+	 * to leave the tree and the log unchanged when the log cannot be written,
+	 * and to cut a partly written log back before writing again.
+	 * 
+	 * @throws Exception if the directory or the log channel cannot be used
+	 */
+	@Test
+	public void testWriteFailure() throws Exception
+	{
+		tree.addAll( new Integer[] { 10, 20, 30 } );
+		long logSize = tree.logSize();
+		Field field = DurableBSTree.class.getDeclaredField( "log" );
+		field.setAccessible( true );
+		( (FileChannel) field.get( tree ) ).close();
+
+		try
+		{
+			tree.add( 40 );
+			fail( "Failed to report a failed add." );
+		}
+		catch( UncheckedIOException e )
+		{
+			// expected
+		}
+		try
+		{
+			tree.removeMin();
+			fail( "Failed to report a failed removeMin." );
+		}
+		catch( UncheckedIOException e )
+		{
+			// expected
+		}
+		try
+		{
+			tree.addAll( Arrays.asList( 50, 60 ) );
+			fail( "Failed to report a failed addAll." );
+		}
+		catch( UncheckedIOException e )
+		{
+			// expected
+		}
+		try
+		{
+			tree.clear();
+			fail( "Failed to report a failed clear." );
+		}
+		catch( UncheckedIOException e )
+		{
+			// expected
+		}
+		assertEquals( "Failed to leave the tree unchanged.", "[10, 20, 30]", tree.toString() );
+		assertEquals( logSize, tree.logSize() );
+
+		Path log = directory.resolve( "tree.log" );
+		FileChannel reopened = FileChannel.open( log, StandardOpenOption.WRITE );
+		reopened.write( ByteBuffer.wrap( new byte[] { 0, 0, 0, 5, 1 } ), logSize );
+		field.set( tree, reopened );
+		assertTrue( tree.add( 40 ) );
+		tree.close();
+		assertEquals( "Failed to cut the log back.", logSize + 13, Files.size( log ) );
+
+		tree = DurableBSTree.open( directory, KeyCodec.ofInt() );
+		assertEquals( "[10, 20, 30, 40]", tree.toString() );
+	}
+
+	/**
+	 * Test method for {@link implementations.DurableBSTree#addAll(java.util.Collection)}
+	 * to add none of a batch holding a key the codec cannot encode, even
+	 * when part of the batch has already been written to the log.
+	 * 
+	 * @throws IOException if the directory cannot be used
+	 */
+	@Test
+	public void testAddAll_EncodingFailure() throws IOException
+	{
+		Path words = folder.newFolder( "words" ).toPath();
+		try( DurableBSTree<String> strings = DurableBSTree.open( words, KeyCodec.ofString( 4 ) ) )
+		{
+			strings.add( "oak" );
+			long logSize = strings.logSize();
+			try
+			{
+				strings.addAll( Arrays.asList( "ash", "sycamore", "yew" ) );
+				fail( "Failed to reject a key that is too long." );
+			}
+			catch( IllegalArgumentException e )
+			{
+				// expected
+			}
+			assertEquals( "[oak]", strings.toString() );
+			assertEquals( logSize, strings.logSize() );
+
+			List<String> large = new ArrayList<String>();
+			for( int i = 0; i < 10000; i++ )
+			{
+				large.add( String.format( "%04d", i ) );
+			}
+			large.add( "sycamore" );
+			try
+			{
+				strings.addAll( large );
+				fail( "Failed to reject a key that is too long." );
+			}
+			catch( IllegalArgumentException e )
+			{
+				// expected
+			}
+			assertEquals( "[oak]", strings.toString() );
+			assertEquals( "Failed to cut the written part of the batch.", logSize,
+					Files.size( words.resolve( "tree.log" ) ) );
+			assertEquals( 2, strings.addAll( Arrays.asList( "ash", "yew" ) ) );
+		}
+		try( DurableBSTree<String> strings = DurableBSTree.open( words, KeyCodec.ofString( 4 ) ) )
+		{
+			assertEquals( "[ash, oak, yew]", strings.toString() );
+		}
+	}
+
+	/**
+	 * Test method for {@link implementations.DurableBSTree#add(Comparable)}
+	 * to leave no record behind for a reopened tree when forcing the log
+	 * fails, even if the record cannot be cut away until the tree is closed.
+	 * 
+	 * @throws Exception if the directory or the log channel cannot be used
+	 */
+	@Test
+	public void testForceFailure_NotReplayed() throws Exception
+	{
+		tree.add( 10 );
+		Field field = DurableBSTree.class.getDeclaredField( "log" );
+		field.setAccessible( true );
+		FailingChannel failing = new FailingChannel( (FileChannel) field.get( tree ) );
+		field.set( tree, failing );
+
+		failing.failing = true;
+		try
+		{
+			tree.add( 20 );
+			fail( "Failed to report a failed force." );
+		}
+		catch( UncheckedIOException e )
+		{
+			// expected
+		}
+		assertFalse( tree.contains( 20 ) );
+		failing.failing = false;
+		tree.close();
+
+		tree = DurableBSTree.open( directory, KeyCodec.ofInt() );
+		assertEquals( "Failed to drop the record of a failed add.", "[10]", tree.toString() );
+	}
+
+	/**
+	 * Test method for {@link implementations.DurableBSTree#open(Path, KeyCodec)}
+	 * to refuse a directory that is already open.
+	 */
+	@Test
+	public void testOpen_Locked()
+	{
+		try
+		{
+			DurableBSTree.open( directory, KeyCodec.ofInt() ).close();
+			fail( "Failed to refuse a directory that is already open." );
+		}
+		catch( IOException e )
+		{
+			// expected
+		}
+		assertTrue( tree.add( 1 ) );
+	}
+
+	/**
+	 * Test method for {@link implementations.DurableBSTree#open(Path, KeyCodec)}
+	 * to stop at records that pass their checksum but are not valid, before
+	 * applying them.
+	 * 
+	 * @throws IOException if the directory cannot be used
+	 */
+	@Test
+	public void testReplay_InvalidRecord() throws IOException
+	{
+		tree.addAll( new Integer[] { 1, 2, 3 } );
+		tree.close();
+		Path log = directory.resolve( "tree.log" );
+		long intact = Files.size( log );
+
+		appendRecord( log, new byte[] { 2, 0 } );
+		tree = DurableBSTree.open( directory, KeyCodec.ofInt() );
+		assertEquals( "Failed to reject a removal with a key.", "[1, 2, 3]", tree.toString() );
+		tree.close();
+		assertEquals( intact, Files.size( log ) );
+
+		appendRecord( log, new byte[] { 1, 0, 0, 0, 4, 7 } );
+		tree = DurableBSTree.open( directory, KeyCodec.ofInt() );
+		assertEquals( "Failed to reject an add with extra bytes.", "[1, 2, 3]", tree.toString() );
+		assertEquals( intact, Files.size( log ) );
+	}
+
+	/**
+	 * Appends a record with a valid checksum to the end of a log.
+	 * 
+	 * @param log the log file
+	 * @param payload the operation code and key of the record
+	 * @throws IOException if the log cannot be written
+	 */
+	private static void appendRecord( Path log, byte[] payload ) throws IOException
+	{
+		CRC32 crc = new CRC32();
+		crc.update( payload );
+		ByteBuffer record = ByteBuffer.allocate( 8 + payload.length );
+		record.putInt( payload.length ).putInt( (int) crc.getValue() ).put( payload ).flip();
+		try( FileChannel channel = FileChannel.open( log, StandardOpenOption.WRITE ) )
+		{
+			channel.write( record, Files.size( log ) );
+		}
+	}
+
+	/**
+	 * Test method for {@link implementations.DurableBSTree#close()}.
+	 * 
+	 * @throws IOException if the directory cannot be used
+	 */
+	@Test
+	public void testClose() throws IOException
+	{
+		tree.add( 1 );
+		tree.close();
+		assertTrue( tree.isClosed() );
+		tree.close();
+		try
+		{
+			tree.add( 2 );
+			fail( "Failed to reject use after close." );
+		}
+		catch( IllegalStateException e )
+		{
+			// expected
+		}
+	}
+
+	/**
+	 * A log channel whose force and truncate calls fail while requested,
+	 * standing in for a disk that stops accepting writes.
+	 */
+	private static class FailingChannel extends FileChannel
+	{
+		// Attributes
+		private final FileChannel delegate;
+		private boolean failing;
+
+		/**
+		 * Constructs a channel passing every call to another.
+		 * 
+		 * @param delegate the channel to pass calls to
+		 */
+		FailingChannel( FileChannel delegate )
+		{
+			this.delegate = delegate;
+		}
+
+		@Override
+		public void force( boolean metaData ) throws IOException
+		{
+			if( failing )
+			{
+				throw new IOException( "Force failed" );
+			}
+			delegate.force( metaData );
+		}
+
+		@Override
+		public FileChannel truncate( long size ) throws IOException
+		{
+			if( failing )
+			{
+				throw new IOException( "Truncate failed" );
+			}
+			delegate.truncate( size );
+			return this;
+		}
+
+		@Override
+		public int read( ByteBuffer dst ) throws IOException
+		{
+			return delegate.read( dst );
+		}
+
+		@Override
+		public long read( ByteBuffer[] dsts, int offset, int length ) throws IOException
+		{
+			return delegate.read( dsts, offset, length );
+		}
+
+		@Override
+		public int write( ByteBuffer src ) throws IOException
+		{
+			return delegate.write( src );
+		}
+
+		@Override
+		public long write( ByteBuffer[] srcs, int offset, int length ) throws IOException
+		{
+			return delegate.write( srcs, offset, length );
+		}
+
+		@Override
+		public long position() throws IOException
+		{
+			return delegate.position();
+		}
+
+		@Override
+		public FileChannel position( long newPosition ) throws IOException
+		{
+			delegate.position( newPosition );
+			return this;
+		}
+
+		@Override
+		public long size() throws IOException
+		{
+			return delegate.size();
+		}
+
+		@Override
+		public long transferTo( long position, long count, WritableByteChannel target ) throws IOException
+		{
+			return delegate.transferTo( position, count, target );
+		}
+
+		@Override
+		public long transferFrom( ReadableByteChannel src, long position, long count ) throws IOException
+		{
+			return delegate.transferFrom( src, position, count );
+		}
+
+		@Override
+		public int read( ByteBuffer dst, long position ) throws IOException
+		{
+			return delegate.read( dst, position );
+		}
+
+		@Override
+		public int write( ByteBuffer src, long position ) throws IOException
+		{
+			return delegate.write( src, position );
+		}
+
+		@Override
+		public MappedByteBuffer map( MapMode mode, long position, long size ) throws IOException
+		{
+			return delegate.map( mode, position, size );
+		}
+
+		@Override
+		public FileLock lock( long position, long size, boolean shared ) throws IOException
+		{
+			return delegate.lock( position, size, shared );
+		}
+
+		@Override
+		public FileLock tryLock( long position, long size, boolean shared ) throws IOException
+		{
+			return delegate.tryLock( position, size, shared );
+		}
+
+		@Override
+		protected void implCloseChannel() throws IOException
+		{
+			delegate.close();
+		}
+	}
+}
@@ -0,0 +1,218 @@
+package unitTests;
+
+import static org.junit.Assert.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import utilities.Iterator;
+
+import implementations.BSTree;
+import implementations.FrozenBSTree;
+
+/**
+ * Class Description: Unit tests for the read-only Eytzinger-ordered snapshot
+ * FrozenBSTree created by BSTree.freeze().
+ */
+
+public class FrozenBSTreeTest
+{
+	// Attributes
+	private BSTree<Integer> tree;
+	private FrozenBSTree<Integer> frozen;
+
+	/**
+	 * Freezes a tree holding 10, 20, ..., 100 before each test.
+	 * 
+	 * @throws java.lang.Exception
+	 */
+	@Before
+	public void setUp() throws Exception
+	{
+		tree = new BSTree<Integer>();
+		for( int value : new int[] { 10, 20, 30, 40, 50, 60, 70, 80, 90, 100 } )
+		{
+			tree.add( value );
+		}
+		frozen = tree.freeze();
+	}
+
+	/**
+	 * Cleans up instances used after each test.
+	 * 
+	 * @throws java.lang.Exception
+	 */
+	@After
+	public void tearDown() throws Exception
+	{
+		tree = null;
+		frozen = null;
+	}
+
+	/**
+	 * Test method for {@link implementations.BSTree#freeze()} to produce a
+	 * minimum-height snapshot that does not follow later changes.
+	 */
+	@Test
+	public void testFreeze()
+	{
+		assertEquals( 10, frozen.size() );
+		assertEquals( "Failed to build minimum height.", 4, frozen.getHeight() );
+		assertEquals( 70, (int) frozen.getRoot().getElement() );
+
+		tree.add( 55 );
+		tree.removeMin();
+		assertFalse( "Snapshot followed later changes.", frozen.contains( 55 ) );
+		assertTrue( frozen.contains( 10 ) );
+		assertEquals( "[10, 20, 30, 40, 50, 60, 70, 80, 90, 100]", frozen.toString() );
+
+		FrozenBSTree<Integer> empty = new BSTree<Integer>().freeze();
+		assertTrue( empty.isEmpty() );
+		assertEquals( 0, empty.getHeight() );
+		assertFalse( empty.inorderIterator().hasNext() );
+		assertNull( empty.floor( 1 ) );
+	}
+
+	/**
+	 * Test method for {@link implementations.FrozenBSTree#contains(Comparable)}
+	 * and {@link implementations.FrozenBSTree#search(Comparable)}.
+	 */
+	@Test
+	public void testSearch()
+	{
+		for( int value = 0; value <= 110; value += 5 )
+		{
+			boolean present = value % 10 == 0 && value > 0 && value <= 100;
+			assertEquals( "Failed to search " + value, present, frozen.contains( value ) );
+			assertEquals( present, frozen.search( value ) != null );
+		}
+		assertEquals( 40, (int) frozen.search( 40 ).getElement() );
+	}
+
+	/**
+	 * Test method for {@link implementations.FrozenBSTree#floor(Comparable)},
+	 * {@link implementations.FrozenBSTree#ceiling(Comparable)},
+	 * {@link implementations.FrozenBSTree#lower(Comparable)} and
+	 * {@link implementations.FrozenBSTree#higher(Comparable)}.
+	 */
+	@Test
+	public void testNavigation()
+	{
+		assertEquals( 40, (int) frozen.floor( 45 ) );
+		assertEquals( 40, (int) frozen.floor( 40 ) );
+		assertEquals( 50, (int) frozen.ceiling( 45 ) );
+		assertEquals( 40, (int) frozen.ceiling( 40 ) );
+		assertEquals( 30, (int) frozen.lower( 40 ) );
+		assertEquals( 50, (int) frozen.higher( 40 ) );
+		assertNull( frozen.floor( 5 ) );
+		assertNull( frozen.lower( 10 ) );
+		assertNull( frozen.ceiling( 101 ) );
+		assertNull( frozen.higher( 100 ) );
+		assertEquals( 10, (int) frozen.first() );
+		assertEquals( 100, (int) frozen.last() );
+	}
+
+	/**
+	 * Test method for the iterators of {@link implementations.FrozenBSTree}
+	 * to walk the complete tree in all three orders.
+	 */
+	@Test
+	public void testIterators()
+	{
+		assertEquals( "10 20 30 40 50 60 70 80 90 100", join( frozen.inorderIterator() ) );
+		assertEquals( "70 40 20 10 30 60 50 90 80 100", join( frozen.preorderIterator() ) );
+		assertEquals( "10 30 20 50 60 40 80 100 90 70", join( frozen.postorderIterator() ) );
+	}
+
+	/**
+	 * Test method for {@link implementations.FrozenBSTree#add(Comparable)} and
+	 * the other mutators to reject changes.
+	 */
+	@Test
+	public void testReadOnly()
+	{
+		try
+		{
+			frozen.add( 5 );
+			fail( "Failed to reject add." );
+		}
+		catch( UnsupportedOperationException e )
+		{
+			// expected
+		}
+		try
+		{
+			frozen.removeMin();
+			fail( "Failed to reject removeMin." );
+		}
+		catch( UnsupportedOperationException e )
+		{
+			// expected
+		}
+		try
+		{
+			frozen.clear();
+			fail( "Failed to reject clear." );
+		}
+		catch( UnsupportedOperationException e )
+		{
+			// expected
+		}
+		assertEquals( 10, frozen.size() );
+	}
+
+	/**
+	 * Test method for the serialized form of {@link implementations.FrozenBSTree}
+	 * to restore the same layout.
+	 * 
+	 * @throws IOException if the in-memory stream fails
+	 * @throws ClassNotFoundException if the tree class cannot be loaded
+	 */
+	@Test
+	@SuppressWarnings( "unchecked" )
+	public void testSerialization() throws IOException, ClassNotFoundException
+	{
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		try( ObjectOutputStream out = new ObjectOutputStream( bytes ) )
+		{
+			out.writeObject( frozen );
+		}
+		FrozenBSTree<Integer> copy;
+		try( ObjectInputStream in = new ObjectInputStream( new ByteArrayInputStream( bytes.toByteArray() ) ) )
+		{
+			copy = (FrozenBSTree<Integer>) in.readObject();
+		}
+
+		assertEquals( frozen.toString(), copy.toString() );
+		assertEquals( "Failed to restore the layout.", join( frozen.preorderIterator() ), join( copy.preorderIterator() ) );
+		assertTrue( copy.contains( 70 ) );
+		assertFalse( copy.contains( 75 ) );
+	}
+
+	/**
+	 * Joins the elements returned by an iterator with spaces.
+	 * 
+	 * @param it the iterator to drain
+	 * @return the elements separated by single spaces
+	 */
+	private static String join( Iterator<Integer> it )
+	{
+		StringBuilder result = new StringBuilder();
+		while( it.hasNext() )
+		{
+			if( result.length() > 0 )
+			{
+				result.append( ' ' );
+			}
+			result.append( it.next() );
+		}
+		return result.toString();
+	}
+}
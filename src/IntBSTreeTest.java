@@ -0,0 +1,194 @@
+package unitTests;
+
+import static org.junit.Assert.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.NoSuchElementException;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import utilities.IntIterator;
+
+import implementations.IntBSTree;
+
+/**
+ * Class Description: Unit tests for the int-specialized binary search tree
+ * IntBSTree.
+ */
+
+public class IntBSTreeTest
+{
+	// Attributes
+	private IntBSTree tree;
+
+	/**
+	 * Initializes a new IntBSTree instance before each test.
+	 * 
+	 * @throws java.lang.Exception
+	 */
+	@Before
+	public void setUp() throws Exception
+	{
+		tree = new IntBSTree();
+	}
+
+	/**
+	 * Cleans up instances used after each test.
+	 * 
+	 * @throws java.lang.Exception
+	 */
+	@After
+	public void tearDown() throws Exception
+	{
+		tree = null;
+	}
+
+	/**
+	 * Test method for {@link implementations.IntBSTree#add(int)} and
+	 * {@link implementations.IntBSTree#contains(int)}.
+	 */
+	@Test
+	public void testAddAndContains()
+	{
+		assertTrue( tree.add( 44 ) );
+		assertTrue( tree.add( 22 ) );
+		assertTrue( tree.add( 66 ) );
+		assertFalse( "Failed to reject duplicate.", tree.add( 22 ) );
+
+		assertTrue( "Failed to return true.", tree.contains( 22 ) );
+		assertFalse( "Failed to return false.", tree.contains( 33 ) );
+		assertEquals( "Failed to update size correctly.", 3, tree.size() );
+		assertEquals( "Failed to update height correctly.", 2, tree.getHeight() );
+		assertEquals( "Failed to return the root key.", 44, tree.getRoot() );
+	}
+
+	/**
+	 * Test method for {@link implementations.IntBSTree#removeMin()} and
+	 * {@link implementations.IntBSTree#removeMax()}.
+	 */
+	@Test
+	public void testRemoveMinAndMax()
+	{
+		tree.add( 44 );
+		tree.add( 22 );
+		tree.add( 66 );
+		tree.add( 11 );
+		tree.add( Integer.MIN_VALUE );
+
+		assertEquals( "Failed to remove minimum value.", Integer.MIN_VALUE, tree.removeMin() );
+		assertEquals( "Failed to remove maximum value.", 66, tree.removeMax() );
+		assertEquals( "Failed to update size.", 3, tree.size() );
+		assertEquals( "Failed to update height.", 3, tree.getHeight() );
+
+		tree.clear();
+		try
+		{
+			tree.removeMin();
+			fail( "Failed to throw NoSuchElementException." );
+		}
+		catch( NoSuchElementException e )
+		{
+			assertTrue( true );
+		}
+	}
+
+	/**
+	 * Test method for the three iterators of {@link implementations.IntBSTree}.
+	 */
+	@Test
+	public void testIterators()
+	{
+		int[] keys = { 44, 22, 66, 11, 55, 33, 77 };
+		for( int key : keys )
+		{
+			tree.add( key );
+		}
+
+		assertArrayEquals( "In-order iterator is out of order ", new int[] { 11, 22, 33, 44, 55, 66, 77 },
+				drain( tree.inorderIterator() ) );
+		assertArrayEquals( "Preorder iterator is out of order ", new int[] { 44, 22, 11, 33, 66, 55, 77 },
+				drain( tree.preorderIterator() ) );
+		assertArrayEquals( "Postorder iterator is out of order ", new int[] { 11, 33, 22, 55, 77, 66, 44 },
+				drain( tree.postorderIterator() ) );
+		assertEquals( "Failed to return string representation.", "[11, 22, 33, 44, 55, 66, 77]", tree.toString() );
+	}
+
+	/**
+	 * Test method for {@link implementations.IntBSTree#IntBSTree(boolean)} to keep
+	 * the height logarithmic for sorted input.
+	 */
+	@Test
+	public void testBalanced_SortedInsert()
+	{
+		IntBSTree balancedTree = new IntBSTree( true );
+		for( int i = 0; i < 1023; i++ )
+		{
+			balancedTree.add( i );
+		}
+
+		assertEquals( "Failed to keep height balanced.", 10, balancedTree.getHeight() );
+		assertEquals( "Failed to remove minimum value.", 0, balancedTree.removeMin() );
+		assertEquals( "Failed to remove maximum value.", 1022, balancedTree.removeMax() );
+		assertTrue( "Failed to find element.", balancedTree.contains( 511 ) );
+	}
+
+	/**
+	 * Test method for the serialized form of {@link implementations.IntBSTree}
+	 * to survive a deep degenerate tree and come back balanced.
+	 * 
+	 * @throws IOException if the in-memory stream fails
+	 * @throws ClassNotFoundException if the tree class cannot be loaded
+	 */
+	@Test
+	public void testSerialization() throws IOException, ClassNotFoundException
+	{
+		int count = 20000;
+		for( int i = 0; i < count; i++ )
+		{
+			tree.add( i );
+		}
+		assertEquals( count, tree.getHeight() );
+
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		try( ObjectOutputStream out = new ObjectOutputStream( bytes ) )
+		{
+			out.writeObject( tree );
+		}
+		IntBSTree copy;
+		try( ObjectInputStream in = new ObjectInputStream( new ByteArrayInputStream( bytes.toByteArray() ) ) )
+		{
+			copy = ( IntBSTree ) in.readObject();
+		}
+
+		assertEquals( "Failed to restore size.", count, copy.size() );
+		assertEquals( "Failed to rebuild balanced.", 15, copy.getHeight() );
+		assertFalse( copy.isBalanced() );
+		assertEquals( 0, copy.removeMin() );
+		assertEquals( count - 1, copy.removeMax() );
+		assertTrue( "Failed to accept changes after restore.", copy.add( -1 ) );
+		assertTrue( copy.contains( count / 2 ) );
+	}
+
+	/**
+	 * Collects the remaining keys of an iterator into an array.
+	 * 
+	 * @param it the iterator to drain
+	 * @return the keys returned by the iterator, in order
+	 */
+	private int[] drain( IntIterator it )
+	{
+		int[] keys = new int[tree.size()];
+		int i = 0;
+		while( it.hasNext() )
+		{
+			keys[i++] = it.nextInt();
+		}
+		return keys;
+	}
+}
@@ -0,0 +1,201 @@
+package unitTests;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import utilities.Iterator;
+
+import implementations.BSTreeNode;
+import implementations.LockFreeBSTree;
+
+/**
+ * Class Description: Unit tests, including a multi-threaded stress test, for
+ * the non-blocking binary search tree LockFreeBSTree.
+ */
+
+public class LockFreeBSTreeTest
+{
+	// Attributes
+	private LockFreeBSTree<Integer> tree;
+
+	/**
+	 * Initializes a new LockFreeBSTree instance before each test.
+	 * 
+	 * @throws java.lang.Exception
+	 */
+	@Before
+	public void setUp() throws Exception
+	{
+		tree = new LockFreeBSTree<Integer>();
+	}
+
+	/**
+	 * Cleans up instances used after each test.
+	 * 
+	 * @throws java.lang.Exception
+	 */
+	@After
+	public void tearDown() throws Exception
+	{
+		tree = null;
+	}
+
+	/**
+	 * Test method for {@link implementations.LockFreeBSTree#add(Comparable)},
+	 * {@link implementations.LockFreeBSTree#contains(Comparable)} and
+	 * {@link implementations.LockFreeBSTree#search(Comparable)} on a single
+	 * thread.
+	 */
+	@Test
+	public void testSingleThread()
+	{
+		assertTrue( tree.isEmpty() );
+		assertEquals( 0, tree.getHeight() );
+		assertNull( tree.removeMin() );
+
+		assertTrue( tree.add( 50 ) );
+		assertEquals( 1, tree.getHeight() );
+		assertEquals( 50, (int) tree.getRoot().getElement() );
+		assertTrue( tree.add( 30 ) );
+		assertTrue( tree.add( 70 ) );
+		assertTrue( tree.add( 60 ) );
+		assertFalse( "Failed to reject duplicate.", tree.add( 30 ) );
+
+		assertEquals( 4, tree.size() );
+		assertFalse( tree.isEmpty() );
+		assertTrue( tree.contains( 60 ) );
+		assertFalse( tree.contains( 65 ) );
+		assertEquals( 70, (int) tree.search( 70 ).getElement() );
+		assertNull( tree.search( 10 ) );
+		assertEquals( "[30, 50, 60, 70]", tree.toString() );
+		assertEquals( 50, (int) tree.getRoot().getElement() );
+		assertEquals( 4, tree.getHeight() );
+	}
+
+	/**
+	 * Test method for {@link implementations.LockFreeBSTree#removeMin()},
+	 * {@link implementations.LockFreeBSTree#removeMax()} and
+	 * {@link implementations.LockFreeBSTree#clear()}.
+	 */
+	@Test
+	public void testRemove()
+	{
+		for( int value : new int[] { 40, 20, 60, 10, 30, 50, 70 } )
+		{
+			tree.add( value );
+		}
+		assertEquals( 10, (int) tree.removeMin().getElement() );
+		assertEquals( 70, (int) tree.removeMax().getElement() );
+		assertEquals( 20, (int) tree.removeMin().getElement() );
+		assertEquals( "[30, 40, 50, 60]", tree.toString() );
+		assertEquals( 4, tree.size() );
+		assertTrue( tree.add( 10 ) );
+		assertEquals( 10, (int) tree.removeMin().getElement() );
+
+		tree.clear();
+		assertTrue( tree.isEmpty() );
+		assertEquals( 0, tree.size() );
+		assertNull( tree.removeMax() );
+		assertTrue( "Failed to reuse emptied tree.", tree.add( 5 ) );
+	}
+
+	/**
+	 * Test method for the iterators of {@link implementations.LockFreeBSTree}
+	 * to return the leaves in sorted order in every traversal order.
+	 */
+	@Test
+	public void testIterators()
+	{
+		for( int value : new int[] { 4, 2, 6, 1, 3, 5, 7 } )
+		{
+			tree.add( value );
+		}
+		Iterator<Integer> in = tree.inorderIterator();
+		Iterator<Integer> pre = tree.preorderIterator();
+		Iterator<Integer> post = tree.postorderIterator();
+		for( int expected = 1; expected <= 7; expected++ )
+		{
+			assertEquals( expected, (int) in.next() );
+			assertEquals( expected, (int) pre.next() );
+			assertEquals( expected, (int) post.next() );
+		}
+		assertFalse( in.hasNext() );
+	}
+
+	/**
+	 * Stress test for {@link implementations.LockFreeBSTree}: several threads
+	 * add distinct elements and concurrently remove the minimum or maximum.
+	 * Every element must end up either removed exactly once or still in the
+	 * tree, and the tree must stay ordered.
+	 * 
+	 * @throws InterruptedException if a thread is interrupted
+	 */
+	@Test
+	public void testStress_AddAndRemove() throws InterruptedException
+	{
+		final int threadCount = 6;
+		final int perThread = 5000;
+		final ConcurrentLinkedQueue<Integer> removed = new ConcurrentLinkedQueue<Integer>();
+		final ConcurrentLinkedQueue<String> failures = new ConcurrentLinkedQueue<String>();
+		List<Thread> threads = new ArrayList<Thread>();
+
+		for( int t = 0; t < threadCount; t++ )
+		{
+			final int id = t;
+			threads.add( new Thread( () ->
+			{
+				for( int i = 0; i < perThread; i++ )
+				{
+					int value = (int) ( ( (long) i * threadCount + id ) * 7919 % 1000003 );
+					if( !tree.add( value ) )
+					{
+						failures.add( "Failed to add " + value );
+					}
+					BSTreeNode<Integer> node = i % 3 == 0 ? tree.removeMin()
+							: i % 3 == 1 ? tree.removeMax() : null;
+					if( node != null )
+					{
+						removed.add( node.getElement() );
+					}
+				}
+			} ) );
+		}
+		for( Thread thread : threads )
+		{
+			thread.start();
+		}
+		for( Thread thread : threads )
+		{
+			thread.join();
+		}
+
+		assertTrue( failures.toString(), failures.isEmpty() );
+		Set<Integer> seen = new HashSet<Integer>();
+		for( Integer value : removed )
+		{
+			assertTrue( "Element removed twice: " + value, seen.add( value ) );
+		}
+		int remaining = 0;
+		int previous = Integer.MIN_VALUE;
+		Iterator<Integer> it = tree.inorderIterator();
+		while( it.hasNext() )
+		{
+			int value = it.next();
+			assertTrue( "Tree out of order.", value > previous );
+			assertTrue( "Removed element still present: " + value, seen.add( value ) );
+			previous = value;
+			remaining++;
+		}
+		assertEquals( "Lost elements.", threadCount * perThread, seen.size() );
+		assertEquals( remaining, tree.size() );
+	}
+}
@@ -0,0 +1,194 @@
+package unitTests;
+
+import static org.junit.Assert.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.NoSuchElementException;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import utilities.LongIterator;
+
+import implementations.LongBSTree;
+
+/**
+ * Class Description: Unit tests for the long-specialized binary search tree
+ * LongBSTree.
+ */
+
+public class LongBSTreeTest
+{
+	// Attributes
+	private LongBSTree tree;
+
+	/**
+	 * Initializes a new LongBSTree instance before each test.
+	 * 
+	 * @throws java.lang.Exception
+	 */
+	@Before
+	public void setUp() throws Exception
+	{
+		tree = new LongBSTree();
+	}
+
+	/**
+	 * Cleans up instances used after each test.
+	 * 
+	 * @throws java.lang.Exception
+	 */
+	@After
+	public void tearDown() throws Exception
+	{
+		tree = null;
+	}
+
+	/**
+	 * Test method for {@link implementations.LongBSTree#add(long)} and
+	 * {@link implementations.LongBSTree#contains(long)}.
+	 */
+	@Test
+	public void testAddAndContains()
+	{
+		assertTrue( tree.add( 44 ) );
+		assertTrue( tree.add( 22 ) );
+		assertTrue( tree.add( 66 ) );
+		assertFalse( "Failed to reject duplicate.", tree.add( 22 ) );
+
+		assertTrue( "Failed to return true.", tree.contains( 22 ) );
+		assertFalse( "Failed to return false.", tree.contains( 33 ) );
+		assertEquals( "Failed to update size correctly.", 3, tree.size() );
+		assertEquals( "Failed to update height correctly.", 2, tree.getHeight() );
+		assertEquals( "Failed to return the root key.", 44, tree.getRoot() );
+	}
+
+	/**
+	 * Test method for {@link implementations.LongBSTree#removeMin()} and
+	 * {@link implementations.LongBSTree#removeMax()}.
+	 */
+	@Test
+	public void testRemoveMinAndMax()
+	{
+		tree.add( 44 );
+		tree.add( 22 );
+		tree.add( 66 );
+		tree.add( 11 );
+		tree.add( Long.MIN_VALUE );
+
+		assertEquals( "Failed to remove minimum value.", Long.MIN_VALUE, tree.removeMin() );
+		assertEquals( "Failed to remove maximum value.", 66L, tree.removeMax() );
+		assertEquals( "Failed to update size.", 3, tree.size() );
+		assertEquals( "Failed to update height.", 3, tree.getHeight() );
+
+		tree.clear();
+		try
+		{
+			tree.removeMin();
+			fail( "Failed to throw NoSuchElementException." );
+		}
+		catch( NoSuchElementException e )
+		{
+			assertTrue( true );
+		}
+	}
+
+	/**
+	 * Test method for the three iterators of {@link implementations.LongBSTree}.
+	 */
+	@Test
+	public void testIterators()
+	{
+		long[] keys = { 44, 22, 66, 11, 55, 33, 77 };
+		for( long key : keys )
+		{
+			tree.add( key );
+		}
+
+		assertArrayEquals( "In-order iterator is out of order ", new long[] { 11, 22, 33, 44, 55, 66, 77 },
+				drain( tree.inorderIterator() ) );
+		assertArrayEquals( "Preorder iterator is out of order ", new long[] { 44, 22, 11, 33, 66, 55, 77 },
+				drain( tree.preorderIterator() ) );
+		assertArrayEquals( "Postorder iterator is out of order ", new long[] { 11, 33, 22, 55, 77, 66, 44 },
+				drain( tree.postorderIterator() ) );
+		assertEquals( "Failed to return string representation.", "[11, 22, 33, 44, 55, 66, 77]", tree.toString() );
+	}
+
+	/**
+	 * Test method for {@link implementations.LongBSTree#LongBSTree(boolean)} to keep
+	 * the height logarithmic for sorted input.
+	 */
+	@Test
+	public void testBalanced_SortedInsert()
+	{
+		LongBSTree balancedTree = new LongBSTree( true );
+		for( long i = 0; i < 1023; i++ )
+		{
+			balancedTree.add( Integer.MAX_VALUE + i );
+		}
+
+		assertEquals( "Failed to keep height balanced.", 10, balancedTree.getHeight() );
+		assertEquals( "Failed to remove minimum value.", Integer.MAX_VALUE, balancedTree.removeMin() );
+		assertEquals( "Failed to remove maximum value.", Integer.MAX_VALUE + 1022L, balancedTree.removeMax() );
+		assertTrue( "Failed to find element.", balancedTree.contains( Integer.MAX_VALUE + 511L ) );
+	}
+
+	/**
+	 * Test method for the serialized form of {@link implementations.LongBSTree}
+	 * to survive a deep degenerate tree and come back balanced.
+	 * 
+	 * @throws IOException if the in-memory stream fails
+	 * @throws ClassNotFoundException if the tree class cannot be loaded
+	 */
+	@Test
+	public void testSerialization() throws IOException, ClassNotFoundException
+	{
+		int count = 20000;
+		for( int i = 0; i < count; i++ )
+		{
+			tree.add( i + 1L << 40 );
+		}
+		assertEquals( count, tree.getHeight() );
+
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		try( ObjectOutputStream out = new ObjectOutputStream( bytes ) )
+		{
+			out.writeObject( tree );
+		}
+		LongBSTree copy;
+		try( ObjectInputStream in = new ObjectInputStream( new ByteArrayInputStream( bytes.toByteArray() ) ) )
+		{
+			copy = ( LongBSTree ) in.readObject();
+		}
+
+		assertEquals( "Failed to restore size.", count, copy.size() );
+		assertEquals( "Failed to rebuild balanced.", 15, copy.getHeight() );
+		assertFalse( copy.isBalanced() );
+		assertEquals( 0 + 1L << 40, copy.removeMin() );
+		assertEquals( count - 1 + 1L << 40, copy.removeMax() );
+		assertTrue( "Failed to accept changes after restore.", copy.add( -1 ) );
+		assertTrue( copy.contains( count / 2 + 1L << 40 ) );
+	}
+
+	/**
+	 * Collects the remaining keys of an iterator into an array.
+	 * 
+	 * @param it the iterator to drain
+	 * @return the keys returned by the iterator, in order
+	 */
+	private long[] drain( LongIterator it )
+	{
+		long[] keys = new long[tree.size()];
+		int i = 0;
+		while( it.hasNext() )
+		{
+			keys[i++] = it.nextLong();
+		}
+		return keys;
+	}
+}
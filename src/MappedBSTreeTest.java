@@ -0,0 +1,255 @@
+package unitTests;
+
+import static org.junit.Assert.*;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import utilities.Iterator;
+import utilities.KeyCodec;
+
+import implementations.BSTree;
+import implementations.MappedBSTree;
+
+/**
+ * Class Description: Unit tests for the memory-mapped tree image
+ * MappedBSTree.
+ */
+
+public class MappedBSTreeTest
+{
+	// Attributes
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	private Path file;
+	private MappedBSTree<String> mapped;
+
+	/**
+	 * Writes an image of a small word tree and opens it before each test.
+	 * 
+	 * @throws java.lang.Exception
+	 */
+	@Before
+	public void setUp() throws Exception
+	{
+		BSTree<String> words = new BSTree<String>();
+		for( String word : new String[] { "maple", "birch", "oak", "ash", "cedar", "pine", "yew" } )
+		{
+			words.add( word );
+		}
+		file = folder.newFile( "words.img" ).toPath();
+		MappedBSTree.write( words, KeyCodec.ofString( 16 ), file );
+		mapped = MappedBSTree.open( file, KeyCodec.ofString( 16 ) );
+	}
+
+	/**
+	 * Releases the mapping after each test.
+	 * 
+	 * @throws java.lang.Exception
+	 */
+	@After
+	public void tearDown() throws Exception
+	{
+		mapped.close();
+		mapped = null;
+	}
+
+	/**
+	 * Test method for {@link implementations.MappedBSTree#open(Path, KeyCodec)}
+	 * to search the mapped elements directly.
+	 */
+	@Test
+	public void testSearch()
+	{
+		assertEquals( 7, mapped.size() );
+		assertEquals( 3, mapped.getHeight() );
+		assertEquals( "maple", mapped.getRoot().getElement() );
+		assertTrue( mapped.contains( "ash" ) );
+		assertTrue( mapped.contains( "yew" ) );
+		assertFalse( mapped.contains( "elm" ) );
+		assertEquals( "pine", mapped.search( "pine" ).getElement() );
+		assertNull( mapped.search( "zelkova" ) );
+		assertEquals( "ash", mapped.first() );
+		assertEquals( "yew", mapped.last() );
+	}
+
+	/**
+	 * Test method for the iterators of {@link implementations.MappedBSTree}
+	 * over the balanced tree the image represents.
+	 */
+	@Test
+	public void testIterators()
+	{
+		assertEquals( "[ash, birch, cedar, maple, oak, pine, yew]", mapped.toString() );
+		assertEquals( "maple birch ash cedar pine oak yew", join( mapped.preorderIterator() ) );
+		assertEquals( "ash cedar birch oak yew pine maple", join( mapped.postorderIterator() ) );
+	}
+
+	/**
+	 * Test method for {@link implementations.MappedBSTree#write(utilities.BSTreeADT, KeyCodec, Path)}
+	 * with an empty tree and for rejecting files that are not images.
+	 * 
+	 * @throws IOException if a temporary file cannot be written
+	 */
+	@Test
+	public void testWriteAndOpen_EdgeCases() throws IOException
+	{
+		Path empty = folder.newFile( "empty.img" ).toPath();
+		MappedBSTree.write( new BSTree<Integer>(), KeyCodec.ofInt(), empty );
+		try( MappedBSTree<Integer> view = MappedBSTree.open( empty, KeyCodec.ofInt() ) )
+		{
+			assertTrue( view.isEmpty() );
+			assertEquals( 0, view.getHeight() );
+			assertFalse( view.contains( 1 ) );
+			assertFalse( view.postorderIterator().hasNext() );
+		}
+
+		Path garbage = folder.newFile( "garbage.img" ).toPath();
+		Files.write( garbage, "not a tree image at all".getBytes() );
+		try
+		{
+			MappedBSTree.open( garbage, KeyCodec.ofInt() );
+			fail( "Failed to reject a file that is not an image." );
+		}
+		catch( IOException e )
+		{
+			// expected
+		}
+	}
+
+	/**
+	 * Test method for {@link implementations.MappedBSTree#write(utilities.BSTreeADT, KeyCodec, Path)}
+	 * to leave the previous image intact when writing a new one fails.
+	 * 
+	 * @throws IOException if a temporary file cannot be written
+	 */
+	@Test
+	public void testWrite_FailureKeepsImage() throws IOException
+	{
+		mapped.close();
+		BSTree<String> words = new BSTree<String>();
+		words.add( "elm" );
+		words.add( "sycamore-and-more" );
+		try
+		{
+			MappedBSTree.write( words, KeyCodec.ofString( 16 ), file );
+			fail( "Failed to reject a key that is too long." );
+		}
+		catch( IllegalArgumentException e )
+		{
+			// expected
+		}
+		assertFalse( "Failed to remove the temporary file.",
+				Files.exists( file.resolveSibling( file.getFileName() + ".tmp" ) ) );
+
+		mapped = MappedBSTree.open( file, KeyCodec.ofString( 16 ) );
+		assertEquals( "[ash, birch, cedar, maple, oak, pine, yew]", mapped.toString() );
+	}
+
+	/**
+	 * Test method for {@link implementations.MappedBSTree#open(Path, KeyCodec)}
+	 * to reject headers whose table would overflow the image and tables whose
+	 * offsets lie outside the elements.
+	 * 
+	 * @throws IOException if a temporary file cannot be written
+	 */
+	@Test
+	public void testOpen_CorruptHeader() throws IOException
+	{
+		byte[] image = Files.readAllBytes( file );
+		ByteBuffer header = ByteBuffer.wrap( image ).order( ByteOrder.nativeOrder() );
+		long table = header.getLong( 16 );
+
+		assertCorrupt( "overflow.img", image, 8, Integer.MAX_VALUE - 1 );
+		assertCorrupt( "huge-table.img", image, 16, Long.MAX_VALUE & ~7L );
+		assertCorrupt( "first-offset.img", image, table, 0 );
+		assertCorrupt( "last-offset.img", image, table + 7 * Long.BYTES, table + 8 );
+	}
+
+	/**
+	 * Writes a copy of an image with one long replaced and checks that it
+	 * cannot be opened.
+	 * 
+	 * @param name the name of the copy
+	 * @param image the valid image
+	 * @param position the position of the long to replace
+	 * @param value the value to store
+	 * @throws IOException if a temporary file cannot be written
+	 */
+	private void assertCorrupt( String name, byte[] image, long position, long value ) throws IOException
+	{
+		byte[] copy = image.clone();
+		ByteBuffer.wrap( copy ).order( ByteOrder.nativeOrder() ).putLong( (int) position, value );
+		Path corrupt = folder.newFile( name ).toPath();
+		Files.write( corrupt, copy );
+		try
+		{
+			MappedBSTree.open( corrupt, KeyCodec.ofString( 16 ) ).close();
+			fail( "Failed to reject corrupt image " + name + "." );
+		}
+		catch( IOException e )
+		{
+			// expected
+		}
+	}
+
+	/**
+	 * Test method for {@link implementations.MappedBSTree#close()} and the
+	 * read-only mutators.
+	 */
+	@Test
+	public void testReadOnlyAndClose()
+	{
+		try
+		{
+			mapped.add( "elm" );
+			fail( "Failed to reject add." );
+		}
+		catch( UnsupportedOperationException e )
+		{
+			// expected
+		}
+
+		mapped.close();
+		assertTrue( mapped.isClosed() );
+		try
+		{
+			mapped.contains( "oak" );
+			fail( "Failed to reject use after close." );
+		}
+		catch( IllegalStateException e )
+		{
+			// expected
+		}
+	}
+
+	/**
+	 * Joins the elements returned by an iterator with spaces.
+	 * 
+	 * @param it the iterator to drain
+	 * @return the elements separated by single spaces
+	 */
+	private static String join( Iterator<String> it )
+	{
+		StringBuilder result = new StringBuilder();
+		while( it.hasNext() )
+		{
+			if( result.length() > 0 )
+			{
+				result.append( ' ' );
+			}
+			result.append( it.next() );
+		}
+		return result.toString();
+	}
+}
@@ -0,0 +1,243 @@
+package unitTests;
+
+import static org.junit.Assert.*;
+
+import java.util.ConcurrentModificationException;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import utilities.Iterator;
+import utilities.KeyCodec;
+
+import implementations.OffHeapBSTree;
+
+/**
+ * Class Description: Unit tests for the off-heap binary search tree
+ * OffHeapBSTree and the codecs in KeyCodec.
+ */
+
+public class OffHeapBSTreeTest
+{
+	// Attributes
+	private OffHeapBSTree<Integer> tree;
+
+	/**
+	 * Initializes a new OffHeapBSTree instance before each test.
+	 * 
+	 * @throws java.lang.Exception
+	 */
+	@Before
+	public void setUp() throws Exception
+	{
+		tree = new OffHeapBSTree<Integer>( KeyCodec.ofInt(), 2 );
+	}
+
+	/**
+	 * Releases the memory used after each test.
+	 * 
+	 * @throws java.lang.Exception
+	 */
+	@After
+	public void tearDown() throws Exception
+	{
+		tree.close();
+		tree = null;
+	}
+
+	/**
+	 * Test method for {@link implementations.OffHeapBSTree#add(Comparable)} to
+	 * grow the segment and keep every element searchable.
+	 */
+	@Test
+	public void testAdd_Grow()
+	{
+		long before = tree.reservedBytes();
+		assertTrue( tree.add( 44 ) );
+		assertTrue( tree.add( 22 ) );
+		assertTrue( tree.add( 66 ) );
+		assertTrue( tree.add( 11 ) );
+		assertTrue( tree.add( 55 ) );
+		assertFalse( "Failed to reject duplicate.", tree.add( 22 ) );
+
+		assertEquals( 5, tree.size() );
+		assertEquals( 3, tree.getHeight() );
+		assertTrue( "Failed to grow segment.", tree.reservedBytes() > before );
+		assertEquals( 44, (int) tree.getRoot().getElement() );
+		assertEquals( 55, (int) tree.search( 55 ).getElement() );
+		assertNull( tree.search( 33 ) );
+		assertTrue( tree.contains( 11 ) );
+		assertEquals( "[11, 22, 44, 55, 66]", tree.toString() );
+	}
+
+	/**
+	 * Test method for {@link implementations.OffHeapBSTree#removeMin()} and
+	 * {@link implementations.OffHeapBSTree#removeMax()} to reuse freed records.
+	 */
+	@Test
+	public void testRemove_ReusesRecords()
+	{
+		for( int i = 0; i < 8; i++ )
+		{
+			tree.add( i * 10 );
+		}
+		long reserved = tree.reservedBytes();
+
+		assertEquals( 0, (int) tree.removeMin().getElement() );
+		assertEquals( 70, (int) tree.removeMax().getElement() );
+		assertTrue( tree.add( -5 ) );
+		assertTrue( tree.add( 75 ) );
+
+		assertEquals( "Failed to reuse freed records.", reserved, tree.reservedBytes() );
+		assertEquals( "[-5, 10, 20, 30, 40, 50, 60, 75]", tree.toString() );
+	}
+
+	/**
+	 * Test method for the iterators of
+	 * {@link implementations.OffHeapBSTree} in all three orders.
+	 */
+	@Test
+	public void testIterators()
+	{
+		for( int value : new int[] { 50, 30, 70, 20, 40, 60, 80 } )
+		{
+			tree.add( value );
+		}
+		assertEquals( "50 30 20 40 70 60 80", join( tree.preorderIterator() ) );
+		assertEquals( "20 40 30 60 80 70 50", join( tree.postorderIterator() ) );
+
+		Iterator<Integer> it = tree.inorderIterator();
+		tree.add( 90 );
+		try
+		{
+			it.next();
+			fail( "Failed to detect concurrent modification." );
+		}
+		catch( ConcurrentModificationException e )
+		{
+			// expected
+		}
+	}
+
+	/**
+	 * Test method for {@link implementations.OffHeapBSTree#close()} to reject
+	 * any later use of the tree.
+	 */
+	@Test
+	public void testClose()
+	{
+		tree.add( 1 );
+		tree.close();
+
+		assertTrue( tree.isClosed() );
+		assertEquals( 0, tree.reservedBytes() );
+		try
+		{
+			tree.add( 2 );
+			fail( "Failed to reject use after close." );
+		}
+		catch( IllegalStateException e )
+		{
+			// expected
+		}
+		tree.close();
+	}
+
+	/**
+	 * Test method for {@link utilities.KeyCodec#ofLong()} and
+	 * {@link utilities.KeyCodec#ofString(int)}.
+	 */
+	@Test
+	public void testCodecs()
+	{
+		try( OffHeapBSTree<Long> longs = new OffHeapBSTree<Long>( KeyCodec.ofLong() ) )
+		{
+			longs.add( Long.MAX_VALUE );
+			longs.add( Long.MIN_VALUE );
+			longs.add( 0L );
+			assertEquals( Long.MIN_VALUE, (long) longs.removeMin().getElement() );
+			assertEquals( Long.MAX_VALUE, (long) longs.removeMax().getElement() );
+		}
+
+		try( OffHeapBSTree<String> strings = new OffHeapBSTree<String>( KeyCodec.ofString( 8 ) ) )
+		{
+			strings.add( "pear" );
+			strings.add( "apple" );
+			strings.add( "\u00e9clair" );
+			strings.add( "" );
+			assertEquals( "[, apple, pear, \u00e9clair]", strings.toString() );
+			try
+			{
+				strings.add( "watermelon" );
+				fail( "Failed to reject over-long key." );
+			}
+			catch( IllegalArgumentException e )
+			{
+				assertEquals( 4, strings.size() );
+			}
+		}
+
+		try( OffHeapBSTree<String> strings = new OffHeapBSTree<String>( KeyCodec.ofString( 8 ) ) )
+		{
+			strings.add( "\uffff" );
+			strings.add( "\ud83d\ude00" );
+			strings.add( "z" );
+			strings.add( "\u00e9" );
+			assertEquals( "Failed to compare in String order.", "[z, \u00e9, \ud83d\ude00, \uffff]", strings.toString() );
+			assertTrue( strings.contains( "\ud83d\ude00" ) );
+			assertFalse( strings.contains( "\ud83d" ) );
+		}
+	}
+
+	/**
+	 * Test method for {@link implementations.OffHeapBSTree#add(Comparable)} to
+	 * leave no record behind for a key the codec rejects.
+	 */
+	@Test
+	public void testAdd_RejectedKey()
+	{
+		try( OffHeapBSTree<String> strings = new OffHeapBSTree<String>( KeyCodec.ofString( 4 ), 2 ) )
+		{
+			long before = strings.reservedBytes();
+			strings.add( "fig" );
+			strings.add( "kiwi" );
+			strings.removeMin();
+			for( int i = 0; i < 5; i++ )
+			{
+				try
+				{
+					strings.add( "banana" );
+					fail( "Failed to reject over-long key." );
+				}
+				catch( IllegalArgumentException e )
+				{
+					// expected
+				}
+			}
+			assertTrue( strings.add( "lime" ) );
+			assertEquals( "Failed to reuse the released record.", before, strings.reservedBytes() );
+			assertEquals( "[kiwi, lime]", strings.toString() );
+		}
+	}
+
+	/**
+	 * Joins the elements returned by an iterator with spaces.
+	 * 
+	 * @param it the iterator to drain
+	 * @return the elements separated by single spaces
+	 */
+	private static String join( Iterator<Integer> it )
+	{
+		StringBuilder result = new StringBuilder();
+		while( it.hasNext() )
+		{
+			if( result.length() > 0 )
+			{
+				result.append( ' ' );
+			}
+			result.append( it.next() );
+		}
+		return result.toString();
+	}
+}
@@ -0,0 +1,218 @@
+package unitTests;
+
+import static org.junit.Assert.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import utilities.Iterator;
+
+import implementations.PersistentBSTree;
+
+/**
+ * Class Description: Unit tests for the path-copying binary search tree
+ * PersistentBSTree.
+ */
+
+public class PersistentBSTreeTest
+{
+	// Attributes
+	private PersistentBSTree<Integer> tree;
+
+	/**
+	 * Initializes a new PersistentBSTree instance before each test.
+	 * 
+	 * @throws java.lang.Exception
+	 */
+	@Before
+	public void setUp() throws Exception
+	{
+		tree = new PersistentBSTree<Integer>();
+	}
+
+	/**
+	 * Cleans up instances used after each test.
+	 * 
+	 * @throws java.lang.Exception
+	 */
+	@After
+	public void tearDown() throws Exception
+	{
+		tree = null;
+	}
+
+	/**
+	 * Test method for {@link implementations.PersistentBSTree#add(Comparable)}
+	 * to keep the tree balanced for sorted input.
+	 */
+	@Test
+	public void testAdd_Balanced()
+	{
+		for( int i = 1; i <= 1023; i++ )
+		{
+			assertTrue( tree.add( i ) );
+		}
+		assertFalse( "Failed to reject duplicate.", tree.add( 512 ) );
+
+		assertEquals( 1023, tree.size() );
+		assertEquals( "Failed to balance sorted input.", 10, tree.getHeight() );
+		assertEquals( 512, (int) tree.getRoot().getElement() );
+		assertTrue( tree.contains( 1023 ) );
+		assertNull( tree.search( 0 ) );
+	}
+
+	/**
+	 * Test method for {@link implementations.PersistentBSTree#snapshot()} to
+	 * keep each version unchanged by later mutations of the other.
+	 */
+	@Test
+	public void testSnapshot()
+	{
+		tree.add( 20 );
+		tree.add( 10 );
+		tree.add( 30 );
+		PersistentBSTree<Integer> snapshot = tree.snapshot();
+
+		tree.add( 40 );
+		assertEquals( 10, (int) tree.removeMin().getElement() );
+		snapshot.add( 5 );
+
+		assertEquals( "[20, 30, 40]", tree.toString() );
+		assertEquals( "Snapshot followed later changes.", "[5, 10, 20, 30]", snapshot.toString() );
+
+		tree.clear();
+		assertTrue( tree.isEmpty() );
+		assertEquals( 4, snapshot.size() );
+	}
+
+	/**
+	 * Test method for {@link implementations.PersistentBSTree#removeMin()} and
+	 * {@link implementations.PersistentBSTree#removeMax()}.
+	 */
+	@Test
+	public void testRemove()
+	{
+		assertNull( tree.removeMin() );
+		assertNull( tree.removeMax() );
+		for( int i = 1; i <= 100; i++ )
+		{
+			tree.add( i );
+		}
+		for( int i = 1; i <= 40; i++ )
+		{
+			assertEquals( i, (int) tree.removeMin().getElement() );
+			assertEquals( 101 - i, (int) tree.removeMax().getElement() );
+		}
+		assertEquals( 20, tree.size() );
+		assertTrue( "Failed to rebalance after removal.", tree.getHeight() <= 6 );
+	}
+
+	/**
+	 * Test method for {@link implementations.PersistentBSTree#inorderIterator()}
+	 * to keep walking the version it started from while the tree changes.
+	 */
+	@Test
+	public void testIterator_StableUnderMutation()
+	{
+		for( int value : new int[] { 50, 30, 70, 20, 40, 60, 80 } )
+		{
+			tree.add( value );
+		}
+		Iterator<Integer> it = tree.inorderIterator();
+		Iterator<Integer> pre = tree.preorderIterator();
+		Iterator<Integer> post = tree.postorderIterator();
+		tree.add( 10 );
+		tree.removeMax();
+
+		StringBuilder seen = new StringBuilder();
+		while( it.hasNext() )
+		{
+			seen.append( it.next() ).append( ' ' );
+		}
+		assertEquals( "20 30 40 50 60 70 80 ", seen.toString() );
+		assertEquals( 50, (int) pre.next() );
+		assertEquals( 20, (int) post.next() );
+	}
+
+	/**
+	 * Test method for {@link implementations.PersistentBSTree#snapshot()} to let
+	 * readers walk consistent versions while another thread writes.
+	 * 
+	 * @throws InterruptedException if the writer thread is interrupted
+	 */
+	@Test
+	public void testSnapshot_ConcurrentWriter() throws InterruptedException
+	{
+		Thread writer = new Thread( () ->
+		{
+			for( int i = 0; i < 20000; i++ )
+			{
+				tree.add( i );
+				if( i % 3 == 0 )
+				{
+					tree.removeMin();
+				}
+			}
+		} );
+		writer.start();
+		while( writer.isAlive() )
+		{
+			PersistentBSTree<Integer> snapshot = tree.snapshot();
+			Iterator<Integer> it = snapshot.inorderIterator();
+			int count = 0;
+			int previous = -1;
+			while( it.hasNext() )
+			{
+				int value = it.next();
+				assertTrue( "Snapshot out of order.", value > previous );
+				previous = value;
+				count++;
+			}
+			assertEquals( "Snapshot changed while reading.", snapshot.size(), count );
+		}
+		writer.join();
+		assertEquals( 20000 - 6667, tree.size() );
+	}
+
+	/**
+	 * Test method for the serialized form of {@link implementations.PersistentBSTree}
+	 * to restore the elements of the current version.
+	 * 
+	 * @throws IOException if the in-memory stream fails
+	 * @throws ClassNotFoundException if the tree class cannot be loaded
+	 */
+	@Test
+	@SuppressWarnings( "unchecked" )
+	public void testSerialization() throws IOException, ClassNotFoundException
+	{
+		for( int i = 1; i <= 100; i++ )
+		{
+			tree.add( i );
+		}
+		tree.removeMin();
+
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		try( ObjectOutputStream out = new ObjectOutputStream( bytes ) )
+		{
+			out.writeObject( tree );
+		}
+		PersistentBSTree<Integer> copy;
+		try( ObjectInputStream in = new ObjectInputStream( new ByteArrayInputStream( bytes.toByteArray() ) ) )
+		{
+			copy = (PersistentBSTree<Integer>) in.readObject();
+		}
+
+		assertEquals( tree.toString(), copy.toString() );
+		assertEquals( 99, copy.size() );
+		assertEquals( "Failed to rebuild balanced.", 7, copy.getHeight() );
+		assertTrue( "Failed to accept changes after restore.", copy.add( 1 ) );
+		assertEquals( 1, (int) copy.removeMin().getElement() );
+	}
+}
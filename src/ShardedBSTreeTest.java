@@ -0,0 +1,274 @@
+package unitTests;
+
+import static org.junit.Assert.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InvalidObjectException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import utilities.Iterator;
+
+import implementations.ConcurrentBSTree;
+import implementations.ShardedBSTree;
+
+/**
+ * Class Description: Unit tests for the key-range sharded binary search tree
+ * ShardedBSTree.
+ */
+
+public class ShardedBSTreeTest
+{
+	// Attributes
+	private ShardedBSTree<Integer> tree;
+
+	/**
+	 * Initializes a ShardedBSTree with four shards chosen from the first eight
+	 * elements before each test.
+	 * 
+	 * @throws java.lang.Exception
+	 */
+	@Before
+	public void setUp() throws Exception
+	{
+		tree = new ShardedBSTree<Integer>( 4, 8 );
+	}
+
+	/**
+	 * Cleans up instances used after each test.
+	 * 
+	 * @throws java.lang.Exception
+	 */
+	@After
+	public void tearDown() throws Exception
+	{
+		tree = null;
+	}
+
+	/**
+	 * Test method for {@link implementations.ShardedBSTree#add(Comparable)} to
+	 * split into shards once the sample is complete and keep every element.
+	 */
+	@Test
+	public void testAdd_Partitions()
+	{
+		for( int i = 1; i <= 7; i++ )
+		{
+			assertTrue( tree.add( i * 10 ) );
+		}
+		assertFalse( tree.isPartitioned() );
+		assertEquals( 1, tree.getShardCount() );
+
+		assertTrue( tree.add( 80 ) );
+		assertTrue( "Failed to partition after sample.", tree.isPartitioned() );
+		assertEquals( 4, tree.getShardCount() );
+
+		assertTrue( tree.add( 5 ) );
+		assertTrue( tree.add( 45 ) );
+		assertTrue( tree.add( 85 ) );
+		assertFalse( "Failed to reject duplicate.", tree.add( 40 ) );
+		assertEquals( 11, tree.size() );
+		assertTrue( tree.contains( 45 ) );
+		assertEquals( 85, (int) tree.search( 85 ).getElement() );
+		assertNull( tree.search( 46 ) );
+		assertEquals( "[5, 10, 20, 30, 40, 45, 50, 60, 70, 80, 85]", tree.toString() );
+	}
+
+	/**
+	 * Test method for {@link implementations.ShardedBSTree#removeMin()} and
+	 * {@link implementations.ShardedBSTree#removeMax()} to move across shards.
+	 */
+	@Test
+	public void testRemove_AcrossShards()
+	{
+		for( int i = 1; i <= 12; i++ )
+		{
+			tree.add( i );
+		}
+		for( int i = 1; i <= 6; i++ )
+		{
+			assertEquals( i, (int) tree.removeMin().getElement() );
+			assertEquals( 13 - i, (int) tree.removeMax().getElement() );
+		}
+		assertTrue( tree.isEmpty() );
+		assertNull( tree.removeMin() );
+		assertNull( tree.removeMax() );
+		assertTrue( "Failed to keep shards after emptying.", tree.isPartitioned() );
+	}
+
+	/**
+	 * Test method for {@link implementations.ShardedBSTree#addAll(java.util.Collection)}
+	 * to fill the sample and route the rest of the batch to the shards.
+	 */
+	@Test
+	public void testAddAll()
+	{
+		List<Integer> batch = new ArrayList<Integer>();
+		for( int i = 20; i >= 1; i-- )
+		{
+			batch.add( i );
+		}
+		batch.add( 3 );
+
+		assertEquals( 20, tree.addAll( batch ) );
+		assertTrue( tree.isPartitioned() );
+		assertEquals( 20, tree.size() );
+
+		Iterator<Integer> it = tree.inorderIterator();
+		for( int expected = 1; expected <= 20; expected++ )
+		{
+			assertEquals( expected, (int) it.next() );
+		}
+		assertFalse( it.hasNext() );
+
+		tree.clear();
+		assertEquals( 0, tree.size() );
+		assertEquals( "[]", tree.toString() );
+	}
+
+	/**
+	 * Test method for {@link implementations.ShardedBSTree#add(Comparable)} with
+	 * writers on different shards running in parallel.
+	 * 
+	 * @throws InterruptedException if a thread is interrupted
+	 */
+	@Test
+	public void testAdd_ParallelWriters() throws InterruptedException
+	{
+		for( int i = 0; i < 8; i++ )
+		{
+			tree.add( i * 1000 );
+		}
+		List<Thread> threads = new ArrayList<Thread>();
+		for( int t = 0; t < 4; t++ )
+		{
+			final int base = t * 2000;
+			threads.add( new Thread( () ->
+			{
+				for( int i = 1; i < 1000; i++ )
+				{
+					tree.add( base + i );
+				}
+			} ) );
+		}
+		for( Thread thread : threads )
+		{
+			thread.start();
+		}
+		for( Thread thread : threads )
+		{
+			thread.join();
+		}
+
+		assertEquals( 8 + 4 * 999, tree.size() );
+		int previous = -1;
+		int count = 0;
+		Iterator<Integer> it = tree.inorderIterator();
+		while( it.hasNext() )
+		{
+			int value = it.next();
+			assertTrue( "Tree out of order across shards.", value > previous );
+			previous = value;
+			count++;
+		}
+		assertEquals( tree.size(), count );
+	}
+
+	/**
+	 * Test method for the serialized form of {@link implementations.ShardedBSTree}
+	 * to restore the elements and shards both before and after partitioning.
+	 * 
+	 * @throws IOException if the in-memory stream fails
+	 * @throws ClassNotFoundException if the tree class cannot be loaded
+	 */
+	@Test
+	public void testSerialization() throws IOException, ClassNotFoundException
+	{
+		for( int i = 1; i <= 5; i++ )
+		{
+			tree.add( i * 10 );
+		}
+		ShardedBSTree<Integer> copy = roundTrip( tree );
+		assertFalse( copy.isPartitioned() );
+		assertEquals( tree.toString(), copy.toString() );
+
+		for( int i = 6; i <= 12; i++ )
+		{
+			tree.add( i * 10 );
+		}
+		copy = roundTrip( tree );
+		assertTrue( "Failed to restore partitioning.", copy.isPartitioned() );
+		assertEquals( tree.getShardCount(), copy.getShardCount() );
+		assertEquals( tree.toString(), copy.toString() );
+		assertTrue( copy.add( 65 ) );
+		assertTrue( copy.contains( 65 ) );
+		assertEquals( 10, (int) copy.removeMin().getElement() );
+		assertEquals( 120, (int) copy.removeMax().getElement() );
+	}
+
+	/**
+	 * Test method for the serialized form of {@link implementations.ShardedBSTree}
+	 * to reject a shard holding an element outside its boundaries.
+	 * 
+	 * @throws Exception if the in-memory stream or reflection fails
+	 */
+	@Test
+	@SuppressWarnings( "unchecked" )
+	public void testSerialization_MisplacedElement() throws Exception
+	{
+		for( int i = 1; i <= 12; i++ )
+		{
+			tree.add( i * 10 );
+		}
+		assertTrue( tree.isPartitioned() );
+		Field layoutField = ShardedBSTree.class.getDeclaredField( "layout" );
+		layoutField.setAccessible( true );
+		Object layout = layoutField.get( tree );
+		Field shardsField = layout.getClass().getDeclaredField( "shards" );
+		shardsField.setAccessible( true );
+		( (List<ConcurrentBSTree<Integer>>) shardsField.get( layout ) ).get( 0 ).add( 1000 );
+
+		try
+		{
+			roundTrip( tree );
+			fail( "Failed to reject an element outside its shard." );
+		}
+		catch( InvalidObjectException e )
+		{
+			// expected
+		}
+	}
+
+	/**
+	 * Writes a tree to memory and reads it back.
+	 * 
+	 * @param source the tree to copy
+	 * @return the copy read back
+	 * @throws IOException if the in-memory stream fails
+	 * @throws ClassNotFoundException if the tree class cannot be loaded
+	 */
+	@SuppressWarnings( "unchecked" )
+	private static ShardedBSTree<Integer> roundTrip( ShardedBSTree<Integer> source )
+			throws IOException, ClassNotFoundException
+	{
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		try( ObjectOutputStream out = new ObjectOutputStream( bytes ) )
+		{
+			out.writeObject( source );
+		}
+		try( ObjectInputStream in = new ObjectInputStream( new ByteArrayInputStream( bytes.toByteArray() ) ) )
+		{
+			return (ShardedBSTree<Integer>) in.readObject();
+		}
+	}
+}
@@ -0,0 +1,161 @@
+package unitTests;
+
+import static org.junit.Assert.*;
+
+import java.util.ConcurrentModificationException;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import utilities.Iterator;
+
+import implementations.SplayTree;
+
+/**
+ * Class Description: Unit tests for the self-adjusting binary search tree
+ * SplayTree.
+ */
+
+public class SplayTreeTest
+{
+	// Attributes
+	private SplayTree<String> tree;
+
+	/**
+	 * Initializes a new SplayTree instance holding a few words before each test.
+	 * 
+	 * @throws java.lang.Exception
+	 */
+	@Before
+	public void setUp() throws Exception
+	{
+		tree = new SplayTree<String>();
+		for( String word : new String[] { "the", "of", "and", "to", "a", "in", "is", "it" } )
+		{
+			assertTrue( tree.add( word ) );
+		}
+	}
+
+	/**
+	 * Cleans up instances used after each test.
+	 * 
+	 * @throws java.lang.Exception
+	 */
+	@After
+	public void tearDown() throws Exception
+	{
+		tree = null;
+	}
+
+	/**
+	 * Test method for {@link implementations.SplayTree#contains(Comparable)}
+	 * to move the element it reaches to the root.
+	 */
+	@Test
+	public void testContains_SplaysToRoot()
+	{
+		assertEquals( "it", tree.getRoot().getElement() );
+		assertTrue( tree.contains( "the" ) );
+		assertEquals( "Failed to splay the found element.", "the", tree.getRoot().getElement() );
+		assertFalse( tree.add( "of" ) );
+		assertEquals( "of", tree.getRoot().getElement() );
+
+		assertNull( tree.search( "on" ) );
+		String root = tree.getRoot().getElement();
+		assertTrue( "Failed to splay a neighbour of the missing element.", root.equals( "of" ) || root.equals( "the" ) );
+		assertEquals( 8, tree.size() );
+		assertEquals( "[a, and, in, is, it, of, the, to]", tree.toString() );
+	}
+
+	/**
+	 * Test method for {@link implementations.SplayTree#removeMin()} and
+	 * {@link implementations.SplayTree#removeMax()}.
+	 */
+	@Test
+	public void testRemoveMinMax()
+	{
+		assertEquals( "a", tree.removeMin().getElement() );
+		assertEquals( "to", tree.removeMax().getElement() );
+		assertEquals( "and", tree.removeMin().getElement() );
+		assertEquals( 5, tree.size() );
+		while( !tree.isEmpty() )
+		{
+			tree.removeMax();
+		}
+		assertNull( tree.removeMin() );
+		assertEquals( 0, tree.getHeight() );
+	}
+
+	/**
+	 * Test method for the iterators of {@link implementations.SplayTree},
+	 * which must fail fast once a lookup has restructured the tree.
+	 */
+	@Test
+	public void testIterators()
+	{
+		SplayTree<Integer> numbers = new SplayTree<Integer>();
+		for( int i = 1; i <= 5; i++ )
+		{
+			numbers.add( i );
+		}
+		assertEquals( 5, numbers.getHeight() );
+		numbers.contains( 1 );
+		assertEquals( "1 4 2 3 5", join( numbers.preorderIterator() ) );
+		assertEquals( "3 2 5 4 1", join( numbers.postorderIterator() ) );
+		assertEquals( "1 2 3 4 5", join( numbers.inorderIterator() ) );
+
+		Iterator<Integer> it = numbers.inorderIterator();
+		numbers.contains( 3 );
+		try
+		{
+			it.next();
+			fail( "Failed to detect restructuring during iteration." );
+		}
+		catch( ConcurrentModificationException e )
+		{
+			// expected
+		}
+	}
+
+	/**
+	 * Test method for {@link implementations.SplayTree#contains(Comparable)}
+	 * to bring back a frequently looked-up element to the root.
+	 */
+	@Test
+	public void testHotElement()
+	{
+		SplayTree<Integer> numbers = new SplayTree<Integer>();
+		for( int i = 0; i < 1000; i++ )
+		{
+			numbers.add( ( i * 389 ) % 1000 );
+		}
+		for( int i = 0; i < 1000; i++ )
+		{
+			assertTrue( numbers.contains( i % 10 == 0 ? 7 : i ) );
+		}
+		assertTrue( numbers.contains( 7 ) );
+		assertEquals( 7, (int) numbers.getRoot().getElement() );
+		assertEquals( 1000, numbers.size() );
+	}
+
+	/**
+	 * Joins the elements returned by an iterator with spaces.
+	 * 
+	 * @param it the iterator to drain
+	 * @return the elements separated by single spaces
+	 */
+	private static String join( Iterator<Integer> it )
+	{
+		StringBuilder result = new StringBuilder();
+		while( it.hasNext() )
+		{
+			if( result.length() > 0 )
+			{
+				result.append( ' ' );
+			}
+			result.append( it.next() );
+		}
+		return result.toString();
+	}
+}
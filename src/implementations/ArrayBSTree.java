@@ -0,0 +1,738 @@
+package implementations;
+
+import utilities.BSTreeADT;
+import utilities.Iterator;
+import java.io.IOException;
+import java.io.InvalidObjectException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.NoSuchElementException;
+
+/**
+ * ArrayBSTree is a Binary Search Tree that stores its nodes in parallel
+ * arrays instead of BSTreeNode objects. Node i holds its element in
+ * keys[i], the indices of its children in left[i] and right[i], and the
+ * height of its subtree in height[i]. Removed slots are chained into a
+ * free list through the left array and reused by later insertions, and
+ * the arrays double in size when they run out of room.
+ *
+ * Compared with BSTree this saves an object header and three references
+ * per entry, and a search walks a handful of dense arrays instead of
+ * chasing pointers through scattered node objects.
+ *
+ * Since the tree holds no node objects, getRoot(), search(), removeMin()
+ * and removeMax() return new, detached BSTreeNode instances holding the
+ * element; changing them has no effect on the tree.
+ *
+ * @param <E> the type of elements stored in this tree, must extend Comparable
+ * @author Your Name
+ * @version 1.0
+ */
+public class ArrayBSTree<E extends Comparable<? super E>> implements BSTreeADT<E> {
+
+    /** Serial version UID for serialization compatibility */
+    private static final long serialVersionUID = 1L;
+
+    /** Index standing for a missing node */
+    private static final int NIL = -1;
+
+    /** Capacity used by the default constructor */
+    private static final int DEFAULT_CAPACITY = 16;
+
+    /** The element stored in each slot, null for free slots; written by writeObject */
+    private transient E[] keys;
+
+    /** Index of each slot's left child, or the next free slot for free slots */
+    private int[] left;
+
+    /** Index of each slot's right child */
+    private int[] right;
+
+    /** Height of the subtree rooted at each slot, a leaf having height 1 */
+    private int[] height;
+
+    /** Index of the root slot, NIL if the tree is empty */
+    private int root;
+
+    /** Head of the free list of released slots, NIL if none */
+    private int freeHead;
+
+    /** Number of slots ever handed out; slots from here on are unused */
+    private int used;
+
+    /** The number of elements currently stored in the tree */
+    private int size;
+
+    /** Indices of the nodes on the last descended path, reused across calls */
+    private transient int[] path;
+
+    /** Number of structural modifications, used to make iterators fail fast */
+    private transient int modCount;
+
+    /**
+     * Constructs an empty tree with a default initial capacity.
+     */
+    public ArrayBSTree() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Constructs an empty tree with room for the given number of elements
+     * before its arrays have to grow.
+     *
+     * @param initialCapacity the number of slots to allocate up front
+     * @throws IllegalArgumentException if initialCapacity is less than 1
+     */
+    public ArrayBSTree(int initialCapacity) throws IllegalArgumentException {
+        if (initialCapacity < 1) {
+            throw new IllegalArgumentException("Initial capacity must be positive: " + initialCapacity);
+        }
+        allocateArrays(initialCapacity);
+    }
+
+    /**
+     * Helper method to allocate fresh, empty storage.
+     *
+     * @param capacity the number of slots to allocate
+     */
+    @SuppressWarnings("unchecked")
+    private void allocateArrays(int capacity) {
+        keys = (E[]) new Comparable<?>[capacity];
+        left = new int[capacity];
+        right = new int[capacity];
+        height = new int[capacity];
+        root = NIL;
+        freeHead = NIL;
+        used = 0;
+        size = 0;
+    }
+
+    /**
+     * Returns the number of slots the tree can hold before its arrays grow.
+     *
+     * @return the current capacity
+     */
+    public int capacity() {
+        return keys.length;
+    }
+
+    /**
+     * Returns a detached node holding the element at the root of the tree.
+     *
+     * @return a new node holding the root element
+     * @throws NullPointerException if the tree is empty and there is no root node
+     */
+    @Override
+    public BSTreeNode<E> getRoot() throws NullPointerException {
+        if (root == NIL) {
+            throw new NullPointerException("Tree is empty - no root node exists");
+        }
+        return new BSTreeNode<>(keys[root]);
+    }
+
+    /**
+     * Returns the height of the tree, a single node having height 1 and an
+     * empty tree having height 0. Runs in constant time.
+     *
+     * @return the height of the tree
+     */
+    @Override
+    public int getHeight() {
+        return heightOf(root);
+    }
+
+    /**
+     * Returns the number of elements currently stored in the tree.
+     *
+     * @return the number of elements in the tree
+     */
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Checks if the tree is currently empty.
+     *
+     * @return true if the tree is empty, false otherwise
+     */
+    @Override
+    public boolean isEmpty() {
+        return root == NIL;
+    }
+
+    /**
+     * Removes all elements from the tree and shrinks its storage back to the
+     * default capacity.
+     */
+    @Override
+    public void clear() {
+        allocateArrays(DEFAULT_CAPACITY);
+        modCount++;
+    }
+
+    /**
+     * Checks if the tree contains the specified element.
+     *
+     * @param entry the element to search for in the tree
+     * @return true if the element is found in the tree, false otherwise
+     * @throws NullPointerException if the entry being passed in is null
+     */
+    @Override
+    public boolean contains(E entry) throws NullPointerException {
+        if (entry == null) {
+            throw new NullPointerException("Entry cannot be null");
+        }
+        return find(entry) != NIL;
+    }
+
+    /**
+     * Searches for the specified element and returns a detached node holding it.
+     *
+     * @param entry the element to search for
+     * @return a new node holding the element, or null if not found
+     * @throws NullPointerException if the entry being passed in is null
+     */
+    @Override
+    public BSTreeNode<E> search(E entry) throws NullPointerException {
+        if (entry == null) {
+            throw new NullPointerException("Entry cannot be null");
+        }
+        int slot = find(entry);
+        return slot == NIL ? null : new BSTreeNode<>(keys[slot]);
+    }
+
+    /**
+     * Helper method to find the slot holding an element.
+     *
+     * @param entry the element to look for
+     * @return the slot index, or NIL if not found
+     */
+    private int find(E entry) {
+        int slot = root;
+        while (slot != NIL) {
+            int comparison = entry.compareTo(keys[slot]);
+
+            if (comparison == 0) {
+                return slot;
+            }
+            slot = comparison < 0 ? left[slot] : right[slot];
+        }
+        return NIL;
+    }
+
+    /**
+     * Adds a new element to the tree according to its natural ordering.
+     * Duplicate elements are not added.
+     *
+     * @param newEntry the element to add to the tree
+     * @return true if the element was added successfully, false if it already exists
+     * @throws NullPointerException if the newEntry being passed in is null
+     */
+    @Override
+    public boolean add(E newEntry) throws NullPointerException {
+        if (newEntry == null) {
+            throw new NullPointerException("New entry cannot be null");
+        }
+
+        if (root == NIL) {
+            root = allocate(newEntry);
+            size++;
+            modCount++;
+            return true;
+        }
+
+        int depth = 0;
+        int parent = root;
+        int comparison;
+        while (true) {
+            comparison = newEntry.compareTo(keys[parent]);
+
+            if (comparison == 0) {
+                return false;
+            }
+            depth = pushPath(depth, parent);
+            int next = comparison < 0 ? left[parent] : right[parent];
+            if (next == NIL) {
+                break;
+            }
+            parent = next;
+        }
+
+        int slot = allocate(newEntry);
+        if (comparison < 0) {
+            left[parent] = slot;
+        } else {
+            right[parent] = slot;
+        }
+        size++;
+        modCount++;
+
+        retrace(depth);
+        return true;
+    }
+
+    /**
+     * Removes the smallest element in the tree.
+     *
+     * @return a detached node holding the removed element, or null if the tree is empty
+     */
+    @Override
+    public BSTreeNode<E> removeMin() {
+        return removeExtreme(left, right);
+    }
+
+    /**
+     * Removes the largest element in the tree.
+     *
+     * @return a detached node holding the removed element, or null if the tree is empty
+     */
+    @Override
+    public BSTreeNode<E> removeMax() {
+        return removeExtreme(right, left);
+    }
+
+    /**
+     * Helper method to remove the node at the far end of one side of the
+     * tree, splicing its only child into its place.
+     *
+     * @param toward the child array to follow, left for the minimum
+     * @param away the opposite child array
+     * @return a detached node holding the removed element, or null if the tree is empty
+     */
+    private BSTreeNode<E> removeExtreme(int[] toward, int[] away) {
+        if (root == NIL) {
+            return null;
+        }
+
+        int depth = 0;
+        int slot = root;
+        while (toward[slot] != NIL) {
+            depth = pushPath(depth, slot);
+            slot = toward[slot];
+        }
+
+        if (depth == 0) {
+            root = away[slot];
+        } else {
+            toward[path[depth - 1]] = away[slot];
+        }
+
+        BSTreeNode<E> removed = new BSTreeNode<>(keys[slot]);
+        release(slot);
+        size--;
+        modCount++;
+
+        retrace(depth);
+        return removed;
+    }
+
+    /**
+     * Helper method to record a node on the descended path.
+     *
+     * @param depth the number of nodes already recorded
+     * @param slot the node to record
+     * @return the new number of recorded nodes
+     */
+    private int pushPath(int depth, int slot) {
+        if (path == null) {
+            path = new int[32];
+        } else if (depth == path.length) {
+            path = Arrays.copyOf(path, depth * 2);
+        }
+        path[depth] = slot;
+        return depth + 1;
+    }
+
+    /**
+     * Helper method to refresh the heights of the recorded path from the
+     * bottom up, stopping at the first node whose height is unchanged.
+     *
+     * @param depth the number of nodes recorded on the path
+     */
+    private void retrace(int depth) {
+        for (int i = depth - 1; i >= 0; i--) {
+            int slot = path[i];
+            int newHeight = 1 + Math.max(heightOf(left[slot]), heightOf(right[slot]));
+            if (height[slot] == newHeight) {
+                return;
+            }
+            height[slot] = newHeight;
+        }
+    }
+
+    /**
+     * Helper method to return the height of a possibly missing subtree.
+     *
+     * @param slot the root slot of the subtree, may be NIL
+     * @return the height of the subtree, 0 if slot is NIL
+     */
+    private int heightOf(int slot) {
+        return slot == NIL ? 0 : height[slot];
+    }
+
+    /**
+     * Helper method to take a slot from the free list, or from the unused
+     * tail of the arrays, doubling them if they are full.
+     *
+     * @param entry the element to store in the slot
+     * @return the index of the new leaf slot
+     */
+    private int allocate(E entry) {
+        int slot;
+        if (freeHead != NIL) {
+            slot = freeHead;
+            freeHead = left[slot];
+        } else {
+            if (used == keys.length) {
+                grow();
+            }
+            slot = used++;
+        }
+        keys[slot] = entry;
+        left[slot] = NIL;
+        right[slot] = NIL;
+        height[slot] = 1;
+        return slot;
+    }
+
+    /**
+     * Helper method to return a slot to the free list.
+     *
+     * @param slot the slot to release
+     */
+    private void release(int slot) {
+        keys[slot] = null;
+        left[slot] = freeHead;
+        freeHead = slot;
+    }
+
+    /**
+     * Helper method to double the capacity of every array.
+     *
+     * @throws IllegalStateException if the capacity cannot grow any further
+     */
+    private void grow() throws IllegalStateException {
+        int capacity = keys.length;
+        if (capacity == Integer.MAX_VALUE) {
+            throw new IllegalStateException("Tree capacity exhausted");
+        }
+        int newCapacity = (int) Math.min((long) capacity * 2, Integer.MAX_VALUE);
+        keys = Arrays.copyOf(keys, newCapacity);
+        left = Arrays.copyOf(left, newCapacity);
+        right = Arrays.copyOf(right, newCapacity);
+        height = Arrays.copyOf(height, newCapacity);
+    }
+
+    /**
+     * Creates a lazy in-order iterator over the contents of the tree.
+     * Elements are returned in their natural (sorted) order.
+     *
+     * @return an iterator with elements in natural order
+     */
+    @Override
+    public Iterator<E> inorderIterator() {
+        return new SlotIterator() {
+            {
+                pushLeftSpine(root);
+            }
+
+            @Override
+            protected int advance() {
+                int slot = pop();
+                pushLeftSpine(right[slot]);
+                return slot;
+            }
+        };
+    }
+
+    /**
+     * Creates a lazy pre-order iterator over the contents of the tree.
+     * The root element comes first, followed by left subtree, then right subtree.
+     *
+     * @return an iterator with elements in pre-order
+     */
+    @Override
+    public Iterator<E> preorderIterator() {
+        return new SlotIterator() {
+            {
+                if (root != NIL) {
+                    push(root);
+                }
+            }
+
+            @Override
+            protected int advance() {
+                int slot = pop();
+                if (right[slot] != NIL) {
+                    push(right[slot]);
+                }
+                if (left[slot] != NIL) {
+                    push(left[slot]);
+                }
+                return slot;
+            }
+        };
+    }
+
+    /**
+     * Creates a lazy post-order iterator over the contents of the tree.
+     * The root element comes last, after left and right subtrees.
+     *
+     * @return an iterator with elements in post-order
+     */
+    @Override
+    public Iterator<E> postorderIterator() {
+        return new SlotIterator() {
+            {
+                pushFirstLeafPath(root);
+            }
+
+            @Override
+            protected int advance() {
+                int slot = pop();
+                if (depth > 0 && left[stack[depth - 1]] == slot) {
+                    pushFirstLeafPath(right[stack[depth - 1]]);
+                }
+                return slot;
+            }
+        };
+    }
+
+    /**
+     * Base class for the lazy iterators. Pending slots are kept on an int
+     * stack that never grows past the tree height, and every call to next()
+     * checks that the tree has not been modified since the iterator was created.
+     */
+    private abstract class SlotIterator implements Iterator<E> {
+
+        /** Pending slots, the next element's slot being on top */
+        protected int[] stack = new int[Math.max(1, getHeight())];
+
+        /** Number of slots on the stack */
+        protected int depth;
+
+        /** The modification count the tree is expected to have */
+        private final int expectedModCount = modCount;
+
+        /**
+         * Pushes a slot onto the stack.
+         *
+         * @param slot the slot to push
+         */
+        protected void push(int slot) {
+            if (depth == stack.length) {
+                stack = Arrays.copyOf(stack, depth * 2);
+            }
+            stack[depth++] = slot;
+        }
+
+        /**
+         * Pops the top slot off the stack.
+         *
+         * @return the popped slot
+         */
+        protected int pop() {
+            return stack[--depth];
+        }
+
+        /**
+         * Pushes a slot and all of its left descendants onto the stack.
+         *
+         * @param slot the top of the spine, may be NIL
+         */
+        protected void pushLeftSpine(int slot) {
+            while (slot != NIL) {
+                push(slot);
+                slot = left[slot];
+            }
+        }
+
+        /**
+         * Pushes the path from a slot down to the first leaf visited in
+         * post-order within its subtree.
+         *
+         * @param slot the root of the subtree, may be NIL
+         */
+        protected void pushFirstLeafPath(int slot) {
+            while (slot != NIL) {
+                push(slot);
+                slot = left[slot] != NIL ? left[slot] : right[slot];
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            return depth > 0;
+        }
+
+        @Override
+        public E next() throws NoSuchElementException {
+            if (modCount != expectedModCount) {
+                throw new ConcurrentModificationException("Tree modified during iteration");
+            }
+            if (!hasNext()) {
+                throw new NoSuchElementException("No more elements in iteration");
+            }
+            return keys[advance()];
+        }
+
+        /**
+         * Pops the next slot in traversal order and pushes whatever slots
+         * are needed to continue the traversal after it.
+         *
+         * @return the next slot in traversal order
+         */
+        protected abstract int advance();
+    }
+
+    /**
+     * Writes the default fields, which include the child and height arrays,
+     * followed by the element of every slot handed out so far, null for
+     * free slots.
+     *
+     * @param out the stream to write to
+     * @throws IOException if the stream cannot be written
+     * @serialData the default fields, then the elements of slots 0 to used - 1
+     */
+    private void writeObject(ObjectOutputStream out) throws IOException {
+        out.defaultWriteObject();
+        for (int slot = 0; slot < used; slot++) {
+            out.writeObject(keys[slot]);
+        }
+    }
+
+    /**
+     * Reads a tree written by writeObject, restoring the slots as they were.
+     * Every index is checked before it is followed, so that a corrupted
+     * stream is rejected instead of failing or looping later.
+     *
+     * @param in the stream to read from
+     * @throws IOException if the stream cannot be read or holds an invalid tree
+     * @throws ClassNotFoundException if a class in the stream cannot be found
+     */
+    @SuppressWarnings("unchecked")
+    private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+        in.defaultReadObject();
+        if (left == null || right == null || height == null || left.length == 0 || left.length != right.length
+                || left.length != height.length || used < 0 || used > left.length || size < 0 || size > used
+                || root < NIL || root >= used || freeHead < NIL || freeHead >= used) {
+            throw new InvalidObjectException("Inconsistent slot arrays");
+        }
+        keys = (E[]) new Comparable<?>[left.length];
+        for (int slot = 0; slot < used; slot++) {
+            keys[slot] = (E) in.readObject();
+        }
+        checkTree();
+        checkFreeList();
+    }
+
+    /**
+     * Helper method to check that the slots reachable from the root form a
+     * search tree of exactly size nodes with correct heights. Each node is
+     * checked against the range its ancestors allow, which also rules out
+     * cycles and shared children, since a slot cannot lie in the range of
+     * its own subtree.
+     *
+     * @throws InvalidObjectException if the slots do not form such a tree
+     */
+    private void checkTree() throws InvalidObjectException {
+        int[] order = new int[size];
+        int[] stack = new int[size];
+        int[] lows = new int[size];
+        int[] highs = new int[size];
+        int visited = 0;
+        int depth = 0;
+        if (root != NIL) {
+            if (size == 0) {
+                throw new InvalidObjectException("More nodes than the size");
+            }
+            stack[0] = root;
+            lows[0] = NIL;
+            highs[0] = NIL;
+            depth = 1;
+        }
+
+        while (depth > 0) {
+            depth--;
+            int slot = stack[depth];
+            int low = lows[depth];
+            int high = highs[depth];
+            E key = keys[slot];
+            if (key == null || (low != NIL && keys[low].compareTo(key) >= 0)
+                    || (high != NIL && key.compareTo(keys[high]) >= 0)) {
+                throw new InvalidObjectException("Nodes out of order");
+            }
+            order[visited++] = slot;
+
+            for (int side = 0; side < 2; side++) {
+                boolean isRight = side == 0;
+                int child = isRight ? right[slot] : left[slot];
+                if (child == NIL) {
+                    continue;
+                }
+                if (child < 0 || child >= used) {
+                    throw new InvalidObjectException("Child index out of range: " + child);
+                }
+                if (visited + depth == size) {
+                    throw new InvalidObjectException("More nodes than the size");
+                }
+                stack[depth] = child;
+                lows[depth] = isRight ? slot : low;
+                highs[depth] = isRight ? high : slot;
+                depth++;
+            }
+        }
+        if (visited != size) {
+            throw new InvalidObjectException("Fewer nodes than the size");
+        }
+
+        // Children follow their parent in pre-order, so walking it backwards
+        // checks every child before the parent's height relies on it.
+        for (int i = visited - 1; i >= 0; i--) {
+            int slot = order[i];
+            if (height[slot] != 1 + Math.max(heightOf(left[slot]), heightOf(right[slot]))) {
+                throw new InvalidObjectException("Wrong subtree height at slot " + slot);
+            }
+        }
+    }
+
+    /**
+     * Helper method to check that the free list holds exactly the slots
+     * handed out but not in the tree.
+     *
+     * @throws InvalidObjectException if the free list is inconsistent
+     */
+    private void checkFreeList() throws InvalidObjectException {
+        int free = 0;
+        for (int slot = freeHead; slot != NIL; slot = left[slot]) {
+            if (slot < 0 || slot >= used || keys[slot] != null || ++free > used - size) {
+                throw new InvalidObjectException("Corrupt free list");
+            }
+        }
+        if (free != used - size) {
+            throw new InvalidObjectException("Corrupt free list");
+        }
+    }
+
+    /**
+     * Returns a string representation of the tree using in-order traversal.
+     *
+     * @return string representation of the tree
+     */
+    @Override
+    public String toString() {
+        StringBuilder result = new StringBuilder("[");
+        Iterator<E> iterator = inorderIterator();
+
+        while (iterator.hasNext()) {
+            if (result.length() > 1) {
+                result.append(", ");
+            }
+            result.append(iterator.next());
+        }
+        return result.append("]").toString();
+    }
+}
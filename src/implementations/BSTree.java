@@ -1,197 +1,1836 @@
 package implementations;
 
-import java.io.Serializable;
+import utilities.BSTreeADT;
+import utilities.Iterator;
+import java.io.IOException;
+import java.io.InvalidObjectException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.NoSuchElementException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.ConcurrentModificationException;
+import java.util.Deque;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
- * BSTreeNode represents a node in a Binary Search Tree.
- * Each node contains data and references to left and right child nodes.
- * This class supports the BSTree implementation for Assignment 3.
+ * BSTree is a Binary Search Tree implementation that maintains elements
+ * in sorted order according to their natural ordering (Comparable interface).
+ * This implementation supports the WordTracker application for Assignment 3.
  *
- * @param <E> the type of elements stored in this node, must extend Comparable
+ * The tree does not allow duplicate elements and provides lazy, fail-fast
+ * iterators for in-order, pre-order, and post-order traversal.
+ *
+ * A tree constructed in balanced mode rebalances itself after every
+ * insertion and removal using AVL rotations, guaranteeing O(log n) height
+ * even when elements arrive in sorted order.
+ *
+ * A serialized tree holds only its size, mode and elements in order, and
+ * is rebuilt perfectly balanced when read back.
+ *
+ * @param <E> the type of elements stored in this tree, must extend Comparable
  * @author Your Name
  * @version 1.0
  */
-public class BSTreeNode<E extends Comparable<? super E>> implements Serializable {
+public class BSTree<E extends Comparable<? super E>> implements BSTreeADT<E> {
 
     /** Serial version UID for serialization compatibility */
-    private static final long serialVersionUID = 1L;
+    private static final long serialVersionUID = 2L;
+
+    /** Ranges smaller than this are built on a single thread by buildParallel() */
+    private static final int PARALLEL_BUILD_THRESHOLD = 1 << 13;
+
+    /** The root node of the binary search tree, rebuilt on deserialization */
+    private transient BSTreeNode<E> root;
+
+    /** The number of elements currently stored in the tree */
+    private int size;
+
+    /** The node holding the smallest element, null if the tree is empty */
+    private transient BSTreeNode<E> minimum;
+
+    /** The node holding the largest element, null if the tree is empty */
+    private transient BSTreeNode<E> maximum;
 
-    /** The data element stored in this node */
-    private E data;
+    /** Number of structural modifications, used to make iterators fail fast */
+    private transient int modCount;
+
+    /** Whether the tree rebalances itself after each mutation (AVL mode) */
+    private final boolean balanced;
+
+    /**
+     * Constructs an empty binary search tree.
+     * The root is initialized to null and size to 0.
+     */
+    public BSTree() {
+        this(false);
+    }
+
+    /**
+     * Constructs an empty binary search tree, optionally in balanced mode.
+     * In balanced mode the tree performs AVL rotations so that its height
+     * stays within O(log n) regardless of insertion order.
+     *
+     * @param balanced true to keep the tree height-balanced, false for a plain BST
+     */
+    public BSTree(boolean balanced) {
+        this.balanced = balanced;
+        root = null;
+        size = 0;
+    }
 
-    /** Reference to the left child node */
-    private BSTreeNode<E> left;
+    /**
+     * Constructs a binary search tree containing the specified element as its root.
+     *
+     * @param element the element to store at the root of the tree
+     * @throws NullPointerException if element is null
+     */
+    public BSTree(E element) throws NullPointerException {
+        this(false);
+        root = new BSTreeNode<>(element);
+        size = 1;
+        refreshExtremes();
+    }
 
-    /** Reference to the right child node */
-    private BSTreeNode<E> right;
+    /**
+     * Builds a perfectly balanced tree holding the given elements in O(n)
+     * time when they are already sorted. Duplicates are dropped, and
+     * unsorted input is sorted first in O(n log n). The array is not modified.
+     *
+     * @param <E> the type of elements stored in the tree
+     * @param elements the elements to store in the tree
+     * @return a new balanced tree containing the distinct elements
+     * @throws NullPointerException if the array or any of its elements is null
+     */
+    public static <E extends Comparable<? super E>> BSTree<E> build(E[] elements) throws NullPointerException {
+        if (elements == null) {
+            throw new NullPointerException("Elements cannot be null");
+        }
+        return fromArray(Arrays.copyOf(elements, elements.length, Object[].class));
+    }
 
     /**
-     * Constructs a new BSTreeNode with the specified data element.
-     * Left and right children are initialized to null.
+     * Builds a perfectly balanced tree holding the given elements in O(n)
+     * time when the collection iterates them in sorted order. Duplicates are
+     * dropped, and unsorted input is sorted first in O(n log n).
      *
-     * @param data the data element to store in this node
-     * @throws NullPointerException if data is null
+     * @param <E> the type of elements stored in the tree
+     * @param elements the elements to store in the tree
+     * @return a new balanced tree containing the distinct elements
+     * @throws NullPointerException if the collection or any of its elements is null
      */
-    public BSTreeNode(E data) {
-        if (data == null) {
-            throw new NullPointerException("Data cannot be null");
+    public static <E extends Comparable<? super E>> BSTree<E> build(Collection<? extends E> elements) throws NullPointerException {
+        if (elements == null) {
+            throw new NullPointerException("Elements cannot be null");
         }
-        this.data = data;
-        this.left = null;
-        this.right = null;
+        return fromArray(elements.toArray());
     }
 
     /**
-     * Constructs a new BSTreeNode with the specified data and child nodes.
+     * Builds a perfectly balanced tree holding the elements remaining in the
+     * given iterator, such as another tree's in-order iterator, in O(n) time
+     * when they arrive in sorted order. Duplicates are dropped, and unsorted
+     * input is sorted first in O(n log n).
      *
-     * @param data the data element to store in this node
-     * @param left the left child node
-     * @param right the right child node
-     * @throws NullPointerException if data is null
+     * @param <E> the type of elements stored in the tree
+     * @param elements the iterator supplying the elements to store
+     * @return a new balanced tree containing the distinct elements
+     * @throws NullPointerException if the iterator or any element it returns is null
      */
-    public BSTreeNode(E data, BSTreeNode<E> left, BSTreeNode<E> right) {
-        if (data == null) {
-            throw new NullPointerException("Data cannot be null");
+    public static <E extends Comparable<? super E>> BSTree<E> build(Iterator<? extends E> elements) throws NullPointerException {
+        if (elements == null) {
+            throw new NullPointerException("Elements cannot be null");
+        }
+        List<E> drained = new ArrayList<>();
+        while (elements.hasNext()) {
+            drained.add(elements.next());
         }
-        this.data = data;
-        this.left = left;
-        this.right = right;
+        return fromArray(drained.toArray());
     }
 
     /**
-     * Returns the data element stored in this node.
+     * Builds a perfectly balanced tree holding the given elements using
+     * every available core: unsorted input is sorted with a parallel sort,
+     * and the left and right halves of each large subtree are built as
+     * separate fork/join tasks. Duplicates are dropped. The array is not
+     * modified.
      *
-     * @return the data element stored in this node
+     * @param <E> the type of elements stored in the tree
+     * @param elements the elements to store in the tree
+     * @return a new balanced tree containing the distinct elements
+     * @throws NullPointerException if the array or any of its elements is null
      */
-    public E getData() {
-        return data;
+    public static <E extends Comparable<? super E>> BSTree<E> buildParallel(E[] elements) throws NullPointerException {
+        if (elements == null) {
+            throw new NullPointerException("Elements cannot be null");
+        }
+        return fromArrayParallel(Arrays.copyOf(elements, elements.length, Object[].class));
     }
 
     /**
-     * Sets the data element stored in this node.
+     * Builds a perfectly balanced tree holding the given elements using
+     * every available core, as buildParallel(E[]) does. Duplicates are dropped.
      *
-     * @param data the new data element to store
-     * @throws NullPointerException if data is null
+     * @param <E> the type of elements stored in the tree
+     * @param elements the elements to store in the tree
+     * @return a new balanced tree containing the distinct elements
+     * @throws NullPointerException if the collection or any of its elements is null
      */
-    public void setData(E data) {
-        if (data == null) {
-            throw new NullPointerException("Data cannot be null");
+    public static <E extends Comparable<? super E>> BSTree<E> buildParallel(Collection<? extends E> elements) throws NullPointerException {
+        if (elements == null) {
+            throw new NullPointerException("Elements cannot be null");
         }
-        this.data = data;
+        return fromArrayParallel(elements.toArray());
+    }
+
+    /**
+     * Helper method to build a balanced tree from an array it may reorder.
+     *
+     * @param <E> the type of elements stored in the tree
+     * @param elements the elements, all of type E
+     * @return a new balanced tree containing the distinct elements
+     */
+    private static <E extends Comparable<? super E>> BSTree<E> fromArray(Object[] elements) {
+        int count = sortDistinct(elements, false);
+        BSTree<E> tree = new BSTree<>();
+        tree.root = tree.buildBalanced(elements, 0, count, null);
+        tree.size = count;
+        tree.refreshExtremes();
+        return tree;
     }
 
     /**
-     * Returns the left child node.
+     * Helper method to build a balanced tree from an array it may reorder,
+     * sorting and linking the nodes in parallel.
      *
-     * @return the left child node, or null if no left child exists
+     * @param <E> the type of elements stored in the tree
+     * @param elements the elements, all of type E
+     * @return a new balanced tree containing the distinct elements
      */
-    public BSTreeNode<E> getLeft() {
-        return left;
+    private static <E extends Comparable<? super E>> BSTree<E> fromArrayParallel(Object[] elements) {
+        int count = sortDistinct(elements, true);
+        BSTree<E> tree = new BSTree<>();
+        tree.root = ForkJoinPool.commonPool().invoke(new BuildTask<>(tree, elements, 0, count));
+        tree.size = count;
+        tree.refreshExtremes();
+        return tree;
     }
 
     /**
-     * Sets the left child node.
+     * Helper method to sort an array of elements in place, unless it is
+     * already sorted, and move the distinct elements to its front.
      *
-     * @param left the new left child node (can be null)
+     * @param elements the elements to sort, all of a mutually Comparable type
+     * @param parallel true to sort on all available cores
+     * @return the number of distinct elements now at the front of the array
+     * @throws NullPointerException if any element is null
      */
-    public void setLeft(BSTreeNode<E> left) {
-        this.left = left;
+    @SuppressWarnings("unchecked")
+    private static int sortDistinct(Object[] elements, boolean parallel) throws NullPointerException {
+        boolean sorted = true;
+        for (int i = 0; i < elements.length; i++) {
+            if (elements[i] == null) {
+                throw new NullPointerException("Elements cannot contain null");
+            }
+            if (sorted && i > 0 && ((Comparable<Object>) elements[i - 1]).compareTo(elements[i]) > 0) {
+                sorted = false;
+            }
+        }
+        if (!sorted) {
+            if (parallel) {
+                Arrays.parallelSort(elements, null);
+            } else {
+                Arrays.sort(elements);
+            }
+        }
+
+        int count = 0;
+        for (int i = 0; i < elements.length; i++) {
+            if (count == 0 || ((Comparable<Object>) elements[count - 1]).compareTo(elements[i]) != 0) {
+                elements[count++] = elements[i];
+            }
+        }
+        return count;
     }
 
     /**
-     * Returns the right child node.
+     * Helper method to build a balanced subtree from a sorted, duplicate-free
+     * range of elements by making the middle element its root.
      *
-     * @return the right child node, or null if no right child exists
+     * @param sorted the sorted distinct elements
+     * @param from the first index of the range, inclusive
+     * @param to the last index of the range, exclusive
+     * @param parent the parent to link the subtree's root to
+     * @return the root of the new subtree, or null if the range is empty
      */
-    public BSTreeNode<E> getRight() {
-        return right;
+    @SuppressWarnings("unchecked")
+    private BSTreeNode<E> buildBalanced(Object[] sorted, int from, int to, BSTreeNode<E> parent) {
+        if (from >= to) {
+            return null;
+        }
+
+        int middle = (from + to) >>> 1;
+        BSTreeNode<E> node = new BSTreeNode<>((E) sorted[middle]);
+        node.setParent(parent);
+        node.setLeft(buildBalanced(sorted, from, middle, node));
+        node.setRight(buildBalanced(sorted, middle + 1, to, node));
+        updateNode(node);
+        return node;
+    }
+
+    /**
+     * Fork/join task building a balanced subtree from a range of sorted,
+     * distinct elements. The middle element becomes the root and the two
+     * halves are built concurrently; ranges below PARALLEL_BUILD_THRESHOLD
+     * are built sequentially by the owning tree's buildBalanced(). Tasks are
+     * never serialized, so the tree and elements they work on are transient.
+     */
+    private static final class BuildTask<E extends Comparable<? super E>> extends RecursiveTask<BSTreeNode<E>> {
+
+        /** Serial version UID for serialization compatibility */
+        private static final long serialVersionUID = 1L;
+
+        /** The tree the subtree is built for, whose mode decides node heights */
+        private final transient BSTree<E> tree;
+
+        /** The sorted distinct elements */
+        private final transient Object[] sorted;
+
+        /** The first index of the range, inclusive */
+        private final int from;
+
+        /** The last index of the range, exclusive */
+        private final int to;
+
+        /**
+         * Constructs a task for a range of elements.
+         *
+         * @param tree the tree the subtree is built for
+         * @param sorted the sorted distinct elements
+         * @param from the first index of the range, inclusive
+         * @param to the last index of the range, exclusive
+         */
+        BuildTask(BSTree<E> tree, Object[] sorted, int from, int to) {
+            this.tree = tree;
+            this.sorted = sorted;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        protected BSTreeNode<E> compute() {
+            if (to - from < PARALLEL_BUILD_THRESHOLD) {
+                return tree.buildBalanced(sorted, from, to, null);
+            }
+
+            int middle = (from + to) >>> 1;
+            BuildTask<E> leftTask = new BuildTask<>(tree, sorted, from, middle);
+            leftTask.fork();
+            BSTreeNode<E> right = new BuildTask<>(tree, sorted, middle + 1, to).compute();
+            BSTreeNode<E> left = leftTask.join();
+
+            BSTreeNode<E> node = new BSTreeNode<>((E) sorted[middle]);
+            node.setLeft(left);
+            node.setRight(right);
+            left.setParent(node);
+            right.setParent(node);
+            tree.updateNode(node);
+            return node;
+        }
     }
 
     /**
-     * Sets the right child node.
+     * Checks if this tree rebalances itself after each mutation.
      *
-     * @param right the new right child node (can be null)
+     * @return true if the tree is in balanced (AVL) mode, false otherwise
      */
-    public void setRight(BSTreeNode<E> right) {
-        this.right = right;
+    public boolean isBalanced() {
+        return balanced;
     }
 
     /**
-     * Checks if this node has a left child.
+     * Returns the root node of the binary search tree.
      *
-     * @return true if this node has a left child, false otherwise
+     * @return the root node of the tree
+     * @throws NullPointerException if the tree is empty and there is no root node
      */
-    public boolean hasLeft() {
-        return left != null;
+    @Override
+    public BSTreeNode<E> getRoot() throws NullPointerException {
+        if (root == null) {
+            throw new NullPointerException("Tree is empty - no root node exists");
+        }
+        return root;
     }
 
     /**
-     * Checks if this node has a right child.
+     * Returns the root node, or null if the tree is empty. Used by wrappers
+     * in this package that walk the nodes themselves.
      *
-     * @return true if this node has a right child, false otherwise
+     * @return the root node of the tree, may be null
      */
-    public boolean hasRight() {
-        return right != null;
+    BSTreeNode<E> rootNode() {
+        return root;
     }
 
     /**
-     * Checks if this node is a leaf node (has no children).
+     * Determines the height of the tree and returns that value.
+     * The height is the number of levels in the tree, with a single node
+     * having height 1, and an empty tree having height 0. Node heights are
+     * maintained by every mutation, so this runs in constant time.
      *
-     * @return true if this node is a leaf, false otherwise
+     * @return the height of the tree
      */
-    public boolean isLeaf() {
-        return left == null && right == null;
+    @Override
+    public int getHeight() {
+        return heightOf(root);
     }
 
     /**
-     * Returns the number of children this node has.
+     * Returns the number of elements currently stored in the tree.
      *
-     * @return 0, 1, or 2 depending on the number of non-null children
+     * @return the number of elements in the tree
      */
-    public int getChildCount() {
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Checks if the tree is currently empty.
+     *
+     * @return true if the tree is empty, false otherwise
+     */
+    @Override
+    public boolean isEmpty() {
+        return root == null;
+    }
+
+    /**
+     * Removes all elements from the tree, making it empty.
+     * After this operation, the tree will have size 0 and no root.
+     */
+    @Override
+    public void clear() {
+        root = null;
+        size = 0;
+        minimum = null;
+        maximum = null;
+        modCount++;
+    }
+
+    /**
+     * Checks if the tree contains the specified element.
+     *
+     * @param entry the element to search for in the tree
+     * @return true if the element is found in the tree, false otherwise
+     * @throws NullPointerException if the entry being passed in is null
+     */
+    @Override
+    public boolean contains(E entry) throws NullPointerException {
+        if (entry == null) {
+            throw new NullPointerException("Entry cannot be null");
+        }
+        return search(entry) != null;
+    }
+
+    /**
+     * Searches for and retrieves a node from the tree containing the specified element.
+     *
+     * @param entry the element to search for
+     * @return the node containing the element, or null if not found
+     * @throws NullPointerException if the entry being passed in is null
+     */
+    @Override
+    public BSTreeNode<E> search(E entry) throws NullPointerException {
+        if (entry == null) {
+            throw new NullPointerException("Entry cannot be null");
+        }
+
+        BSTreeNode<E> node = root;
+        while (node != null) {
+            int comparison = entry.compareTo(node.getData());
+
+            if (comparison == 0) {
+                return node;
+            }
+            node = comparison < 0 ? node.getLeft() : node.getRight();
+        }
+        return null;
+    }
+
+    /**
+     * Adds a new element to the tree according to the natural ordering
+     * established by the Comparable implementation. Duplicate elements
+     * are not added to maintain the set property.
+     *
+     * @param newEntry the element to add to the tree
+     * @return true if the element was added successfully, false if it already exists
+     * @throws NullPointerException if the newEntry being passed in is null
+     */
+    @Override
+    public boolean add(E newEntry) throws NullPointerException {
+        if (newEntry == null) {
+            throw new NullPointerException("New entry cannot be null");
+        }
+
+        if (root == null) {
+            root = new BSTreeNode<>(newEntry);
+            size++;
+            modCount++;
+            refreshExtremes();
+            return true;
+        }
+
+        BSTreeNode<E> parent = root;
+        int comparison;
+        while (true) {
+            comparison = newEntry.compareTo(parent.getData());
+
+            if (comparison == 0) {
+                // Element already exists, don't add duplicate
+                return false;
+            }
+            BSTreeNode<E> next = comparison < 0 ? parent.getLeft() : parent.getRight();
+            if (next == null) {
+                break;
+            }
+            parent = next;
+        }
+
+        BSTreeNode<E> node = new BSTreeNode<>(newEntry);
+        node.setParent(parent);
+        if (comparison < 0) {
+            parent.setLeft(node);
+        } else {
+            parent.setRight(node);
+        }
+        size++;
+        modCount++;
+
+        // A new extreme is always attached directly below the old one
+        if (minimum.getLeft() == node) {
+            minimum = node;
+        } else if (maximum.getRight() == node) {
+            maximum = node;
+        }
+
+        retrace(parent);
+        return true;
+    }
+
+    /**
+     * Adds every element of the collection to the tree. The batch is sorted
+     * once and merged into the tree in a single coordinated pass instead of
+     * one root-to-leaf descent per element; see {@link #addAll(Comparable[])}.
+     *
+     * @param entries the elements to add to the tree
+     * @return the number of elements that were not already in the tree
+     * @throws NullPointerException if the collection or any of its elements is null
+     */
+    @Override
+    public int addAll(Collection<? extends E> entries) throws NullPointerException {
+        if (entries == null) {
+            throw new NullPointerException("Entries cannot be null");
+        }
+        return mergeSorted(entries.toArray());
+    }
+
+    /**
+     * Adds every element of the array to the tree. The batch is sorted once
+     * and merged into the tree in a single coordinated pass: in plain mode
+     * each slice of the batch descends a shared path, is split around every
+     * node it meets, and lands as a balanced subtree wherever it reaches an
+     * empty link. In balanced mode a batch that is large relative to the
+     * tree is merged with the tree's in-order contents and rebuilt in
+     * O(n + k), while a small batch is inserted element by element.
+     * The tree is left unchanged if any element is null.
+     *
+     * @param entries the elements to add to the tree
+     * @return the number of elements that were not already in the tree
+     * @throws NullPointerException if the array or any of its elements is null
+     */
+    @Override
+    public int addAll(E[] entries) throws NullPointerException {
+        if (entries == null) {
+            throw new NullPointerException("Entries cannot be null");
+        }
+        return mergeSorted(Arrays.copyOf(entries, entries.length, Object[].class));
+    }
+
+    /**
+     * Helper method to merge a batch of elements into the tree.
+     *
+     * @param batch the elements to add, all of type E; reordered in place
+     * @return the number of elements that were not already in the tree
+     * @throws NullPointerException if any element is null
+     */
+    @SuppressWarnings("unchecked")
+    private int mergeSorted(Object[] batch) throws NullPointerException {
+        int count = sortDistinct(batch, false);
+        if (count == 0) {
+            return 0;
+        }
+
+        if (root == null) {
+            root = buildBalanced(batch, 0, count, null);
+            size = count;
+            refreshExtremes();
+            modCount++;
+            return count;
+        }
+
+        if (balanced) {
+            int log = 32 - Integer.numberOfLeadingZeros(size);
+            if ((long) count * log < size) {
+                int added = 0;
+                for (int i = 0; i < count; i++) {
+                    if (add((E) batch[i])) {
+                        added++;
+                    }
+                }
+                return added;
+            }
+            return rebuildWith(batch, count);
+        }
+
+        int added = 0;
+        List<BSTreeNode<E>> visited = new ArrayList<>();
+        Deque<BSTreeNode<E>> nodes = new ArrayDeque<>();
+        Deque<int[]> ranges = new ArrayDeque<>();
+        nodes.push(root);
+        ranges.push(new int[] {0, count});
+
+        while (!nodes.isEmpty()) {
+            BSTreeNode<E> node = nodes.pop();
+            int[] range = ranges.pop();
+            visited.add(node);
+
+            // Split the slice around this node; an equal element is a duplicate
+            int split = lowerBound(batch, range[0], range[1], node.getData());
+            int rightFrom = split;
+            if (split < range[1] && node.getData().compareTo((E) batch[split]) == 0) {
+                rightFrom++;
+            }
+
+            if (split > range[0]) {
+                if (node.getLeft() == null) {
+                    node.setLeft(buildBalanced(batch, range[0], split, node));
+                    added += split - range[0];
+                } else {
+                    nodes.push(node.getLeft());
+                    ranges.push(new int[] {range[0], split});
+                }
+            }
+            if (range[1] > rightFrom) {
+                if (node.getRight() == null) {
+                    node.setRight(buildBalanced(batch, rightFrom, range[1], node));
+                    added += range[1] - rightFrom;
+                } else {
+                    nodes.push(node.getRight());
+                    ranges.push(new int[] {rightFrom, range[1]});
+                }
+            }
+        }
+
+        // Children were visited after their parents, so refresh heights in reverse
+        for (int i = visited.size() - 1; i >= 0; i--) {
+            updateNode(visited.get(i));
+        }
+
+        if (added > 0) {
+            size += added;
+            modCount++;
+            refreshExtremes();
+        }
+        return added;
+    }
+
+    /**
+     * Helper method to find the first index in a sorted range whose element
+     * is not less than the given key.
+     *
+     * @param sorted the sorted elements, all of type E
+     * @param from the first index of the range, inclusive
+     * @param to the last index of the range, exclusive
+     * @param key the key to look for
+     * @return the index of the first element not less than key, or to if none
+     */
+    @SuppressWarnings("unchecked")
+    private int lowerBound(Object[] sorted, int from, int to, E key) {
+        while (from < to) {
+            int middle = (from + to) >>> 1;
+            if (((E) sorted[middle]).compareTo(key) < 0) {
+                from = middle + 1;
+            } else {
+                to = middle;
+            }
+        }
+        return from;
+    }
+
+    /**
+     * Helper method to replace the tree with a balanced one holding both its
+     * current elements and a sorted, duplicate-free batch.
+     *
+     * @param batch the sorted distinct elements to add, all of type E
+     * @param count the number of elements at the front of batch
+     * @return the number of elements that were not already in the tree
+     */
+    @SuppressWarnings("unchecked")
+    private int rebuildWith(Object[] batch, int count) {
+        Object[] merged = new Object[size + count];
+        int length = 0;
+        int next = 0;
+
+        for (BSTreeNode<E> node = minimum; node != null; node = successor(node)) {
+            E data = node.getData();
+            while (next < count && ((E) batch[next]).compareTo(data) < 0) {
+                merged[length++] = batch[next++];
+            }
+            if (next < count && ((E) batch[next]).compareTo(data) == 0) {
+                next++;
+            }
+            merged[length++] = data;
+        }
+        while (next < count) {
+            merged[length++] = batch[next++];
+        }
+
+        int added = length - size;
+        if (added > 0) {
+            root = buildBalanced(merged, 0, length, null);
+            size = length;
+            refreshExtremes();
+            modCount++;
+        }
+        return added;
+    }
+
+    /**
+     * Returns the number of elements in the tree that are strictly less than
+     * the given element, which is the index the element has, or would have,
+     * in sorted order. Runs in O(height) using the recorded subtree sizes,
+     * which is O(log n) in balanced mode.
+     *
+     * @param entry the element to rank
+     * @return the number of elements less than entry
+     * @throws NullPointerException if the entry being passed in is null
+     */
+    public int rank(E entry) throws NullPointerException {
+        if (entry == null) {
+            throw new NullPointerException("Entry cannot be null");
+        }
+        return countLess(entry, false);
+    }
+
+    /**
+     * Returns the element at the given index in sorted order, so that
+     * select(0) is the smallest element. Runs in O(height) using the recorded
+     * subtree sizes, which is O(log n) in balanced mode.
+     *
+     * @param index the zero-based rank of the wanted element
+     * @return the element with the given rank
+     * @throws IndexOutOfBoundsException if index is negative or not less than size()
+     */
+    public E select(int index) throws IndexOutOfBoundsException {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+        return selectNode(index).getData();
+    }
+
+    /**
+     * Returns the median element of the tree. For an even number of elements
+     * the lower of the two middle elements is returned.
+     *
+     * @return the median element, or null if the tree is empty
+     */
+    public E median() {
+        if (root == null) {
+            return null;
+        }
+        return selectNode((size - 1) / 2).getData();
+    }
+
+    /**
+     * Counts the elements that lie between two bounds, both inclusive, in
+     * O(height) using the recorded subtree sizes.
+     *
+     * @param low the lower bound, inclusive
+     * @param high the upper bound, inclusive
+     * @return the number of elements e with low &lt;= e &lt;= high, 0 if low &gt; high
+     * @throws NullPointerException if either bound is null
+     */
+    public int countBetween(E low, E high) throws NullPointerException {
+        if (low == null || high == null) {
+            throw new NullPointerException("Bounds cannot be null");
+        }
+        if (low.compareTo(high) > 0) {
+            return 0;
+        }
+        return countLess(high, true) - countLess(low, false);
+    }
+
+    /**
+     * Helper method to count the elements less than, or optionally equal to,
+     * the given element by descending once from the root.
+     *
+     * @param entry the element to compare against
+     * @param inclusive true to also count an element equal to entry
+     * @return the number of matching elements
+     */
+    private int countLess(E entry, boolean inclusive) {
         int count = 0;
-        if (left != null) count++;
-        if (right != null) count++;
+        BSTreeNode<E> node = root;
+
+        while (node != null) {
+            int comparison = entry.compareTo(node.getData());
+
+            if (comparison < 0) {
+                node = node.getLeft();
+            } else if (comparison > 0) {
+                count += sizeOf(node.getLeft()) + 1;
+                node = node.getRight();
+            } else {
+                return count + sizeOf(node.getLeft()) + (inclusive ? 1 : 0);
+            }
+        }
         return count;
     }
 
     /**
-     * Returns a string representation of this node's data.
+     * Helper method to find the node holding the element with a given rank.
+     *
+     * @param index the zero-based rank, between 0 and size() - 1
+     * @return the node with the given rank
+     */
+    private BSTreeNode<E> selectNode(int index) {
+        BSTreeNode<E> node = root;
+
+        while (true) {
+            int leftSize = sizeOf(node.getLeft());
+
+            if (index < leftSize) {
+                node = node.getLeft();
+            } else if (index > leftSize) {
+                index -= leftSize + 1;
+                node = node.getRight();
+            } else {
+                return node;
+            }
+        }
+    }
+
+    /**
+     * Removes the smallest element in the tree according to the natural ordering.
      *
-     * @return string representation of the node's data element
+     * @return the node that was removed, or null if the tree is empty
      */
     @Override
-    public String toString() {
-        return data.toString();
+    public BSTreeNode<E> removeMin() {
+        if (root == null) {
+            return null;
+        }
+
+        BSTreeNode<E> minNode = minimum;
+        BSTreeNode<E> removedNode = new BSTreeNode<>(minNode.getData());
+        minimum = successor(minNode);
+        if (minimum == null) {
+            maximum = null;
+        }
+        unlink(minNode, minNode.getRight());
+        size--;
+        modCount++;
+
+        return removedNode;
+    }
+
+    /**
+     * Helper method to find the node with the minimum element.
+     *
+     * @param node the root of the subtree to search
+     * @return the node containing the minimum element
+     */
+    private BSTreeNode<E> findMinimum(BSTreeNode<E> node) {
+        while (node.getLeft() != null) {
+            node = node.getLeft();
+        }
+        return node;
     }
 
     /**
-     * Compares this node with another object for equality.
-     * Two nodes are considered equal if their data elements are equal.
+     * Removes the largest element in the tree according to the natural ordering.
      *
-     * @param obj the object to compare with this node
-     * @return true if the nodes are equal, false otherwise
+     * @return the node that was removed, or null if the tree is empty
      */
     @Override
-    public boolean equals(Object obj) {
-        if (this == obj) {
+    public BSTreeNode<E> removeMax() {
+        if (root == null) {
+            return null;
+        }
+
+        BSTreeNode<E> maxNode = maximum;
+        BSTreeNode<E> removedNode = new BSTreeNode<>(maxNode.getData());
+        maximum = predecessor(maxNode);
+        if (maximum == null) {
+            minimum = null;
+        }
+        unlink(maxNode, maxNode.getLeft());
+        size--;
+        modCount++;
+
+        return removedNode;
+    }
+
+    /**
+     * Helper method to find the node with the maximum element.
+     *
+     * @param node the root of the subtree to search
+     * @return the node containing the maximum element
+     */
+    private BSTreeNode<E> findMaximum(BSTreeNode<E> node) {
+        while (node.getRight() != null) {
+            node = node.getRight();
+        }
+        return node;
+    }
+
+    /**
+     * Helper method to recompute the cached minimum and maximum nodes after
+     * the tree has been rebuilt.
+     */
+    private void refreshExtremes() {
+        minimum = root == null ? null : findMinimum(root);
+        maximum = root == null ? null : findMaximum(root);
+    }
+
+    /**
+     * Returns the smallest element in the tree without removing it.
+     * Runs in constant time using the cached minimum node.
+     *
+     * @return the smallest element, or null if the tree is empty
+     */
+    public E first() {
+        return minimum == null ? null : minimum.getData();
+    }
+
+    /**
+     * Returns the largest element in the tree without removing it.
+     * Runs in constant time using the cached maximum node.
+     *
+     * @return the largest element, or null if the tree is empty
+     */
+    public E last() {
+        return maximum == null ? null : maximum.getData();
+    }
+
+    /**
+     * Returns the largest element less than or equal to the given element.
+     *
+     * @param entry the element to compare against
+     * @return the greatest element not greater than entry, or null if none
+     * @throws NullPointerException if the entry being passed in is null
+     */
+    public E floor(E entry) throws NullPointerException {
+        if (entry == null) {
+            throw new NullPointerException("Entry cannot be null");
+        }
+        return dataOf(highestBelow(entry, true));
+    }
+
+    /**
+     * Returns the smallest element greater than or equal to the given element.
+     *
+     * @param entry the element to compare against
+     * @return the least element not less than entry, or null if none
+     * @throws NullPointerException if the entry being passed in is null
+     */
+    public E ceiling(E entry) throws NullPointerException {
+        if (entry == null) {
+            throw new NullPointerException("Entry cannot be null");
+        }
+        return dataOf(lowestAbove(entry, true));
+    }
+
+    /**
+     * Returns the largest element strictly less than the given element.
+     *
+     * @param entry the element to compare against
+     * @return the greatest element less than entry, or null if none
+     * @throws NullPointerException if the entry being passed in is null
+     */
+    public E lower(E entry) throws NullPointerException {
+        if (entry == null) {
+            throw new NullPointerException("Entry cannot be null");
+        }
+        return dataOf(highestBelow(entry, false));
+    }
+
+    /**
+     * Returns the smallest element strictly greater than the given element.
+     *
+     * @param entry the element to compare against
+     * @return the least element greater than entry, or null if none
+     * @throws NullPointerException if the entry being passed in is null
+     */
+    public E higher(E entry) throws NullPointerException {
+        if (entry == null) {
+            throw new NullPointerException("Entry cannot be null");
+        }
+        return dataOf(lowestAbove(entry, false));
+    }
+
+    /**
+     * Helper method to return the element held by a possibly null node.
+     *
+     * @param node the node, may be null
+     * @return the node's element, or null if node is null
+     */
+    private E dataOf(BSTreeNode<E> node) {
+        return node == null ? null : node.getData();
+    }
+
+    /**
+     * Helper method to find the node holding the largest element less than,
+     * or optionally equal to, the given bound.
+     *
+     * @param bound the bound to compare against
+     * @param inclusive true to accept an element equal to bound
+     * @return the matching node, or null if every element is above the bound
+     */
+    private BSTreeNode<E> highestBelow(E bound, boolean inclusive) {
+        BSTreeNode<E> best = null;
+        BSTreeNode<E> node = root;
+
+        while (node != null) {
+            int comparison = bound.compareTo(node.getData());
+
+            if (comparison > 0 || (comparison == 0 && inclusive)) {
+                best = node;
+                if (comparison == 0) {
+                    break;
+                }
+                node = node.getRight();
+            } else {
+                node = node.getLeft();
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Helper method to remove a node that has at most one child by
+     * splicing that child into its place.
+     *
+     * @param node the node to remove
+     * @param child the only child of node, or null if node is a leaf
+     */
+    private void unlink(BSTreeNode<E> node, BSTreeNode<E> child) {
+        BSTreeNode<E> parent = node.getParent();
+        replaceChild(parent, node, child);
+        node.setParent(null);
+        node.setLeft(null);
+        node.setRight(null);
+
+        retrace(parent);
+    }
+
+    /**
+     * Helper method to put a new subtree where an old one hung under a parent.
+     *
+     * @param parent the parent of oldChild, or null if oldChild is the root
+     * @param oldChild the subtree being replaced
+     * @param newChild the replacement subtree (can be null)
+     */
+    private void replaceChild(BSTreeNode<E> parent, BSTreeNode<E> oldChild, BSTreeNode<E> newChild) {
+        if (parent == null) {
+            root = newChild;
+        } else if (parent.getLeft() == oldChild) {
+            parent.setLeft(newChild);
+        } else {
+            parent.setRight(newChild);
+        }
+        if (newChild != null) {
+            newChild.setParent(parent);
+        }
+    }
+
+    /**
+     * Helper method to return the recorded height of a possibly empty subtree.
+     *
+     * @param node the root of the subtree, may be null
+     * @return the recorded height of the subtree, 0 if node is null
+     */
+    private int heightOf(BSTreeNode<E> node) {
+        return node == null ? 0 : node.getHeight();
+    }
+
+    /**
+     * Helper method to return the recorded size of a possibly empty subtree.
+     *
+     * @param node the root of the subtree, may be null
+     * @return the recorded number of nodes in the subtree, 0 if node is null
+     */
+    private int sizeOf(BSTreeNode<E> node) {
+        return node == null ? 0 : node.getSize();
+    }
+
+    /**
+     * Helper method to recompute a node's height and subtree size from its children.
+     *
+     * @param node the node whose height and size are recomputed
+     */
+    private void updateNode(BSTreeNode<E> node) {
+        node.setHeight(1 + Math.max(heightOf(node.getLeft()), heightOf(node.getRight())));
+        node.setSize(1 + sizeOf(node.getLeft()) + sizeOf(node.getRight()));
+    }
+
+    /**
+     * Helper method to rotate a subtree to the left, relinking the new
+     * subtree root into the old root's parent.
+     *
+     * @param node the root of the subtree, must have a right child
+     * @return the new root of the subtree
+     */
+    private BSTreeNode<E> rotateLeft(BSTreeNode<E> node) {
+        BSTreeNode<E> pivot = node.getRight();
+        node.setRight(pivot.getLeft());
+        if (pivot.getLeft() != null) {
+            pivot.getLeft().setParent(node);
+        }
+        replaceChild(node.getParent(), node, pivot);
+        pivot.setLeft(node);
+        node.setParent(pivot);
+        updateNode(node);
+        updateNode(pivot);
+        return pivot;
+    }
+
+    /**
+     * Helper method to rotate a subtree to the right, relinking the new
+     * subtree root into the old root's parent.
+     *
+     * @param node the root of the subtree, must have a left child
+     * @return the new root of the subtree
+     */
+    private BSTreeNode<E> rotateRight(BSTreeNode<E> node) {
+        BSTreeNode<E> pivot = node.getLeft();
+        node.setLeft(pivot.getRight());
+        if (pivot.getRight() != null) {
+            pivot.getRight().setParent(node);
+        }
+        replaceChild(node.getParent(), node, pivot);
+        pivot.setRight(node);
+        node.setParent(pivot);
+        updateNode(node);
+        updateNode(pivot);
+        return pivot;
+    }
+
+    /**
+     * Helper method to restore the AVL property at a node whose children
+     * are already balanced and differ in height by at most two.
+     *
+     * @param node the root of the subtree to rebalance
+     * @return the new root of the subtree
+     */
+    private BSTreeNode<E> rebalance(BSTreeNode<E> node) {
+        updateNode(node);
+        int balance = heightOf(node.getLeft()) - heightOf(node.getRight());
+
+        if (balance > 1) {
+            BSTreeNode<E> left = node.getLeft();
+            if (heightOf(left.getLeft()) < heightOf(left.getRight())) {
+                rotateLeft(left);
+            }
+            return rotateRight(node);
+        }
+        if (balance < -1) {
+            BSTreeNode<E> right = node.getRight();
+            if (heightOf(right.getRight()) < heightOf(right.getLeft())) {
+                rotateRight(right);
+            }
+            return rotateLeft(node);
+        }
+        return node;
+    }
+
+    /**
+     * Helper method to restore node heights and subtree sizes, and the AVL
+     * property in balanced mode, from the given node up to the root by
+     * following parent links.
+     *
+     * @param node the lowest node whose subtree changed, may be null
+     */
+    private void retrace(BSTreeNode<E> node) {
+        while (node != null) {
+            if (balanced) {
+                node = rebalance(node);
+            } else {
+                updateNode(node);
+            }
+            node = node.getParent();
+        }
+    }
+
+    /**
+     * Creates an in-order iterator over the contents of the tree.
+     * Elements are returned in their natural (sorted) order.
+     * The iterator walks the live tree lazily, holding at most one stack
+     * entry per level, and fails fast if the tree is modified.
+     *
+     * @return an iterator with elements in natural order
+     */
+    @Override
+    public Iterator<E> inorderIterator() {
+        return new InorderIterator();
+    }
+
+    /**
+     * Creates a pre-order iterator over the contents of the tree.
+     * Elements are returned in an order where the root element comes first,
+     * followed by left subtree, then right subtree.
+     * The iterator walks the live tree lazily, holding at most one stack
+     * entry per level, and fails fast if the tree is modified.
+     *
+     * @return an iterator with elements in pre-order
+     */
+    @Override
+    public Iterator<E> preorderIterator() {
+        return new PreorderIterator();
+    }
+
+    /**
+     * Creates a post-order iterator over the contents of the tree.
+     * Elements are returned in an order where the root element comes last,
+     * after left and right subtrees have been traversed.
+     * The iterator walks the live tree lazily, holding at most one stack
+     * entry per level, and fails fast if the tree is modified.
+     *
+     * @return an iterator with elements in post-order
+     */
+    @Override
+    public Iterator<E> postorderIterator() {
+        return new PostorderIterator();
+    }
+
+    /**
+     * Creates a lazy in-order iterator over the elements lying between two
+     * bounds. Subtrees outside the range are never visited: the iterator
+     * descends once to the first element in range and then steps from
+     * successor to successor, so a full iteration costs O(height + k) for
+     * k matching elements. The iterator fails fast if the tree is modified.
+     *
+     * @param low the lower bound
+     * @param lowInclusive true if an element equal to low is in range
+     * @param high the upper bound
+     * @param highInclusive true if an element equal to high is in range
+     * @return an iterator over the elements in range, in natural order
+     * @throws NullPointerException if either bound is null
+     * @throws IllegalArgumentException if low is greater than high
+     */
+    public Iterator<E> subTree(E low, boolean lowInclusive, E high, boolean highInclusive)
+            throws NullPointerException, IllegalArgumentException {
+        if (low == null || high == null) {
+            throw new NullPointerException("Bounds cannot be null");
+        }
+        if (low.compareTo(high) > 0) {
+            throw new IllegalArgumentException("Lower bound is greater than upper bound");
+        }
+        return new RangeIterator(lowestAbove(low, lowInclusive), high, highInclusive);
+    }
+
+    /**
+     * Creates a lazy in-order iterator over the elements less than, or
+     * optionally equal to, the given bound. See
+     * {@link #subTree(Comparable, boolean, Comparable, boolean)}.
+     *
+     * @param high the upper bound
+     * @param inclusive true if an element equal to high is in range
+     * @return an iterator over the elements in range, in natural order
+     * @throws NullPointerException if the bound is null
+     */
+    public Iterator<E> headTree(E high, boolean inclusive) throws NullPointerException {
+        if (high == null) {
+            throw new NullPointerException("Bound cannot be null");
+        }
+        return new RangeIterator(minimum, high, inclusive);
+    }
+
+    /**
+     * Creates a lazy in-order iterator over the elements greater than, or
+     * optionally equal to, the given bound. See
+     * {@link #subTree(Comparable, boolean, Comparable, boolean)}.
+     *
+     * @param low the lower bound
+     * @param inclusive true if an element equal to low is in range
+     * @return an iterator over the elements in range, in natural order
+     * @throws NullPointerException if the bound is null
+     */
+    public Iterator<E> tailTree(E low, boolean inclusive) throws NullPointerException {
+        if (low == null) {
+            throw new NullPointerException("Bound cannot be null");
+        }
+        return new RangeIterator(lowestAbove(low, inclusive), null, false);
+    }
+
+    /**
+     * Helper method to find the node holding the smallest element greater
+     * than, or optionally equal to, the given bound.
+     *
+     * @param bound the bound to compare against
+     * @param inclusive true to accept an element equal to bound
+     * @return the matching node, or null if every element is below the bound
+     */
+    private BSTreeNode<E> lowestAbove(E bound, boolean inclusive) {
+        BSTreeNode<E> best = null;
+        BSTreeNode<E> node = root;
+
+        while (node != null) {
+            int comparison = bound.compareTo(node.getData());
+
+            if (comparison < 0 || (comparison == 0 && inclusive)) {
+                best = node;
+                if (comparison == 0) {
+                    break;
+                }
+                node = node.getLeft();
+            } else {
+                node = node.getRight();
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Performs the given action on every element of the tree in natural
+     * (sorted) order without allocating. The walk moves from each node to
+     * its in-order successor through child and parent links, using O(1)
+     * extra memory, and never modifies the tree, so stopping early (for
+     * example when the action throws) leaves the tree untouched.
+     *
+     * @param action the action to perform on each element
+     * @throws NullPointerException if action is null
+     * @throws ConcurrentModificationException if the tree is modified
+     *         during the traversal
+     */
+    public void forEachInorder(Consumer<? super E> action) throws NullPointerException {
+        if (action == null) {
+            throw new NullPointerException("Action cannot be null");
+        }
+
+        int expectedModCount = modCount;
+        BSTreeNode<E> node = minimum;
+
+        while (node != null) {
+            action.accept(node.getData());
+            if (modCount != expectedModCount) {
+                throw new ConcurrentModificationException("Tree modified during traversal");
+            }
+            node = successor(node);
+        }
+    }
+
+    /**
+     * Creates a read-only snapshot of the current contents of the tree,
+     * laid out in a single array in Eytzinger (breadth-first) order for
+     * fast searching. The snapshot does not share any state with this
+     * tree, so later changes to the tree do not affect it. Runs in O(n).
+     *
+     * @return a frozen copy of this tree
+     */
+    public FrozenBSTree<E> freeze() {
+        Object[] sorted = new Object[size];
+        int index = 0;
+        for (BSTreeNode<E> node = minimum; node != null; node = successor(node)) {
+            sorted[index++] = node.getData();
+        }
+        return new FrozenBSTree<>(sorted);
+    }
+
+    /**
+     * Returns a sequential stream of the elements in natural (sorted) order.
+     *
+     * @return a stream over the tree
+     */
+    public Stream<E> stream() {
+        return StreamSupport.stream(new TreeSpliterator(0, size), false);
+    }
+
+    /**
+     * Returns a possibly parallel stream of the elements in natural (sorted)
+     * order. The tree is split by rank into halves of equal size, so the
+     * parts handed to the fork/join pool stay balanced even when the tree
+     * itself is not.
+     *
+     * @return a parallel stream over the tree
+     */
+    public Stream<E> parallelStream() {
+        return StreamSupport.stream(new TreeSpliterator(0, size), true);
+    }
+
+    /**
+     * Helper method to find the in-order predecessor of a node by following
+     * child and parent links.
+     *
+     * @param node the node whose predecessor is wanted
+     * @return the node holding the next smaller element, or null if none
+     */
+    private BSTreeNode<E> predecessor(BSTreeNode<E> node) {
+        if (node.getLeft() != null) {
+            return findMaximum(node.getLeft());
+        }
+
+        BSTreeNode<E> parent = node.getParent();
+        while (parent != null && parent.getLeft() == node) {
+            node = parent;
+            parent = parent.getParent();
+        }
+        return parent;
+    }
+
+    /**
+     * Helper method to find the in-order successor of a node by following
+     * child and parent links.
+     *
+     * @param node the node whose successor is wanted
+     * @return the node holding the next larger element, or null if none
+     */
+    private BSTreeNode<E> successor(BSTreeNode<E> node) {
+        if (node.getRight() != null) {
+            return findMinimum(node.getRight());
+        }
+
+        BSTreeNode<E> parent = node.getParent();
+        while (parent != null && parent.getRight() == node) {
+            node = parent;
+            parent = parent.getParent();
+        }
+        return parent;
+    }
+
+    /**
+     * Base class for the lazy tree iterators. Subclasses keep an explicit
+     * stack of pending nodes whose depth never exceeds the tree height, and
+     * every call to next() checks that the tree has not been structurally
+     * modified since the iterator was created.
+     */
+    private abstract class TreeIterator implements Iterator<E> {
+
+        /** Pending nodes, the next element's node being on top */
+        protected final Deque<BSTreeNode<E>> stack = new ArrayDeque<>();
+
+        /** The modification count the tree is expected to have */
+        private final int expectedModCount = modCount;
+
+        /**
+         * Returns true if the iteration has more elements.
+         *
+         * @return true if the iterator has more elements
+         */
+        @Override
+        public boolean hasNext() {
+            return !stack.isEmpty();
+        }
+
+        /**
+         * Returns the next element in the iteration.
+         *
+         * @return the next element in the iteration
+         * @throws NoSuchElementException if the iteration has no more elements
+         * @throws ConcurrentModificationException if the tree was modified
+         *         after this iterator was created
+         */
+        @Override
+        public E next() throws NoSuchElementException {
+            if (modCount != expectedModCount) {
+                throw new ConcurrentModificationException("Tree modified during iteration");
+            }
+            if (!hasNext()) {
+                throw new NoSuchElementException("No more elements in iteration");
+            }
+            return advance().getData();
+        }
+
+        /**
+         * Pops the next node in traversal order and pushes whatever nodes
+         * are needed to continue the traversal after it.
+         *
+         * @return the next node in traversal order
+         */
+        protected abstract BSTreeNode<E> advance();
+    }
+
+    /**
+     * Lazy in-order iterator. The stack holds the left spine of the
+     * unvisited part of the tree.
+     */
+    private class InorderIterator extends TreeIterator {
+
+        /**
+         * Constructs an in-order iterator positioned before the smallest element.
+         */
+        InorderIterator() {
+            pushLeftSpine(root);
+        }
+
+        /**
+         * Pushes a node and all of its left descendants onto the stack.
+         *
+         * @param node the top of the spine, may be null
+         */
+        private void pushLeftSpine(BSTreeNode<E> node) {
+            while (node != null) {
+                stack.push(node);
+                node = node.getLeft();
+            }
+        }
+
+        @Override
+        protected BSTreeNode<E> advance() {
+            BSTreeNode<E> node = stack.pop();
+            pushLeftSpine(node.getRight());
+            return node;
+        }
+    }
+
+    /**
+     * Lazy pre-order iterator. The stack holds the roots of the subtrees
+     * still to be visited, right siblings below left ones.
+     */
+    private class PreorderIterator extends TreeIterator {
+
+        /**
+         * Constructs a pre-order iterator positioned before the root element.
+         */
+        PreorderIterator() {
+            if (root != null) {
+                stack.push(root);
+            }
+        }
+
+        @Override
+        protected BSTreeNode<E> advance() {
+            BSTreeNode<E> node = stack.pop();
+            if (node.getRight() != null) {
+                stack.push(node.getRight());
+            }
+            if (node.getLeft() != null) {
+                stack.push(node.getLeft());
+            }
+            return node;
+        }
+    }
+
+    /**
+     * Lazy post-order iterator. The stack holds the path from the root to
+     * the next node to visit, which is always the first leaf reached by
+     * preferring left children over right ones.
+     */
+    private class PostorderIterator extends TreeIterator {
+
+        /**
+         * Constructs a post-order iterator positioned before the first leaf.
+         */
+        PostorderIterator() {
+            pushFirstLeafPath(root);
+        }
+
+        /**
+         * Pushes the path from a node down to the first leaf visited in
+         * post-order within its subtree.
+         *
+         * @param node the root of the subtree, may be null
+         */
+        private void pushFirstLeafPath(BSTreeNode<E> node) {
+            while (node != null) {
+                stack.push(node);
+                node = node.getLeft() != null ? node.getLeft() : node.getRight();
+            }
+        }
+
+        @Override
+        protected BSTreeNode<E> advance() {
+            BSTreeNode<E> node = stack.pop();
+            BSTreeNode<E> parent = stack.peek();
+            if (parent != null && parent.getLeft() == node) {
+                pushFirstLeafPath(parent.getRight());
+            }
+            return node;
+        }
+    }
+
+    /**
+     * Spliterator over the elements whose ranks lie in a half-open range.
+     * Splitting halves the range, so each part holds exactly half of the
+     * remaining elements; the first node of a part is found with select()
+     * and the rest are reached by successor links. Like the iterators, it
+     * fails fast if the tree is modified after it was created.
+     */
+    private class TreeSpliterator implements Spliterator<E> {
+
+        /** Rank of the next element to return */
+        private int index;
+
+        /** Rank one past the last element to return */
+        private final int fence;
+
+        /** Node holding the element of rank index, null until located */
+        private BSTreeNode<E> current;
+
+        /** The modification count the tree is expected to have */
+        private final int expectedModCount = modCount;
+
+        /**
+         * Constructs a spliterator over a range of ranks.
+         *
+         * @param from the rank of the first element
+         * @param to the rank one past the last element
+         */
+        TreeSpliterator(int from, int to) {
+            index = from;
+            fence = to;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super E> action) throws NullPointerException {
+            if (action == null) {
+                throw new NullPointerException("Action cannot be null");
+            }
+            if (modCount != expectedModCount) {
+                throw new ConcurrentModificationException("Tree modified during traversal");
+            }
+            if (index >= fence) {
+                return false;
+            }
+            BSTreeNode<E> node = current == null ? selectNode(index) : current;
+            index++;
+            current = index < fence ? successor(node) : null;
+            action.accept(node.getData());
             return true;
         }
-        if (obj == null || getClass() != obj.getClass()) {
-            return false;
+
+        @Override
+        public void forEachRemaining(Consumer<? super E> action) throws NullPointerException {
+            if (action == null) {
+                throw new NullPointerException("Action cannot be null");
+            }
+            if (modCount != expectedModCount) {
+                throw new ConcurrentModificationException("Tree modified during traversal");
+            }
+            if (index >= fence) {
+                return;
+            }
+            BSTreeNode<E> node = current == null ? selectNode(index) : current;
+            for (; index < fence; index++) {
+                action.accept(node.getData());
+                node = successor(node);
+            }
+            current = null;
+            if (modCount != expectedModCount) {
+                throw new ConcurrentModificationException("Tree modified during traversal");
+            }
+        }
+
+        @Override
+        public Spliterator<E> trySplit() {
+            int middle = (index + fence) >>> 1;
+            if (middle <= index) {
+                return null;
+            }
+            TreeSpliterator prefix = new TreeSpliterator(index, middle);
+            prefix.current = current;
+            index = middle;
+            current = null;
+            return prefix;
+        }
+
+        @Override
+        public long estimateSize() {
+            return fence - index;
+        }
+
+        @Override
+        public int characteristics() {
+            return ORDERED | SORTED | DISTINCT | SIZED | SUBSIZED | NONNULL;
         }
 
-        BSTreeNode<?> other = (BSTreeNode<?>) obj;
-        return data.equals(other.data);
+        @Override
+        public Comparator<? super E> getComparator() {
+            return null;
+        }
     }
 
     /**
-     * Returns the hash code for this node based on its data element.
+     * Lazy in-order iterator over a range of the tree. It starts at the first
+     * node in range and follows successor links until it passes the upper
+     * bound, using O(1) extra memory.
+     */
+    private class RangeIterator implements Iterator<E> {
+
+        /** The node holding the next element, or null when exhausted */
+        private BSTreeNode<E> next;
+
+        /** The upper bound, or null if the range is unbounded above */
+        private final E high;
+
+        /** Whether an element equal to the upper bound is in range */
+        private final boolean highInclusive;
+
+        /** The modification count the tree is expected to have */
+        private final int expectedModCount = modCount;
+
+        /**
+         * Constructs a range iterator.
+         *
+         * @param first the first node at or above the lower bound, may be null
+         * @param high the upper bound, or null if unbounded
+         * @param highInclusive whether an element equal to high is in range
+         */
+        RangeIterator(BSTreeNode<E> first, E high, boolean highInclusive) {
+            this.high = high;
+            this.highInclusive = highInclusive;
+            this.next = inRange(first) ? first : null;
+        }
+
+        /**
+         * Checks whether a node lies at or below the upper bound.
+         *
+         * @param node the node to check, may be null
+         * @return true if node is non-null and within the upper bound
+         */
+        private boolean inRange(BSTreeNode<E> node) {
+            if (node == null) {
+                return false;
+            }
+            if (high == null) {
+                return true;
+            }
+            int comparison = node.getData().compareTo(high);
+            return comparison < 0 || (comparison == 0 && highInclusive);
+        }
+
+        /**
+         * Returns true if the iteration has more elements.
+         *
+         * @return true if the iterator has more elements
+         */
+        @Override
+        public boolean hasNext() {
+            return next != null;
+        }
+
+        /**
+         * Returns the next element in the range.
+         *
+         * @return the next element in the range
+         * @throws NoSuchElementException if the iteration has no more elements
+         * @throws ConcurrentModificationException if the tree was modified
+         *         after this iterator was created
+         */
+        @Override
+        public E next() throws NoSuchElementException {
+            if (modCount != expectedModCount) {
+                throw new ConcurrentModificationException("Tree modified during iteration");
+            }
+            if (next == null) {
+                throw new NoSuchElementException("No more elements in iteration");
+            }
+            BSTreeNode<E> current = next;
+            BSTreeNode<E> following = successor(current);
+            next = inRange(following) ? following : null;
+            return current.getData();
+        }
+    }
+
+    /**
+     * Writes the tree as a flat stream: the default fields (the size and the
+     * balanced flag) followed by the elements in natural order. Nodes are
+     * not written, so the stream is compact and writing it never recurses,
+     * however deep the tree.
+     *
+     * @param out the stream to write to
+     * @throws IOException if the stream cannot be written
+     * @serialData the number of elements, the balanced flag, then each element in ascending order
+     */
+    private void writeObject(ObjectOutputStream out) throws IOException {
+        out.defaultWriteObject();
+        int expectedModCount = modCount;
+        for (BSTreeNode<E> node = minimum; node != null; node = successor(node)) {
+            out.writeObject(node.getData());
+        }
+        if (modCount != expectedModCount) {
+            throw new ConcurrentModificationException("Tree modified during serialization");
+        }
+    }
+
+    /**
+     * Reads a tree written by writeObject and rebuilds it as a perfectly
+     * balanced tree in O(n) time, whatever shape it had when written.
      *
-     * @return hash code for this node
+     * @param in the stream to read from
+     * @throws IOException if the stream cannot be read
+     * @throws ClassNotFoundException if a class in the stream cannot be found
+     * @throws InvalidObjectException if the elements are not distinct and in ascending order
+     */
+    @SuppressWarnings("unchecked")
+    private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+        in.defaultReadObject();
+        if (size < 0) {
+            throw new InvalidObjectException("Negative size: " + size);
+        }
+
+        Object[] sorted = new Object[size];
+        for (int i = 0; i < size; i++) {
+            sorted[i] = in.readObject();
+            if (sorted[i] == null) {
+                throw new InvalidObjectException("Null element in stream");
+            }
+            if (i > 0 && ((E) sorted[i - 1]).compareTo((E) sorted[i]) >= 0) {
+                throw new InvalidObjectException("Elements out of order in stream");
+            }
+        }
+        root = buildBalanced(sorted, 0, size, null);
+        refreshExtremes();
+    }
+
+    /**
+     * Returns a string representation of the tree using in-order traversal.
+     * Elements are displayed in sorted order within square brackets.
+     *
+     * @return string representation of the tree
      */
     @Override
-    public int hashCode() {
-        return data.hashCode();
+    public String toString() {
+        if (isEmpty()) {
+            return "[]";
+        }
+
+        StringBuilder result = new StringBuilder();
+        result.append("[");
+
+        Iterator<E> iterator = inorderIterator();
+        boolean first = true;
+
+        while (iterator.hasNext()) {
+            if (!first) {
+                result.append(", ");
+            }
+            result.append(iterator.next().toString());
+            first = false;
+        }
+
+        result.append("]");
+        return result.toString();
     }
 }
\ No newline at end of file
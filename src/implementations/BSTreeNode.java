@@ -1,476 +1,380 @@
 package implementations;
 
-import utilities.BSTreeADT;
-import utilities.Iterator;
-import java.util.NoSuchElementException;
-import java.util.ArrayList;
-import java.util.List;
+import java.io.IOException;
+import java.io.InvalidObjectException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.util.ArrayDeque;
 
 /**
- * BSTree is a Binary Search Tree implementation that maintains elements
- * in sorted order according to their natural ordering (Comparable interface).
- * This implementation supports the WordTracker application for Assignment 3.
+ * BSTreeNode represents a node in a Binary Search Tree.
+ * Each node contains data and references to left and right child nodes.
+ * This class supports the BSTree implementation for Assignment 3.
  *
- * The tree does not allow duplicate elements and provides iterators for
- * in-order, pre-order, and post-order traversal using deep copy approach.
- *
- * @param <E> the type of elements stored in this tree, must extend Comparable
+ * @param <E> the type of elements stored in this node, must extend Comparable
  * @author Your Name
  * @version 1.0
  */
-public class BSTree<E extends Comparable<? super E>> implements BSTreeADT<E> {
+public class BSTreeNode<E extends Comparable<? super E>> implements Serializable {
 
     /** Serial version UID for serialization compatibility */
     private static final long serialVersionUID = 1L;
 
-    /** The root node of the binary search tree */
-    private BSTreeNode<E> root;
+    /** Flag written for a node that has a left child */
+    private static final int HAS_LEFT = 1;
 
-    /** The number of elements currently stored in the tree */
-    private int size;
+    /** Flag written for a node that has a right child */
+    private static final int HAS_RIGHT = 2;
 
-    /**
-     * Constructs an empty binary search tree.
-     * The root is initialized to null and size to 0.
-     */
-    public BSTree() {
-        root = null;
-        size = 0;
-    }
+    /** The data element stored in this node */
+    private E data;
+
+    /** Reference to the left child node; the subtree is written by writeObject */
+    private transient BSTreeNode<E> left;
+
+    /** Reference to the right child node; the subtree is written by writeObject */
+    private transient BSTreeNode<E> right;
 
     /**
-     * Returns the root node of the binary search tree.
-     *
-     * @return the root node of the tree
-     * @throws NullPointerException if the tree is empty and there is no root node
+     * Reference to the parent node, null for the root. Not serialized, so
+     * that writing a node only walks down its own subtree; restored from
+     * the child links when the subtree is read back.
      */
-    @Override
-    public BSTreeNode<E> getRoot() throws NullPointerException {
-        if (root == null) {
-            throw new NullPointerException("Tree is empty - no root node exists");
-        }
-        return root;
-    }
+    private transient BSTreeNode<E> parent;
+
+    /** Height of the subtree rooted at this node, a leaf having height 1 */
+    private int height;
+
+    /** Number of nodes in the subtree rooted at this node, including itself */
+    private int size;
 
     /**
-     * Determines the height of the tree and returns that value.
-     * The height is the number of levels in the tree, with a single node
-     * having height 1, and an empty tree having height 0.
+     * Constructs a new BSTreeNode with the specified data element.
+     * Left and right children are initialized to null.
      *
-     * @return the height of the tree
+     * @param data the data element to store in this node
+     * @throws NullPointerException if data is null
      */
-    @Override
-    public int getHeight() {
-        return calculateHeight(root);
+    public BSTreeNode(E data) {
+        if (data == null) {
+            throw new NullPointerException("Data cannot be null");
+        }
+        this.data = data;
+        this.left = null;
+        this.right = null;
+        this.height = 1;
+        this.size = 1;
     }
 
     /**
-     * Helper method to recursively calculate the height of a subtree.
+     * Constructs a new BSTreeNode with the specified data and child nodes.
      *
-     * @param node the root of the subtree
-     * @return the height of the subtree rooted at node
+     * @param data the data element to store in this node
+     * @param left the left child node
+     * @param right the right child node
+     * @throws NullPointerException if data is null
      */
-    private int calculateHeight(BSTreeNode<E> node) {
-        if (node == null) {
-            return 0;
+    public BSTreeNode(E data, BSTreeNode<E> left, BSTreeNode<E> right) {
+        if (data == null) {
+            throw new NullPointerException("Data cannot be null");
         }
-
-        int leftHeight = calculateHeight(node.getLeft());
-        int rightHeight = calculateHeight(node.getRight());
-
-        return 1 + Math.max(leftHeight, rightHeight);
+        this.data = data;
+        this.left = left;
+        this.right = right;
+        this.height = 1;
+        this.size = 1;
     }
 
     /**
-     * Returns the number of elements currently stored in the tree.
+     * Returns the data element stored in this node.
      *
-     * @return the number of elements in the tree
+     * @return the data element stored in this node
      */
-    @Override
-    public int size() {
-        return size;
+    public E getData() {
+        return data;
     }
 
     /**
-     * Checks if the tree is currently empty.
+     * Returns the data element stored in this node.
+     * Equivalent to {@link #getData()}.
      *
-     * @return true if the tree is empty, false otherwise
+     * @return the data element stored in this node
      */
-    @Override
-    public boolean isEmpty() {
-        return root == null;
+    public E getElement() {
+        return data;
     }
 
     /**
-     * Removes all elements from the tree, making it empty.
-     * After this operation, the tree will have size 0 and no root.
+     * Sets the data element stored in this node.
+     *
+     * @param data the new data element to store
+     * @throws NullPointerException if data is null
      */
-    @Override
-    public void clear() {
-        root = null;
-        size = 0;
+    public void setData(E data) {
+        if (data == null) {
+            throw new NullPointerException("Data cannot be null");
+        }
+        this.data = data;
     }
 
     /**
-     * Checks if the tree contains the specified element.
+     * Returns the left child node.
      *
-     * @param entry the element to search for in the tree
-     * @return true if the element is found in the tree, false otherwise
-     * @throws NullPointerException if the entry being passed in is null
+     * @return the left child node, or null if no left child exists
      */
-    @Override
-    public boolean contains(E entry) throws NullPointerException {
-        if (entry == null) {
-            throw new NullPointerException("Entry cannot be null");
-        }
-        return search(entry) != null;
+    public BSTreeNode<E> getLeft() {
+        return left;
     }
 
     /**
-     * Searches for and retrieves a node from the tree containing the specified element.
+     * Sets the left child node.
      *
-     * @param entry the element to search for
-     * @return the node containing the element, or null if not found
-     * @throws NullPointerException if the entry being passed in is null
+     * @param left the new left child node (can be null)
      */
-    @Override
-    public BSTreeNode<E> search(E entry) throws NullPointerException {
-        if (entry == null) {
-            throw new NullPointerException("Entry cannot be null");
-        }
-        return searchRecursive(root, entry);
+    public void setLeft(BSTreeNode<E> left) {
+        this.left = left;
     }
 
     /**
-     * Helper method to recursively search for a node containing the specified element.
+     * Returns the right child node.
      *
-     * @param node the current node being examined
-     * @param entry the element to search for
-     * @return the node containing the element, or null if not found
+     * @return the right child node, or null if no right child exists
      */
-    private BSTreeNode<E> searchRecursive(BSTreeNode<E> node, E entry) {
-        if (node == null) {
-            return null;
-        }
-
-        int comparison = entry.compareTo(node.getData());
-
-        if (comparison == 0) {
-            return node;
-        } else if (comparison < 0) {
-            return searchRecursive(node.getLeft(), entry);
-        } else {
-            return searchRecursive(node.getRight(), entry);
-        }
+    public BSTreeNode<E> getRight() {
+        return right;
     }
 
     /**
-     * Adds a new element to the tree according to the natural ordering
-     * established by the Comparable implementation. Duplicate elements
-     * are not added to maintain the set property.
+     * Sets the right child node.
      *
-     * @param newEntry the element to add to the tree
-     * @return true if the element was added successfully, false if it already exists
-     * @throws NullPointerException if the newEntry being passed in is null
+     * @param right the new right child node (can be null)
      */
-    @Override
-    public boolean add(E newEntry) throws NullPointerException {
-        if (newEntry == null) {
-            throw new NullPointerException("New entry cannot be null");
-        }
-
-        int originalSize = size;
-        root = addRecursive(root, newEntry);
-        return size > originalSize;
+    public void setRight(BSTreeNode<E> right) {
+        this.right = right;
     }
 
     /**
-     * Helper method to recursively add an element to the tree.
+     * Returns the parent of this node as maintained by the owning tree.
      *
-     * @param node the current node being examined
-     * @param entry the element to add
-     * @return the updated node (may be newly created)
+     * @return the parent node, or null if this node is the root or detached
      */
-    private BSTreeNode<E> addRecursive(BSTreeNode<E> node, E entry) {
-        if (node == null) {
-            size++;
-            return new BSTreeNode<>(entry);
-        }
-
-        int comparison = entry.compareTo(node.getData());
-
-        if (comparison < 0) {
-            node.setLeft(addRecursive(node.getLeft(), entry));
-        } else if (comparison > 0) {
-            node.setRight(addRecursive(node.getRight(), entry));
-        }
-        // If comparison == 0, element already exists, don't add duplicate
-
-        return node;
+    BSTreeNode<E> getParent() {
+        return parent;
     }
 
     /**
-     * Removes the smallest element in the tree according to the natural ordering.
+     * Sets the parent of this node.
      *
-     * @return the node that was removed, or null if the tree is empty
+     * @param parent the new parent node (can be null)
      */
-    @Override
-    public BSTreeNode<E> removeMin() {
-        if (root == null) {
-            return null;
-        }
-
-        BSTreeNode<E> minNode = findMinimum(root);
-        BSTreeNode<E> removedNode = new BSTreeNode<>(minNode.getData());
-        root = removeMinimum(root);
-        size--;
-
-        return removedNode;
+    void setParent(BSTreeNode<E> parent) {
+        this.parent = parent;
     }
 
     /**
-     * Helper method to find the node with the minimum element.
+     * Returns the height of the subtree rooted at this node as last
+     * recorded by the owning tree.
      *
-     * @param node the root of the subtree to search
-     * @return the node containing the minimum element
+     * @return the recorded subtree height
      */
-    private BSTreeNode<E> findMinimum(BSTreeNode<E> node) {
-        while (node.getLeft() != null) {
-            node = node.getLeft();
-        }
-        return node;
+    int getHeight() {
+        return height;
     }
 
     /**
-     * Helper method to remove the minimum node from a subtree.
+     * Records the height of the subtree rooted at this node.
      *
-     * @param node the root of the subtree
-     * @return the updated subtree root after removal
+     * @param height the new subtree height
      */
-    private BSTreeNode<E> removeMinimum(BSTreeNode<E> node) {
-        if (node.getLeft() == null) {
-            return node.getRight();
-        }
-        node.setLeft(removeMinimum(node.getLeft()));
-        return node;
+    void setHeight(int height) {
+        this.height = height;
     }
 
     /**
-     * Removes the largest element in the tree according to the natural ordering.
+     * Returns the number of nodes in the subtree rooted at this node as last
+     * recorded by the owning tree.
      *
-     * @return the node that was removed, or null if the tree is empty
+     * @return the recorded subtree size
      */
-    @Override
-    public BSTreeNode<E> removeMax() {
-        if (root == null) {
-            return null;
-        }
-
-        BSTreeNode<E> maxNode = findMaximum(root);
-        BSTreeNode<E> removedNode = new BSTreeNode<>(maxNode.getData());
-        root = removeMaximum(root);
-        size--;
-
-        return removedNode;
+    int getSize() {
+        return size;
     }
 
     /**
-     * Helper method to find the node with the maximum element.
+     * Records the number of nodes in the subtree rooted at this node.
      *
-     * @param node the root of the subtree to search
-     * @return the node containing the maximum element
+     * @param size the new subtree size
      */
-    private BSTreeNode<E> findMaximum(BSTreeNode<E> node) {
-        while (node.getRight() != null) {
-            node = node.getRight();
-        }
-        return node;
+    void setSize(int size) {
+        this.size = size;
     }
 
     /**
-     * Helper method to remove the maximum node from a subtree.
+     * Checks if this node has a left child.
      *
-     * @param node the root of the subtree
-     * @return the updated subtree root after removal
+     * @return true if this node has a left child, false otherwise
      */
-    private BSTreeNode<E> removeMaximum(BSTreeNode<E> node) {
-        if (node.getRight() == null) {
-            return node.getLeft();
-        }
-        node.setRight(removeMaximum(node.getRight()));
-        return node;
+    public boolean hasLeft() {
+        return left != null;
     }
 
     /**
-     * Creates an in-order iterator over the contents of the tree.
-     * Elements are returned in their natural (sorted) order.
-     * The iterator makes a deep copy of all elements for safe traversal.
+     * Checks if this node has a right child.
      *
-     * @return an iterator with elements in natural order
+     * @return true if this node has a right child, false otherwise
      */
-    @Override
-    public Iterator<E> inorderIterator() {
-        return new TreeIterator("INORDER");
+    public boolean hasRight() {
+        return right != null;
     }
 
     /**
-     * Creates a pre-order iterator over the contents of the tree.
-     * Elements are returned in an order where the root element comes first,
-     * followed by left subtree, then right subtree.
-     * The iterator makes a deep copy of all elements for safe traversal.
+     * Checks if this node is a leaf node (has no children).
      *
-     * @return an iterator with elements in pre-order
+     * @return true if this node is a leaf, false otherwise
      */
-    @Override
-    public Iterator<E> preorderIterator() {
-        return new TreeIterator("PREORDER");
+    public boolean isLeaf() {
+        return left == null && right == null;
     }
 
     /**
-     * Creates a post-order iterator over the contents of the tree.
-     * Elements are returned in an order where the root element comes last,
-     * after left and right subtrees have been traversed.
-     * The iterator makes a deep copy of all elements for safe traversal.
+     * Returns the number of children this node has.
      *
-     * @return an iterator with elements in post-order
+     * @return 0, 1, or 2 depending on the number of non-null children
      */
-    @Override
-    public Iterator<E> postorderIterator() {
-        return new TreeIterator("POSTORDER");
+    public int getChildCount() {
+        int count = 0;
+        if (left != null) count++;
+        if (right != null) count++;
+        return count;
     }
 
     /**
-     * Helper method to perform in-order traversal and collect elements.
+     * Writes this node and its whole subtree in pre-order, walking it with
+     * an explicit stack so that a deep, degenerate subtree cannot overflow
+     * the call stack the way default serialization of the child links
+     * would.
      *
-     * @param node the current node
-     * @param elements the list to collect elements into
+     * @param out the stream to write to
+     * @throws IOException if the stream cannot be written
+     * @serialData the default fields of this node and the child flags of
+     *             this node, then for every other node of the subtree in
+     *             pre-order its element, height, size and child flags
      */
-    private void inorderTraversal(BSTreeNode<E> node, List<E> elements) {
-        if (node != null) {
-            inorderTraversal(node.getLeft(), elements);
-            elements.add(node.getData());
-            inorderTraversal(node.getRight(), elements);
+    private void writeObject(ObjectOutputStream out) throws IOException {
+        out.defaultWriteObject();
+        ArrayDeque<BSTreeNode<E>> stack = new ArrayDeque<>();
+        stack.push(this);
+        while (!stack.isEmpty()) {
+            BSTreeNode<E> node = stack.pop();
+            if (node != this) {
+                out.writeObject(node.data);
+                out.writeInt(node.height);
+                out.writeInt(node.size);
+            }
+            out.writeByte((node.left != null ? HAS_LEFT : 0) | (node.right != null ? HAS_RIGHT : 0));
+            if (node.right != null) {
+                stack.push(node.right);
+            }
+            if (node.left != null) {
+                stack.push(node.left);
+            }
         }
     }
 
     /**
-     * Helper method to perform pre-order traversal and collect elements.
+     * Reads a subtree written by writeObject, relinking every child to its
+     * parent. Nodes whose right subtree is still to come wait on an
+     * explicit stack while their left subtree is read.
      *
-     * @param node the current node
-     * @param elements the list to collect elements into
+     * @param in the stream to read from
+     * @throws IOException if the stream cannot be read or holds an invalid subtree
+     * @throws ClassNotFoundException if a class in the stream cannot be found
      */
-    private void preorderTraversal(BSTreeNode<E> node, List<E> elements) {
-        if (node != null) {
-            elements.add(node.getData());
-            preorderTraversal(node.getLeft(), elements);
-            preorderTraversal(node.getRight(), elements);
+    @SuppressWarnings("unchecked")
+    private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+        in.defaultReadObject();
+        if (data == null) {
+            throw new InvalidObjectException("Null element in stream");
+        }
+
+        ArrayDeque<BSTreeNode<E>> awaitingRight = new ArrayDeque<>();
+        BSTreeNode<E> node = this;
+        int flags = in.readByte();
+        while (true) {
+            BSTreeNode<E> parentNode;
+            boolean isLeft;
+            if ((flags & HAS_LEFT) != 0) {
+                if ((flags & HAS_RIGHT) != 0) {
+                    awaitingRight.push(node);
+                }
+                parentNode = node;
+                isLeft = true;
+            } else if ((flags & HAS_RIGHT) != 0) {
+                parentNode = node;
+                isLeft = false;
+            } else if (!awaitingRight.isEmpty()) {
+                parentNode = awaitingRight.pop();
+                isLeft = false;
+            } else {
+                return;
+            }
+
+            E childData = (E) in.readObject();
+            if (childData == null) {
+                throw new InvalidObjectException("Null element in stream");
+            }
+            BSTreeNode<E> child = new BSTreeNode<>(childData);
+            child.height = in.readInt();
+            child.size = in.readInt();
+            child.parent = parentNode;
+            if (isLeft) {
+                parentNode.left = child;
+            } else {
+                parentNode.right = child;
+            }
+            node = child;
+            flags = in.readByte();
         }
     }
 
     /**
-     * Helper method to perform post-order traversal and collect elements.
+     * Returns a string representation of this node's data.
      *
-     * @param node the current node
-     * @param elements the list to collect elements into
+     * @return string representation of the node's data element
      */
-    private void postorderTraversal(BSTreeNode<E> node, List<E> elements) {
-        if (node != null) {
-            postorderTraversal(node.getLeft(), elements);
-            postorderTraversal(node.getRight(), elements);
-            elements.add(node.getData());
-        }
+    @Override
+    public String toString() {
+        return data.toString();
     }
 
     /**
-     * Inner class implementing the Iterator interface for tree traversal.
-     * This iterator creates a deep copy of tree elements according to the
-     * specified traversal order and provides safe iteration.
+     * Compares this node with another object for equality.
+     * Two nodes are considered equal if their data elements are equal.
+     *
+     * @param obj the object to compare with this node
+     * @return true if the nodes are equal, false otherwise
      */
-    private class TreeIterator implements Iterator<E> {
-
-        /** List containing deep copy of elements in traversal order */
-        private List<E> elements;
-
-        /** Current position in the elements list */
-        private int currentIndex;
-
-        /**
-         * Constructs a tree iterator for the specified traversal order.
-         *
-         * @param traversalOrder the order of traversal ("INORDER", "PREORDER", "POSTORDER")
-         */
-        public TreeIterator(String traversalOrder) {
-            elements = new ArrayList<>();
-            currentIndex = 0;
-
-            // Create deep copy of elements in specified order
-            switch (traversalOrder.toUpperCase()) {
-                case "INORDER":
-                    inorderTraversal(root, elements);
-                    break;
-                case "PREORDER":
-                    preorderTraversal(root, elements);
-                    break;
-                case "POSTORDER":
-                    postorderTraversal(root, elements);
-                    break;
-                default:
-                    throw new IllegalArgumentException("Invalid traversal order: " + traversalOrder);
-            }
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
         }
-
-        /**
-         * Returns true if the iteration has more elements.
-         *
-         * @return true if the iterator has more elements
-         */
-        @Override
-        public boolean hasNext() {
-            return currentIndex < elements.size();
+        if (obj == null || getClass() != obj.getClass()) {
+            return false;
         }
 
-        /**
-         * Returns the next element in the iteration.
-         *
-         * @return the next element in the iteration
-         * @throws NoSuchElementException if the iteration has no more elements
-         */
-        @Override
-        public E next() throws NoSuchElementException {
-            if (!hasNext()) {
-                throw new NoSuchElementException("No more elements in iteration");
-            }
-            return elements.get(currentIndex++);
-        }
+        BSTreeNode<?> other = (BSTreeNode<?>) obj;
+        return data.equals(other.data);
     }
 
     /**
-     * Returns a string representation of the tree using in-order traversal.
-     * Elements are displayed in sorted order within square brackets.
+     * Returns the hash code for this node based on its data element.
      *
-     * @return string representation of the tree
+     * @return hash code for this node
      */
     @Override
-    public String toString() {
-        if (isEmpty()) {
-            return "[]";
-        }
-
-        StringBuilder result = new StringBuilder();
-        result.append("[");
-
-        Iterator<E> iterator = inorderIterator();
-        boolean first = true;
-
-        while (iterator.hasNext()) {
-            if (!first) {
-                result.append(", ");
-            }
-            result.append(iterator.next().toString());
-            first = false;
-        }
-
-        result.append("]");
-        return result.toString();
+    public int hashCode() {
+        return data.hashCode();
     }
 }
\ No newline at end of file
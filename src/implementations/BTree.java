@@ -0,0 +1,671 @@
+package implementations;
+
+import utilities.BSTreeADT;
+import utilities.Iterator;
+import java.io.IOException;
+import java.io.InvalidObjectException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.NoSuchElementException;
+
+/**
+ * BTree is a B-tree implementation of the BSTreeADT. Each node holds up to
+ * 2t - 1 keys in a sorted array, where the minimum degree t is chosen when
+ * the tree is created, and every node but the root holds at least t - 1.
+ * A lookup binary searches one small array per level, so a tree of a
+ * million keys with the default degree of 32 is only four levels deep,
+ * where a balanced binary tree is twenty.
+ *
+ * Insertion splits full nodes on the way down and removeMin and removeMax
+ * refill thin nodes on the way down, by borrowing a key from a sibling or
+ * merging with it, as described by Cormen et al. All leaves are always at
+ * the same depth; getHeight() returns the number of node levels.
+ *
+ * The iterator orders are defined over keys. In-order returns the keys in
+ * ascending order. Pre-order returns the keys of a node, in order, before
+ * the keys of its subtrees from left to right, and post-order returns them
+ * after. getRoot() returns the middle key of the root node. Since keys are
+ * not stored in BSTreeNode objects, getRoot(), search(), removeMin() and
+ * removeMax() return new, detached BSTreeNode instances.
+ *
+ * @param <E> the type of elements stored in this tree, must extend Comparable
+ * @author Your Name
+ * @version 1.0
+ */
+public class BTree<E extends Comparable<? super E>> implements BSTreeADT<E> {
+
+    /** Serial version UID for serialization compatibility */
+    private static final long serialVersionUID = 1L;
+
+    /** Minimum degree used by the default constructor */
+    private static final int DEFAULT_MINIMUM_DEGREE = 32;
+
+    /** Every node but the root holds between t - 1 and 2t - 1 keys */
+    private final int minimumDegree;
+
+    /** The root node, holding no keys when the tree is empty */
+    private transient Node root;
+
+    /** Number of keys in the tree */
+    private transient int size;
+
+    /** Number of node levels, 0 when the tree is empty */
+    private transient int height;
+
+    /** Number of structural modifications, checked by the iterators */
+    private transient int modCount;
+
+    /**
+     * Constructs an empty B-tree with the default minimum degree of 32.
+     */
+    public BTree() {
+        this(DEFAULT_MINIMUM_DEGREE);
+    }
+
+    /**
+     * Constructs an empty B-tree whose nodes hold up to 2t - 1 keys.
+     *
+     * @param minimumDegree the minimum degree t of the tree
+     * @throws IllegalArgumentException if minimumDegree is less than 2
+     */
+    public BTree(int minimumDegree) throws IllegalArgumentException {
+        if (minimumDegree < 2) {
+            throw new IllegalArgumentException("Minimum degree must be at least 2");
+        }
+        this.minimumDegree = minimumDegree;
+        this.root = new Node(true);
+    }
+
+    /**
+     * Returns the minimum degree of the tree.
+     *
+     * @return the minimum degree t
+     */
+    public int getMinimumDegree() {
+        return minimumDegree;
+    }
+
+    /**
+     * A node of the tree, holding its keys in ascending order and, unless it
+     * is a leaf, one more child than it has keys.
+     */
+    private final class Node {
+
+        /** The keys, in ascending order, in slots 0 to count - 1 */
+        final Object[] keys = new Object[2 * minimumDegree - 1];
+
+        /** The children, in slots 0 to count, or null for a leaf */
+        final Node[] children;
+
+        /** Number of keys held */
+        int count;
+
+        /**
+         * Constructs an empty node.
+         *
+         * @param leaf true for a leaf, false for an internal node
+         */
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        Node(boolean leaf) {
+            children = leaf ? null : new BTree.Node[2 * minimumDegree];
+        }
+
+        /**
+         * Checks if the node is a leaf.
+         *
+         * @return true if the node has no children
+         */
+        boolean isLeaf() {
+            return children == null;
+        }
+
+        /**
+         * Returns a key of the node.
+         *
+         * @param index the position of the key
+         * @return the key at that position
+         */
+        @SuppressWarnings("unchecked")
+        E key(int index) {
+            return (E) keys[index];
+        }
+
+        /**
+         * Binary searches the keys of the node.
+         *
+         * @param entry the key to look for
+         * @return the index of the key, or (-(insertion point) - 1) if it is absent
+         */
+        int find(E entry) {
+            return Arrays.binarySearch(keys, 0, count, entry);
+        }
+    }
+
+    /**
+     * Returns a detached node holding the middle key of the root node.
+     *
+     * @return a new node holding the root element
+     * @throws NullPointerException if the tree is empty and there is no root node
+     */
+    @Override
+    public BSTreeNode<E> getRoot() throws NullPointerException {
+        if (size == 0) {
+            throw new NullPointerException("Tree is empty - no root node exists");
+        }
+        return new BSTreeNode<>(root.key((root.count - 1) / 2));
+    }
+
+    /**
+     * Returns the number of node levels in the tree.
+     *
+     * @return the height of the tree, 0 if it is empty
+     */
+    @Override
+    public int getHeight() {
+        return height;
+    }
+
+    /**
+     * Returns the number of elements in the tree.
+     *
+     * @return the number of elements in the tree
+     */
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Checks if the tree is currently empty.
+     *
+     * @return true if the tree is empty, false otherwise
+     */
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Removes all elements from the tree.
+     */
+    @Override
+    public void clear() {
+        root = new Node(true);
+        size = 0;
+        height = 0;
+        modCount++;
+    }
+
+    /**
+     * Checks if the tree contains the specified element.
+     *
+     * @param entry the element to search for in the tree
+     * @return true if the element is found in the tree, false otherwise
+     * @throws NullPointerException if the entry being passed in is null
+     */
+    @Override
+    public boolean contains(E entry) throws NullPointerException {
+        return find(entry) != null;
+    }
+
+    /**
+     * Searches for the specified element and returns a detached node holding it.
+     *
+     * @param entry the element to search for
+     * @return a new node holding the element, or null if not found
+     * @throws NullPointerException if the entry being passed in is null
+     */
+    @Override
+    public BSTreeNode<E> search(E entry) throws NullPointerException {
+        E found = find(entry);
+        return found == null ? null : new BSTreeNode<>(found);
+    }
+
+    /**
+     * Helper method to look up the stored key equal to an element.
+     *
+     * @param entry the element to look for
+     * @return the stored key, or null if not found
+     * @throws NullPointerException if entry is null
+     */
+    private E find(E entry) throws NullPointerException {
+        if (entry == null) {
+            throw new NullPointerException("Entry cannot be null");
+        }
+
+        Node node = root;
+        while (true) {
+            int index = node.find(entry);
+            if (index >= 0) {
+                return node.key(index);
+            }
+            if (node.isLeaf()) {
+                return null;
+            }
+            node = node.children[-index - 1];
+        }
+    }
+
+    /**
+     * Adds a new element to the tree, splitting every full node on the way
+     * down so that the leaf it ends up in has room for it.
+     *
+     * @param newEntry the element to add to the tree
+     * @return true if the element was added successfully, false if it already exists
+     * @throws NullPointerException if the newEntry being passed in is null
+     */
+    @Override
+    public boolean add(E newEntry) throws NullPointerException {
+        if (contains(newEntry)) {
+            return false;
+        }
+
+        if (root.count == root.keys.length) {
+            Node newRoot = new Node(false);
+            newRoot.children[0] = root;
+            root = newRoot;
+            split(newRoot, 0);
+            height++;
+        } else if (height == 0) {
+            height = 1;
+        }
+
+        Node node = root;
+        while (!node.isLeaf()) {
+            int index = -node.find(newEntry) - 1;
+            if (node.children[index].count == node.keys.length) {
+                split(node, index);
+                if (newEntry.compareTo(node.key(index)) > 0) {
+                    index++;
+                }
+            }
+            node = node.children[index];
+        }
+
+        int index = -node.find(newEntry) - 1;
+        System.arraycopy(node.keys, index, node.keys, index + 1, node.count - index);
+        node.keys[index] = newEntry;
+        node.count++;
+        size++;
+        modCount++;
+        return true;
+    }
+
+    /**
+     * Helper method to split a full child around its middle key, which
+     * moves up into the parent.
+     *
+     * @param parent a node that is not full
+     * @param index the position of the full child in the parent
+     */
+    private void split(Node parent, int index) {
+        int t = minimumDegree;
+        Node child = parent.children[index];
+        Node sibling = new Node(child.isLeaf());
+
+        System.arraycopy(child.keys, t, sibling.keys, 0, t - 1);
+        if (!child.isLeaf()) {
+            System.arraycopy(child.children, t, sibling.children, 0, t);
+            Arrays.fill(child.children, t, 2 * t, null);
+        }
+        sibling.count = t - 1;
+
+        System.arraycopy(parent.keys, index, parent.keys, index + 1, parent.count - index);
+        System.arraycopy(parent.children, index + 1, parent.children, index + 2, parent.count - index);
+        parent.keys[index] = child.keys[t - 1];
+        parent.children[index + 1] = sibling;
+        parent.count++;
+
+        Arrays.fill(child.keys, t - 1, 2 * t - 1, null);
+        child.count = t - 1;
+    }
+
+    /**
+     * Removes the smallest element in the tree.
+     *
+     * @return a detached node holding the removed element, or null if the tree is empty
+     */
+    @Override
+    public BSTreeNode<E> removeMin() {
+        return size == 0 ? null : new BSTreeNode<>(removeEdge(true));
+    }
+
+    /**
+     * Removes the largest element in the tree.
+     *
+     * @return a detached node holding the removed element, or null if the tree is empty
+     */
+    @Override
+    public BSTreeNode<E> removeMax() {
+        return size == 0 ? null : new BSTreeNode<>(removeEdge(false));
+    }
+
+    /**
+     * Helper method to remove the smallest or largest key of a non-empty
+     * tree. Every child the descent enters is first given at least t keys,
+     * so the leaf it ends at can lose one without becoming too small.
+     *
+     * @param smallest true to remove the smallest key, false for the largest
+     * @return the removed key
+     */
+    private E removeEdge(boolean smallest) {
+        Node node = root;
+        while (!node.isLeaf()) {
+            node = fill(node, smallest ? 0 : node.count);
+            if (root.count == 0) {
+                root = node;
+                height--;
+            }
+        }
+
+        E removed;
+        if (smallest) {
+            removed = node.key(0);
+            System.arraycopy(node.keys, 1, node.keys, 0, node.count - 1);
+        } else {
+            removed = node.key(node.count - 1);
+        }
+        node.keys[--node.count] = null;
+
+        size--;
+        if (size == 0) {
+            height = 0;
+        }
+        modCount++;
+        return removed;
+    }
+
+    /**
+     * Helper method to make sure a child holds at least t keys, borrowing a
+     * key from a sibling that can spare one, or otherwise merging the child
+     * with a sibling and the key separating them.
+     *
+     * @param parent an internal node that is the root or holds at least t keys
+     * @param index the position of the child in the parent
+     * @return the node now holding the child's keys
+     */
+    private Node fill(Node parent, int index) {
+        Node child = parent.children[index];
+        if (child.count >= minimumDegree) {
+            return child;
+        }
+
+        if (index < parent.count && parent.children[index + 1].count >= minimumDegree) {
+            Node right = parent.children[index + 1];
+            child.keys[child.count] = parent.keys[index];
+            parent.keys[index] = right.keys[0];
+            System.arraycopy(right.keys, 1, right.keys, 0, right.count - 1);
+            right.keys[right.count - 1] = null;
+            if (!child.isLeaf()) {
+                child.children[child.count + 1] = right.children[0];
+                System.arraycopy(right.children, 1, right.children, 0, right.count);
+                right.children[right.count] = null;
+            }
+            child.count++;
+            right.count--;
+            return child;
+        }
+
+        if (index > 0 && parent.children[index - 1].count >= minimumDegree) {
+            Node left = parent.children[index - 1];
+            System.arraycopy(child.keys, 0, child.keys, 1, child.count);
+            child.keys[0] = parent.keys[index - 1];
+            parent.keys[index - 1] = left.keys[left.count - 1];
+            left.keys[left.count - 1] = null;
+            if (!child.isLeaf()) {
+                System.arraycopy(child.children, 0, child.children, 1, child.count + 1);
+                child.children[0] = left.children[left.count];
+                left.children[left.count] = null;
+            }
+            child.count++;
+            left.count--;
+            return child;
+        }
+
+        return index < parent.count ? merge(parent, index) : merge(parent, index - 1);
+    }
+
+    /**
+     * Helper method to merge two adjacent children, together with the key
+     * separating them, into the left one.
+     *
+     * @param parent the node holding both children
+     * @param index the position of the left child in the parent
+     * @return the merged node
+     */
+    private Node merge(Node parent, int index) {
+        Node left = parent.children[index];
+        Node right = parent.children[index + 1];
+
+        left.keys[left.count] = parent.keys[index];
+        System.arraycopy(right.keys, 0, left.keys, left.count + 1, right.count);
+        if (!left.isLeaf()) {
+            System.arraycopy(right.children, 0, left.children, left.count + 1, right.count + 1);
+        }
+        left.count += right.count + 1;
+
+        System.arraycopy(parent.keys, index + 1, parent.keys, index, parent.count - index - 1);
+        System.arraycopy(parent.children, index + 2, parent.children, index + 1, parent.count - index - 1);
+        parent.count--;
+        parent.keys[parent.count] = null;
+        parent.children[parent.count + 1] = null;
+        return left;
+    }
+
+    /**
+     * Creates an iterator to traverse the keys in ascending order.
+     *
+     * @return an iterator with elements in natural order
+     */
+    @Override
+    public Iterator<E> inorderIterator() {
+        return new NodeIterator() {
+            @Override
+            protected int slot(Node node, int step) {
+                return (step & 1) == 1 ? step >>> 1 : ~(step >>> 1);
+            }
+        };
+    }
+
+    /**
+     * Creates an iterator returning the keys of each node before the keys
+     * of its subtrees, from left to right.
+     *
+     * @return an iterator with elements in pre-order
+     */
+    @Override
+    public Iterator<E> preorderIterator() {
+        return new NodeIterator() {
+            @Override
+            protected int slot(Node node, int step) {
+                return step < node.count ? step : ~(step - node.count);
+            }
+        };
+    }
+
+    /**
+     * Creates an iterator returning the keys of each node after the keys
+     * of its subtrees, from left to right.
+     *
+     * @return an iterator with elements in post-order
+     */
+    @Override
+    public Iterator<E> postorderIterator() {
+        return new NodeIterator() {
+            @Override
+            protected int slot(Node node, int step) {
+                return step <= node.count ? ~step : step - node.count - 1;
+            }
+        };
+    }
+
+    /**
+     * Base class for the tree iterators. Visiting an internal node takes
+     * 2 * count + 1 steps, each returning one of its keys or entering one of
+     * its children; subclasses choose the order of the steps. The stack
+     * holds the nodes being visited with the next step of each, and between
+     * calls the step on top of it always returns a key. Every leaf is at the
+     * same depth, so the stack never grows beyond the height of the tree.
+     */
+    private abstract class NodeIterator implements Iterator<E> {
+
+        /** Nodes being visited, from the root down */
+        private final Node[] nodes;
+
+        /** Next step to take in each node on the stack, in the same order */
+        private final int[] steps;
+
+        /** Number of nodes on the stack */
+        private int depth;
+
+        /** The modification count the tree is expected to have */
+        private final int expectedModCount = modCount;
+
+        /**
+         * Constructs an iterator positioned before its first key.
+         */
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        NodeIterator() {
+            nodes = new BTree.Node[height];
+            steps = new int[height];
+            if (size > 0) {
+                nodes[0] = root;
+                depth = 1;
+            }
+        }
+
+        /**
+         * Maps a step of the visit of an internal node to what it does.
+         *
+         * @param node the internal node being visited
+         * @param step the step, from 0 to 2 * count
+         * @return the index of the key to return, or the complement of the index of the child to enter
+         */
+        protected abstract int slot(Node node, int step);
+
+        /**
+         * Helper method to take steps that enter children, and to drop
+         * finished nodes, until the step on top returns a key. The tree is
+         * checked first, since a split or merge since the last call would
+         * leave the stack pointing at nodes that no longer hold those keys.
+         *
+         * @throws ConcurrentModificationException if the tree was modified
+         *         after this iterator was created
+         */
+        private void settle() throws ConcurrentModificationException {
+            if (modCount != expectedModCount) {
+                throw new ConcurrentModificationException("Tree modified during iteration");
+            }
+            while (depth > 0) {
+                Node node = nodes[depth - 1];
+                int step = steps[depth - 1];
+                if (node.isLeaf() ? step == node.count : step > 2 * node.count) {
+                    depth--;
+                    continue;
+                }
+                if (node.isLeaf() || slot(node, step) >= 0) {
+                    return;
+                }
+                steps[depth - 1] = step + 1;
+                nodes[depth] = node.children[~slot(node, step)];
+                steps[depth++] = 0;
+            }
+        }
+
+        /**
+         * Returns true if the iteration has more elements.
+         *
+         * @return true if the iterator has more elements
+         * @throws ConcurrentModificationException if the tree was modified
+         *         after this iterator was created
+         */
+        @Override
+        public boolean hasNext() throws ConcurrentModificationException {
+            settle();
+            return depth > 0;
+        }
+
+        /**
+         * Returns the next element in the iteration.
+         *
+         * @return the next element in the iteration
+         * @throws NoSuchElementException if the iteration has no more elements
+         * @throws ConcurrentModificationException if the tree was modified
+         *         after this iterator was created
+         */
+        @Override
+        public E next() throws NoSuchElementException {
+            if (!hasNext()) {
+                throw new NoSuchElementException("No more elements in iteration");
+            }
+            Node node = nodes[depth - 1];
+            int step = steps[depth - 1]++;
+            return node.key(node.isLeaf() ? step : slot(node, step));
+        }
+    }
+
+    /**
+     * Writes the minimum degree followed by the number of elements and the
+     * elements in ascending order.
+     *
+     * @param out the stream to write to
+     * @throws IOException if the stream cannot be written
+     */
+    private void writeObject(ObjectOutputStream out) throws IOException {
+        out.defaultWriteObject();
+        out.writeInt(size);
+        Iterator<E> iterator = inorderIterator();
+        while (iterator.hasNext()) {
+            out.writeObject(iterator.next());
+        }
+    }
+
+    /**
+     * Rebuilds the tree from the elements written by writeObject.
+     *
+     * @param in the stream to read from
+     * @throws IOException if the stream cannot be read or holds an invalid tree
+     * @throws ClassNotFoundException if a class in the stream cannot be found
+     */
+    @SuppressWarnings("unchecked")
+    private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+        in.defaultReadObject();
+        if (minimumDegree < 2) {
+            throw new InvalidObjectException("Minimum degree must be at least 2");
+        }
+        int count = in.readInt();
+        if (count < 0) {
+            throw new InvalidObjectException("Negative element count");
+        }
+        root = new Node(true);
+        E previous = null;
+        for (int i = 0; i < count; i++) {
+            E element = (E) in.readObject();
+            if (element == null || (previous != null && previous.compareTo(element) >= 0)) {
+                throw new InvalidObjectException("Elements are not in strictly ascending order");
+            }
+            add(element);
+            previous = element;
+        }
+    }
+
+    /**
+     * Returns a string representation of the tree using in-order traversal.
+     *
+     * @return string representation of the tree
+     */
+    @Override
+    public String toString() {
+        StringBuilder result = new StringBuilder("[");
+        Iterator<E> iterator = inorderIterator();
+        while (iterator.hasNext()) {
+            result.append(iterator.next());
+            if (iterator.hasNext()) {
+                result.append(", ");
+            }
+        }
+        return result.append("]").toString();
+    }
+}
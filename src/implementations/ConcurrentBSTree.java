@@ -0,0 +1,443 @@
+package implementations;
+
+import utilities.BSTreeADT;
+import utilities.Iterator;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.Collection;
+import java.util.NoSuchElementException;
+import java.util.concurrent.locks.StampedLock;
+
+/**
+ * ConcurrentBSTree is a thread-safe Binary Search Tree that wraps a BSTree
+ * and guards it with a StampedLock.
+ *
+ * Reads (contains, search, getHeight and size) first run without taking
+ * the lock, under an optimistic stamp, and only retry under the read lock
+ * if a writer got in while they were running. On a read-heavy workload
+ * readers therefore never block each other and never write to shared
+ * memory. A search that runs into a half-finished update may read an
+ * inconsistent structure; it gives up after more steps than the tree has
+ * elements, so it cannot loop forever, and its result is discarded when
+ * the stamp fails to validate.
+ *
+ * Writes (add, addAll, removeMin, removeMax and clear) take the write lock.
+ * Iterators work on a copy of the contents taken under the read lock, so
+ * they never throw ConcurrentModificationException.
+ *
+ * Nodes of the underlying tree are never handed out: getRoot(), search(),
+ * removeMin() and removeMax() return new, detached BSTreeNode instances
+ * holding the element.
+ *
+ * @param <E> the type of elements stored in this tree, must extend Comparable
+ * @author Your Name
+ * @version 1.0
+ */
+public class ConcurrentBSTree<E extends Comparable<? super E>> implements BSTreeADT<E> {
+
+    /** Serial version UID for serialization compatibility */
+    private static final long serialVersionUID = 1L;
+
+    /** The tree holding the elements, accessed only under the lock or a stamp */
+    private final BSTree<E> tree;
+
+    /** Guards every access to the tree */
+    private transient StampedLock lock = new StampedLock();
+
+    /**
+     * Constructs an empty concurrent tree.
+     */
+    public ConcurrentBSTree() {
+        this(false);
+    }
+
+    /**
+     * Constructs an empty concurrent tree, optionally kept height-balanced
+     * with AVL rotations.
+     *
+     * @param balanced true to keep the tree height-balanced, false for a plain BST
+     */
+    public ConcurrentBSTree(boolean balanced) {
+        tree = new BSTree<>(balanced);
+    }
+
+    /**
+     * Returns a detached node holding the element at the root of the tree.
+     *
+     * @return a new node holding the root element
+     * @throws NullPointerException if the tree is empty and there is no root node
+     */
+    @Override
+    public BSTreeNode<E> getRoot() throws NullPointerException {
+        long stamp = lock.readLock();
+        try {
+            return new BSTreeNode<>(tree.getRoot().getData());
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * Returns the height of the tree without blocking unless a writer is active.
+     *
+     * @return the height of the tree
+     */
+    @Override
+    public int getHeight() {
+        long stamp = lock.tryOptimisticRead();
+        int height = tree.getHeight();
+        if (!lock.validate(stamp)) {
+            stamp = lock.readLock();
+            try {
+                height = tree.getHeight();
+            } finally {
+                lock.unlockRead(stamp);
+            }
+        }
+        return height;
+    }
+
+    /**
+     * Returns the number of elements without blocking unless a writer is active.
+     *
+     * @return the number of elements in the tree
+     */
+    @Override
+    public int size() {
+        long stamp = lock.tryOptimisticRead();
+        int size = tree.size();
+        if (!lock.validate(stamp)) {
+            stamp = lock.readLock();
+            try {
+                size = tree.size();
+            } finally {
+                lock.unlockRead(stamp);
+            }
+        }
+        return size;
+    }
+
+    /**
+     * Checks if the tree is currently empty.
+     *
+     * @return true if the tree is empty, false otherwise
+     */
+    @Override
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    /**
+     * Removes all elements from the tree.
+     */
+    @Override
+    public void clear() {
+        long stamp = lock.writeLock();
+        try {
+            tree.clear();
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Checks if the tree contains the specified element.
+     *
+     * @param entry the element to search for in the tree
+     * @return true if the element is found in the tree, false otherwise
+     * @throws NullPointerException if the entry being passed in is null
+     */
+    @Override
+    public boolean contains(E entry) throws NullPointerException {
+        return find(entry) != null;
+    }
+
+    /**
+     * Searches for the specified element and returns a detached node holding it.
+     *
+     * @param entry the element to search for
+     * @return a new node holding the element, or null if not found
+     * @throws NullPointerException if the entry being passed in is null
+     */
+    @Override
+    public BSTreeNode<E> search(E entry) throws NullPointerException {
+        E found = find(entry);
+        return found == null ? null : new BSTreeNode<>(found);
+    }
+
+    /**
+     * Helper method to look up an element, first optimistically and then, if
+     * a writer interfered, under the read lock. An exception thrown while
+     * reading optimistically may come from inconsistent data, so it also
+     * leads to the retry; only one thrown under the read lock is reported.
+     *
+     * @param entry the element to look for
+     * @return the element stored in the tree, or null if not found
+     * @throws NullPointerException if entry is null
+     */
+    private E find(E entry) throws NullPointerException {
+        if (entry == null) {
+            throw new NullPointerException("Entry cannot be null");
+        }
+
+        long stamp = lock.tryOptimisticRead();
+        if (stamp != 0) {
+            try {
+                E found = descend(entry, tree.size() + 1);
+                if (lock.validate(stamp)) {
+                    return found;
+                }
+            } catch (RuntimeException e) {
+                // compareTo ran on a torn structure; retry under the read lock
+            }
+        }
+
+        stamp = lock.readLock();
+        try {
+            return descend(entry, Integer.MAX_VALUE);
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * Helper method to walk down from the root towards an element, giving
+     * up after a fixed number of steps. Under an optimistic stamp the links
+     * read here may belong to different versions of the tree, so every node
+     * is read into a local before use.
+     *
+     * @param entry the element to look for
+     * @param maxSteps the number of nodes to visit before giving up
+     * @return the element stored in the tree, or null if not found or the limit was hit
+     */
+    private E descend(E entry, int maxSteps) {
+        BSTreeNode<E> node = tree.rootNode();
+        for (int steps = 0; node != null && steps < maxSteps; steps++) {
+            E data = node.getData();
+            if (data == null) {
+                return null;
+            }
+            int comparison = entry.compareTo(data);
+
+            if (comparison == 0) {
+                return data;
+            }
+            node = comparison < 0 ? node.getLeft() : node.getRight();
+        }
+        return null;
+    }
+
+    /**
+     * Adds a new element to the tree under the write lock.
+     *
+     * @param newEntry the element to add to the tree
+     * @return true if the element was added successfully, false if it already exists
+     * @throws NullPointerException if the newEntry being passed in is null
+     */
+    @Override
+    public boolean add(E newEntry) throws NullPointerException {
+        long stamp = lock.writeLock();
+        try {
+            return tree.add(newEntry);
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Adds every element of a collection under a single write lock.
+     *
+     * @param entries the elements to add
+     * @return the number of elements that were not already in the tree
+     * @throws NullPointerException if the collection or any of its elements is null
+     */
+    @Override
+    public int addAll(Collection<? extends E> entries) throws NullPointerException {
+        long stamp = lock.writeLock();
+        try {
+            return tree.addAll(entries);
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Adds every element of an array under a single write lock.
+     *
+     * @param entries the elements to add
+     * @return the number of elements that were not already in the tree
+     * @throws NullPointerException if the array or any of its elements is null
+     */
+    @Override
+    public int addAll(E[] entries) throws NullPointerException {
+        long stamp = lock.writeLock();
+        try {
+            return tree.addAll(entries);
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Removes the smallest element in the tree under the write lock.
+     *
+     * @return a detached node holding the removed element, or null if the tree is empty
+     */
+    @Override
+    public BSTreeNode<E> removeMin() {
+        long stamp = lock.writeLock();
+        try {
+            return tree.removeMin();
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Removes the largest element in the tree under the write lock.
+     *
+     * @return a detached node holding the removed element, or null if the tree is empty
+     */
+    @Override
+    public BSTreeNode<E> removeMax() {
+        long stamp = lock.writeLock();
+        try {
+            return tree.removeMax();
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Creates an iterator over a copy of the elements in natural order,
+     * taken under the read lock.
+     *
+     * @return an iterator with elements in natural order
+     */
+    @Override
+    public Iterator<E> inorderIterator() {
+        long stamp = lock.readLock();
+        try {
+            return new SnapshotIterator(tree.inorderIterator());
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * Creates an iterator over a copy of the elements in pre-order, taken
+     * under the read lock.
+     *
+     * @return an iterator with elements in pre-order
+     */
+    @Override
+    public Iterator<E> preorderIterator() {
+        long stamp = lock.readLock();
+        try {
+            return new SnapshotIterator(tree.preorderIterator());
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * Creates an iterator over a copy of the elements in post-order, taken
+     * under the read lock.
+     *
+     * @return an iterator with elements in post-order
+     */
+    @Override
+    public Iterator<E> postorderIterator() {
+        long stamp = lock.readLock();
+        try {
+            return new SnapshotIterator(tree.postorderIterator());
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * Iterator over an array filled from another iterator when it is
+     * created, so that it no longer depends on the tree.
+     */
+    private class SnapshotIterator implements Iterator<E> {
+
+        /** The copied elements in traversal order */
+        private final Object[] elements;
+
+        /** Position of the next element to return */
+        private int cursor;
+
+        /**
+         * Copies the remaining elements of an iterator over the tree. Must be
+         * called while holding the lock.
+         *
+         * @param source the iterator to drain
+         */
+        SnapshotIterator(Iterator<E> source) {
+            elements = new Object[tree.size()];
+            for (int i = 0; source.hasNext(); i++) {
+                elements[i] = source.next();
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            return cursor < elements.length;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public E next() throws NoSuchElementException {
+            if (!hasNext()) {
+                throw new NoSuchElementException("No more elements in iteration");
+            }
+            return (E) elements[cursor++];
+        }
+    }
+
+    /**
+     * Writes the tree under the read lock, so that concurrent writers cannot
+     * change it while it is being serialized.
+     *
+     * @param out the stream to write to
+     * @throws IOException if the stream cannot be written
+     */
+    private void writeObject(ObjectOutputStream out) throws IOException {
+        long stamp = lock.readLock();
+        try {
+            out.defaultWriteObject();
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * Restores the tree and creates a fresh lock after deserialization.
+     *
+     * @param in the stream to read from
+     * @throws IOException if the stream cannot be read
+     * @throws ClassNotFoundException if a class in the stream cannot be found
+     */
+    private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+        in.defaultReadObject();
+        lock = new StampedLock();
+    }
+
+    /**
+     * Returns a string representation of the tree using in-order traversal,
+     * taken under the read lock.
+     *
+     * @return string representation of the tree
+     */
+    @Override
+    public String toString() {
+        long stamp = lock.readLock();
+        try {
+            return tree.toString();
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+}
@@ -0,0 +1,1005 @@
+package implementations;
+
+import utilities.BSTreeADT;
+import utilities.Iterator;
+import utilities.KeyCodec;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.NotSerializableException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.lang.foreign.MemorySegment;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.zip.CRC32;
+
+/**
+ * DurableBSTree is a Binary Search Tree kept in memory and persisted in a
+ * directory as a checkpoint plus a write-ahead log. Every successful
+ * mutation appends a small record to the log before it is applied, so the
+ * cost of persisting a change is proportional to the change and not to the
+ * size of the tree.
+ *
+ * Records are collected in a buffer and written to the log through a
+ * FileChannel. The channel is forced to disk once every syncEvery records
+ * (group commit): with the default of 1 every mutation is durable when it
+ * returns, while larger values trade the last few records on a crash for
+ * fewer fsync calls. addAll always logs its whole batch with a single
+ * fsync, and sync() forces any pending records immediately.
+ *
+ * Once checkpointEvery records have been logged, the tree writes a
+ * checkpoint using its serialized form, to a temporary file that is then
+ * atomically moved over the previous one, and starts a new, empty log once
+ * the directory entry of the move has been forced to disk, on platforms
+ * that allow a directory to be opened. Opening a directory reads the last checkpoint and replays the log on top
+ * of it. A record cut short by a crash, or one whose CRC32 does not match,
+ * ends the log; it and anything after it are truncated away.
+ *
+ * Log layout, all values big-endian:
+ * <pre>
+ *   header  int magic, int version, long checkpoint generation
+ *   record  int payload length, int CRC32 of the payload,
+ *           byte operation, encoded key (add only)
+ * </pre>
+ * The checkpoint holds the same generation number, so that a log left
+ * behind by a crash between writing a checkpoint and starting the new log
+ * is recognised as already included and ignored.
+ *
+ * A mutation is applied in memory only after all of its records have been
+ * accepted by the log: buffered, or written and forced when the sync
+ * setting or a batch requires it. If encoding a key or writing the log
+ * fails, the records of that mutation are dropped from the buffer and cut
+ * from the end of the log file, the tree in memory is left unchanged, and
+ * the failure is reported as IllegalArgumentException or
+ * UncheckedIOException. A checkpoint that is due but cannot be written
+ * does not fail the mutation that triggered it, since the change is
+ * already in the log; it is tried again after another checkpointEvery
+ * records, while checkpoint() itself reports the error. The exception is a
+ * checkpoint that was moved into place but whose directory could not be
+ * forced: later mutations first retry forcing it, and fail if they cannot.
+ *
+ * The log is locked while the tree is open, so that a second open() of the
+ * same directory, from this or another process, fails instead of
+ * rewriting the log under the first.
+ *
+ * Like BSTree, this class is not thread-safe. getRoot(), search(),
+ * removeMin() and removeMax() return new, detached BSTreeNode instances so
+ * that the tree cannot be changed without going through the log. The tree
+ * itself cannot be serialized; its directory is its persistent form.
+ *
+ * @param <E> the type of elements stored in this tree, must extend Comparable
+ * @author Your Name
+ * @version 1.0
+ */
+public class DurableBSTree<E extends Comparable<? super E>> implements BSTreeADT<E>, AutoCloseable {
+
+    /** Serial version UID for serialization compatibility */
+    private static final long serialVersionUID = 1L;
+
+    /** Name of the checkpoint file within the directory */
+    static final String CHECKPOINT_FILE = "tree.checkpoint";
+
+    /** Name of the write-ahead log within the directory */
+    static final String LOG_FILE = "tree.log";
+
+    /** Identifies a log file, "BSTL" in ASCII */
+    private static final int MAGIC = 0x4253544C;
+
+    /** Version of the log format written by this class */
+    private static final int VERSION = 1;
+
+    /** Size of the log header in bytes */
+    private static final int HEADER_BYTES = 16;
+
+    /** Size of the length and checksum preceding each payload */
+    private static final int RECORD_HEADER_BYTES = 8;
+
+    /** Smallest size of the buffer collecting records before they are written */
+    private static final int BUFFER_BYTES = 1 << 16;
+
+    /** Records logged between checkpoints when none is given */
+    private static final int DEFAULT_CHECKPOINT_EVERY = 1 << 16;
+
+    /** Operation code of an add record */
+    private static final byte ADD = 1;
+
+    /** Operation code of a removeMin record */
+    private static final byte REMOVE_MIN = 2;
+
+    /** Operation code of a removeMax record */
+    private static final byte REMOVE_MAX = 3;
+
+    /** Operation code of a clear record */
+    private static final byte CLEAR = 4;
+
+    /** The elements, always reflecting every logged record */
+    private final transient BSTree<E> tree;
+
+    /** Encodes and decodes the keys stored in add records */
+    private final transient KeyCodec<E> codec;
+
+    /** Directory holding the checkpoint and the log */
+    private final transient Path directory;
+
+    /** Number of records written between two fsync calls */
+    private final transient int syncEvery;
+
+    /** Number of records logged between two checkpoints, 0 for none */
+    private final transient int checkpointEvery;
+
+    /** Records waiting to be written to the log */
+    private final transient ByteBuffer pending;
+
+    /** Scratch space a single payload is encoded into */
+    private final transient byte[] payload;
+
+    /** View of payload the codec writes keys into */
+    private final transient MemorySegment payloadSegment;
+
+    /** Scratch space a replayed key is encoded into again to check its length */
+    private final transient MemorySegment replaySegment;
+
+    /** Computes the checksum of each payload */
+    private final transient CRC32 crc = new CRC32();
+
+    /** Channel appending to the log, null once closed */
+    private transient FileChannel log;
+
+    /** Position in the log just past the last record known to be written */
+    private transient long logEnd;
+
+    /** Whether a failed write may have left bytes past logEnd, or no header */
+    private transient boolean torn;
+
+    /**
+     * Whether a checkpoint has been moved into place but its directory entry
+     * is not yet known to be on disk. Until it is, the log is neither
+     * restarted nor appended to, since either could be lost with the rename.
+     */
+    private transient boolean renamed;
+
+    /** Generation of the last checkpoint, also stored in the log header */
+    private transient long generation;
+
+    /** Records appended since the log was last forced to disk */
+    private transient int unsynced;
+
+    /** Records appended since the last checkpoint */
+    private transient int sinceCheckpoint;
+
+    /**
+     * Helper constructor used by open once the directory has been recovered.
+     *
+     * @param directory the directory holding the checkpoint and the log
+     * @param codec the codec for keys in the log
+     * @param syncEvery records per fsync
+     * @param checkpointEvery records per checkpoint, 0 for none
+     * @param tree the recovered elements
+     * @param generation the generation of the recovered checkpoint
+     */
+    private DurableBSTree(Path directory, KeyCodec<E> codec, int syncEvery, int checkpointEvery,
+            BSTree<E> tree, long generation) {
+        this.directory = directory;
+        this.codec = codec;
+        this.syncEvery = syncEvery;
+        this.checkpointEvery = checkpointEvery;
+        this.tree = tree;
+        this.generation = generation;
+        this.payload = new byte[1 + codec.width()];
+        this.payloadSegment = MemorySegment.ofArray(payload);
+        this.replaySegment = MemorySegment.ofArray(new byte[codec.width()]);
+        this.pending = ByteBuffer.allocate(Math.max(BUFFER_BYTES, RECORD_HEADER_BYTES + payload.length));
+    }
+
+    /**
+     * Opens, or creates, a durable tree in a directory, forcing every
+     * mutation to disk and taking a checkpoint every 65536 records.
+     *
+     * @param <E> the type of elements stored in the tree
+     * @param directory the directory holding the checkpoint and the log
+     * @param codec the codec for keys in the log
+     * @return the recovered tree
+     * @throws NullPointerException if directory or codec is null
+     * @throws IOException if the directory cannot be read, holds a corrupt checkpoint or is already open
+     */
+    public static <E extends Comparable<? super E>> DurableBSTree<E> open(Path directory, KeyCodec<E> codec)
+            throws NullPointerException, IOException {
+        return open(directory, codec, 1, DEFAULT_CHECKPOINT_EVERY);
+    }
+
+    /**
+     * Opens, or creates, a durable tree in a directory. The last checkpoint
+     * is loaded and the log replayed on top of it; a torn or corrupt record
+     * at the end of the log is truncated away.
+     *
+     * @param <E> the type of elements stored in the tree
+     * @param directory the directory holding the checkpoint and the log
+     * @param codec the codec for keys in the log
+     * @param syncEvery the number of records written between two fsync calls
+     * @param checkpointEvery the number of records logged between two checkpoints, 0 for none
+     * @return the recovered tree
+     * @throws NullPointerException if directory or codec is null
+     * @throws IllegalArgumentException if syncEvery is less than 1 or checkpointEvery is negative
+     * @throws IOException if the directory cannot be read, holds a corrupt checkpoint or is already open
+     */
+    public static <E extends Comparable<? super E>> DurableBSTree<E> open(Path directory, KeyCodec<E> codec,
+            int syncEvery, int checkpointEvery) throws NullPointerException, IllegalArgumentException, IOException {
+        if (directory == null || codec == null) {
+            throw new NullPointerException("Directory and codec cannot be null");
+        }
+        if (syncEvery < 1 || checkpointEvery < 0) {
+            throw new IllegalArgumentException("syncEvery must be positive and checkpointEvery not negative");
+        }
+        Files.createDirectories(directory);
+
+        BSTree<E> tree = new BSTree<>(true);
+        long generation = 0;
+        Path checkpoint = directory.resolve(CHECKPOINT_FILE);
+        if (Files.exists(checkpoint)) {
+            try (InputStream file = Files.newInputStream(checkpoint);
+                    ObjectInputStream in = new ObjectInputStream(file)) {
+                generation = in.readLong();
+                @SuppressWarnings("unchecked")
+                BSTree<E> stored = (BSTree<E>) in.readObject();
+                tree = stored;
+            } catch (ClassNotFoundException | ClassCastException e) {
+                throw new IOException("Corrupt checkpoint", e);
+            }
+        }
+
+        DurableBSTree<E> durable = new DurableBSTree<>(directory, codec, syncEvery, checkpointEvery, tree, generation);
+        durable.recover();
+        return durable;
+    }
+
+    /**
+     * Helper method to replay the log on top of the loaded checkpoint and
+     * leave the log open for appending after its last intact record. A log
+     * missing its header, or left over from an earlier checkpoint, is
+     * started afresh. The log is locked first, and stays locked until the
+     * tree is closed, so that a directory is only used by one open tree.
+     *
+     * @throws IOException if the log cannot be read, is newer than the checkpoint or is locked
+     */
+    private void recover() throws IOException {
+        FileChannel channel = FileChannel.open(directory.resolve(LOG_FILE), StandardOpenOption.CREATE,
+                StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            FileLock lock;
+            try {
+                lock = channel.tryLock();
+            } catch (OverlappingFileLockException e) {
+                lock = null;
+            }
+            if (lock == null) {
+                throw new IOException("Tree directory is already open: " + directory);
+            }
+
+            ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+            readFully(channel, header, 0);
+            header.flip();
+
+            long end;
+            if (header.remaining() == HEADER_BYTES && header.getInt() == MAGIC && header.getInt() == VERSION) {
+                long logGeneration = header.getLong();
+                if (logGeneration > generation) {
+                    throw new IOException("Log is newer than the checkpoint");
+                }
+                end = logGeneration == generation ? replay(channel) : restart(channel);
+            } else {
+                end = restart(channel);
+            }
+
+            if (channel.size() > end) {
+                channel.truncate(end);
+                channel.force(false);
+            }
+            channel.position(end);
+            logEnd = end;
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+        log = channel;
+    }
+
+    /**
+     * Helper method to apply every intact record of the log, in order.
+     *
+     * @param channel the open log
+     * @return the position just past the last intact record
+     * @throws IOException if the log cannot be read
+     */
+    private long replay(FileChannel channel) throws IOException {
+        long position = HEADER_BYTES;
+        ByteBuffer recordHeader = ByteBuffer.allocate(RECORD_HEADER_BYTES);
+        ByteBuffer body = ByteBuffer.wrap(payload);
+        while (true) {
+            recordHeader.clear();
+            readFully(channel, recordHeader, position);
+            if (recordHeader.position() < RECORD_HEADER_BYTES) {
+                return position;
+            }
+            int length = recordHeader.getInt(0);
+            if (length < 1 || length > payload.length) {
+                return position;
+            }
+
+            body.clear().limit(length);
+            readFully(channel, body, position + RECORD_HEADER_BYTES);
+            if (body.position() < length) {
+                return position;
+            }
+            crc.reset();
+            crc.update(payload, 0, length);
+            if ((int) crc.getValue() != recordHeader.getInt(4)) {
+                return position;
+            }
+
+            if (!apply(length)) {
+                return position;
+            }
+            position += RECORD_HEADER_BYTES + length;
+            sinceCheckpoint++;
+        }
+    }
+
+    /**
+     * Helper method to apply the record held in the payload buffer. A record
+     * is checked in full before it changes the tree: removals and clears
+     * carry no key, and the key of an add must encode to exactly the bytes
+     * that follow the operation code.
+     *
+     * @param length the length of the payload
+     * @return true if the record was understood, false if it is not a valid record
+     */
+    private boolean apply(int length) {
+        if (payload[0] != ADD) {
+            if (length != 1) {
+                return false;
+            }
+            switch (payload[0]) {
+                case REMOVE_MIN:
+                    tree.removeMin();
+                    return true;
+                case REMOVE_MAX:
+                    tree.removeMax();
+                    return true;
+                case CLEAR:
+                    tree.clear();
+                    return true;
+                default:
+                    return false;
+            }
+        }
+
+        E key;
+        try {
+            key = codec.read(payloadSegment, 1);
+            if (key == null || codec.write(replaySegment, 0, key) != length - 1) {
+                return false;
+            }
+        } catch (RuntimeException e) {
+            return false;
+        }
+        tree.add(key);
+        return true;
+    }
+
+    /**
+     * Helper method to empty the log and write a header for the current
+     * checkpoint generation.
+     *
+     * @param channel the open log
+     * @return the position just past the header
+     * @throws IOException if the log cannot be written
+     */
+    private long restart(FileChannel channel) throws IOException {
+        channel.truncate(0);
+        ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+        header.putInt(MAGIC).putInt(VERSION).putLong(generation).flip();
+        while (header.hasRemaining()) {
+            channel.write(header, HEADER_BYTES - header.remaining());
+        }
+        channel.force(false);
+        return HEADER_BYTES;
+    }
+
+    /**
+     * Helper method to read from a channel until the buffer is full or the
+     * end of the channel is reached.
+     *
+     * @param channel the channel to read from
+     * @param buffer the buffer to fill
+     * @param position the position to start reading at
+     * @throws IOException if the channel cannot be read
+     */
+    private static void readFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            int read = channel.read(buffer, position);
+            if (read < 0) {
+                return;
+            }
+            position += read;
+        }
+    }
+
+    /**
+     * Closes the tree, forcing any pending records to disk first. Closing
+     * an already closed tree has no effect.
+     *
+     * @throws IOException if the pending records cannot be written
+     */
+    @Override
+    public void close() throws IOException {
+        if (log != null) {
+            try {
+                sync();
+            } finally {
+                log.close();
+                log = null;
+            }
+        }
+    }
+
+    /**
+     * Checks whether the tree has been closed.
+     *
+     * @return true if close() has been called, false otherwise
+     */
+    public boolean isClosed() {
+        return log == null;
+    }
+
+    /**
+     * Helper method to reject operations on a closed tree.
+     *
+     * @throws IllegalStateException if the tree has been closed
+     */
+    private void ensureOpen() throws IllegalStateException {
+        if (log == null) {
+            throw new IllegalStateException("Tree has been closed");
+        }
+    }
+
+    /**
+     * Writes every pending record to the log and forces it to disk. Records
+     * of failed mutations still at the end of the log are cut away first.
+     *
+     * @throws IOException if the log cannot be written
+     * @throws IllegalStateException if the tree has been closed
+     */
+    public void sync() throws IOException, IllegalStateException {
+        ensureOpen();
+        if (torn || pending.position() > 0 || unsynced > 0) {
+            flush(true);
+        }
+    }
+
+    /**
+     * Helper method to write the pending records to the log, optionally
+     * forcing them to disk. The buffer is only emptied once the write has
+     * succeeded; on failure it keeps every record and the log is marked
+     * torn, so the next write first cuts it back to logEnd.
+     *
+     * @param force true to force the log to disk after writing
+     * @throws IOException if the log cannot be written or forced
+     */
+    private void flush(boolean force) throws IOException {
+        repair();
+        int end = pending.position();
+        pending.flip();
+        try {
+            while (pending.hasRemaining()) {
+                log.write(pending);
+            }
+            if (force) {
+                log.force(false);
+            }
+        } catch (IOException e) {
+            pending.limit(pending.capacity()).position(end);
+            torn = true;
+            throw e;
+        }
+        pending.clear();
+        logEnd = log.position();
+        if (force) {
+            unsynced = 0;
+        }
+    }
+
+    /**
+     * Helper method to undo a failed write before writing again: the log is
+     * cut back to logEnd, or started afresh if the failure happened while
+     * a checkpoint was replacing it.
+     *
+     * @throws IOException if the log cannot be cut back
+     */
+    private void repair() throws IOException {
+        if (!torn) {
+            return;
+        }
+        if (logEnd < HEADER_BYTES) {
+            logEnd = restart(log);
+        } else {
+            log.truncate(logEnd);
+        }
+        log.position(logEnd);
+        torn = false;
+    }
+
+    /**
+     * Returns the number of bytes in the log, including records not yet
+     * written to it.
+     *
+     * @return the size of the log in bytes
+     * @throws IllegalStateException if the tree has been closed
+     */
+    public long logSize() throws IllegalStateException {
+        ensureOpen();
+        return logEnd + pending.position();
+    }
+
+    /**
+     * Writes a checkpoint of the whole tree and starts a new, empty log.
+     * The checkpoint goes to a temporary file that is forced to disk and
+     * then atomically moved over the previous checkpoint.
+     *
+     * @throws IOException if the checkpoint or the new log cannot be written
+     * @throws IllegalStateException if the tree has been closed
+     */
+    public void checkpoint() throws IOException, IllegalStateException {
+        sync();
+
+        Path checkpoint = directory.resolve(CHECKPOINT_FILE);
+        Path temporary = directory.resolve(CHECKPOINT_FILE + ".tmp");
+        try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            OutputStream file = Channels.newOutputStream(channel);
+            ObjectOutputStream out = new ObjectOutputStream(file);
+            out.writeLong(generation + 1);
+            out.writeObject(tree);
+            out.flush();
+            channel.force(true);
+        }
+        Files.move(temporary, checkpoint, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        renamed = true;
+        completeCheckpoint();
+    }
+
+    /**
+     * Helper method to finish a checkpoint once it has been moved into
+     * place: its directory entry is forced to disk, and only then is the
+     * log restarted for the new generation. If forcing fails, the old log
+     * is kept whole, since recovery falls back to it with the previous
+     * checkpoint if the rename is lost; it is finished before the next
+     * mutation is logged.
+     *
+     * @throws IOException if the directory or the new log cannot be written
+     */
+    private void completeCheckpoint() throws IOException {
+        forceDirectory();
+        renamed = false;
+        generation++;
+        sinceCheckpoint = 0;
+        logEnd = 0;
+        torn = true;
+        repair();
+    }
+
+    /**
+     * Helper method to force the directory entry of a moved checkpoint to
+     * disk. Some platforms, such as Windows, do not allow a directory to be
+     * opened at all, and there the rename is trusted as it is; once the
+     * directory is open, a failure to force it is reported.
+     *
+     * @throws IOException if the opened directory cannot be forced
+     */
+    private void forceDirectory() throws IOException {
+        FileChannel channel;
+        try {
+            channel = FileChannel.open(directory, StandardOpenOption.READ);
+        } catch (IOException e) {
+            return;
+        }
+        try (channel) {
+            channel.force(true);
+        }
+    }
+
+    /**
+     * Helper method to encode a record into the pending buffer, writing the
+     * buffer out first if the record does not fit.
+     *
+     * @param operation the operation code
+     * @param key the key of an add record, or null
+     * @throws IOException if the buffer cannot be written to the log
+     */
+    private void append(byte operation, E key) throws IOException {
+        payload[0] = operation;
+        int length = 1;
+        if (key != null) {
+            length += codec.write(payloadSegment, 1, key);
+        }
+        if (pending.remaining() < RECORD_HEADER_BYTES + length) {
+            flush(false);
+        }
+        crc.reset();
+        crc.update(payload, 0, length);
+        pending.putInt(length).putInt((int) crc.getValue()).put(payload, 0, length);
+        unsynced++;
+        sinceCheckpoint++;
+    }
+
+    /**
+     * Helper method to log the records of one mutation, all or nothing. The
+     * records are appended to the buffer and, when the sync setting or the
+     * caller requires it, written and forced to disk. If anything fails the
+     * buffer, the counters and the end of the log are put back as they were
+     * before the call, so that the caller can leave the tree untouched. Any
+     * bytes already written are cut from the log straight away if possible,
+     * and otherwise by the next write or sync().
+     *
+     * @param operation the operation code
+     * @param keys the keys of add records, or null for a single record without a key
+     * @param force true to force the log to disk whatever the sync setting
+     * @throws IllegalArgumentException if the codec cannot encode a key
+     * @throws UncheckedIOException if the records cannot be logged
+     */
+    private void log(byte operation, List<E> keys, boolean force)
+            throws IllegalArgumentException, UncheckedIOException {
+        long needed = (long) (keys == null ? 1 : keys.size()) * (RECORD_HEADER_BYTES + payload.length);
+        try {
+            if (renamed) {
+                completeCheckpoint();
+            }
+            if (pending.position() > 0 && pending.remaining() < needed) {
+                flush(false);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        // Earlier records are now either all in the buffer alongside these
+        // or all written, so rolling back never loses them.
+        int mark = pending.position();
+        long endMark = logEnd;
+        int unsyncedMark = unsynced;
+        int sinceMark = sinceCheckpoint;
+        try {
+            if (keys == null) {
+                append(operation, null);
+            } else {
+                for (E key : keys) {
+                    append(operation, key);
+                }
+            }
+            if (force || unsynced >= syncEvery) {
+                flush(true);
+            }
+        } catch (IOException | RuntimeException e) {
+            pending.limit(pending.capacity()).position(mark);
+            if (logEnd != endMark) {
+                logEnd = endMark;
+                torn = true;
+            }
+            unsynced = unsyncedMark;
+            sinceCheckpoint = sinceMark;
+            try {
+                repair();
+            } catch (IOException suppressed) {
+                e.addSuppressed(suppressed);
+            }
+            if (e instanceof IOException) {
+                throw new UncheckedIOException((IOException) e);
+            }
+            throw (RuntimeException) e;
+        }
+    }
+
+    /**
+     * Helper method to take a checkpoint when one is due. The mutation that
+     * made it due is already in the log, so a failure only postpones the
+     * checkpoint by another checkpointEvery records.
+     */
+    private void checkpointIfDue() {
+        if (checkpointEvery > 0 && sinceCheckpoint >= checkpointEvery) {
+            try {
+                checkpoint();
+            } catch (IOException e) {
+                sinceCheckpoint = 0;
+            }
+        }
+    }
+
+    /**
+     * Returns a detached node holding the element at the root of the tree.
+     *
+     * @return a new node holding the root element
+     * @throws NullPointerException if the tree is empty and there is no root node
+     * @throws IllegalStateException if the tree has been closed
+     */
+    @Override
+    public BSTreeNode<E> getRoot() throws NullPointerException {
+        ensureOpen();
+        return new BSTreeNode<>(tree.getRoot().getData());
+    }
+
+    /**
+     * Returns the height of the tree.
+     *
+     * @return the height of the tree
+     * @throws IllegalStateException if the tree has been closed
+     */
+    @Override
+    public int getHeight() {
+        ensureOpen();
+        return tree.getHeight();
+    }
+
+    /**
+     * Returns the number of elements in the tree.
+     *
+     * @return the number of elements in the tree
+     * @throws IllegalStateException if the tree has been closed
+     */
+    @Override
+    public int size() {
+        ensureOpen();
+        return tree.size();
+    }
+
+    /**
+     * Checks if the tree is currently empty.
+     *
+     * @return true if the tree is empty, false otherwise
+     * @throws IllegalStateException if the tree has been closed
+     */
+    @Override
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    /**
+     * Logs and removes all elements from the tree.
+     *
+     * @throws UncheckedIOException if the record cannot be logged
+     * @throws IllegalStateException if the tree has been closed
+     */
+    @Override
+    public void clear() {
+        ensureOpen();
+        if (tree.isEmpty()) {
+            return;
+        }
+        log(CLEAR, null, false);
+        tree.clear();
+        checkpointIfDue();
+    }
+
+    /**
+     * Checks if the tree contains the specified element.
+     *
+     * @param entry the element to search for in the tree
+     * @return true if the element is found in the tree, false otherwise
+     * @throws NullPointerException if the entry being passed in is null
+     * @throws IllegalStateException if the tree has been closed
+     */
+    @Override
+    public boolean contains(E entry) throws NullPointerException {
+        ensureOpen();
+        return tree.contains(entry);
+    }
+
+    /**
+     * Searches for the specified element and returns a detached node holding it.
+     *
+     * @param entry the element to search for
+     * @return a new node holding the element, or null if not found
+     * @throws NullPointerException if the entry being passed in is null
+     * @throws IllegalStateException if the tree has been closed
+     */
+    @Override
+    public BSTreeNode<E> search(E entry) throws NullPointerException {
+        ensureOpen();
+        BSTreeNode<E> found = tree.search(entry);
+        return found == null ? null : new BSTreeNode<>(found.getData());
+    }
+
+    /**
+     * Logs and adds a new element to the tree.
+     *
+     * @param newEntry the element to add to the tree
+     * @return true if the element was added successfully, false if it already exists
+     * @throws NullPointerException if the newEntry being passed in is null
+     * @throws IllegalArgumentException if the codec cannot encode the element
+     * @throws UncheckedIOException if the record cannot be logged
+     * @throws IllegalStateException if the tree has been closed
+     */
+    @Override
+    public boolean add(E newEntry) throws NullPointerException {
+        ensureOpen();
+        if (tree.contains(newEntry)) {
+            return false;
+        }
+        log(ADD, List.of(newEntry), false);
+        tree.add(newEntry);
+        checkpointIfDue();
+        return true;
+    }
+
+    /**
+     * Logs and adds every element of a collection, forcing the whole batch
+     * to disk with a single fsync. The batch is logged in ascending order
+     * and is applied only once all of it is on disk, so a failure adds none
+     * of the elements.
+     *
+     * @param entries the elements to add
+     * @return the number of elements that were not already in the tree
+     * @throws NullPointerException if the collection or any of its elements is null
+     * @throws IllegalArgumentException if the codec cannot encode an element
+     * @throws UncheckedIOException if the records cannot be logged
+     * @throws IllegalStateException if the tree has been closed
+     */
+    @Override
+    public int addAll(Collection<? extends E> entries) throws NullPointerException {
+        if (entries == null) {
+            throw new NullPointerException("Entries cannot be null");
+        }
+        ensureOpen();
+        Object[] batch = entries.toArray();
+        for (Object entry : batch) {
+            if (entry == null) {
+                throw new NullPointerException("Entries cannot contain null");
+            }
+        }
+        Arrays.sort(batch);
+
+        List<E> fresh = new ArrayList<>();
+        E previous = null;
+        for (Object element : batch) {
+            @SuppressWarnings("unchecked")
+            E entry = (E) element;
+            if ((previous == null || previous.compareTo(entry) != 0) && !tree.contains(entry)) {
+                fresh.add(entry);
+            }
+            previous = entry;
+        }
+        if (fresh.isEmpty()) {
+            return 0;
+        }
+        log(ADD, fresh, true);
+        tree.addAll(fresh);
+        checkpointIfDue();
+        return fresh.size();
+    }
+
+    /**
+     * Logs and adds every element of an array, forcing the whole batch to
+     * disk with a single fsync.
+     *
+     * @param entries the elements to add
+     * @return the number of elements that were not already in the tree
+     * @throws NullPointerException if the array or any of its elements is null
+     * @throws IllegalArgumentException if the codec cannot encode an element
+     * @throws UncheckedIOException if the records cannot be logged
+     * @throws IllegalStateException if the tree has been closed
+     */
+    @Override
+    public int addAll(E[] entries) throws NullPointerException {
+        if (entries == null) {
+            throw new NullPointerException("Entries cannot be null");
+        }
+        return addAll(Arrays.asList(entries));
+    }
+
+    /**
+     * Logs and removes the smallest element in the tree.
+     *
+     * @return a detached node holding the removed element, or null if the tree is empty
+     * @throws UncheckedIOException if the record cannot be logged
+     * @throws IllegalStateException if the tree has been closed
+     */
+    @Override
+    public BSTreeNode<E> removeMin() {
+        return remove(REMOVE_MIN);
+    }
+
+    /**
+     * Logs and removes the largest element in the tree.
+     *
+     * @return a detached node holding the removed element, or null if the tree is empty
+     * @throws UncheckedIOException if the record cannot be logged
+     * @throws IllegalStateException if the tree has been closed
+     */
+    @Override
+    public BSTreeNode<E> removeMax() {
+        return remove(REMOVE_MAX);
+    }
+
+    /**
+     * Helper method to log and apply removeMin or removeMax.
+     *
+     * @param operation REMOVE_MIN or REMOVE_MAX
+     * @return a detached node holding the removed element, or null if the tree is empty
+     */
+    private BSTreeNode<E> remove(byte operation) {
+        ensureOpen();
+        if (tree.isEmpty()) {
+            return null;
+        }
+        log(operation, null, false);
+        BSTreeNode<E> removed = operation == REMOVE_MIN ? tree.removeMin() : tree.removeMax();
+        checkpointIfDue();
+        return new BSTreeNode<>(removed.getData());
+    }
+
+    /**
+     * Creates an iterator to traverse the tree in natural order.
+     *
+     * @return an iterator with elements in natural order
+     * @throws IllegalStateException if the tree has been closed
+     */
+    @Override
+    public Iterator<E> inorderIterator() {
+        ensureOpen();
+        return tree.inorderIterator();
+    }
+
+    /**
+     * Creates an iterator to traverse the tree in pre-order.
+     *
+     * @return an iterator with elements in pre-order
+     * @throws IllegalStateException if the tree has been closed
+     */
+    @Override
+    public Iterator<E> preorderIterator() {
+        ensureOpen();
+        return tree.preorderIterator();
+    }
+
+    /**
+     * Creates an iterator to traverse the tree in post-order.
+     *
+     * @return an iterator with elements in post-order
+     * @throws IllegalStateException if the tree has been closed
+     */
+    @Override
+    public Iterator<E> postorderIterator() {
+        ensureOpen();
+        return tree.postorderIterator();
+    }
+
+    /**
+     * Prevents serialization; a durable tree is persisted in its directory.
+     *
+     * @param out the stream that would be written to
+     * @throws NotSerializableException always
+     */
+    private void writeObject(ObjectOutputStream out) throws NotSerializableException {
+        throw new NotSerializableException("Durable trees are persisted in their directory");
+    }
+
+    /**
+     * Returns a string representation of the tree using in-order traversal.
+     *
+     * @return string representation of the tree
+     */
+    @Override
+    public String toString() {
+        return tree.toString();
+    }
+}
@@ -0,0 +1,550 @@
+package implementations;
+
+import utilities.BSTreeADT;
+import utilities.Iterator;
+import java.io.IOException;
+import java.io.InvalidObjectException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.NoSuchElementException;
+
+/**
+ * FrozenBSTree is a read-only snapshot of a Binary Search Tree, created by
+ * BSTree.freeze(). The elements are stored in a single array in Eytzinger
+ * (breadth-first) order: the root is at index 1 and the children of the
+ * element at index k are at indices 2k and 2k + 1, so the array describes a
+ * complete binary search tree without any node objects or links.
+ *
+ * A search walks down the array by index arithmetic alone. Each step picks
+ * the next index from the comparison result instead of branching on it, and
+ * the first levels of every search share the same few cache lines at the
+ * front of the array, which makes lookups much cheaper than chasing
+ * scattered node objects once the tree no longer changes.
+ *
+ * Every mutator throws UnsupportedOperationException. Since there are no
+ * node objects, getRoot() and search() return new, detached BSTreeNode
+ * instances holding the element.
+ *
+ * @param <E> the type of elements stored in this tree, must extend Comparable
+ * @author Your Name
+ * @version 1.0
+ */
+public class FrozenBSTree<E extends Comparable<? super E>> implements BSTreeADT<E> {
+
+    /** Serial version UID for serialization compatibility */
+    private static final long serialVersionUID = 1L;
+
+    /** The elements in Eytzinger order, starting at index 1; index 0 is unused */
+    private transient Object[] keys;
+
+    /** The number of elements stored in the tree */
+    private final int size;
+
+    /**
+     * Constructs a frozen tree from elements in strictly ascending order.
+     *
+     * @param sorted the distinct elements in ascending order, not copied or modified
+     */
+    FrozenBSTree(Object[] sorted) {
+        size = sorted.length;
+        keys = new Object[size + 1];
+        fill(sorted, 0, 1);
+    }
+
+    /**
+     * Helper method to place sorted elements into the Eytzinger array by
+     * visiting its indices in in-order sequence. The recursion depth is the
+     * height of the complete tree.
+     *
+     * @param sorted the elements in ascending order
+     * @param next the position of the next element to place
+     * @param k the array index of the subtree root
+     * @return the position of the next element after this subtree
+     */
+    private int fill(Object[] sorted, int next, int k) {
+        if (k <= size) {
+            if (hasLeft(k)) {
+                next = fill(sorted, next, 2 * k);
+            }
+            keys[k] = sorted[next++];
+            if (hasRight(k)) {
+                next = fill(sorted, next, 2 * k + 1);
+            }
+        }
+        return next;
+    }
+
+    /**
+     * Helper method to check whether an index has a left child, without
+     * computing 2k, which overflows once the tree holds more than 2^30
+     * elements.
+     *
+     * @param k an index from 1 to size
+     * @return true if index 2k holds an element
+     */
+    private boolean hasLeft(int k) {
+        return k <= size >>> 1;
+    }
+
+    /**
+     * Helper method to check whether an index has a right child, without
+     * computing 2k + 1.
+     *
+     * @param k an index from 1 to size
+     * @return true if index 2k + 1 holds an element
+     */
+    private boolean hasRight(int k) {
+        return k <= (size - 1) >> 1;
+    }
+
+    /**
+     * Helper method to return the element at an array index.
+     *
+     * @param k the array index, between 1 and size
+     * @return the element stored there
+     */
+    @SuppressWarnings("unchecked")
+    private E keyAt(int k) {
+        return (E) keys[k];
+    }
+
+    /**
+     * Returns a detached node holding the element at the root of the tree,
+     * which is the median element.
+     *
+     * @return a new node holding the root element
+     * @throws NullPointerException if the tree is empty and there is no root node
+     */
+    @Override
+    public BSTreeNode<E> getRoot() throws NullPointerException {
+        if (size == 0) {
+            throw new NullPointerException("Tree is empty - no root node exists");
+        }
+        return new BSTreeNode<>(keyAt(1));
+    }
+
+    /**
+     * Returns the height of the tree, which is always the minimum possible
+     * height for its size. Runs in constant time.
+     *
+     * @return the height of the tree, 0 if empty
+     */
+    @Override
+    public int getHeight() {
+        return Integer.SIZE - Integer.numberOfLeadingZeros(size);
+    }
+
+    /**
+     * Returns the number of elements stored in the tree.
+     *
+     * @return the number of elements in the tree
+     */
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Checks if the tree is empty.
+     *
+     * @return true if the tree is empty, false otherwise
+     */
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Frozen trees cannot be modified.
+     *
+     * @throws UnsupportedOperationException always
+     */
+    @Override
+    public void clear() throws UnsupportedOperationException {
+        throw new UnsupportedOperationException("Frozen tree is read-only");
+    }
+
+    /**
+     * Checks if the tree contains the specified element.
+     *
+     * @param entry the element to search for in the tree
+     * @return true if the element is found in the tree, false otherwise
+     * @throws NullPointerException if the entry being passed in is null
+     */
+    @Override
+    public boolean contains(E entry) throws NullPointerException {
+        return indexOf(entry) != 0;
+    }
+
+    /**
+     * Searches for the specified element and returns a detached node holding it.
+     *
+     * @param entry the element to search for
+     * @return a new node holding the element, or null if not found
+     * @throws NullPointerException if the entry being passed in is null
+     */
+    @Override
+    public BSTreeNode<E> search(E entry) throws NullPointerException {
+        int k = indexOf(entry);
+        return k == 0 ? null : new BSTreeNode<>(keyAt(k));
+    }
+
+    /**
+     * Helper method to find the array index of an element.
+     *
+     * @param entry the element to look for
+     * @return the index of the element, or 0 if it is not in the tree
+     * @throws NullPointerException if entry is null
+     */
+    private int indexOf(E entry) throws NullPointerException {
+        if (entry == null) {
+            throw new NullPointerException("Entry cannot be null");
+        }
+        int k = lowestAbove(entry, true);
+        return k != 0 && entry.compareTo(keyAt(k)) == 0 ? k : 0;
+    }
+
+    /**
+     * Frozen trees cannot be modified.
+     *
+     * @param newEntry ignored
+     * @return never returns normally
+     * @throws UnsupportedOperationException always
+     */
+    @Override
+    public boolean add(E newEntry) throws UnsupportedOperationException {
+        throw new UnsupportedOperationException("Frozen tree is read-only");
+    }
+
+    /**
+     * Frozen trees cannot be modified.
+     *
+     * @return never returns normally
+     * @throws UnsupportedOperationException always
+     */
+    @Override
+    public BSTreeNode<E> removeMin() throws UnsupportedOperationException {
+        throw new UnsupportedOperationException("Frozen tree is read-only");
+    }
+
+    /**
+     * Frozen trees cannot be modified.
+     *
+     * @return never returns normally
+     * @throws UnsupportedOperationException always
+     */
+    @Override
+    public BSTreeNode<E> removeMax() throws UnsupportedOperationException {
+        throw new UnsupportedOperationException("Frozen tree is read-only");
+    }
+
+    /**
+     * Returns the smallest element in the tree.
+     *
+     * @return the smallest element, or null if the tree is empty
+     */
+    public E first() {
+        return size == 0 ? null : keyAt(leftmost(1));
+    }
+
+    /**
+     * Returns the largest element in the tree.
+     *
+     * @return the largest element, or null if the tree is empty
+     */
+    public E last() {
+        if (size == 0) {
+            return null;
+        }
+        int k = 1;
+        while (hasRight(k)) {
+            k = 2 * k + 1;
+        }
+        return keyAt(k);
+    }
+
+    /**
+     * Returns the largest element less than or equal to the given element.
+     *
+     * @param entry the element to compare against
+     * @return the greatest element not above entry, or null if there is none
+     * @throws NullPointerException if entry is null
+     */
+    public E floor(E entry) throws NullPointerException {
+        if (entry == null) {
+            throw new NullPointerException("Entry cannot be null");
+        }
+        return dataAt(highestBelow(entry, true));
+    }
+
+    /**
+     * Returns the smallest element greater than or equal to the given element.
+     *
+     * @param entry the element to compare against
+     * @return the least element not below entry, or null if there is none
+     * @throws NullPointerException if entry is null
+     */
+    public E ceiling(E entry) throws NullPointerException {
+        if (entry == null) {
+            throw new NullPointerException("Entry cannot be null");
+        }
+        return dataAt(lowestAbove(entry, true));
+    }
+
+    /**
+     * Returns the largest element strictly less than the given element.
+     *
+     * @param entry the element to compare against
+     * @return the greatest element below entry, or null if there is none
+     * @throws NullPointerException if entry is null
+     */
+    public E lower(E entry) throws NullPointerException {
+        if (entry == null) {
+            throw new NullPointerException("Entry cannot be null");
+        }
+        return dataAt(highestBelow(entry, false));
+    }
+
+    /**
+     * Returns the smallest element strictly greater than the given element.
+     *
+     * @param entry the element to compare against
+     * @return the least element above entry, or null if there is none
+     * @throws NullPointerException if entry is null
+     */
+    public E higher(E entry) throws NullPointerException {
+        if (entry == null) {
+            throw new NullPointerException("Entry cannot be null");
+        }
+        return dataAt(lowestAbove(entry, false));
+    }
+
+    /**
+     * Helper method to return the element at an index that may be 0.
+     *
+     * @param k the array index, or 0 for none
+     * @return the element, or null if k is 0
+     */
+    private E dataAt(int k) {
+        return k == 0 ? null : keyAt(k);
+    }
+
+    /**
+     * Helper method to find the smallest element above a bound. The descent
+     * moves to child 2k or 2k + 1 using the comparison result as an offset;
+     * the answer is the last index where it turned left, recovered at the
+     * end by dropping the trailing right turns and that left turn from the
+     * final index. The final index can pass Integer.MAX_VALUE, so the
+     * descent is done in long arithmetic.
+     *
+     * @param bound the bound to compare against
+     * @param inclusive true to accept an element equal to the bound
+     * @return the index of the smallest element above the bound, or 0 if none
+     */
+    private int lowestAbove(E bound, boolean inclusive) {
+        int limit = inclusive ? 0 : -1;
+        long k = 1;
+        while (k <= size) {
+            k = 2 * k + (bound.compareTo(keyAt((int) k)) > limit ? 1 : 0);
+        }
+        return (int) (k >>> (Long.numberOfTrailingZeros(~k) + 1));
+    }
+
+    /**
+     * Helper method to find the largest element below a bound. This mirrors
+     * lowestAbove: the answer is the last index where the descent turned
+     * right.
+     *
+     * @param bound the bound to compare against
+     * @param inclusive true to accept an element equal to the bound
+     * @return the index of the largest element below the bound, or 0 if none
+     */
+    private int highestBelow(E bound, boolean inclusive) {
+        int limit = inclusive ? 0 : 1;
+        long k = 1;
+        while (k <= size) {
+            k = 2 * k + (bound.compareTo(keyAt((int) k)) >= limit ? 1 : 0);
+        }
+        return (int) (k >>> (Long.numberOfTrailingZeros(k) + 1));
+    }
+
+    /**
+     * Helper method to find the index of the first element of a subtree in
+     * natural order.
+     *
+     * @param k the index of the subtree root, at most size
+     * @return the index of the smallest element in the subtree
+     */
+    private int leftmost(int k) {
+        while (hasLeft(k)) {
+            k = 2 * k;
+        }
+        return k;
+    }
+
+    /**
+     * Creates an iterator over the elements in natural (sorted) order. The
+     * iterator moves between indices by arithmetic and uses O(1) memory.
+     *
+     * @return an iterator with elements in natural order
+     */
+    @Override
+    public Iterator<E> inorderIterator() {
+        return new IndexIterator(size == 0 ? 0 : leftmost(1)) {
+            @Override
+            protected int following(int k) {
+                if (hasRight(k)) {
+                    return leftmost(2 * k + 1);
+                }
+                return k >>> (Integer.numberOfTrailingZeros(~k) + 1);
+            }
+        };
+    }
+
+    /**
+     * Creates an iterator over the elements in pre-order. The root element
+     * comes first, followed by left subtree, then right subtree.
+     *
+     * @return an iterator with elements in pre-order
+     */
+    @Override
+    public Iterator<E> preorderIterator() {
+        return new IndexIterator(size == 0 ? 0 : 1) {
+            @Override
+            protected int following(int k) {
+                if (hasLeft(k)) {
+                    return 2 * k;
+                }
+                while (k > 1 && ((k & 1) == 1 || k + 1 > size)) {
+                    k >>>= 1;
+                }
+                return k > 1 ? k + 1 : 0;
+            }
+        };
+    }
+
+    /**
+     * Creates an iterator over the elements in post-order. The root element
+     * comes last, after left and right subtrees.
+     *
+     * @return an iterator with elements in post-order
+     */
+    @Override
+    public Iterator<E> postorderIterator() {
+        return new IndexIterator(size == 0 ? 0 : leftmost(1)) {
+            @Override
+            protected int following(int k) {
+                if ((k & 1) == 0 && k + 1 <= size) {
+                    return leftmost(k + 1);
+                }
+                return k >>> 1;
+            }
+        };
+    }
+
+    /**
+     * Base class for the iterators, which hold nothing but the index of the
+     * next element. Since the tree never changes, they cannot be invalidated.
+     */
+    private abstract class IndexIterator implements Iterator<E> {
+
+        /** Index of the next element to return, 0 when the iteration is over */
+        private int next;
+
+        /**
+         * Creates an iterator starting at the given index.
+         *
+         * @param first the index of the first element, or 0 if there is none
+         */
+        IndexIterator(int first) {
+            next = first;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return next != 0;
+        }
+
+        @Override
+        public E next() throws NoSuchElementException {
+            if (next == 0) {
+                throw new NoSuchElementException("No more elements in iteration");
+            }
+            int k = next;
+            next = following(k);
+            return keyAt(k);
+        }
+
+        /**
+         * Returns the index of the element after the given one in traversal order.
+         *
+         * @param k the index of the current element
+         * @return the index of the next element, or 0 if there is none
+         */
+        protected abstract int following(int k);
+    }
+
+    /**
+     * Writes the number of elements followed by the elements in ascending
+     * order.
+     *
+     * @param out the stream to write to
+     * @throws IOException if the stream cannot be written
+     * @serialData the number of elements, then each element in ascending order
+     */
+    private void writeObject(ObjectOutputStream out) throws IOException {
+        out.defaultWriteObject();
+        Iterator<E> iterator = inorderIterator();
+        while (iterator.hasNext()) {
+            out.writeObject(iterator.next());
+        }
+    }
+
+    /**
+     * Reads a tree written by writeObject and lays its elements out again
+     * in Eytzinger order.
+     *
+     * @param in the stream to read from
+     * @throws IOException if the stream cannot be read or holds an invalid tree
+     * @throws ClassNotFoundException if a class in the stream cannot be found
+     */
+    @SuppressWarnings("unchecked")
+    private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+        in.defaultReadObject();
+        if (size < 0) {
+            throw new InvalidObjectException("Negative size: " + size);
+        }
+
+        Object[] sorted = new Object[size];
+        for (int i = 0; i < size; i++) {
+            sorted[i] = in.readObject();
+            if (sorted[i] == null) {
+                throw new InvalidObjectException("Null element in stream");
+            }
+            if (i > 0 && ((E) sorted[i - 1]).compareTo((E) sorted[i]) >= 0) {
+                throw new InvalidObjectException("Elements out of order in stream");
+            }
+        }
+        keys = new Object[size + 1];
+        fill(sorted, 0, 1);
+    }
+
+    /**
+     * Returns a string representation of the tree using in-order traversal.
+     *
+     * @return string representation of the tree
+     */
+    @Override
+    public String toString() {
+        StringBuilder result = new StringBuilder("[");
+        Iterator<E> iterator = inorderIterator();
+
+        while (iterator.hasNext()) {
+            result.append(iterator.next());
+            if (iterator.hasNext()) {
+                result.append(", ");
+            }
+        }
+        return result.append("]").toString();
+    }
+}
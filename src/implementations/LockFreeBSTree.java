@@ -0,0 +1,750 @@
+package implementations;
+
+import utilities.BSTreeADT;
+import utilities.Iterator;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.NoSuchElementException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * LockFreeBSTree is a non-blocking concurrent Binary Search Tree following
+ * the algorithm of Natarajan and Mittal ("Fast Concurrent Lock-Free Binary
+ * Search Trees", PPoPP 2014). No operation ever takes a lock; threads
+ * change the tree only by compare-and-set on child links, and a thread
+ * that finds an unfinished removal completes it before going on.
+ *
+ * The tree is external: elements are kept in the leaves and internal nodes
+ * only route searches, every internal node having exactly two children.
+ * Each child link is an immutable Edge that carries two marks besides the
+ * child. A removal first flags the edge to the leaf it removes, which fixes
+ * the moment it takes effect. It then tags the edge to the leaf's sibling
+ * so that nothing can be inserted there, and finally swings the link above
+ * the leaf's parent over to the sibling. Three sentinel keys, larger than
+ * every element, keep the top of the tree in place so that the root never
+ * changes.
+ *
+ * add, contains, search, removeMin and removeMax are linearizable. The
+ * removals flag the edge to the leaf that is the smallest or largest
+ * element at the moment of the flag, so under contention every element is
+ * removed at most once. size() is exact when no update is in progress.
+ * Iterators are weakly consistent: they never throw
+ * ConcurrentModificationException and return elements in sorted order,
+ * but may or may not reflect changes made after they were created. Since
+ * elements live only in the leaves, which any depth-first walk visits from
+ * left to right, all three traversal orders return the elements in sorted
+ * order.
+ *
+ * The tree is not rebalanced, so its height depends on the insertion
+ * order as for a plain BSTree. getRoot(), search(), removeMin() and
+ * removeMax() return new, detached BSTreeNode instances holding the element.
+ *
+ * @param <E> the type of elements stored in this tree, must extend Comparable
+ * @author Your Name
+ * @version 1.0
+ */
+public class LockFreeBSTree<E extends Comparable<? super E>> implements BSTreeADT<E> {
+
+    /** Serial version UID for serialization compatibility */
+    private static final long serialVersionUID = 1L;
+
+    /** Rank of a node holding an element; sentinels have ranks 1 to 3 */
+    private static final int ELEMENT = 0;
+
+    /** Search target below every element, used to find the minimum */
+    private static final int BELOW_ALL = -1;
+
+    /** Search target above every element but below the sentinels, used to find the maximum */
+    private static final int ABOVE_ALL = 1;
+
+    /** Search target given by an element */
+    private static final int EXACT = 0;
+
+    /** The topmost sentinel, whose left child is the second sentinel */
+    private transient Node<E> top;
+
+    /** The second sentinel, whose left subtree holds every element */
+    private transient Node<E> second;
+
+    /** The number of elements, updated after each successful add or removal */
+    private transient AtomicInteger count;
+
+    /**
+     * Constructs an empty lock-free tree.
+     */
+    public LockFreeBSTree() {
+        initialize();
+    }
+
+    /**
+     * Helper method to build the sentinel nodes of an empty tree.
+     */
+    private void initialize() {
+        second = new Node<>(null, 2, new Node<>(null, 1), new Node<>(null, 2));
+        top = new Node<>(null, 3, second, new Node<>(null, 3));
+        count = new AtomicInteger();
+    }
+
+    /**
+     * Helper method to decide which way a search goes at a node. Searches
+     * for an element go left when it is less than the node's key, and every
+     * search goes left at a sentinel.
+     *
+     * @param key the element searched for, ignored unless target is EXACT
+     * @param target EXACT, BELOW_ALL or ABOVE_ALL
+     * @param node the internal node to route through
+     * @return true to follow the left child, false for the right child
+     */
+    private static <E extends Comparable<? super E>> boolean goesLeft(E key, int target, Node<E> node) {
+        if (node.rank != ELEMENT || target == BELOW_ALL) {
+            return true;
+        }
+        if (target == ABOVE_ALL) {
+            return false;
+        }
+        return key.compareTo(node.key) < 0;
+    }
+
+    /**
+     * Helper method to check whether a leaf holds the given element.
+     *
+     * @param leaf the leaf to check
+     * @param key the element to compare with
+     * @return true if the leaf holds an element equal to key
+     */
+    private static <E extends Comparable<? super E>> boolean holds(Node<E> leaf, E key) {
+        return leaf.rank == ELEMENT && key.compareTo(leaf.key) == 0;
+    }
+
+    /**
+     * Helper method to walk from the root to the leaf a search ends at,
+     * remembering the leaf, its parent, and the last link on the way that
+     * was not tagged (from ancestor to successor). A removal that gets as
+     * far as tagging swings that link to skip everything between.
+     *
+     * @param key the element searched for, ignored unless target is EXACT
+     * @param target EXACT, BELOW_ALL or ABOVE_ALL
+     * @return the nodes found on the way
+     */
+    private SeekRecord<E> seek(E key, int target) {
+        SeekRecord<E> record = new SeekRecord<>();
+        record.ancestor = top;
+        record.successor = second;
+        record.parent = second;
+        Edge<E> parentField = second.left;
+        record.leaf = parentField.node;
+        Edge<E> currentField = childOf(record.leaf, key, target);
+
+        while (currentField != null) {
+            if (!parentField.tag) {
+                record.ancestor = record.parent;
+                record.successor = record.leaf;
+            }
+            record.parent = record.leaf;
+            record.leaf = currentField.node;
+            parentField = currentField;
+            currentField = childOf(record.leaf, key, target);
+        }
+        return record;
+    }
+
+    /**
+     * Helper method to read the link a search follows out of a node.
+     *
+     * @param node the node to leave
+     * @param key the element searched for, ignored unless target is EXACT
+     * @param target EXACT, BELOW_ALL or ABOVE_ALL
+     * @return the link to follow, or null if node is a leaf
+     */
+    private static <E extends Comparable<? super E>> Edge<E> childOf(Node<E> node, E key, int target) {
+        if (node.isLeaf()) {
+            return null;
+        }
+        return goesLeft(key, target, node) ? node.left : node.right;
+    }
+
+    /**
+     * Checks if the tree contains the specified element.
+     *
+     * @param entry the element to search for in the tree
+     * @return true if the element is found in the tree, false otherwise
+     * @throws NullPointerException if the entry being passed in is null
+     */
+    @Override
+    public boolean contains(E entry) throws NullPointerException {
+        return find(entry) != null;
+    }
+
+    /**
+     * Searches for the specified element and returns a detached node holding it.
+     *
+     * @param entry the element to search for
+     * @return a new node holding the element, or null if not found
+     * @throws NullPointerException if the entry being passed in is null
+     */
+    @Override
+    public BSTreeNode<E> search(E entry) throws NullPointerException {
+        Node<E> leaf = find(entry);
+        return leaf == null ? null : new BSTreeNode<>(leaf.key);
+    }
+
+    /**
+     * Helper method to find the leaf holding an element.
+     *
+     * @param entry the element to look for
+     * @return the leaf holding the element, or null if not found
+     * @throws NullPointerException if entry is null
+     */
+    private Node<E> find(E entry) throws NullPointerException {
+        if (entry == null) {
+            throw new NullPointerException("Entry cannot be null");
+        }
+        Node<E> node = top;
+        while (!node.isLeaf()) {
+            node = goesLeft(entry, EXACT, node) ? node.left.node : node.right.node;
+        }
+        return holds(node, entry) ? node : null;
+    }
+
+    /**
+     * Adds a new element to the tree according to its natural ordering.
+     * The leaf where the search ends is replaced, in a single
+     * compare-and-set, by a new internal node over that leaf and a new leaf
+     * for the element. Duplicate elements are not added.
+     *
+     * @param newEntry the element to add to the tree
+     * @return true if the element was added successfully, false if it already exists
+     * @throws NullPointerException if the newEntry being passed in is null
+     */
+    @Override
+    public boolean add(E newEntry) throws NullPointerException {
+        if (newEntry == null) {
+            throw new NullPointerException("New entry cannot be null");
+        }
+
+        while (true) {
+            SeekRecord<E> record = seek(newEntry, EXACT);
+            Node<E> leaf = record.leaf;
+            Node<E> parent = record.parent;
+            if (holds(leaf, newEntry)) {
+                return false;
+            }
+
+            boolean left = goesLeft(newEntry, EXACT, parent);
+            Node<E> newLeaf = new Node<>(newEntry, ELEMENT);
+            Node<E> internal = leaf.rank != ELEMENT || newEntry.compareTo(leaf.key) < 0
+                    ? new Node<>(leaf.key, leaf.rank, newLeaf, leaf)
+                    : new Node<>(newEntry, ELEMENT, leaf, newLeaf);
+
+            Edge<E> edge = parent.edge(left);
+            if (edge.node == leaf && edge.isClean()
+                    && parent.compareAndSet(left, edge, new Edge<>(internal, false, false))) {
+                count.incrementAndGet();
+                return true;
+            }
+            edge = parent.edge(left);
+            if (edge.node == leaf && !edge.isClean()) {
+                cleanup(newEntry, EXACT, record);
+            }
+        }
+    }
+
+    /**
+     * Removes the smallest element in the tree.
+     *
+     * @return a detached node holding the removed element, or null if the tree is empty
+     */
+    @Override
+    public BSTreeNode<E> removeMin() {
+        E removed = remove(null, BELOW_ALL);
+        return removed == null ? null : new BSTreeNode<>(removed);
+    }
+
+    /**
+     * Removes the largest element in the tree.
+     *
+     * @return a detached node holding the removed element, or null if the tree is empty
+     */
+    @Override
+    public BSTreeNode<E> removeMax() {
+        E removed = remove(null, ABOVE_ALL);
+        return removed == null ? null : new BSTreeNode<>(removed);
+    }
+
+    /**
+     * Removes all elements from the tree, one at a time from the smallest.
+     * Each removal is atomic, but the operation as a whole is not: elements
+     * added concurrently may remain in the tree afterwards.
+     */
+    @Override
+    public void clear() {
+        while (remove(null, BELOW_ALL) != null) {
+            // keep removing
+        }
+    }
+
+    /**
+     * Helper method to remove the leaf a search ends at. In the injection
+     * phase the edge to the leaf is flagged, which is the moment the
+     * removal takes effect and can only succeed for one thread. In the
+     * cleanup phase the leaf and its parent are unlinked; any thread that
+     * meets the flagged edge may finish that phase.
+     *
+     * @param key the element to remove, ignored unless target is EXACT
+     * @param target EXACT, BELOW_ALL or ABOVE_ALL
+     * @return the removed element, or null if there was none to remove
+     */
+    private E remove(E key, int target) {
+        Node<E> leaf = null;
+
+        while (true) {
+            if (leaf == null) {
+                SeekRecord<E> record = seek(key, target);
+                Node<E> candidate = record.leaf;
+                if (target == EXACT ? !holds(candidate, key) : candidate.rank != ELEMENT) {
+                    return null;
+                }
+
+                Node<E> parent = record.parent;
+                boolean left = goesLeft(key, target, parent);
+                Edge<E> edge = parent.edge(left);
+                if (edge.node == candidate && edge.isClean()
+                        && parent.compareAndSet(left, edge, new Edge<>(candidate, true, false))) {
+                    leaf = candidate;
+                    count.decrementAndGet();
+                    if (cleanup(leaf.key, EXACT, record)) {
+                        return leaf.key;
+                    }
+                } else {
+                    edge = parent.edge(left);
+                    if (edge.node == candidate && !edge.isClean()) {
+                        cleanup(key, target, record);
+                    }
+                }
+            } else {
+                SeekRecord<E> record = seek(leaf.key, EXACT);
+                if (record.leaf != leaf || cleanup(leaf.key, EXACT, record)) {
+                    return leaf.key;
+                }
+            }
+        }
+    }
+
+    /**
+     * Helper method to unlink a flagged leaf together with its parent by
+     * tagging the edge to the sibling of the flagged leaf, so that it can no
+     * longer change, and then pointing the link from ancestor to successor
+     * at that sibling.
+     *
+     * @param key the element that led the search, ignored unless target is EXACT
+     * @param target EXACT, BELOW_ALL or ABOVE_ALL
+     * @param record the nodes found by the search
+     * @return true if this call unlinked the leaf, false if it must be retried
+     */
+    private boolean cleanup(E key, int target, SeekRecord<E> record) {
+        Node<E> ancestor = record.ancestor;
+        Node<E> parent = record.parent;
+        boolean successorLeft = goesLeft(key, target, ancestor);
+        boolean childLeft = goesLeft(key, target, parent);
+
+        // if the edge on the search path is not flagged, its sibling is the leaf being removed
+        boolean siblingLeft = parent.edge(childLeft).flag ? !childLeft : childLeft;
+
+        Edge<E> sibling = parent.edge(siblingLeft);
+        while (!sibling.tag && !parent.compareAndSet(siblingLeft, sibling,
+                new Edge<>(sibling.node, sibling.flag, true))) {
+            sibling = parent.edge(siblingLeft);
+        }
+        sibling = parent.edge(siblingLeft);
+
+        Edge<E> edge = ancestor.edge(successorLeft);
+        return edge.node == record.successor && edge.isClean()
+                && ancestor.compareAndSet(successorLeft, edge, new Edge<>(sibling.node, sibling.flag, false));
+    }
+
+    /**
+     * Returns a detached node holding the element that splits the tree at
+     * its topmost routing node: the smallest element of the right part.
+     * With a single element, that element is returned.
+     *
+     * @return a new node holding the root element
+     * @throws NullPointerException if the tree is empty and there is no root node
+     */
+    @Override
+    public BSTreeNode<E> getRoot() throws NullPointerException {
+        Node<E> node = second.left.node;
+        while (!node.isLeaf() && node.rank != ELEMENT) {
+            node = node.left.node;
+        }
+        if (!node.isLeaf()) {
+            node = node.right.node;
+            while (!node.isLeaf()) {
+                node = node.left.node;
+            }
+        }
+        if (node.rank != ELEMENT) {
+            throw new NullPointerException("Tree is empty - no root node exists");
+        }
+        return new BSTreeNode<>(node.key);
+    }
+
+    /**
+     * Returns the height of the tree, counted as the largest number of
+     * nodes on a path down to an element, its leaf included and sentinel
+     * routing nodes left out. A single element has height 1 and an empty
+     * tree height 0; since elements are only kept in leaves, the height is
+     * one more than that of a BSTree with the same shape. Runs in O(n) time
+     * and is only exact when no update is in progress.
+     *
+     * @return the height of the tree
+     */
+    @Override
+    public int getHeight() {
+        Deque<Node<E>> nodes = new ArrayDeque<>();
+        Deque<Integer> depths = new ArrayDeque<>();
+        nodes.push(second.left.node);
+        depths.push(0);
+        int height = 0;
+
+        while (!nodes.isEmpty()) {
+            Node<E> node = nodes.pop();
+            int depth = depths.pop();
+            if (node.isLeaf()) {
+                if (node.rank == ELEMENT) {
+                    height = Math.max(height, depth + 1);
+                }
+            } else {
+                int below = node.rank == ELEMENT ? depth + 1 : depth;
+                nodes.push(node.left.node);
+                depths.push(below);
+                nodes.push(node.right.node);
+                depths.push(below);
+            }
+        }
+        return height;
+    }
+
+    /**
+     * Returns the number of elements in the tree. Exact when no update is
+     * in progress, and otherwise off by at most the number of updates
+     * running.
+     *
+     * @return the number of elements in the tree
+     */
+    @Override
+    public int size() {
+        return Math.max(0, count.get());
+    }
+
+    /**
+     * Checks if the tree is currently empty.
+     *
+     * @return true if the tree is empty, false otherwise
+     */
+    @Override
+    public boolean isEmpty() {
+        Node<E> node = second.left.node;
+        while (!node.isLeaf()) {
+            node = node.left.node;
+        }
+        return node.rank != ELEMENT;
+    }
+
+    /**
+     * Creates a weakly consistent iterator returning the elements in
+     * natural (sorted) order.
+     *
+     * @return an iterator with elements in natural order
+     */
+    @Override
+    public Iterator<E> inorderIterator() {
+        return new LeafIterator();
+    }
+
+    /**
+     * Creates a weakly consistent pre-order iterator. Since elements are
+     * only stored in leaves, they are returned in natural (sorted) order.
+     *
+     * @return an iterator with elements in pre-order
+     */
+    @Override
+    public Iterator<E> preorderIterator() {
+        return new LeafIterator();
+    }
+
+    /**
+     * Creates a weakly consistent post-order iterator. Since elements are
+     * only stored in leaves, they are returned in natural (sorted) order.
+     *
+     * @return an iterator with elements in post-order
+     */
+    @Override
+    public Iterator<E> postorderIterator() {
+        return new LeafIterator();
+    }
+
+    /**
+     * Lazy iterator over the element leaves from left to right. Pending
+     * subtrees are kept on a stack, and the sentinel leaves are skipped.
+     */
+    private class LeafIterator implements Iterator<E> {
+
+        /** Roots of the subtrees still to visit, the leftmost on top */
+        private final Deque<Node<E>> stack = new ArrayDeque<>();
+
+        /** The next leaf to return, null when the iteration is over */
+        private Node<E> next;
+
+        /**
+         * Constructs an iterator positioned before the smallest element.
+         */
+        LeafIterator() {
+            stack.push(second.left.node);
+            next = nextLeaf();
+        }
+
+        /**
+         * Walks to the next leaf holding an element.
+         *
+         * @return the next leaf, or null if there is none
+         */
+        private Node<E> nextLeaf() {
+            while (!stack.isEmpty()) {
+                Node<E> node = stack.pop();
+                while (!node.isLeaf()) {
+                    stack.push(node.right.node);
+                    node = node.left.node;
+                }
+                if (node.rank == ELEMENT) {
+                    return node;
+                }
+            }
+            return null;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return next != null;
+        }
+
+        @Override
+        public E next() throws NoSuchElementException {
+            if (next == null) {
+                throw new NoSuchElementException("No more elements in iteration");
+            }
+            E data = next.key;
+            next = nextLeaf();
+            return data;
+        }
+    }
+
+    /**
+     * Writes the elements in sorted order, since the nodes themselves are
+     * shared with other threads and may form long chains.
+     *
+     * @param out the stream to write to
+     * @throws IOException if the stream cannot be written
+     */
+    private void writeObject(ObjectOutputStream out) throws IOException {
+        out.defaultWriteObject();
+        Iterator<E> iterator = inorderIterator();
+        while (iterator.hasNext()) {
+            out.writeObject(iterator.next());
+        }
+        out.writeObject(null);
+    }
+
+    /**
+     * Rebuilds the tree from the elements written by writeObject.
+     *
+     * @param in the stream to read from
+     * @throws IOException if the stream cannot be read
+     * @throws ClassNotFoundException if a class in the stream cannot be found
+     */
+    @SuppressWarnings("unchecked")
+    private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+        in.defaultReadObject();
+        initialize();
+        for (Object element = in.readObject(); element != null; element = in.readObject()) {
+            add((E) element);
+        }
+    }
+
+    /**
+     * Returns a string representation of the tree using in-order traversal.
+     *
+     * @return string representation of the tree
+     */
+    @Override
+    public String toString() {
+        StringBuilder result = new StringBuilder("[");
+        Iterator<E> iterator = inorderIterator();
+
+        while (iterator.hasNext()) {
+            result.append(iterator.next());
+            if (iterator.hasNext()) {
+                result.append(", ");
+            }
+        }
+        return result.append("]").toString();
+    }
+
+    /**
+     * The nodes a search passed through, as used by add and remove.
+     *
+     * @param <E> the type of element stored in the tree
+     */
+    private static final class SeekRecord<E> {
+
+        /** The parent of successor, where a cleanup swings its link */
+        Node<E> ancestor;
+
+        /** The top of the part of the path that a cleanup unlinks */
+        Node<E> successor;
+
+        /** The parent of the leaf */
+        Node<E> parent;
+
+        /** The leaf the search ended at */
+        Node<E> leaf;
+    }
+
+    /**
+     * An immutable link to a child together with its two marks. Links are
+     * replaced by new Edge objects, never modified.
+     *
+     * @param <E> the type of element stored in the tree
+     */
+    private static final class Edge<E> {
+
+        /** The child this link points to */
+        final Node<E> node;
+
+        /** Set when the child is a leaf being removed */
+        final boolean flag;
+
+        /** Set when the link is frozen because its sibling is being removed */
+        final boolean tag;
+
+        /**
+         * Constructs a link.
+         *
+         * @param node the child
+         * @param flag whether the child leaf is being removed
+         * @param tag whether the link is frozen
+         */
+        Edge(Node<E> node, boolean flag, boolean tag) {
+            this.node = node;
+            this.flag = flag;
+            this.tag = tag;
+        }
+
+        /**
+         * Checks whether the link carries neither mark.
+         *
+         * @return true if the link is neither flagged nor tagged
+         */
+        boolean isClean() {
+            return !flag && !tag;
+        }
+    }
+
+    /**
+     * A tree node: a leaf holding an element or sentinel, or an internal
+     * routing node with exactly two children.
+     *
+     * @param <E> the type of element stored in the tree
+     */
+    private static final class Node<E> {
+
+        /** Handle for compare-and-set on the left link */
+        private static final VarHandle LEFT;
+
+        /** Handle for compare-and-set on the right link */
+        private static final VarHandle RIGHT;
+
+        static {
+            try {
+                MethodHandles.Lookup lookup = MethodHandles.lookup();
+                LEFT = lookup.findVarHandle(Node.class, "left", Edge.class);
+                RIGHT = lookup.findVarHandle(Node.class, "right", Edge.class);
+            } catch (ReflectiveOperationException e) {
+                throw new ExceptionInInitializerError(e);
+            }
+        }
+
+        /** The element, or routing key of an internal node; null for sentinels */
+        final E key;
+
+        /** ELEMENT for real keys, or 1 to 3 for the sentinel keys in increasing order */
+        final int rank;
+
+        /** The left link, null for leaves */
+        volatile Edge<E> left;
+
+        /** The right link, null for leaves */
+        volatile Edge<E> right;
+
+        /**
+         * Constructs a leaf.
+         *
+         * @param key the element, null for a sentinel
+         * @param rank ELEMENT or the sentinel rank
+         */
+        Node(E key, int rank) {
+            this.key = key;
+            this.rank = rank;
+        }
+
+        /**
+         * Constructs an internal node over two children.
+         *
+         * @param key the routing key, null for a sentinel
+         * @param rank ELEMENT or the sentinel rank
+         * @param left the left child
+         * @param right the right child
+         */
+        Node(E key, int rank, Node<E> left, Node<E> right) {
+            this.key = key;
+            this.rank = rank;
+            this.left = new Edge<>(left, false, false);
+            this.right = new Edge<>(right, false, false);
+        }
+
+        /**
+         * Checks whether this node is a leaf.
+         *
+         * @return true if the node has no children
+         */
+        boolean isLeaf() {
+            return left == null;
+        }
+
+        /**
+         * Reads one of the links.
+         *
+         * @param isLeft true for the left link
+         * @return the current link
+         */
+        Edge<E> edge(boolean isLeft) {
+            return isLeft ? left : right;
+        }
+
+        /**
+         * Replaces one of the links if it is still the expected one.
+         *
+         * @param isLeft true for the left link
+         * @param expected the link read earlier
+         * @param update the new link
+         * @return true if the link was replaced
+         */
+        boolean compareAndSet(boolean isLeft, Edge<E> expected, Edge<E> update) {
+            return (isLeft ? LEFT : RIGHT).compareAndSet(this, expected, update);
+        }
+    }
+}
@@ -0,0 +1,617 @@
+package implementations;
+
+import utilities.LongIterator;
+import java.io.IOException;
+import java.io.InvalidObjectException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.util.ArrayDeque;
+import java.util.ConcurrentModificationException;
+import java.util.Deque;
+import java.util.NoSuchElementException;
+
+/**
+ * LongBSTree is a Binary Search Tree specialized for primitive long keys.
+ * It mirrors the operations of BSTreeADT, but keys are stored unboxed in
+ * the nodes and compared with primitive operators, avoiding a Long
+ * object per entry and a compareTo call per comparison.
+ *
+ * Like BSTree, the tree does not allow duplicates, maintains node heights
+ * so that getHeight() runs in constant time, can optionally keep itself
+ * height-balanced with AVL rotations, and provides lazy, fail-fast
+ * iterators for in-order, pre-order, and post-order traversal. It is
+ * serialized as a flat stream of keys in ascending order, so writing it
+ * never recurses, however deep the tree.
+ *
+ * @author Your Name
+ * @version 1.0
+ */
+public class LongBSTree implements Serializable {
+
+    /** Serial version UID for serialization compatibility */
+    private static final long serialVersionUID = 2L;
+
+    /** The root node of the binary search tree */
+    private transient Node root;
+
+    /** The number of keys currently stored in the tree */
+    private transient int size;
+
+    /** Number of structural modifications, used to make iterators fail fast */
+    private transient int modCount;
+
+    /** Whether the tree rebalances itself after each mutation (AVL mode) */
+    private final boolean balanced;
+
+    /**
+     * A node of the tree holding an unboxed key.
+     */
+    private static final class Node {
+
+        /** The key stored in this node */
+        private final long key;
+
+        /** Reference to the left child node */
+        private Node left;
+
+        /** Reference to the right child node */
+        private Node right;
+
+        /** Reference to the parent node, null for the root */
+        private Node parent;
+
+        /** Height of the subtree rooted at this node, a leaf having height 1 */
+        private int height = 1;
+
+        /**
+         * Constructs a leaf node holding the given key.
+         *
+         * @param key the key to store
+         * @param parent the parent node, null for the root
+         */
+        Node(long key, Node parent) {
+            this.key = key;
+            this.parent = parent;
+        }
+    }
+
+    /**
+     * Constructs an empty binary search tree.
+     */
+    public LongBSTree() {
+        this(false);
+    }
+
+    /**
+     * Constructs an empty binary search tree, optionally in balanced mode.
+     * In balanced mode the tree performs AVL rotations so that its height
+     * stays within O(log n) regardless of insertion order.
+     *
+     * @param balanced true to keep the tree height-balanced, false for a plain BST
+     */
+    public LongBSTree(boolean balanced) {
+        this.balanced = balanced;
+        root = null;
+        size = 0;
+    }
+
+    /**
+     * Checks if this tree rebalances itself after each mutation.
+     *
+     * @return true if the tree is in balanced (AVL) mode, false otherwise
+     */
+    public boolean isBalanced() {
+        return balanced;
+    }
+
+    /**
+     * Returns the key stored at the root of the tree.
+     *
+     * @return the root key
+     * @throws NullPointerException if the tree is empty and there is no root node
+     */
+    public long getRoot() throws NullPointerException {
+        if (root == null) {
+            throw new NullPointerException("Tree is empty - no root node exists");
+        }
+        return root.key;
+    }
+
+    /**
+     * Returns the height of the tree, a single node having height 1 and an
+     * empty tree having height 0. Runs in constant time.
+     *
+     * @return the height of the tree
+     */
+    public int getHeight() {
+        return heightOf(root);
+    }
+
+    /**
+     * Returns the number of keys currently stored in the tree.
+     *
+     * @return the number of keys in the tree
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Checks if the tree is currently empty.
+     *
+     * @return true if the tree is empty, false otherwise
+     */
+    public boolean isEmpty() {
+        return root == null;
+    }
+
+    /**
+     * Removes all keys from the tree, making it empty.
+     */
+    public void clear() {
+        root = null;
+        size = 0;
+        modCount++;
+    }
+
+    /**
+     * Checks if the tree contains the specified key. Since the key is the
+     * whole entry, this also serves as the tree's search operation.
+     *
+     * @param key the key to search for
+     * @return true if the key is found in the tree, false otherwise
+     */
+    public boolean contains(long key) {
+        Node node = root;
+        while (node != null) {
+            if (key < node.key) {
+                node = node.left;
+            } else if (key > node.key) {
+                node = node.right;
+            } else {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Adds a new key to the tree. Duplicate keys are not added.
+     *
+     * @param newKey the key to add to the tree
+     * @return true if the key was added, false if it already exists
+     */
+    public boolean add(long newKey) {
+        if (root == null) {
+            root = new Node(newKey, null);
+            size++;
+            modCount++;
+            return true;
+        }
+
+        Node parent = root;
+        while (true) {
+            if (newKey == parent.key) {
+                return false;
+            }
+            Node next = newKey < parent.key ? parent.left : parent.right;
+            if (next == null) {
+                break;
+            }
+            parent = next;
+        }
+
+        Node node = new Node(newKey, parent);
+        if (newKey < parent.key) {
+            parent.left = node;
+        } else {
+            parent.right = node;
+        }
+        size++;
+        modCount++;
+
+        retrace(parent);
+        return true;
+    }
+
+    /**
+     * Removes the smallest key in the tree.
+     *
+     * @return the key that was removed
+     * @throws NoSuchElementException if the tree is empty
+     */
+    public long removeMin() throws NoSuchElementException {
+        if (root == null) {
+            throw new NoSuchElementException("Tree is empty");
+        }
+
+        Node node = root;
+        while (node.left != null) {
+            node = node.left;
+        }
+        unlink(node, node.right);
+        return node.key;
+    }
+
+    /**
+     * Removes the largest key in the tree.
+     *
+     * @return the key that was removed
+     * @throws NoSuchElementException if the tree is empty
+     */
+    public long removeMax() throws NoSuchElementException {
+        if (root == null) {
+            throw new NoSuchElementException("Tree is empty");
+        }
+
+        Node node = root;
+        while (node.right != null) {
+            node = node.right;
+        }
+        unlink(node, node.left);
+        return node.key;
+    }
+
+    /**
+     * Helper method to remove a node that has at most one child by
+     * splicing that child into its place.
+     *
+     * @param node the node to remove
+     * @param child the only child of node, or null if node is a leaf
+     */
+    private void unlink(Node node, Node child) {
+        Node parent = node.parent;
+        replaceChild(parent, node, child);
+        size--;
+        modCount++;
+        retrace(parent);
+    }
+
+    /**
+     * Helper method to put a new subtree where an old one hung under a parent.
+     *
+     * @param parent the parent of oldChild, or null if oldChild is the root
+     * @param oldChild the subtree being replaced
+     * @param newChild the replacement subtree (can be null)
+     */
+    private void replaceChild(Node parent, Node oldChild, Node newChild) {
+        if (parent == null) {
+            root = newChild;
+        } else if (parent.left == oldChild) {
+            parent.left = newChild;
+        } else {
+            parent.right = newChild;
+        }
+        if (newChild != null) {
+            newChild.parent = parent;
+        }
+    }
+
+    /**
+     * Helper method to return the recorded height of a possibly empty subtree.
+     *
+     * @param node the root of the subtree, may be null
+     * @return the recorded height of the subtree, 0 if node is null
+     */
+    private static int heightOf(Node node) {
+        return node == null ? 0 : node.height;
+    }
+
+    /**
+     * Helper method to recompute a node's height from its children.
+     *
+     * @param node the node whose height is recomputed
+     */
+    private static void updateHeight(Node node) {
+        node.height = 1 + Math.max(heightOf(node.left), heightOf(node.right));
+    }
+
+    /**
+     * Helper method to rotate a subtree to the left, relinking the new
+     * subtree root into the old root's parent.
+     *
+     * @param node the root of the subtree, must have a right child
+     * @return the new root of the subtree
+     */
+    private Node rotateLeft(Node node) {
+        Node pivot = node.right;
+        node.right = pivot.left;
+        if (pivot.left != null) {
+            pivot.left.parent = node;
+        }
+        replaceChild(node.parent, node, pivot);
+        pivot.left = node;
+        node.parent = pivot;
+        updateHeight(node);
+        updateHeight(pivot);
+        return pivot;
+    }
+
+    /**
+     * Helper method to rotate a subtree to the right, relinking the new
+     * subtree root into the old root's parent.
+     *
+     * @param node the root of the subtree, must have a left child
+     * @return the new root of the subtree
+     */
+    private Node rotateRight(Node node) {
+        Node pivot = node.left;
+        node.left = pivot.right;
+        if (pivot.right != null) {
+            pivot.right.parent = node;
+        }
+        replaceChild(node.parent, node, pivot);
+        pivot.right = node;
+        node.parent = pivot;
+        updateHeight(node);
+        updateHeight(pivot);
+        return pivot;
+    }
+
+    /**
+     * Helper method to restore the AVL property at a node whose children
+     * are already balanced and differ in height by at most two.
+     *
+     * @param node the root of the subtree to rebalance
+     * @return the new root of the subtree
+     */
+    private Node rebalance(Node node) {
+        updateHeight(node);
+        int balance = heightOf(node.left) - heightOf(node.right);
+
+        if (balance > 1) {
+            if (heightOf(node.left.left) < heightOf(node.left.right)) {
+                rotateLeft(node.left);
+            }
+            return rotateRight(node);
+        }
+        if (balance < -1) {
+            if (heightOf(node.right.right) < heightOf(node.right.left)) {
+                rotateRight(node.right);
+            }
+            return rotateLeft(node);
+        }
+        return node;
+    }
+
+    /**
+     * Helper method to restore node heights, and the AVL property in balanced
+     * mode, from the given node up towards the root by following parent links.
+     * In plain mode the walk stops at the first node whose height is unchanged.
+     *
+     * @param node the lowest node whose subtree changed, may be null
+     */
+    private void retrace(Node node) {
+        while (node != null) {
+            if (balanced) {
+                node = rebalance(node);
+            } else {
+                int oldHeight = node.height;
+                updateHeight(node);
+                if (node.height == oldHeight) {
+                    return;
+                }
+            }
+            node = node.parent;
+        }
+    }
+
+    /**
+     * Creates a lazy in-order iterator over the keys in ascending order.
+     *
+     * @return an iterator with keys in ascending order
+     */
+    public LongIterator inorderIterator() {
+        return new TreeIterator() {
+            {
+                pushLeftSpine(root);
+            }
+
+            @Override
+            protected Node advance() {
+                Node node = stack.pop();
+                pushLeftSpine(node.right);
+                return node;
+            }
+        };
+    }
+
+    /**
+     * Creates a lazy pre-order iterator, the root key coming first.
+     *
+     * @return an iterator with keys in pre-order
+     */
+    public LongIterator preorderIterator() {
+        return new TreeIterator() {
+            {
+                if (root != null) {
+                    stack.push(root);
+                }
+            }
+
+            @Override
+            protected Node advance() {
+                Node node = stack.pop();
+                if (node.right != null) {
+                    stack.push(node.right);
+                }
+                if (node.left != null) {
+                    stack.push(node.left);
+                }
+                return node;
+            }
+        };
+    }
+
+    /**
+     * Creates a lazy post-order iterator, the root key coming last.
+     *
+     * @return an iterator with keys in post-order
+     */
+    public LongIterator postorderIterator() {
+        return new TreeIterator() {
+            {
+                pushFirstLeafPath(root);
+            }
+
+            @Override
+            protected Node advance() {
+                Node node = stack.pop();
+                Node parent = stack.peek();
+                if (parent != null && parent.left == node) {
+                    pushFirstLeafPath(parent.right);
+                }
+                return node;
+            }
+        };
+    }
+
+    /**
+     * Base class for the lazy tree iterators. The explicit stack of pending
+     * nodes never grows past the tree height, and every call to nextLong()
+     * checks that the tree has not been modified since the iterator was created.
+     */
+    private abstract class TreeIterator implements LongIterator {
+
+        /** Pending nodes, the next key's node being on top */
+        protected final Deque<Node> stack = new ArrayDeque<>();
+
+        /** The modification count the tree is expected to have */
+        private final int expectedModCount = modCount;
+
+        /**
+         * Pushes a node and all of its left descendants onto the stack.
+         *
+         * @param node the top of the spine, may be null
+         */
+        protected void pushLeftSpine(Node node) {
+            while (node != null) {
+                stack.push(node);
+                node = node.left;
+            }
+        }
+
+        /**
+         * Pushes the path from a node down to the first leaf visited in
+         * post-order within its subtree.
+         *
+         * @param node the root of the subtree, may be null
+         */
+        protected void pushFirstLeafPath(Node node) {
+            while (node != null) {
+                stack.push(node);
+                node = node.left != null ? node.left : node.right;
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            return !stack.isEmpty();
+        }
+
+        @Override
+        public long nextLong() throws NoSuchElementException {
+            if (modCount != expectedModCount) {
+                throw new ConcurrentModificationException("Tree modified during iteration");
+            }
+            if (!hasNext()) {
+                throw new NoSuchElementException("No more elements in iteration");
+            }
+            return advance().key;
+        }
+
+        /**
+         * Pops the next node in traversal order and pushes whatever nodes
+         * are needed to continue the traversal after it.
+         *
+         * @return the next node in traversal order
+         */
+        protected abstract Node advance();
+    }
+
+    /**
+     * Writes the tree as a flat stream: the balanced flag, the number of
+     * keys, then the keys in ascending order.
+     *
+     * @param out the stream to write to
+     * @throws IOException if the stream cannot be written
+     * @serialData the balanced flag, the number of keys, then each key in ascending order
+     */
+    private void writeObject(ObjectOutputStream out) throws IOException {
+        out.defaultWriteObject();
+        out.writeInt(size);
+        LongIterator iterator = inorderIterator();
+        while (iterator.hasNext()) {
+            out.writeLong(iterator.nextLong());
+        }
+    }
+
+    /**
+     * Reads a tree written by writeObject and rebuilds it as a perfectly
+     * balanced tree.
+     *
+     * @param in the stream to read from
+     * @throws IOException if the stream cannot be read or holds an invalid tree
+     * @throws ClassNotFoundException if a class in the stream cannot be found
+     */
+    private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+        in.defaultReadObject();
+        int count = in.readInt();
+        if (count < 0) {
+            throw new InvalidObjectException("Negative size: " + count);
+        }
+
+        long[] sorted = new long[count];
+        for (int i = 0; i < count; i++) {
+            sorted[i] = in.readLong();
+            if (i > 0 && sorted[i - 1] >= sorted[i]) {
+                throw new InvalidObjectException("Keys out of order in stream");
+            }
+        }
+        root = buildBalanced(sorted, 0, count, null);
+        size = count;
+    }
+
+    /**
+     * Helper method to build a balanced subtree from a sorted range of keys
+     * by making the middle key its root.
+     *
+     * @param sorted the keys in strictly ascending order
+     * @param from the first index of the range, inclusive
+     * @param to the last index of the range, exclusive
+     * @param parent the parent to link the subtree's root to
+     * @return the root of the new subtree, or null if the range is empty
+     */
+    private static Node buildBalanced(long[] sorted, int from, int to, Node parent) {
+        if (from >= to) {
+            return null;
+        }
+
+        int middle = (from + to) >>> 1;
+        Node node = new Node(sorted[middle], parent);
+        node.left = buildBalanced(sorted, from, middle, node);
+        node.right = buildBalanced(sorted, middle + 1, to, node);
+        updateHeight(node);
+        return node;
+    }
+
+    /**
+     * Returns a string representation of the tree using in-order traversal.
+     *
+     * @return string representation of the tree
+     */
+    @Override
+    public String toString() {
+        StringBuilder result = new StringBuilder("[");
+        LongIterator iterator = inorderIterator();
+
+        while (iterator.hasNext()) {
+            if (result.length() > 1) {
+                result.append(", ");
+            }
+            result.append(iterator.nextLong());
+        }
+        return result.append("]").toString();
+    }
+}
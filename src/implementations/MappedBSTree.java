@@ -0,0 +1,639 @@
+package implementations;
+
+import utilities.BSTreeADT;
+import utilities.Iterator;
+import utilities.KeyCodec;
+import java.io.IOException;
+import java.io.NotSerializableException;
+import java.io.ObjectOutputStream;
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+/**
+ * MappedBSTree is a read-only view of a tree image stored in a file and
+ * mapped into memory with FileChannel.map. Opening an image only maps the
+ * file and checks its header, so it takes the same few milliseconds
+ * whatever the size of the tree, and the operating system pages the data
+ * in as lookups touch it.
+ *
+ * An image holds the elements in ascending order, encoded by a KeyCodec,
+ * followed by a table with the offset of every element. Lookups binary
+ * search the mapped region directly, decoding only the elements they
+ * compare against, and never create BSTreeNode objects for the tree.
+ * The view behaves like a perfectly balanced tree whose root is the middle
+ * element; getRoot() and search() return new, detached BSTreeNode
+ * instances, and every mutator throws UnsupportedOperationException.
+ *
+ * File layout, all values in the platform's native byte order:
+ * <pre>
+ *   0  int   magic number
+ *   4  int   format version
+ *   8  long  number of elements n
+ *  16  long  position of the offset table
+ *  24        encoded elements, in ascending order
+ *   t        n + 1 longs: the position of each element, then the end of the last
+ * </pre>
+ * The magic number also catches images written with a different byte order.
+ * The mapping is released by close(), after which the view can no longer
+ * be used. Mapped trees cannot be serialized.
+ *
+ * @param <E> the type of elements stored in this tree, must extend Comparable
+ * @author Your Name
+ * @version 1.0
+ */
+public class MappedBSTree<E extends Comparable<? super E>> implements BSTreeADT<E>, AutoCloseable {
+
+    /** Serial version UID for serialization compatibility */
+    private static final long serialVersionUID = 1L;
+
+    /** First four bytes of every image, "BST1" */
+    private static final int MAGIC = 0x42535431;
+
+    /** Version of the image format */
+    private static final int VERSION = 1;
+
+    /** Size of the header in bytes */
+    private static final long HEADER_BYTES = 24;
+
+    /** Number of offsets written to the table at a time */
+    private static final int TABLE_CHUNK = 8192;
+
+    /** Decodes the elements of the image */
+    private final transient KeyCodec<E> codec;
+
+    /** Owner of the mapping, null once closed */
+    private transient Arena arena;
+
+    /** The mapped image */
+    private transient MemorySegment image;
+
+    /** The number of elements in the image */
+    private final int size;
+
+    /** Position of the offset table within the image */
+    private final long table;
+
+    /**
+     * Constructs a view over an image that has already been mapped and checked.
+     *
+     * @param codec the codec the image was written with
+     * @param arena the owner of the mapping
+     * @param image the mapped image
+     * @param size the number of elements
+     * @param table the position of the offset table
+     */
+    private MappedBSTree(KeyCodec<E> codec, Arena arena, MemorySegment image, int size, long table) {
+        this.codec = codec;
+        this.arena = arena;
+        this.image = image;
+        this.size = size;
+        this.table = table;
+    }
+
+    /**
+     * Writes the elements of a tree to a file as an image that can later be
+     * opened with open(). The image is written to a temporary file next to
+     * the target, forced to disk and then atomically moved over any
+     * existing file, so a failure part way through leaves the previous
+     * image intact.
+     *
+     * @param <E> the type of elements stored in the tree
+     * @param tree the tree to write
+     * @param codec the codec used to encode the elements
+     * @param file the file to write
+     * @throws NullPointerException if any argument is null
+     * @throws IllegalArgumentException if the codec cannot encode an element
+     * @throws IOException if the file cannot be written
+     */
+    public static <E extends Comparable<? super E>> void write(BSTreeADT<E> tree, KeyCodec<E> codec, Path file)
+            throws NullPointerException, IllegalArgumentException, IOException {
+        if (tree == null || codec == null || file == null) {
+            throw new NullPointerException("Tree, codec and file cannot be null");
+        }
+
+        long[] offsets = new long[tree.size() + 1];
+        byte[] scratch = new byte[codec.width()];
+        MemorySegment buffer = MemorySegment.ofArray(scratch);
+
+        Path temporary = file.resolveSibling(file.getFileName() + ".tmp");
+        try {
+            try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.CREATE,
+                    StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+                long position = HEADER_BYTES;
+                int count = 0;
+                Iterator<E> iterator = tree.inorderIterator();
+                while (iterator.hasNext()) {
+                    if (count == offsets.length - 1) {
+                        offsets = Arrays.copyOf(offsets, offsets.length * 2);
+                    }
+                    offsets[count++] = position;
+                    int length = codec.write(buffer, 0, iterator.next());
+                    position += writeFully(channel, ByteBuffer.wrap(scratch, 0, length), position);
+                }
+                offsets[count] = position;
+
+                // The table is written in chunks, since a table of more than
+                // 2^28 offsets does not fit in a single buffer.
+                long tablePosition = (position + 7) & ~7L;
+                ByteBuffer tableBytes = ByteBuffer.allocate(TABLE_CHUNK * Long.BYTES).order(ByteOrder.nativeOrder());
+                for (int from = 0, length; from <= count; from += length) {
+                    length = Math.min(TABLE_CHUNK, count + 1 - from);
+                    tableBytes.clear();
+                    tableBytes.asLongBuffer().put(offsets, from, length);
+                    tableBytes.limit(length * Long.BYTES);
+                    writeFully(channel, tableBytes, tablePosition + (long) from * Long.BYTES);
+                }
+
+                ByteBuffer header = ByteBuffer.allocate((int) HEADER_BYTES).order(ByteOrder.nativeOrder());
+                header.putInt(MAGIC).putInt(VERSION).putLong(count).putLong(tablePosition).flip();
+                writeFully(channel, header, 0);
+                channel.force(true);
+            }
+            Files.move(temporary, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException | RuntimeException e) {
+            try {
+                Files.deleteIfExists(temporary);
+            } catch (IOException suppressed) {
+                e.addSuppressed(suppressed);
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Helper method to write a whole buffer at a position of a channel.
+     *
+     * @param channel the channel to write to
+     * @param bytes the bytes to write
+     * @param position the position to write at
+     * @return the number of bytes written
+     * @throws IOException if the channel cannot be written
+     */
+    private static int writeFully(FileChannel channel, ByteBuffer bytes, long position) throws IOException {
+        int length = bytes.remaining();
+        while (bytes.hasRemaining()) {
+            position += channel.write(bytes, position);
+        }
+        return length;
+    }
+
+    /**
+     * Opens an image written by write() as a read-only tree. Only the
+     * header is read; the elements are paged in as they are used.
+     *
+     * @param <E> the type of elements stored in the tree
+     * @param file the image file
+     * @param codec the codec the image was written with
+     * @return a view over the image
+     * @throws NullPointerException if any argument is null
+     * @throws IOException if the file cannot be mapped or is not a valid image
+     */
+    public static <E extends Comparable<? super E>> MappedBSTree<E> open(Path file, KeyCodec<E> codec)
+            throws NullPointerException, IOException {
+        if (file == null || codec == null) {
+            throw new NullPointerException("File and codec cannot be null");
+        }
+
+        Arena arena = Arena.ofShared();
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            MemorySegment image = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size(), arena);
+            if (image.byteSize() < HEADER_BYTES
+                    || image.get(ValueLayout.JAVA_INT, 0) != MAGIC
+                    || image.get(ValueLayout.JAVA_INT, 4) != VERSION) {
+                throw new IOException("Not a tree image: " + file);
+            }
+            long count = image.get(ValueLayout.JAVA_LONG, 8);
+            long table = image.get(ValueLayout.JAVA_LONG, 16);
+            if (count < 0 || count > Integer.MAX_VALUE - 1 || table < HEADER_BYTES || (table & 7) != 0
+                    || table > image.byteSize() - (count + 1) * Long.BYTES) {
+                throw new IOException("Corrupt tree image header: " + file);
+            }
+            long first = image.get(ValueLayout.JAVA_LONG, table);
+            long last = image.get(ValueLayout.JAVA_LONG, table + count * Long.BYTES);
+            if (first != HEADER_BYTES || last < first || last > table) {
+                throw new IOException("Corrupt tree image offsets: " + file);
+            }
+            return new MappedBSTree<>(codec, arena, image, (int) count, table);
+        } catch (IOException | RuntimeException e) {
+            arena.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Releases the mapping. Any later operation on the view throws
+     * IllegalStateException. Closing twice has no effect.
+     */
+    @Override
+    public void close() {
+        if (arena != null) {
+            arena.close();
+            arena = null;
+            image = null;
+        }
+    }
+
+    /**
+     * Checks whether the mapping has been released.
+     *
+     * @return true if close() has been called, false otherwise
+     */
+    public boolean isClosed() {
+        return arena == null;
+    }
+
+    /**
+     * Helper method to reject operations on a closed view.
+     *
+     * @throws IllegalStateException if the view has been closed
+     */
+    private void ensureOpen() throws IllegalStateException {
+        if (arena == null) {
+            throw new IllegalStateException("Tree has been closed");
+        }
+    }
+
+    /**
+     * Helper method to return the position of an element in the image.
+     *
+     * @param index the rank of the element
+     * @return the position of its encoding
+     */
+    private long offsetOf(int index) {
+        return image.get(ValueLayout.JAVA_LONG, table + (long) index * Long.BYTES);
+    }
+
+    /**
+     * Helper method to decode an element.
+     *
+     * @param index the rank of the element
+     * @return the decoded element
+     */
+    private E elementAt(int index) {
+        return codec.read(image, offsetOf(index));
+    }
+
+    /**
+     * Returns a detached node holding the middle element, the root of the
+     * balanced tree the view represents.
+     *
+     * @return a new node holding the root element
+     * @throws NullPointerException if the tree is empty and there is no root node
+     * @throws IllegalStateException if the view has been closed
+     */
+    @Override
+    public BSTreeNode<E> getRoot() throws NullPointerException {
+        ensureOpen();
+        if (size == 0) {
+            throw new NullPointerException("Tree is empty - no root node exists");
+        }
+        return new BSTreeNode<>(elementAt(size >>> 1));
+    }
+
+    /**
+     * Returns the height of the balanced tree the view represents.
+     *
+     * @return the height of the tree, 0 if empty
+     */
+    @Override
+    public int getHeight() {
+        return Integer.SIZE - Integer.numberOfLeadingZeros(size);
+    }
+
+    /**
+     * Returns the number of elements in the image.
+     *
+     * @return the number of elements in the tree
+     */
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Checks if the image holds no elements.
+     *
+     * @return true if the tree is empty, false otherwise
+     */
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Mapped trees cannot be modified.
+     *
+     * @throws UnsupportedOperationException always
+     */
+    @Override
+    public void clear() throws UnsupportedOperationException {
+        throw new UnsupportedOperationException("Mapped tree is read-only");
+    }
+
+    /**
+     * Checks if the image contains the specified element.
+     *
+     * @param entry the element to search for in the tree
+     * @return true if the element is found in the tree, false otherwise
+     * @throws NullPointerException if the entry being passed in is null
+     * @throws IllegalStateException if the view has been closed
+     */
+    @Override
+    public boolean contains(E entry) throws NullPointerException {
+        return indexOf(entry) >= 0;
+    }
+
+    /**
+     * Searches for the specified element and returns a detached node holding it.
+     *
+     * @param entry the element to search for
+     * @return a new node holding the element, or null if not found
+     * @throws NullPointerException if the entry being passed in is null
+     * @throws IllegalStateException if the view has been closed
+     */
+    @Override
+    public BSTreeNode<E> search(E entry) throws NullPointerException {
+        int index = indexOf(entry);
+        return index < 0 ? null : new BSTreeNode<>(elementAt(index));
+    }
+
+    /**
+     * Helper method to binary search the mapped elements, comparing each
+     * probe in place through the codec.
+     *
+     * @param entry the element to look for
+     * @return the rank of the element, or -1 if it is not in the image
+     * @throws NullPointerException if entry is null
+     */
+    private int indexOf(E entry) throws NullPointerException {
+        if (entry == null) {
+            throw new NullPointerException("Entry cannot be null");
+        }
+        ensureOpen();
+
+        int low = 0;
+        int high = size - 1;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            int comparison = codec.compare(entry, image, offsetOf(middle));
+
+            if (comparison == 0) {
+                return middle;
+            } else if (comparison < 0) {
+                high = middle - 1;
+            } else {
+                low = middle + 1;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Returns the smallest element in the image.
+     *
+     * @return the smallest element, or null if the tree is empty
+     * @throws IllegalStateException if the view has been closed
+     */
+    public E first() {
+        ensureOpen();
+        return size == 0 ? null : elementAt(0);
+    }
+
+    /**
+     * Returns the largest element in the image.
+     *
+     * @return the largest element, or null if the tree is empty
+     * @throws IllegalStateException if the view has been closed
+     */
+    public E last() {
+        ensureOpen();
+        return size == 0 ? null : elementAt(size - 1);
+    }
+
+    /**
+     * Mapped trees cannot be modified.
+     *
+     * @param newEntry ignored
+     * @return never returns normally
+     * @throws UnsupportedOperationException always
+     */
+    @Override
+    public boolean add(E newEntry) throws UnsupportedOperationException {
+        throw new UnsupportedOperationException("Mapped tree is read-only");
+    }
+
+    /**
+     * Mapped trees cannot be modified.
+     *
+     * @return never returns normally
+     * @throws UnsupportedOperationException always
+     */
+    @Override
+    public BSTreeNode<E> removeMin() throws UnsupportedOperationException {
+        throw new UnsupportedOperationException("Mapped tree is read-only");
+    }
+
+    /**
+     * Mapped trees cannot be modified.
+     *
+     * @return never returns normally
+     * @throws UnsupportedOperationException always
+     */
+    @Override
+    public BSTreeNode<E> removeMax() throws UnsupportedOperationException {
+        throw new UnsupportedOperationException("Mapped tree is read-only");
+    }
+
+    /**
+     * Creates an iterator that decodes the elements in natural (sorted) order.
+     *
+     * @return an iterator with elements in natural order
+     * @throws IllegalStateException if the view has been closed
+     */
+    @Override
+    public Iterator<E> inorderIterator() {
+        ensureOpen();
+        return new Iterator<E>() {
+            private int next;
+
+            @Override
+            public boolean hasNext() {
+                return next < size;
+            }
+
+            @Override
+            public E next() throws NoSuchElementException {
+                if (!hasNext()) {
+                    throw new NoSuchElementException("No more elements in iteration");
+                }
+                ensureOpen();
+                return elementAt(next++);
+            }
+        };
+    }
+
+    /**
+     * Creates a pre-order iterator over the balanced tree the view
+     * represents. The root element comes first, followed by left subtree,
+     * then right subtree.
+     *
+     * @return an iterator with elements in pre-order
+     * @throws IllegalStateException if the view has been closed
+     */
+    @Override
+    public Iterator<E> preorderIterator() {
+        ensureOpen();
+        return new RangeIterator() {
+            @Override
+            protected int advance() {
+                int from = pop();
+                int to = pop();
+                int middle = (from + to) >>> 1;
+                push(middle + 1, to);
+                push(from, middle);
+                return middle;
+            }
+        };
+    }
+
+    /**
+     * Creates a post-order iterator over the balanced tree the view
+     * represents. The root element comes last, after left and right subtrees.
+     *
+     * @return an iterator with elements in post-order
+     * @throws IllegalStateException if the view has been closed
+     */
+    @Override
+    public Iterator<E> postorderIterator() {
+        ensureOpen();
+        return new RangeIterator() {
+            @Override
+            protected int advance() {
+                while (true) {
+                    int from = pop();
+                    int to = pop();
+                    if (from < 0) {
+                        return (~from + to) >>> 1;
+                    }
+                    int middle = (from + to) >>> 1;
+                    push(~from, to);
+                    push(middle + 1, to);
+                    push(from, middle);
+                }
+            }
+        };
+    }
+
+    /**
+     * Base class for the pre-order and post-order iterators. The balanced
+     * tree is implicit: the subtree over ranks [from, to) has the middle
+     * rank as its root, so the stack holds ranges of ranks instead of
+     * nodes, and its depth never exceeds twice the tree height.
+     */
+    private abstract class RangeIterator implements Iterator<E> {
+
+        /** Pending ranges, stored as (to, from) pairs with from on top */
+        private int[] stack = new int[8];
+
+        /** Number of ints on the stack */
+        private int depth;
+
+        /**
+         * Constructs an iterator over the whole tree.
+         */
+        RangeIterator() {
+            push(0, size);
+        }
+
+        /**
+         * Pushes a range of ranks, unless it is empty. A range whose
+         * subtree has already been expanded is pushed with from complemented.
+         *
+         * @param from the first rank, inclusive, or its complement
+         * @param to the last rank, exclusive
+         */
+        protected void push(int from, int to) {
+            if (from >= 0 && from >= to) {
+                return;
+            }
+            if (depth + 2 > stack.length) {
+                stack = Arrays.copyOf(stack, stack.length * 2);
+            }
+            stack[depth++] = to;
+            stack[depth++] = from;
+        }
+
+        /**
+         * Pops one int off the stack.
+         *
+         * @return the popped int
+         */
+        protected int pop() {
+            return stack[--depth];
+        }
+
+        @Override
+        public boolean hasNext() {
+            return depth > 0;
+        }
+
+        @Override
+        public E next() throws NoSuchElementException {
+            if (!hasNext()) {
+                throw new NoSuchElementException("No more elements in iteration");
+            }
+            ensureOpen();
+            return elementAt(advance());
+        }
+
+        /**
+         * Pops the stack until the next rank in traversal order is known,
+         * pushing whatever ranges are needed to continue after it.
+         *
+         * @return the rank of the next element
+         */
+        protected abstract int advance();
+    }
+
+    /**
+     * Mapped trees hold their contents in a file and cannot be serialized.
+     *
+     * @param out the stream the tree would be written to
+     * @throws IOException always, as a NotSerializableException
+     */
+    private void writeObject(ObjectOutputStream out) throws IOException {
+        throw new NotSerializableException(getClass().getName());
+    }
+
+    /**
+     * Returns a string representation of the tree using in-order traversal.
+     *
+     * @return string representation of the tree
+     */
+    @Override
+    public String toString() {
+        if (isClosed()) {
+            return "[closed]";
+        }
+        StringBuilder result = new StringBuilder("[");
+        Iterator<E> iterator = inorderIterator();
+
+        while (iterator.hasNext()) {
+            result.append(iterator.next());
+            if (iterator.hasNext()) {
+                result.append(", ");
+            }
+        }
+        return result.append("]").toString();
+    }
+}
@@ -0,0 +1,751 @@
+package implementations;
+
+import utilities.BSTreeADT;
+import utilities.Iterator;
+import utilities.KeyCodec;
+import java.io.IOException;
+import java.io.NotSerializableException;
+import java.io.ObjectOutputStream;
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.NoSuchElementException;
+
+/**
+ * OffHeapBSTree is a Binary Search Tree whose nodes live outside the Java
+ * heap in a MemorySegment. Each node occupies a fixed-size record holding
+ * the indices of its children, the height of its subtree and its key,
+ * encoded by a KeyCodec; fixed-width int and long keys and length-prefixed
+ * UTF-8 strings are supported through the codecs in KeyCodec.
+ *
+ * Only a handful of fields stay on the heap whatever the size of the tree,
+ * so the garbage collector never has to trace the nodes. The segment
+ * doubles when full, and removed records are reused through a free list.
+ * The memory is released by close(), after which the tree can no longer
+ * be used.
+ *
+ * Since nodes are not Java objects, getRoot(), search(), removeMin() and
+ * removeMax() return new, detached BSTreeNode instances holding the decoded
+ * element. Off-heap trees cannot be serialized.
+ *
+ * @param <E> the type of elements stored in this tree, must extend Comparable
+ * @author Your Name
+ * @version 1.0
+ */
+public class OffHeapBSTree<E extends Comparable<? super E>> implements BSTreeADT<E>, AutoCloseable {
+
+    /** Serial version UID for serialization compatibility */
+    private static final long serialVersionUID = 1L;
+
+    /** Index standing for a missing node */
+    private static final int NIL = -1;
+
+    /** Number of records allocated by the default constructor */
+    private static final int DEFAULT_CAPACITY = 1024;
+
+    /** Byte offset of the left child index within a record */
+    private static final long LEFT = 0;
+
+    /** Byte offset of the right child index within a record */
+    private static final long RIGHT = 4;
+
+    /** Byte offset of the subtree height within a record */
+    private static final long HEIGHT = 8;
+
+    /** Byte offset of the encoded key within a record */
+    private static final long KEY = 12;
+
+    /** Encodes and decodes the keys stored in the records */
+    private final transient KeyCodec<E> codec;
+
+    /** Size of one record in bytes, a multiple of eight */
+    private final transient long stride;
+
+    /** Owner of the current segment, closed when the segment is replaced */
+    private transient Arena arena;
+
+    /** The off-heap memory holding the records */
+    private transient MemorySegment segment;
+
+    /** Number of records the segment can hold */
+    private int capacity;
+
+    /** Index of the root record, NIL if the tree is empty */
+    private int root;
+
+    /** Head of the free list of released records, NIL if none */
+    private int freeHead;
+
+    /** Number of records ever handed out; records from here on are unused */
+    private int used;
+
+    /** The number of elements currently stored in the tree */
+    private int size;
+
+    /** Indices of the records on the last descended path, reused across calls */
+    private transient int[] path = new int[32];
+
+    /** Number of structural modifications, used to make iterators fail fast */
+    private transient int modCount;
+
+    /**
+     * Constructs an empty off-heap tree with a default initial capacity.
+     *
+     * @param codec the codec used to store the keys
+     * @throws NullPointerException if codec is null
+     */
+    public OffHeapBSTree(KeyCodec<E> codec) throws NullPointerException {
+        this(codec, DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Constructs an empty off-heap tree with room for the given number of
+     * elements before its segment has to grow.
+     *
+     * @param codec the codec used to store the keys
+     * @param initialCapacity the number of records to allocate up front
+     * @throws NullPointerException if codec is null
+     * @throws IllegalArgumentException if initialCapacity is less than 1
+     */
+    public OffHeapBSTree(KeyCodec<E> codec, int initialCapacity)
+            throws NullPointerException, IllegalArgumentException {
+        if (codec == null) {
+            throw new NullPointerException("Codec cannot be null");
+        }
+        if (initialCapacity < 1) {
+            throw new IllegalArgumentException("Initial capacity must be positive: " + initialCapacity);
+        }
+        this.codec = codec;
+        this.stride = (KEY + codec.width() + 7) & ~7L;
+        allocateSegment(initialCapacity);
+    }
+
+    /**
+     * Helper method to replace the storage with a fresh, empty segment.
+     *
+     * @param newCapacity the number of records to allocate
+     */
+    private void allocateSegment(int newCapacity) {
+        Arena newArena = Arena.ofShared();
+        segment = newArena.allocate(newCapacity * stride, Long.BYTES);
+        if (arena != null) {
+            arena.close();
+        }
+        arena = newArena;
+        capacity = newCapacity;
+        root = NIL;
+        freeHead = NIL;
+        used = 0;
+        size = 0;
+    }
+
+    /**
+     * Releases the off-heap memory held by this tree. Any later operation
+     * on the tree throws IllegalStateException. Closing twice has no effect.
+     */
+    @Override
+    public void close() {
+        if (arena != null) {
+            arena.close();
+            arena = null;
+            segment = null;
+            root = NIL;
+            size = 0;
+            modCount++;
+        }
+    }
+
+    /**
+     * Checks whether the off-heap memory has been released.
+     *
+     * @return true if close() has been called, false otherwise
+     */
+    public boolean isClosed() {
+        return arena == null;
+    }
+
+    /**
+     * Helper method to reject operations on a closed tree.
+     *
+     * @throws IllegalStateException if the tree has been closed
+     */
+    private void ensureOpen() throws IllegalStateException {
+        if (arena == null) {
+            throw new IllegalStateException("Tree has been closed");
+        }
+    }
+
+    /**
+     * Returns the number of off-heap bytes currently reserved by the tree.
+     *
+     * @return the size of the segment in bytes, 0 once closed
+     */
+    public long reservedBytes() {
+        return segment == null ? 0 : segment.byteSize();
+    }
+
+    /**
+     * Returns a detached node holding the element at the root of the tree.
+     *
+     * @return a new node holding the root element
+     * @throws NullPointerException if the tree is empty and there is no root node
+     * @throws IllegalStateException if the tree has been closed
+     */
+    @Override
+    public BSTreeNode<E> getRoot() throws NullPointerException {
+        ensureOpen();
+        if (root == NIL) {
+            throw new NullPointerException("Tree is empty - no root node exists");
+        }
+        return new BSTreeNode<>(keyOf(root));
+    }
+
+    /**
+     * Returns the height of the tree, a single node having height 1 and an
+     * empty tree having height 0. Runs in constant time.
+     *
+     * @return the height of the tree
+     */
+    @Override
+    public int getHeight() {
+        return heightOf(root);
+    }
+
+    /**
+     * Returns the number of elements currently stored in the tree.
+     *
+     * @return the number of elements in the tree
+     */
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Checks if the tree is currently empty.
+     *
+     * @return true if the tree is empty, false otherwise
+     */
+    @Override
+    public boolean isEmpty() {
+        return root == NIL;
+    }
+
+    /**
+     * Removes all elements from the tree, keeping its current capacity.
+     *
+     * @throws IllegalStateException if the tree has been closed
+     */
+    @Override
+    public void clear() {
+        ensureOpen();
+        root = NIL;
+        freeHead = NIL;
+        used = 0;
+        size = 0;
+        modCount++;
+    }
+
+    /**
+     * Checks if the tree contains the specified element.
+     *
+     * @param entry the element to search for in the tree
+     * @return true if the element is found in the tree, false otherwise
+     * @throws NullPointerException if the entry being passed in is null
+     * @throws IllegalStateException if the tree has been closed
+     */
+    @Override
+    public boolean contains(E entry) throws NullPointerException {
+        if (entry == null) {
+            throw new NullPointerException("Entry cannot be null");
+        }
+        ensureOpen();
+        return find(entry) != NIL;
+    }
+
+    /**
+     * Searches for the specified element and returns a detached node holding it.
+     *
+     * @param entry the element to search for
+     * @return a new node holding the element, or null if not found
+     * @throws NullPointerException if the entry being passed in is null
+     * @throws IllegalStateException if the tree has been closed
+     */
+    @Override
+    public BSTreeNode<E> search(E entry) throws NullPointerException {
+        if (entry == null) {
+            throw new NullPointerException("Entry cannot be null");
+        }
+        ensureOpen();
+        int node = find(entry);
+        return node == NIL ? null : new BSTreeNode<>(keyOf(node));
+    }
+
+    /**
+     * Helper method to find the record holding an element.
+     *
+     * @param entry the element to look for
+     * @return the record index, or NIL if not found
+     */
+    private int find(E entry) {
+        int node = root;
+        while (node != NIL) {
+            int comparison = codec.compare(entry, segment, offsetOf(node) + KEY);
+
+            if (comparison == 0) {
+                return node;
+            }
+            node = comparison < 0 ? getInt(node, LEFT) : getInt(node, RIGHT);
+        }
+        return NIL;
+    }
+
+    /**
+     * Adds a new element to the tree according to its natural ordering.
+     * Duplicate elements are not added.
+     *
+     * @param newEntry the element to add to the tree
+     * @return true if the element was added successfully, false if it already exists
+     * @throws NullPointerException if the newEntry being passed in is null
+     * @throws IllegalArgumentException if the codec cannot encode the element
+     * @throws IllegalStateException if the tree has been closed
+     */
+    @Override
+    public boolean add(E newEntry) throws NullPointerException {
+        if (newEntry == null) {
+            throw new NullPointerException("New entry cannot be null");
+        }
+        ensureOpen();
+
+        if (root == NIL) {
+            root = allocate(newEntry);
+            size++;
+            modCount++;
+            return true;
+        }
+
+        int depth = 0;
+        int parent = root;
+        int comparison;
+        while (true) {
+            comparison = codec.compare(newEntry, segment, offsetOf(parent) + KEY);
+
+            if (comparison == 0) {
+                return false;
+            }
+            depth = pushPath(depth, parent);
+            int next = getInt(parent, comparison < 0 ? LEFT : RIGHT);
+            if (next == NIL) {
+                break;
+            }
+            parent = next;
+        }
+
+        int node = allocate(newEntry);
+        setInt(parent, comparison < 0 ? LEFT : RIGHT, node);
+        size++;
+        modCount++;
+
+        retrace(depth);
+        return true;
+    }
+
+    /**
+     * Removes the smallest element in the tree.
+     *
+     * @return a detached node holding the removed element, or null if the tree is empty
+     * @throws IllegalStateException if the tree has been closed
+     */
+    @Override
+    public BSTreeNode<E> removeMin() {
+        return removeExtreme(LEFT, RIGHT);
+    }
+
+    /**
+     * Removes the largest element in the tree.
+     *
+     * @return a detached node holding the removed element, or null if the tree is empty
+     * @throws IllegalStateException if the tree has been closed
+     */
+    @Override
+    public BSTreeNode<E> removeMax() {
+        return removeExtreme(RIGHT, LEFT);
+    }
+
+    /**
+     * Helper method to remove the record at the far end of one side of the
+     * tree, splicing its only child into its place.
+     *
+     * @param toward the child field to follow, LEFT for the minimum
+     * @param away the opposite child field
+     * @return a detached node holding the removed element, or null if the tree is empty
+     */
+    private BSTreeNode<E> removeExtreme(long toward, long away) {
+        ensureOpen();
+        if (root == NIL) {
+            return null;
+        }
+
+        int depth = 0;
+        int node = root;
+        while (getInt(node, toward) != NIL) {
+            depth = pushPath(depth, node);
+            node = getInt(node, toward);
+        }
+
+        if (depth == 0) {
+            root = getInt(node, away);
+        } else {
+            setInt(path[depth - 1], toward, getInt(node, away));
+        }
+
+        BSTreeNode<E> removed = new BSTreeNode<>(keyOf(node));
+        setInt(node, LEFT, freeHead);
+        freeHead = node;
+        size--;
+        modCount++;
+
+        retrace(depth);
+        return removed;
+    }
+
+    /**
+     * Helper method to record a record on the descended path.
+     *
+     * @param depth the number of records already recorded
+     * @param node the record to add
+     * @return the new number of recorded records
+     */
+    private int pushPath(int depth, int node) {
+        if (depth == path.length) {
+            path = Arrays.copyOf(path, depth * 2);
+        }
+        path[depth] = node;
+        return depth + 1;
+    }
+
+    /**
+     * Helper method to refresh the heights of the recorded path from the
+     * bottom up, stopping at the first record whose height is unchanged.
+     *
+     * @param depth the number of records on the path
+     */
+    private void retrace(int depth) {
+        for (int i = depth - 1; i >= 0; i--) {
+            int node = path[i];
+            int newHeight = 1 + Math.max(heightOf(getInt(node, LEFT)), heightOf(getInt(node, RIGHT)));
+            if (getInt(node, HEIGHT) == newHeight) {
+                return;
+            }
+            setInt(node, HEIGHT, newHeight);
+        }
+    }
+
+    /**
+     * Helper method to take a record from the free list, or from the unused
+     * tail of the segment, doubling the segment if it is full.
+     *
+     * The key is encoded before the record is taken, so an element the
+     * codec rejects leaves the free list and the tail untouched.
+     *
+     * @param entry the element to store in the record
+     * @return the index of the new leaf record
+     * @throws IllegalArgumentException if the codec cannot encode the element
+     */
+    private int allocate(E entry) throws IllegalArgumentException {
+        int node;
+        if (freeHead != NIL) {
+            node = freeHead;
+            codec.write(segment, offsetOf(node) + KEY, entry);
+            freeHead = getInt(node, LEFT);
+        } else {
+            if (used == capacity) {
+                grow();
+            }
+            node = used;
+            codec.write(segment, offsetOf(node) + KEY, entry);
+            used++;
+        }
+        setInt(node, LEFT, NIL);
+        setInt(node, RIGHT, NIL);
+        setInt(node, HEIGHT, 1);
+        return node;
+    }
+
+    /**
+     * Helper method to double the capacity of the segment, copying the
+     * records in use and releasing the old memory.
+     *
+     * @throws IllegalStateException if the capacity cannot grow any further
+     */
+    private void grow() throws IllegalStateException {
+        if (capacity == Integer.MAX_VALUE) {
+            throw new IllegalStateException("Tree capacity exhausted");
+        }
+        int newCapacity = (int) Math.min((long) capacity * 2, Integer.MAX_VALUE);
+        Arena newArena = Arena.ofShared();
+        MemorySegment newSegment = newArena.allocate(newCapacity * stride, Long.BYTES);
+        MemorySegment.copy(segment, 0, newSegment, 0, used * stride);
+        arena.close();
+        arena = newArena;
+        segment = newSegment;
+        capacity = newCapacity;
+    }
+
+    /**
+     * Helper method to return the byte offset of a record.
+     *
+     * @param node the record index
+     * @return the offset of the record within the segment
+     */
+    private long offsetOf(int node) {
+        return node * stride;
+    }
+
+    /**
+     * Helper method to read an int field of a record.
+     *
+     * @param node the record index
+     * @param field the offset of the field within the record
+     * @return the value of the field
+     */
+    private int getInt(int node, long field) {
+        return segment.get(ValueLayout.JAVA_INT, offsetOf(node) + field);
+    }
+
+    /**
+     * Helper method to write an int field of a record.
+     *
+     * @param node the record index
+     * @param field the offset of the field within the record
+     * @param value the new value of the field
+     */
+    private void setInt(int node, long field, int value) {
+        segment.set(ValueLayout.JAVA_INT, offsetOf(node) + field, value);
+    }
+
+    /**
+     * Helper method to return the height of a possibly missing subtree.
+     *
+     * @param node the root record of the subtree, may be NIL
+     * @return the height of the subtree, 0 if node is NIL
+     */
+    private int heightOf(int node) {
+        return node == NIL ? 0 : getInt(node, HEIGHT);
+    }
+
+    /**
+     * Helper method to decode the key of a record.
+     *
+     * @param node the record index
+     * @return the decoded key
+     */
+    private E keyOf(int node) {
+        return codec.read(segment, offsetOf(node) + KEY);
+    }
+
+    /**
+     * Creates a lazy in-order iterator over the contents of the tree.
+     * Elements are returned in their natural (sorted) order.
+     *
+     * @return an iterator with elements in natural order
+     * @throws IllegalStateException if the tree has been closed
+     */
+    @Override
+    public Iterator<E> inorderIterator() {
+        ensureOpen();
+        return new RecordIterator() {
+            {
+                pushLeftSpine(root);
+            }
+
+            @Override
+            protected int advance() {
+                int node = pop();
+                pushLeftSpine(getInt(node, RIGHT));
+                return node;
+            }
+        };
+    }
+
+    /**
+     * Creates a lazy pre-order iterator over the contents of the tree.
+     * The root element comes first, followed by left subtree, then right subtree.
+     *
+     * @return an iterator with elements in pre-order
+     * @throws IllegalStateException if the tree has been closed
+     */
+    @Override
+    public Iterator<E> preorderIterator() {
+        ensureOpen();
+        return new RecordIterator() {
+            {
+                if (root != NIL) {
+                    push(root);
+                }
+            }
+
+            @Override
+            protected int advance() {
+                int node = pop();
+                if (getInt(node, RIGHT) != NIL) {
+                    push(getInt(node, RIGHT));
+                }
+                if (getInt(node, LEFT) != NIL) {
+                    push(getInt(node, LEFT));
+                }
+                return node;
+            }
+        };
+    }
+
+    /**
+     * Creates a lazy post-order iterator over the contents of the tree.
+     * The root element comes last, after left and right subtrees.
+     *
+     * @return an iterator with elements in post-order
+     * @throws IllegalStateException if the tree has been closed
+     */
+    @Override
+    public Iterator<E> postorderIterator() {
+        ensureOpen();
+        return new RecordIterator() {
+            {
+                pushFirstLeafPath(root);
+            }
+
+            @Override
+            protected int advance() {
+                int node = pop();
+                if (depth > 0 && getInt(stack[depth - 1], LEFT) == node) {
+                    pushFirstLeafPath(getInt(stack[depth - 1], RIGHT));
+                }
+                return node;
+            }
+        };
+    }
+
+    /**
+     * Base class for the lazy iterators. Pending records are kept on an int
+     * stack that never grows past the tree height, and every call to next()
+     * checks that the tree has not been modified or closed since the
+     * iterator was created.
+     */
+    private abstract class RecordIterator implements Iterator<E> {
+
+        /** Pending records, the next element's record being on top */
+        protected int[] stack = new int[Math.max(1, getHeight())];
+
+        /** Number of records on the stack */
+        protected int depth;
+
+        /** The modification count the tree is expected to have */
+        private final int expectedModCount = modCount;
+
+        /**
+         * Pushes a record onto the stack.
+         *
+         * @param node the record to push
+         */
+        protected void push(int node) {
+            if (depth == stack.length) {
+                stack = Arrays.copyOf(stack, depth * 2);
+            }
+            stack[depth++] = node;
+        }
+
+        /**
+         * Pops the top record off the stack.
+         *
+         * @return the popped record
+         */
+        protected int pop() {
+            return stack[--depth];
+        }
+
+        /**
+         * Pushes a record and all of its left descendants onto the stack.
+         *
+         * @param node the top of the spine, may be NIL
+         */
+        protected void pushLeftSpine(int node) {
+            while (node != NIL) {
+                push(node);
+                node = getInt(node, LEFT);
+            }
+        }
+
+        /**
+         * Pushes the path from a record down to the first leaf visited in
+         * post-order within its subtree.
+         *
+         * @param node the root of the subtree, may be NIL
+         */
+        protected void pushFirstLeafPath(int node) {
+            while (node != NIL) {
+                push(node);
+                int left = getInt(node, LEFT);
+                node = left != NIL ? left : getInt(node, RIGHT);
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            return depth > 0;
+        }
+
+        @Override
+        public E next() throws NoSuchElementException {
+            if (modCount != expectedModCount) {
+                throw new ConcurrentModificationException("Tree modified during iteration");
+            }
+            if (!hasNext()) {
+                throw new NoSuchElementException("No more elements in iteration");
+            }
+            return keyOf(advance());
+        }
+
+        /**
+         * Pops the next record in traversal order and pushes whatever records
+         * are needed to continue the traversal after it.
+         *
+         * @return the next record in traversal order
+         */
+        protected abstract int advance();
+    }
+
+    /**
+     * Off-heap trees hold their contents outside the object graph and
+     * cannot be serialized.
+     *
+     * @param out the stream the tree would be written to
+     * @throws IOException always, as a NotSerializableException
+     */
+    private void writeObject(ObjectOutputStream out) throws IOException {
+        throw new NotSerializableException(getClass().getName());
+    }
+
+    /**
+     * Returns a string representation of the tree using in-order traversal.
+     *
+     * @return string representation of the tree
+     */
+    @Override
+    public String toString() {
+        if (isClosed()) {
+            return "[closed]";
+        }
+        StringBuilder result = new StringBuilder("[");
+        Iterator<E> iterator = inorderIterator();
+
+        while (iterator.hasNext()) {
+            result.append(iterator.next());
+            if (iterator.hasNext()) {
+                result.append(", ");
+            }
+        }
+        return result.append("]").toString();
+    }
+}
@@ -0,0 +1,600 @@
+package implementations;
+
+import utilities.BSTreeADT;
+import utilities.Iterator;
+import java.io.IOException;
+import java.io.InvalidObjectException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.NoSuchElementException;
+
+/**
+ * PersistentBSTree is a Binary Search Tree built from immutable nodes.
+ * A mutation never changes an existing node: it copies the O(log n) nodes
+ * on the path from the root to the change, shares every other subtree
+ * with the previous version, and then publishes the new root. The tree is
+ * kept AVL-balanced so that the copied path stays logarithmic.
+ *
+ * Because old versions are never modified, snapshot() returns an
+ * independent copy of the tree in O(1) time, and readers of a snapshot
+ * need no locks while writers keep changing the original. Iterators work
+ * on the version that existed when they were created, so they never throw
+ * ConcurrentModificationException. Mutating methods are synchronized, so
+ * concurrent writers on the same tree do not lose each other's updates.
+ *
+ * Since nodes are private and immutable, getRoot(), search(), removeMin()
+ * and removeMax() return new, detached BSTreeNode instances holding the
+ * element.
+ *
+ * @param <E> the type of elements stored in this tree, must extend Comparable
+ * @author Your Name
+ * @version 1.0
+ */
+public class PersistentBSTree<E extends Comparable<? super E>> implements BSTreeADT<E> {
+
+    /** Serial version UID for serialization compatibility */
+    private static final long serialVersionUID = 1L;
+
+    /** The root of the current version, null if the tree is empty */
+    private transient volatile Node<E> root;
+
+    /**
+     * Constructs an empty persistent tree.
+     */
+    public PersistentBSTree() {
+        root = null;
+    }
+
+    /**
+     * Constructs a tree that starts out sharing the given version.
+     *
+     * @param root the root of the version to share, may be null
+     */
+    private PersistentBSTree(Node<E> root) {
+        this.root = root;
+    }
+
+    /**
+     * Returns an independent copy of the current contents of the tree in
+     * constant time. The copy shares all of its nodes with this tree; later
+     * changes to either tree copy the nodes they touch and are not seen by
+     * the other.
+     *
+     * @return a new tree holding the current version
+     */
+    public PersistentBSTree<E> snapshot() {
+        return new PersistentBSTree<>(root);
+    }
+
+    /**
+     * Returns a detached node holding the element at the root of the tree.
+     *
+     * @return a new node holding the root element
+     * @throws NullPointerException if the tree is empty and there is no root node
+     */
+    @Override
+    public BSTreeNode<E> getRoot() throws NullPointerException {
+        Node<E> current = root;
+        if (current == null) {
+            throw new NullPointerException("Tree is empty - no root node exists");
+        }
+        return new BSTreeNode<>(current.data);
+    }
+
+    /**
+     * Returns the height of the tree, a single node having height 1 and an
+     * empty tree having height 0. Runs in constant time.
+     *
+     * @return the height of the tree
+     */
+    @Override
+    public int getHeight() {
+        return heightOf(root);
+    }
+
+    /**
+     * Returns the number of elements currently stored in the tree.
+     * Runs in constant time.
+     *
+     * @return the number of elements in the tree
+     */
+    @Override
+    public int size() {
+        return sizeOf(root);
+    }
+
+    /**
+     * Checks if the tree is currently empty.
+     *
+     * @return true if the tree is empty, false otherwise
+     */
+    @Override
+    public boolean isEmpty() {
+        return root == null;
+    }
+
+    /**
+     * Removes all elements from the tree. Snapshots taken earlier keep
+     * their contents.
+     */
+    @Override
+    public synchronized void clear() {
+        root = null;
+    }
+
+    /**
+     * Checks if the tree contains the specified element.
+     *
+     * @param entry the element to search for in the tree
+     * @return true if the element is found in the tree, false otherwise
+     * @throws NullPointerException if the entry being passed in is null
+     */
+    @Override
+    public boolean contains(E entry) throws NullPointerException {
+        return find(entry) != null;
+    }
+
+    /**
+     * Searches for the specified element and returns a detached node holding it.
+     *
+     * @param entry the element to search for
+     * @return a new node holding the element, or null if not found
+     * @throws NullPointerException if the entry being passed in is null
+     */
+    @Override
+    public BSTreeNode<E> search(E entry) throws NullPointerException {
+        Node<E> node = find(entry);
+        return node == null ? null : new BSTreeNode<>(node.data);
+    }
+
+    /**
+     * Helper method to find the node holding an element in the current version.
+     *
+     * @param entry the element to look for
+     * @return the node holding the element, or null if not found
+     * @throws NullPointerException if entry is null
+     */
+    private Node<E> find(E entry) throws NullPointerException {
+        if (entry == null) {
+            throw new NullPointerException("Entry cannot be null");
+        }
+        Node<E> node = root;
+        while (node != null) {
+            int comparison = entry.compareTo(node.data);
+
+            if (comparison == 0) {
+                return node;
+            }
+            node = comparison < 0 ? node.left : node.right;
+        }
+        return null;
+    }
+
+    /**
+     * Adds a new element to the tree according to its natural ordering,
+     * copying the path from the root to the new leaf. Duplicate elements
+     * are not added.
+     *
+     * @param newEntry the element to add to the tree
+     * @return true if the element was added successfully, false if it already exists
+     * @throws NullPointerException if the newEntry being passed in is null
+     */
+    @Override
+    public synchronized boolean add(E newEntry) throws NullPointerException {
+        if (newEntry == null) {
+            throw new NullPointerException("New entry cannot be null");
+        }
+        Node<E> current = root;
+        Node<E> updated = insert(current, newEntry);
+        if (updated == current) {
+            return false;
+        }
+        root = updated;
+        return true;
+    }
+
+    /**
+     * Helper method to insert an element below a node, returning the
+     * rebalanced copy of the subtree.
+     *
+     * @param node the root of the subtree, may be null
+     * @param entry the element to insert
+     * @return the new subtree root, or node itself if entry was already present
+     */
+    private Node<E> insert(Node<E> node, E entry) {
+        if (node == null) {
+            return new Node<>(entry, null, null);
+        }
+
+        int comparison = entry.compareTo(node.data);
+        if (comparison < 0) {
+            Node<E> left = insert(node.left, entry);
+            return left == node.left ? node : balance(node.data, left, node.right);
+        } else if (comparison > 0) {
+            Node<E> right = insert(node.right, entry);
+            return right == node.right ? node : balance(node.data, node.left, right);
+        }
+        return node;
+    }
+
+    /**
+     * Removes the smallest element in the tree, copying the path to it.
+     *
+     * @return a detached node holding the removed element, or null if the tree is empty
+     */
+    @Override
+    public synchronized BSTreeNode<E> removeMin() {
+        Node<E> current = root;
+        if (current == null) {
+            return null;
+        }
+        Node<E> node = current;
+        while (node.left != null) {
+            node = node.left;
+        }
+        root = withoutMin(current);
+        return new BSTreeNode<>(node.data);
+    }
+
+    /**
+     * Removes the largest element in the tree, copying the path to it.
+     *
+     * @return a detached node holding the removed element, or null if the tree is empty
+     */
+    @Override
+    public synchronized BSTreeNode<E> removeMax() {
+        Node<E> current = root;
+        if (current == null) {
+            return null;
+        }
+        Node<E> node = current;
+        while (node.right != null) {
+            node = node.right;
+        }
+        root = withoutMax(current);
+        return new BSTreeNode<>(node.data);
+    }
+
+    /**
+     * Helper method to return a rebalanced copy of a subtree without its
+     * smallest element.
+     *
+     * @param node the root of a non-empty subtree
+     * @return the new subtree root, may be null
+     */
+    private Node<E> withoutMin(Node<E> node) {
+        if (node.left == null) {
+            return node.right;
+        }
+        return balance(node.data, withoutMin(node.left), node.right);
+    }
+
+    /**
+     * Helper method to return a rebalanced copy of a subtree without its
+     * largest element.
+     *
+     * @param node the root of a non-empty subtree
+     * @return the new subtree root, may be null
+     */
+    private Node<E> withoutMax(Node<E> node) {
+        if (node.right == null) {
+            return node.left;
+        }
+        return balance(node.data, node.left, withoutMax(node.right));
+    }
+
+    /**
+     * Helper method to create a node from an element and two subtrees whose
+     * heights differ by at most two, applying the single or double AVL
+     * rotation needed to restore the balance. Only new nodes are created;
+     * the subtrees passed in are never modified.
+     *
+     * @param data the element of the new node
+     * @param left the left subtree, may be null
+     * @param right the right subtree, may be null
+     * @return the root of the balanced subtree
+     */
+    private static <E> Node<E> balance(E data, Node<E> left, Node<E> right) {
+        int difference = heightOf(left) - heightOf(right);
+
+        if (difference > 1) {
+            if (heightOf(left.left) >= heightOf(left.right)) {
+                return new Node<>(left.data, left.left, new Node<>(data, left.right, right));
+            }
+            Node<E> pivot = left.right;
+            return new Node<>(pivot.data, new Node<>(left.data, left.left, pivot.left),
+                    new Node<>(data, pivot.right, right));
+        }
+        if (difference < -1) {
+            if (heightOf(right.right) >= heightOf(right.left)) {
+                return new Node<>(right.data, new Node<>(data, left, right.left), right.right);
+            }
+            Node<E> pivot = right.left;
+            return new Node<>(pivot.data, new Node<>(data, left, pivot.left),
+                    new Node<>(right.data, pivot.right, right.right));
+        }
+        return new Node<>(data, left, right);
+    }
+
+    /**
+     * Helper method to return the height of a possibly empty subtree.
+     *
+     * @param node the root of the subtree, may be null
+     * @return the height of the subtree, 0 if node is null
+     */
+    private static int heightOf(Node<?> node) {
+        return node == null ? 0 : node.height;
+    }
+
+    /**
+     * Helper method to return the number of elements in a possibly empty subtree.
+     *
+     * @param node the root of the subtree, may be null
+     * @return the number of elements in the subtree, 0 if node is null
+     */
+    private static int sizeOf(Node<?> node) {
+        return node == null ? 0 : node.size;
+    }
+
+    /**
+     * Creates a lazy in-order iterator over the version of the tree that
+     * exists when this method is called. Elements are returned in their
+     * natural (sorted) order.
+     *
+     * @return an iterator with elements in natural order
+     */
+    @Override
+    public Iterator<E> inorderIterator() {
+        return new VersionIterator() {
+            {
+                pushLeftSpine(root);
+            }
+
+            @Override
+            protected Node<E> advance() {
+                Node<E> node = stack.pop();
+                pushLeftSpine(node.right);
+                return node;
+            }
+        };
+    }
+
+    /**
+     * Creates a lazy pre-order iterator over the version of the tree that
+     * exists when this method is called. The root element comes first,
+     * followed by left subtree, then right subtree.
+     *
+     * @return an iterator with elements in pre-order
+     */
+    @Override
+    public Iterator<E> preorderIterator() {
+        return new VersionIterator() {
+            {
+                Node<E> current = root;
+                if (current != null) {
+                    stack.push(current);
+                }
+            }
+
+            @Override
+            protected Node<E> advance() {
+                Node<E> node = stack.pop();
+                if (node.right != null) {
+                    stack.push(node.right);
+                }
+                if (node.left != null) {
+                    stack.push(node.left);
+                }
+                return node;
+            }
+        };
+    }
+
+    /**
+     * Creates a lazy post-order iterator over the version of the tree that
+     * exists when this method is called. The root element comes last,
+     * after left and right subtrees.
+     *
+     * @return an iterator with elements in post-order
+     */
+    @Override
+    public Iterator<E> postorderIterator() {
+        return new VersionIterator() {
+            {
+                pushFirstLeafPath(root);
+            }
+
+            @Override
+            protected Node<E> advance() {
+                Node<E> node = stack.pop();
+                Node<E> parent = stack.peek();
+                if (parent != null && parent.left == node) {
+                    pushFirstLeafPath(parent.right);
+                }
+                return node;
+            }
+        };
+    }
+
+    /**
+     * Base class for the lazy iterators. Since nodes are immutable, an
+     * iterator simply walks the version it started from with an explicit
+     * stack of pending nodes, unaffected by later changes to the tree.
+     */
+    private abstract class VersionIterator implements Iterator<E> {
+
+        /** Pending nodes, the next element's node being on top */
+        protected final Deque<Node<E>> stack = new ArrayDeque<>();
+
+        /**
+         * Pushes a node and all of its left descendants onto the stack.
+         *
+         * @param node the top of the spine, may be null
+         */
+        protected void pushLeftSpine(Node<E> node) {
+            while (node != null) {
+                stack.push(node);
+                node = node.left;
+            }
+        }
+
+        /**
+         * Pushes the path from a node down to the first leaf visited in
+         * post-order within its subtree.
+         *
+         * @param node the root of the subtree, may be null
+         */
+        protected void pushFirstLeafPath(Node<E> node) {
+            while (node != null) {
+                stack.push(node);
+                node = node.left != null ? node.left : node.right;
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            return !stack.isEmpty();
+        }
+
+        @Override
+        public E next() throws NoSuchElementException {
+            if (!hasNext()) {
+                throw new NoSuchElementException("No more elements in iteration");
+            }
+            return advance().data;
+        }
+
+        /**
+         * Pops the next node in traversal order and pushes whatever nodes
+         * are needed to continue the traversal after it.
+         *
+         * @return the next node in traversal order
+         */
+        protected abstract Node<E> advance();
+    }
+
+    /**
+     * Writes the current version as the number of elements followed by the
+     * elements in ascending order.
+     *
+     * @param out the stream to write to
+     * @throws IOException if the stream cannot be written
+     * @serialData the number of elements, then each element in ascending order
+     */
+    private void writeObject(ObjectOutputStream out) throws IOException {
+        out.defaultWriteObject();
+        PersistentBSTree<E> version = snapshot();
+        out.writeInt(version.size());
+        Iterator<E> iterator = version.inorderIterator();
+        while (iterator.hasNext()) {
+            out.writeObject(iterator.next());
+        }
+    }
+
+    /**
+     * Reads a tree written by writeObject and rebuilds it perfectly balanced.
+     *
+     * @param in the stream to read from
+     * @throws IOException if the stream cannot be read or holds an invalid tree
+     * @throws ClassNotFoundException if a class in the stream cannot be found
+     */
+    @SuppressWarnings("unchecked")
+    private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+        in.defaultReadObject();
+        int count = in.readInt();
+        if (count < 0) {
+            throw new InvalidObjectException("Negative size: " + count);
+        }
+
+        Object[] sorted = new Object[count];
+        for (int i = 0; i < count; i++) {
+            sorted[i] = in.readObject();
+            if (sorted[i] == null) {
+                throw new InvalidObjectException("Null element in stream");
+            }
+            if (i > 0 && ((E) sorted[i - 1]).compareTo((E) sorted[i]) >= 0) {
+                throw new InvalidObjectException("Elements out of order in stream");
+            }
+        }
+        root = buildBalanced(sorted, 0, count);
+    }
+
+    /**
+     * Helper method to build a perfectly balanced subtree from a sorted
+     * range of elements by making the middle element its root.
+     *
+     * @param sorted the elements in strictly ascending order
+     * @param from the first index of the range, inclusive
+     * @param to the last index of the range, exclusive
+     * @return the root of the new subtree, or null if the range is empty
+     */
+    @SuppressWarnings("unchecked")
+    private static <E> Node<E> buildBalanced(Object[] sorted, int from, int to) {
+        if (from >= to) {
+            return null;
+        }
+        int middle = (from + to) >>> 1;
+        return new Node<>((E) sorted[middle], buildBalanced(sorted, from, middle),
+                buildBalanced(sorted, middle + 1, to));
+    }
+
+    /**
+     * Returns a string representation of the tree using in-order traversal.
+     *
+     * @return string representation of the tree
+     */
+    @Override
+    public String toString() {
+        StringBuilder result = new StringBuilder("[");
+        Iterator<E> iterator = inorderIterator();
+
+        while (iterator.hasNext()) {
+            result.append(iterator.next());
+            if (iterator.hasNext()) {
+                result.append(", ");
+            }
+        }
+        return result.append("]").toString();
+    }
+
+    /**
+     * An immutable tree node. Its height and subtree size are computed once
+     * from its children, which can therefore be shared between versions.
+     *
+     * @param <E> the type of element stored in the node
+     */
+    private static final class Node<E> {
+
+        /** The element stored in this node */
+        final E data;
+
+        /** The left subtree, null if none */
+        final Node<E> left;
+
+        /** The right subtree, null if none */
+        final Node<E> right;
+
+        /** The height of the subtree rooted at this node */
+        final int height;
+
+        /** The number of elements in the subtree rooted at this node */
+        final int size;
+
+        /**
+         * Constructs a node over two existing subtrees.
+         *
+         * @param data the element to store
+         * @param left the left subtree, may be null
+         * @param right the right subtree, may be null
+         */
+        Node(E data, Node<E> left, Node<E> right) {
+            this.data = data;
+            this.left = left;
+            this.right = right;
+            this.height = 1 + Math.max(heightOf(left), heightOf(right));
+            this.size = 1 + sizeOf(left) + sizeOf(right);
+        }
+    }
+}
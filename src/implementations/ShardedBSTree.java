@@ -0,0 +1,686 @@
+package implementations;
+
+import utilities.BSTreeADT;
+import utilities.Iterator;
+import java.io.IOException;
+import java.io.InvalidObjectException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.function.Function;
+
+/**
+ * ShardedBSTree is a thread-safe ordered set that splits the key space into
+ * a fixed number of ranges, each held by its own ConcurrentBSTree with its
+ * own lock. Writers whose elements fall into different ranges therefore
+ * run in parallel instead of queueing on a single tree.
+ *
+ * The range boundaries are chosen from the data: the tree starts out with
+ * a single shard, and once it first holds sampleSize elements it splits
+ * them into equal-sized ranges, taking the boundaries from that first
+ * batch. Until then writes are serialized. The boundaries never change
+ * afterwards, so skewed later data can leave the shards uneven.
+ *
+ * Elements are routed by a binary search over the boundaries. Iteration
+ * visits the shards in key order, so the in-order iterator returns every
+ * element in sorted order; the pre-order and post-order iterators return
+ * each shard in turn in that order. Iterators, size() and removeMin()
+ * and removeMax() work shard by shard: they are exact when no other
+ * thread is writing, and otherwise reflect each shard at a slightly
+ * different moment.
+ *
+ * getRoot(), search(), removeMin() and removeMax() return new, detached
+ * BSTreeNode instances holding the element.
+ *
+ * @param <E> the type of elements stored in this tree, must extend Comparable
+ * @author Your Name
+ * @version 1.0
+ */
+public class ShardedBSTree<E extends Comparable<? super E>> implements BSTreeADT<E> {
+
+    /** Serial version UID for serialization compatibility */
+    private static final long serialVersionUID = 1L;
+
+    /** Number of elements sampled per shard by the default constructors */
+    private static final int DEFAULT_SAMPLE_PER_SHARD = 1024;
+
+    /** Number of shards to create once the boundaries are chosen */
+    private final int shardCount;
+
+    /** Number of elements the tree must hold before it is split into shards */
+    private final int sampleSize;
+
+    /** The current boundaries and shards, replaced only once when splitting */
+    private transient volatile Layout<E> layout;
+
+    /**
+     * Constructs an empty sharded tree with one shard per available processor.
+     */
+    public ShardedBSTree() {
+        this(Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Constructs an empty sharded tree that splits into the given number of
+     * shards after its first 1024 elements per shard.
+     *
+     * @param shardCount the number of shards
+     * @throws IllegalArgumentException if shardCount is less than 1
+     */
+    public ShardedBSTree(int shardCount) throws IllegalArgumentException {
+        this(shardCount, Math.max(1, shardCount) * DEFAULT_SAMPLE_PER_SHARD);
+    }
+
+    /**
+     * Constructs an empty sharded tree that splits into the given number of
+     * shards once it holds sampleSize elements.
+     *
+     * @param shardCount the number of shards
+     * @param sampleSize the number of elements the boundaries are chosen from
+     * @throws IllegalArgumentException if shardCount is less than 1 or
+     *         sampleSize is less than shardCount
+     */
+    public ShardedBSTree(int shardCount, int sampleSize) throws IllegalArgumentException {
+        if (shardCount < 1) {
+            throw new IllegalArgumentException("Shard count must be positive: " + shardCount);
+        }
+        if (sampleSize < shardCount) {
+            throw new IllegalArgumentException("Sample size must be at least the shard count: " + sampleSize);
+        }
+        this.shardCount = shardCount;
+        this.sampleSize = sampleSize;
+        this.layout = new Layout<E>(new Object[0], List.of(new ConcurrentBSTree<E>(true)), shardCount == 1);
+    }
+
+    /**
+     * Returns the number of shards the tree currently uses, which is 1
+     * until the boundaries have been chosen.
+     *
+     * @return the number of shards
+     */
+    public int getShardCount() {
+        return layout.shards.size();
+    }
+
+    /**
+     * Checks whether the tree has chosen its boundaries and split into shards.
+     *
+     * @return true once the tree is sharded
+     */
+    public boolean isPartitioned() {
+        return layout.partitioned;
+    }
+
+    /**
+     * Helper method to split the single shard into ranges, taking the
+     * boundaries at equal intervals of its sorted contents. Must be called
+     * while holding the monitor of this tree, before the tree is partitioned.
+     */
+    private void partition() {
+        ConcurrentBSTree<E> single = layout.shards.get(0);
+        List<E> sorted = new ArrayList<>(single.size());
+        Iterator<E> iterator = single.inorderIterator();
+        while (iterator.hasNext()) {
+            sorted.add(iterator.next());
+        }
+
+        int count = sorted.size();
+        Object[] bounds = new Object[shardCount - 1];
+        List<ConcurrentBSTree<E>> shards = new ArrayList<>(shardCount);
+        for (int i = 0; i < shardCount; i++) {
+            int from = (int) ((long) i * count / shardCount);
+            int to = (int) ((long) (i + 1) * count / shardCount);
+            if (i > 0) {
+                bounds[i - 1] = sorted.get(from);
+            }
+            ConcurrentBSTree<E> shard = new ConcurrentBSTree<>(true);
+            shard.addAll(sorted.subList(from, to));
+            shards.add(shard);
+        }
+        layout = new Layout<>(bounds, List.copyOf(shards), true);
+    }
+
+    /**
+     * Helper method to run a write against the shard an element belongs to.
+     * Before the tree is partitioned, writes are serialized, so that none
+     * can be lost while the contents are copied into the new shards, and
+     * the tree is split as soon as it holds enough elements.
+     *
+     * @param entry the element that selects the shard
+     * @param write the write to run on that shard
+     * @return the result of the write
+     */
+    private <R> R write(E entry, Function<ConcurrentBSTree<E>, R> write) {
+        Layout<E> current = layout;
+        if (!current.partitioned) {
+            synchronized (this) {
+                current = layout;
+                if (!current.partitioned) {
+                    R result = write.apply(current.shards.get(0));
+                    if (current.shards.get(0).size() >= sampleSize) {
+                        partition();
+                    }
+                    return result;
+                }
+            }
+        }
+        return write.apply(current.shardFor(entry));
+    }
+
+    /**
+     * Helper method to run a read against the shard an element belongs to,
+     * retrying if the tree was split while it ran so that the read never
+     * misses a write made to the new shards.
+     *
+     * @param entry the element that selects the shard
+     * @param read the read to run on that shard
+     * @return the result of the read
+     */
+    private <R> R read(E entry, Function<ConcurrentBSTree<E>, R> read) {
+        while (true) {
+            Layout<E> current = layout;
+            R result = read.apply(current.shardFor(entry));
+            if (layout == current) {
+                return result;
+            }
+        }
+    }
+
+    /**
+     * Returns a detached node holding the root element of the middle
+     * non-empty shard.
+     *
+     * @return a new node holding the root element
+     * @throws NullPointerException if the tree is empty and there is no root node
+     */
+    @Override
+    public BSTreeNode<E> getRoot() throws NullPointerException {
+        List<ConcurrentBSTree<E>> nonEmpty = new ArrayList<>();
+        for (ConcurrentBSTree<E> shard : layout.shards) {
+            if (!shard.isEmpty()) {
+                nonEmpty.add(shard);
+            }
+        }
+        if (nonEmpty.isEmpty()) {
+            throw new NullPointerException("Tree is empty - no root node exists");
+        }
+        return nonEmpty.get(nonEmpty.size() / 2).getRoot();
+    }
+
+    /**
+     * Returns the height of the tallest shard.
+     *
+     * @return the height of the tree
+     */
+    @Override
+    public int getHeight() {
+        int height = 0;
+        for (ConcurrentBSTree<E> shard : layout.shards) {
+            height = Math.max(height, shard.getHeight());
+        }
+        return height;
+    }
+
+    /**
+     * Returns the number of elements, summed over the shards.
+     *
+     * @return the number of elements in the tree
+     */
+    @Override
+    public int size() {
+        int size = 0;
+        for (ConcurrentBSTree<E> shard : layout.shards) {
+            size += shard.size();
+        }
+        return size;
+    }
+
+    /**
+     * Checks if every shard is empty.
+     *
+     * @return true if the tree is empty, false otherwise
+     */
+    @Override
+    public boolean isEmpty() {
+        for (ConcurrentBSTree<E> shard : layout.shards) {
+            if (!shard.isEmpty()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Removes all elements from every shard. The boundaries are kept.
+     */
+    @Override
+    public synchronized void clear() {
+        for (ConcurrentBSTree<E> shard : layout.shards) {
+            shard.clear();
+        }
+    }
+
+    /**
+     * Checks if the tree contains the specified element.
+     *
+     * @param entry the element to search for in the tree
+     * @return true if the element is found in the tree, false otherwise
+     * @throws NullPointerException if the entry being passed in is null
+     */
+    @Override
+    public boolean contains(E entry) throws NullPointerException {
+        if (entry == null) {
+            throw new NullPointerException("Entry cannot be null");
+        }
+        return read(entry, shard -> shard.contains(entry));
+    }
+
+    /**
+     * Searches for the specified element and returns a detached node holding it.
+     *
+     * @param entry the element to search for
+     * @return a new node holding the element, or null if not found
+     * @throws NullPointerException if the entry being passed in is null
+     */
+    @Override
+    public BSTreeNode<E> search(E entry) throws NullPointerException {
+        if (entry == null) {
+            throw new NullPointerException("Entry cannot be null");
+        }
+        return read(entry, shard -> shard.search(entry));
+    }
+
+    /**
+     * Adds a new element to the shard its range belongs to. Duplicate
+     * elements are not added.
+     *
+     * @param newEntry the element to add to the tree
+     * @return true if the element was added successfully, false if it already exists
+     * @throws NullPointerException if the newEntry being passed in is null
+     */
+    @Override
+    public boolean add(E newEntry) throws NullPointerException {
+        if (newEntry == null) {
+            throw new NullPointerException("New entry cannot be null");
+        }
+        return write(newEntry, shard -> shard.add(newEntry));
+    }
+
+    /**
+     * Adds every element of a collection, grouping the elements by shard so
+     * that each shard is locked once. Before the tree is partitioned, the
+     * elements are added in order until the sample is complete, and the
+     * rest are then added to the new shards.
+     *
+     * @param entries the elements to add
+     * @return the number of elements that were not already in the tree
+     * @throws NullPointerException if the collection or any of its elements is null
+     */
+    @Override
+    public int addAll(Collection<? extends E> entries) throws NullPointerException {
+        if (entries == null) {
+            throw new NullPointerException("Entries cannot be null");
+        }
+        Object[] batch = entries.toArray();
+        for (Object entry : batch) {
+            if (entry == null) {
+                throw new NullPointerException("Entry cannot be null");
+            }
+        }
+
+        int added = 0;
+        int next = 0;
+        if (!layout.partitioned) {
+            synchronized (this) {
+                while (next < batch.length && !layout.partitioned) {
+                    added += add(elementOf(batch[next++])) ? 1 : 0;
+                }
+            }
+        }
+
+        Layout<E> current = layout;
+        List<List<E>> groups = new ArrayList<>(current.shards.size());
+        for (int i = 0; i < current.shards.size(); i++) {
+            groups.add(new ArrayList<>());
+        }
+        for (; next < batch.length; next++) {
+            E entry = elementOf(batch[next]);
+            groups.get(current.indexFor(entry)).add(entry);
+        }
+        for (int i = 0; i < groups.size(); i++) {
+            if (!groups.get(i).isEmpty()) {
+                added += current.shards.get(i).addAll(groups.get(i));
+            }
+        }
+        return added;
+    }
+
+    /**
+     * Adds every element of an array, grouping the elements by shard.
+     *
+     * @param entries the elements to add
+     * @return the number of elements that were not already in the tree
+     * @throws NullPointerException if the array or any of its elements is null
+     */
+    @Override
+    public int addAll(E[] entries) throws NullPointerException {
+        if (entries == null) {
+            throw new NullPointerException("Entries cannot be null");
+        }
+        return addAll(Arrays.asList(entries));
+    }
+
+    /**
+     * Helper method to cast an element taken from an Object array.
+     *
+     * @param entry the element
+     * @return the element as an E
+     */
+    @SuppressWarnings("unchecked")
+    private E elementOf(Object entry) {
+        return (E) entry;
+    }
+
+    /**
+     * Removes the smallest element of the first non-empty shard, which is
+     * the smallest element in the tree unless another thread adds to a
+     * lower shard at the same time.
+     *
+     * @return a detached node holding the removed element, or null if the tree is empty
+     */
+    @Override
+    public BSTreeNode<E> removeMin() {
+        Layout<E> current = layout;
+        if (!current.partitioned) {
+            synchronized (this) {
+                current = layout;
+                if (!current.partitioned) {
+                    return current.shards.get(0).removeMin();
+                }
+            }
+        }
+
+        BSTreeNode<E> removed = null;
+        for (int i = 0; i < current.shards.size() && removed == null; i++) {
+            removed = current.shards.get(i).removeMin();
+        }
+        return removed;
+    }
+
+    /**
+     * Removes the largest element of the last non-empty shard, which is
+     * the largest element in the tree unless another thread adds to a
+     * higher shard at the same time.
+     *
+     * @return a detached node holding the removed element, or null if the tree is empty
+     */
+    @Override
+    public BSTreeNode<E> removeMax() {
+        Layout<E> current = layout;
+        if (!current.partitioned) {
+            synchronized (this) {
+                current = layout;
+                if (!current.partitioned) {
+                    return current.shards.get(0).removeMax();
+                }
+            }
+        }
+
+        BSTreeNode<E> removed = null;
+        for (int i = current.shards.size() - 1; i >= 0 && removed == null; i--) {
+            removed = current.shards.get(i).removeMax();
+        }
+        return removed;
+    }
+
+    /**
+     * Creates an iterator that returns every element in natural (sorted)
+     * order by visiting the shards in key order.
+     *
+     * @return an iterator with elements in natural order
+     */
+    @Override
+    public Iterator<E> inorderIterator() {
+        return new ShardIterator(ConcurrentBSTree::inorderIterator);
+    }
+
+    /**
+     * Creates an iterator that visits the shards in key order and each
+     * shard in pre-order.
+     *
+     * @return an iterator with each shard's elements in pre-order
+     */
+    @Override
+    public Iterator<E> preorderIterator() {
+        return new ShardIterator(ConcurrentBSTree::preorderIterator);
+    }
+
+    /**
+     * Creates an iterator that visits the shards in key order and each
+     * shard in post-order.
+     *
+     * @return an iterator with each shard's elements in post-order
+     */
+    @Override
+    public Iterator<E> postorderIterator() {
+        return new ShardIterator(ConcurrentBSTree::postorderIterator);
+    }
+
+    /**
+     * Iterator that chains iterators over the shards in key order. Each
+     * shard's iterator is a copy taken when the iteration reaches that shard.
+     */
+    private class ShardIterator implements Iterator<E> {
+
+        /** The shards to visit */
+        private final List<ConcurrentBSTree<E>> shards = layout.shards;
+
+        /** Creates the iterator over one shard */
+        private final Function<ConcurrentBSTree<E>, Iterator<E>> order;
+
+        /** Index of the shard after the current one */
+        private int nextShard;
+
+        /** Iterator over the current shard */
+        private Iterator<E> current;
+
+        /**
+         * Constructs an iterator positioned before the first element.
+         *
+         * @param order creates the iterator used for each shard
+         */
+        ShardIterator(Function<ConcurrentBSTree<E>, Iterator<E>> order) {
+            this.order = order;
+        }
+
+        @Override
+        public boolean hasNext() {
+            while ((current == null || !current.hasNext()) && nextShard < shards.size()) {
+                current = order.apply(shards.get(nextShard++));
+            }
+            return current != null && current.hasNext();
+        }
+
+        @Override
+        public E next() throws NoSuchElementException {
+            if (!hasNext()) {
+                throw new NoSuchElementException("No more elements in iteration");
+            }
+            return current.next();
+        }
+    }
+
+    /**
+     * Returns a string representation of the tree using in-order traversal.
+     *
+     * @return string representation of the tree
+     */
+    @Override
+    public String toString() {
+        StringBuilder result = new StringBuilder("[");
+        Iterator<E> iterator = inorderIterator();
+
+        while (iterator.hasNext()) {
+            result.append(iterator.next());
+            if (iterator.hasNext()) {
+                result.append(", ");
+            }
+        }
+        return result.append("]").toString();
+    }
+
+    /**
+     * Writes the shard settings followed by the current layout. The monitor
+     * is held so that the tree cannot be split while it is written; each
+     * shard serializes itself under its own read lock.
+     *
+     * @param out the stream to write to
+     * @throws IOException if the stream cannot be written
+     * @serialData the shard count and sample size, the partitioned flag, the
+     *             number of boundaries, each boundary, then each shard
+     */
+    private void writeObject(ObjectOutputStream out) throws IOException {
+        synchronized (this) {
+            out.defaultWriteObject();
+            Layout<E> current = layout;
+            out.writeBoolean(current.partitioned);
+            out.writeInt(current.bounds.length);
+            for (Object bound : current.bounds) {
+                out.writeObject(bound);
+            }
+            for (ConcurrentBSTree<E> shard : current.shards) {
+                out.writeObject(shard);
+            }
+        }
+    }
+
+    /**
+     * Reads a tree written by writeObject, checking that the boundaries are
+     * in ascending order and that every shard only holds elements between
+     * its boundaries, so that lookups are routed to the shard that holds
+     * them.
+     *
+     * @param in the stream to read from
+     * @throws IOException if the stream cannot be read or holds an invalid tree
+     * @throws ClassNotFoundException if a class in the stream cannot be found
+     */
+    @SuppressWarnings("unchecked")
+    private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+        in.defaultReadObject();
+        boolean partitioned = in.readBoolean();
+        int boundCount = in.readInt();
+        if (boundCount < 0 || boundCount >= Math.max(shardCount, 1) || (!partitioned && boundCount != 0)) {
+            throw new InvalidObjectException("Invalid number of boundaries: " + boundCount);
+        }
+
+        Object[] bounds = new Object[boundCount];
+        for (int i = 0; i < boundCount; i++) {
+            bounds[i] = in.readObject();
+            if (bounds[i] == null || (i > 0 && ((E) bounds[i - 1]).compareTo((E) bounds[i]) >= 0)) {
+                throw new InvalidObjectException("Boundaries out of order in stream");
+            }
+        }
+        List<ConcurrentBSTree<E>> shards = new ArrayList<>(boundCount + 1);
+        for (int i = 0; i <= boundCount; i++) {
+            ConcurrentBSTree<E> shard = (ConcurrentBSTree<E>) in.readObject();
+            if (shard == null) {
+                throw new InvalidObjectException("Missing shard in stream");
+            }
+            checkShard(shard, i == 0 ? null : (E) bounds[i - 1], i == boundCount ? null : (E) bounds[i]);
+            shards.add(shard);
+        }
+        layout = new Layout<>(bounds, List.copyOf(shards), partitioned);
+    }
+
+    /**
+     * Helper method to check that the smallest and largest elements of a
+     * shard read back lie within its boundaries.
+     *
+     * @param shard the shard to check
+     * @param low the lowest element the shard may hold, or null for no limit
+     * @param high the first element the shard may not hold, or null for no limit
+     * @throws InvalidObjectException if an element lies outside the boundaries
+     */
+    private static <E extends Comparable<? super E>> void checkShard(ConcurrentBSTree<E> shard, E low, E high)
+            throws InvalidObjectException {
+        Iterator<E> iterator = shard.inorderIterator();
+        if (!iterator.hasNext()) {
+            return;
+        }
+        E smallest = iterator.next();
+        E largest = smallest;
+        while (iterator.hasNext()) {
+            largest = iterator.next();
+        }
+        if ((low != null && smallest.compareTo(low) < 0) || (high != null && largest.compareTo(high) >= 0)) {
+            throw new InvalidObjectException("Shard holds elements outside its boundaries");
+        }
+    }
+
+    /**
+     * The boundaries and shards in use. Shard i holds the elements from
+     * boundary i - 1 (inclusive) up to boundary i (exclusive).
+     *
+     * @param <E> the type of elements stored in the tree
+     */
+    private static final class Layout<E extends Comparable<? super E>> {
+
+        /** The lowest element of every shard but the first, in ascending order */
+        final Object[] bounds;
+
+        /** The shards in key order */
+        final List<ConcurrentBSTree<E>> shards;
+
+        /** Whether the boundaries have been chosen */
+        final boolean partitioned;
+
+        /**
+         * Constructs a layout.
+         *
+         * @param bounds the boundaries, one fewer than the shards
+         * @param shards the shards in key order
+         * @param partitioned whether the boundaries are final
+         */
+        Layout(Object[] bounds, List<ConcurrentBSTree<E>> shards, boolean partitioned) {
+            this.bounds = bounds;
+            this.shards = shards;
+            this.partitioned = partitioned;
+        }
+
+        /**
+         * Returns the index of the shard an element belongs to: the number
+         * of boundaries not above it, found by binary search.
+         *
+         * @param entry the element to route
+         * @return the index of its shard
+         */
+        @SuppressWarnings("unchecked")
+        int indexFor(E entry) {
+            int low = 0;
+            int high = bounds.length;
+            while (low < high) {
+                int middle = (low + high) >>> 1;
+                if (entry.compareTo((E) bounds[middle]) < 0) {
+                    high = middle;
+                } else {
+                    low = middle + 1;
+                }
+            }
+            return low;
+        }
+
+        /**
+         * Returns the shard an element belongs to.
+         *
+         * @param entry the element to route
+         * @return its shard
+         */
+        ConcurrentBSTree<E> shardFor(E entry) {
+            return shards.get(indexFor(entry));
+        }
+    }
+}
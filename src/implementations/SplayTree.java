@@ -0,0 +1,621 @@
+package implementations;
+
+import utilities.BSTreeADT;
+import utilities.Iterator;
+import java.io.IOException;
+import java.io.InvalidObjectException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.ArrayDeque;
+import java.util.ConcurrentModificationException;
+import java.util.Deque;
+import java.util.NoSuchElementException;
+
+/**
+ * SplayTree is a self-adjusting Binary Search Tree. Every add, contains,
+ * search, removeMin and removeMax splays the element it reaches to the
+ * root with the top-down splay of Sleator and Tarjan, so elements that are
+ * looked up often stay near the top. On skewed workloads, such as word
+ * lookups that follow a Zipf distribution, the most frequent keys are found
+ * after a few comparisons, while any sequence of m operations still costs
+ * O(m log n) in total.
+ *
+ * Since lookups change the shape of the tree, they count as modifications
+ * for the iterators, which throw ConcurrentModificationException if the
+ * tree was restructured after they were created. Nodes carry no height, so
+ * getHeight() walks the whole tree. getRoot(), search(), removeMin() and
+ * removeMax() return new, detached BSTreeNode instances.
+ *
+ * @param <E> the type of elements stored in this tree, must extend Comparable
+ * @author Your Name
+ * @version 1.0
+ */
+public class SplayTree<E extends Comparable<? super E>> implements BSTreeADT<E> {
+
+    /** Serial version UID for serialization compatibility */
+    private static final long serialVersionUID = 1L;
+
+    /** The root node, null if the tree is empty */
+    private transient Node<E> root;
+
+    /** Number of elements in the tree */
+    private transient int size;
+
+    /** Number of structural modifications, checked by the iterators */
+    private transient int modCount;
+
+    /** Collects the left and right trees during a splay, empty in between */
+    private transient Node<E> header = new Node<>(null);
+
+    /**
+     * A node of the tree, holding one element and links to its children.
+     *
+     * @param <E> the type of the element
+     */
+    private static final class Node<E> {
+
+        /** The element held by this node */
+        final E data;
+
+        /** The left child, holding smaller elements */
+        Node<E> left;
+
+        /** The right child, holding larger elements */
+        Node<E> right;
+
+        /**
+         * Constructs a node with no children.
+         *
+         * @param data the element to hold
+         */
+        Node(E data) {
+            this.data = data;
+        }
+    }
+
+    /**
+     * Constructs an empty splay tree.
+     */
+    public SplayTree() {
+    }
+
+    /**
+     * Returns a detached node holding the element at the root of the tree,
+     * which is the element most recently accessed.
+     *
+     * @return a new node holding the root element
+     * @throws NullPointerException if the tree is empty and there is no root node
+     */
+    @Override
+    public BSTreeNode<E> getRoot() throws NullPointerException {
+        if (root == null) {
+            throw new NullPointerException("Tree is empty - no root node exists");
+        }
+        return new BSTreeNode<>(root.data);
+    }
+
+    /**
+     * Returns the height of the tree, counting nodes. Nodes do not store
+     * their height, so this visits every node.
+     *
+     * @return the height of the tree, 0 if it is empty
+     */
+    @Override
+    public int getHeight() {
+        int height = 0;
+        Deque<Node<E>> level = new ArrayDeque<>();
+        if (root != null) {
+            level.add(root);
+        }
+        while (!level.isEmpty()) {
+            height++;
+            for (int i = level.size(); i > 0; i--) {
+                Node<E> node = level.poll();
+                if (node.left != null) {
+                    level.add(node.left);
+                }
+                if (node.right != null) {
+                    level.add(node.right);
+                }
+            }
+        }
+        return height;
+    }
+
+    /**
+     * Returns the number of elements in the tree.
+     *
+     * @return the number of elements in the tree
+     */
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Checks if the tree is currently empty.
+     *
+     * @return true if the tree is empty, false otherwise
+     */
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Removes all elements from the tree.
+     */
+    @Override
+    public void clear() {
+        root = null;
+        size = 0;
+        modCount++;
+    }
+
+    /**
+     * Checks if the tree contains the specified element, splaying the last
+     * node reached to the root.
+     *
+     * @param entry the element to search for in the tree
+     * @return true if the element is found in the tree, false otherwise
+     * @throws NullPointerException if the entry being passed in is null
+     */
+    @Override
+    public boolean contains(E entry) throws NullPointerException {
+        return find(entry) != null;
+    }
+
+    /**
+     * Searches for the specified element, splaying the last node reached to
+     * the root, and returns a detached node holding it.
+     *
+     * @param entry the element to search for
+     * @return a new node holding the element, or null if not found
+     * @throws NullPointerException if the entry being passed in is null
+     */
+    @Override
+    public BSTreeNode<E> search(E entry) throws NullPointerException {
+        E found = find(entry);
+        return found == null ? null : new BSTreeNode<>(found);
+    }
+
+    /**
+     * Helper method to splay an element and return it if it ended at the root.
+     *
+     * @param entry the element to look for
+     * @return the stored element, or null if not found
+     * @throws NullPointerException if entry is null
+     */
+    private E find(E entry) throws NullPointerException {
+        if (entry == null) {
+            throw new NullPointerException("Entry cannot be null");
+        }
+        if (root == null) {
+            return null;
+        }
+        return splay(entry, 0) == 0 ? root.data : null;
+    }
+
+    /**
+     * Helper method to splay to the root the node holding an element or,
+     * if it is absent, the last node on its search path. The tree is split
+     * on the way down into a left tree of smaller and a right tree of larger
+     * elements, rotating whenever two steps go the same way, and the three
+     * parts are joined again at the end.
+     *
+     * @param entry the element to splay, ignored when edge is not 0
+     * @param edge -1 to splay the smallest element, 1 for the largest, 0 for entry
+     * @return the comparison of the splayed element with the new root, 0 if it was found
+     */
+    private int splay(E entry, int edge) {
+        Node<E> header = this.header;
+        Node<E> leftMax = header;
+        Node<E> rightMin = header;
+        Node<E> node = root;
+        int comparison = compare(entry, edge, node);
+
+        while (comparison != 0) {
+            if (comparison < 0) {
+                Node<E> child = node.left;
+                if (child == null) {
+                    break;
+                }
+                comparison = compare(entry, edge, child);
+                if (comparison < 0) {
+                    node.left = child.right;
+                    child.right = node;
+                    node = child;
+                    if (node.left == null) {
+                        break;
+                    }
+                    rightMin.left = node;
+                    rightMin = node;
+                    node = node.left;
+                    comparison = compare(entry, edge, node);
+                } else {
+                    rightMin.left = node;
+                    rightMin = node;
+                    node = child;
+                }
+            } else {
+                Node<E> child = node.right;
+                if (child == null) {
+                    break;
+                }
+                comparison = compare(entry, edge, child);
+                if (comparison > 0) {
+                    node.right = child.left;
+                    child.left = node;
+                    node = child;
+                    if (node.right == null) {
+                        break;
+                    }
+                    leftMax.right = node;
+                    leftMax = node;
+                    node = node.right;
+                    comparison = compare(entry, edge, node);
+                } else {
+                    leftMax.right = node;
+                    leftMax = node;
+                    node = child;
+                }
+            }
+        }
+
+        leftMax.right = node.left;
+        rightMin.left = node.right;
+        node.left = header.right;
+        node.right = header.left;
+        header.left = null;
+        header.right = null;
+        if (node != root) {
+            root = node;
+            modCount++;
+        }
+        return comparison;
+    }
+
+    /**
+     * Helper method to compare the element being splayed with a node.
+     *
+     * @param entry the element being splayed, ignored when edge is not 0
+     * @param edge -1 when splaying the smallest element, 1 for the largest, 0 for entry
+     * @param node the node to compare with
+     * @return a negative, zero or positive value as the splayed element lies
+     *         left of, at, or right of the node
+     */
+    private static <E extends Comparable<? super E>> int compare(E entry, int edge, Node<E> node) {
+        return edge != 0 ? edge : entry.compareTo(node.data);
+    }
+
+    /**
+     * Adds a new element to the tree as its new root.
+     *
+     * @param newEntry the element to add to the tree
+     * @return true if the element was added successfully, false if it already exists
+     * @throws NullPointerException if the newEntry being passed in is null
+     */
+    @Override
+    public boolean add(E newEntry) throws NullPointerException {
+        if (newEntry == null) {
+            throw new NullPointerException("Entry cannot be null");
+        }
+
+        Node<E> node = new Node<>(newEntry);
+        if (root != null) {
+            int comparison = splay(newEntry, 0);
+            if (comparison == 0) {
+                return false;
+            }
+            if (comparison < 0) {
+                node.left = root.left;
+                node.right = root;
+                root.left = null;
+            } else {
+                node.right = root.right;
+                node.left = root;
+                root.right = null;
+            }
+        }
+        root = node;
+        size++;
+        modCount++;
+        return true;
+    }
+
+    /**
+     * Removes the smallest element in the tree after splaying it to the root.
+     *
+     * @return a detached node holding the removed element, or null if the tree is empty
+     */
+    @Override
+    public BSTreeNode<E> removeMin() {
+        if (root == null) {
+            return null;
+        }
+        splay(null, -1);
+        E removed = root.data;
+        root = root.right;
+        size--;
+        modCount++;
+        return new BSTreeNode<>(removed);
+    }
+
+    /**
+     * Removes the largest element in the tree after splaying it to the root.
+     *
+     * @return a detached node holding the removed element, or null if the tree is empty
+     */
+    @Override
+    public BSTreeNode<E> removeMax() {
+        if (root == null) {
+            return null;
+        }
+        splay(null, 1);
+        E removed = root.data;
+        root = root.left;
+        size--;
+        modCount++;
+        return new BSTreeNode<>(removed);
+    }
+
+    /**
+     * Creates an iterator to traverse the tree in natural order.
+     *
+     * @return an iterator with elements in natural order
+     */
+    @Override
+    public Iterator<E> inorderIterator() {
+        return new InorderIterator();
+    }
+
+    /**
+     * Creates an iterator to traverse the tree in pre-order.
+     *
+     * @return an iterator with elements in pre-order
+     */
+    @Override
+    public Iterator<E> preorderIterator() {
+        return new PreorderIterator();
+    }
+
+    /**
+     * Creates an iterator to traverse the tree in post-order.
+     *
+     * @return an iterator with elements in post-order
+     */
+    @Override
+    public Iterator<E> postorderIterator() {
+        return new PostorderIterator();
+    }
+
+    /**
+     * Base class for the lazy tree iterators, which keep an explicit stack
+     * of pending nodes and fail fast when the tree is restructured.
+     */
+    private abstract class TreeIterator implements Iterator<E> {
+
+        /** Pending nodes, the next element's node being on top */
+        protected final Deque<Node<E>> stack = new ArrayDeque<>();
+
+        /** The modification count the tree is expected to have */
+        private final int expectedModCount = modCount;
+
+        /**
+         * Returns true if the iteration has more elements.
+         *
+         * @return true if the iterator has more elements
+         */
+        @Override
+        public boolean hasNext() {
+            return !stack.isEmpty();
+        }
+
+        /**
+         * Returns the next element in the iteration.
+         *
+         * @return the next element in the iteration
+         * @throws NoSuchElementException if the iteration has no more elements
+         * @throws ConcurrentModificationException if the tree was
+         *         restructured after this iterator was created
+         */
+        @Override
+        public E next() throws NoSuchElementException {
+            if (modCount != expectedModCount) {
+                throw new ConcurrentModificationException("Tree modified during iteration");
+            }
+            if (!hasNext()) {
+                throw new NoSuchElementException("No more elements in iteration");
+            }
+            return advance().data;
+        }
+
+        /**
+         * Pops the next node in traversal order and pushes whatever nodes
+         * are needed to continue the traversal after it.
+         *
+         * @return the next node in traversal order
+         */
+        protected abstract Node<E> advance();
+    }
+
+    /**
+     * Lazy in-order iterator. The stack holds the left spine of the
+     * unvisited part of the tree.
+     */
+    private class InorderIterator extends TreeIterator {
+
+        /**
+         * Constructs an in-order iterator positioned before the smallest element.
+         */
+        InorderIterator() {
+            pushLeftSpine(root);
+        }
+
+        /**
+         * Pushes a node and all of its left descendants onto the stack.
+         *
+         * @param node the top of the spine, may be null
+         */
+        private void pushLeftSpine(Node<E> node) {
+            while (node != null) {
+                stack.push(node);
+                node = node.left;
+            }
+        }
+
+        @Override
+        protected Node<E> advance() {
+            Node<E> node = stack.pop();
+            pushLeftSpine(node.right);
+            return node;
+        }
+    }
+
+    /**
+     * Lazy pre-order iterator. The stack holds the roots of the subtrees
+     * still to be visited, right siblings below left ones.
+     */
+    private class PreorderIterator extends TreeIterator {
+
+        /**
+         * Constructs a pre-order iterator positioned before the root element.
+         */
+        PreorderIterator() {
+            if (root != null) {
+                stack.push(root);
+            }
+        }
+
+        @Override
+        protected Node<E> advance() {
+            Node<E> node = stack.pop();
+            if (node.right != null) {
+                stack.push(node.right);
+            }
+            if (node.left != null) {
+                stack.push(node.left);
+            }
+            return node;
+        }
+    }
+
+    /**
+     * Lazy post-order iterator. The stack holds the path from the root to
+     * the next node to visit, which is always the first leaf reached by
+     * preferring left children over right ones.
+     */
+    private class PostorderIterator extends TreeIterator {
+
+        /**
+         * Constructs a post-order iterator positioned before the first leaf.
+         */
+        PostorderIterator() {
+            pushFirstLeafPath(root);
+        }
+
+        /**
+         * Pushes the path from a node down to the first leaf visited in
+         * post-order within its subtree.
+         *
+         * @param node the root of the subtree, may be null
+         */
+        private void pushFirstLeafPath(Node<E> node) {
+            while (node != null) {
+                stack.push(node);
+                node = node.left != null ? node.left : node.right;
+            }
+        }
+
+        @Override
+        protected Node<E> advance() {
+            Node<E> node = stack.pop();
+            Node<E> parent = stack.peek();
+            if (parent != null && parent.left == node) {
+                pushFirstLeafPath(parent.right);
+            }
+            return node;
+        }
+    }
+
+    /**
+     * Writes the number of elements followed by the elements in ascending order.
+     *
+     * @param out the stream to write to
+     * @throws IOException if the stream cannot be written
+     */
+    private void writeObject(ObjectOutputStream out) throws IOException {
+        out.defaultWriteObject();
+        out.writeInt(size);
+        Iterator<E> iterator = inorderIterator();
+        while (iterator.hasNext()) {
+            out.writeObject(iterator.next());
+        }
+    }
+
+    /**
+     * Rebuilds the tree, perfectly balanced, from the elements written by
+     * writeObject.
+     *
+     * @param in the stream to read from
+     * @throws IOException if the stream cannot be read or holds an invalid tree
+     * @throws ClassNotFoundException if a class in the stream cannot be found
+     */
+    @SuppressWarnings("unchecked")
+    private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+        in.defaultReadObject();
+        int count = in.readInt();
+        if (count < 0) {
+            throw new InvalidObjectException("Negative element count");
+        }
+        Object[] elements = new Object[count];
+        for (int i = 0; i < count; i++) {
+            E element = (E) in.readObject();
+            if (element == null || (i > 0 && ((E) elements[i - 1]).compareTo(element) >= 0)) {
+                throw new InvalidObjectException("Elements are not in strictly ascending order");
+            }
+            elements[i] = element;
+        }
+        root = buildBalanced(elements, 0, count - 1);
+        size = count;
+        header = new Node<>(null);
+    }
+
+    /**
+     * Helper method to build a perfectly balanced subtree from a sorted range.
+     *
+     * @param elements the elements in ascending order
+     * @param low the index of the first element of the range
+     * @param high the index of the last element of the range
+     * @return the root of the subtree, or null if the range is empty
+     */
+    @SuppressWarnings("unchecked")
+    private static <E> Node<E> buildBalanced(Object[] elements, int low, int high) {
+        if (low > high) {
+            return null;
+        }
+        int middle = (low + high) >>> 1;
+        Node<E> node = new Node<>((E) elements[middle]);
+        node.left = buildBalanced(elements, low, middle - 1);
+        node.right = buildBalanced(elements, middle + 1, high);
+        return node;
+    }
+
+    /**
+     * Returns a string representation of the tree using in-order traversal.
+     *
+     * @return string representation of the tree
+     */
+    @Override
+    public String toString() {
+        StringBuilder result = new StringBuilder("[");
+        Iterator<E> iterator = inorderIterator();
+        while (iterator.hasNext()) {
+            result.append(iterator.next());
+            if (iterator.hasNext()) {
+                result.append(", ");
+            }
+        }
+        return result.append("]").toString();
+    }
+}
@@ -4,6 +4,8 @@
 package utilities;
 
 import java.io.Serializable;
+import java.util.Arrays;
+import java.util.Collection;
 
 import implementations.BSTreeNode;
 
@@ -86,6 +88,51 @@ public interface BSTreeADT<E extends Comparable<? super E>> extends	Serializable
 	 */
 	public boolean add( E newEntry ) throws NullPointerException;
 
+	/**
+	 * Adds every element of the collection to the tree according to the natural
+	 * ordering established by the Comparable implementation. Elements already
+	 * in the tree, and repeats within the collection, are not added again.
+	 * 
+	 * @param entries the elements being added to the tree
+	 * @return the number of elements that were not already in the tree
+	 * @throws NullPointerException if the collection or any of its elements is
+	 *                              null
+	 */
+	public default int addAll( Collection<? extends E> entries ) throws NullPointerException
+	{
+		if( entries == null )
+		{
+			throw new NullPointerException( "Entries cannot be null" );
+		}
+		int added = 0;
+		for( E entry : entries )
+		{
+			if( add( entry ) )
+			{
+				added++;
+			}
+		}
+		return added;
+	}
+
+	/**
+	 * Adds every element of the array to the tree according to the natural
+	 * ordering established by the Comparable implementation. Elements already
+	 * in the tree, and repeats within the array, are not added again.
+	 * 
+	 * @param entries the elements being added to the tree
+	 * @return the number of elements that were not already in the tree
+	 * @throws NullPointerException if the array or any of its elements is null
+	 */
+	public default int addAll( E[] entries ) throws NullPointerException
+	{
+		if( entries == null )
+		{
+			throw new NullPointerException( "Entries cannot be null" );
+		}
+		return addAll( Arrays.asList( entries ) );
+	}
+
 	/**
 	 * Removes the smallest element in the tree according to the natural ordering
 	 * established by the Comparable implementation.
@@ -0,0 +1,221 @@
+package utilities;
+
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * This interface describes how the elements of a tree are encoded into, and
+ * decoded from, raw memory so that trees can keep their keys outside the
+ * Java heap or in files. Every encoded key occupies at most
+ * <code>width()</code> bytes and must be decodable from its first byte
+ * alone. Codecs for <code>int</code>, <code>long</code> and length-prefixed
+ * UTF-8 strings are provided.
+ *
+ * @param <E> The type of element this codec encodes.
+ */
+public interface KeyCodec<E extends Comparable<? super E>>
+{
+	/**
+	 * Returns the largest number of bytes an encoded key can occupy.
+	 *
+	 * @return the maximum encoded width in bytes.
+	 */
+	public int width();
+
+	/**
+	 * Encodes a key into the segment at the given offset.
+	 *
+	 * @param segment the segment to write to
+	 * @param offset  the byte offset to write at
+	 * @param key     the key to encode
+	 * @return the number of bytes written, at most <code>width()</code>
+	 * @throws IllegalArgumentException if the key cannot be encoded in
+	 *                                  <code>width()</code> bytes
+	 */
+	public int write( MemorySegment segment, long offset, E key ) throws IllegalArgumentException;
+
+	/**
+	 * Decodes the key stored in the segment at the given offset.
+	 *
+	 * @param segment the segment to read from
+	 * @param offset  the byte offset of the encoded key
+	 * @return the decoded key
+	 */
+	public E read( MemorySegment segment, long offset );
+
+	/**
+	 * Compares a key with the key stored in the segment at the given offset,
+	 * consistently with the keys' natural ordering. The default implementation
+	 * decodes the stored key; the codecs provided here compare in place.
+	 *
+	 * @param key     the key to compare
+	 * @param segment the segment holding the other key
+	 * @param offset  the byte offset of the other key
+	 * @return a negative integer, zero, or a positive integer as key is less
+	 *         than, equal to, or greater than the stored key
+	 */
+	public default int compare( E key, MemorySegment segment, long offset )
+	{
+		return key.compareTo( read( segment, offset ) );
+	}
+
+	/**
+	 * Returns a codec storing each <code>Integer</code> as four bytes.
+	 *
+	 * @return a codec for int keys
+	 */
+	public static KeyCodec<Integer> ofInt()
+	{
+		return new KeyCodec<Integer>()
+		{
+			@Override
+			public int width()
+			{
+				return Integer.BYTES;
+			}
+
+			@Override
+			public int write( MemorySegment segment, long offset, Integer key )
+			{
+				segment.set( ValueLayout.JAVA_INT_UNALIGNED, offset, key );
+				return Integer.BYTES;
+			}
+
+			@Override
+			public Integer read( MemorySegment segment, long offset )
+			{
+				return segment.get( ValueLayout.JAVA_INT_UNALIGNED, offset );
+			}
+
+			@Override
+			public int compare( Integer key, MemorySegment segment, long offset )
+			{
+				return Integer.compare( key, segment.get( ValueLayout.JAVA_INT_UNALIGNED, offset ) );
+			}
+		};
+	}
+
+	/**
+	 * Returns a codec storing each <code>Long</code> as eight bytes.
+	 *
+	 * @return a codec for long keys
+	 */
+	public static KeyCodec<Long> ofLong()
+	{
+		return new KeyCodec<Long>()
+		{
+			@Override
+			public int width()
+			{
+				return Long.BYTES;
+			}
+
+			@Override
+			public int write( MemorySegment segment, long offset, Long key )
+			{
+				segment.set( ValueLayout.JAVA_LONG_UNALIGNED, offset, key );
+				return Long.BYTES;
+			}
+
+			@Override
+			public Long read( MemorySegment segment, long offset )
+			{
+				return segment.get( ValueLayout.JAVA_LONG_UNALIGNED, offset );
+			}
+
+			@Override
+			public int compare( Long key, MemorySegment segment, long offset )
+			{
+				return Long.compare( key, segment.get( ValueLayout.JAVA_LONG_UNALIGNED, offset ) );
+			}
+		};
+	}
+
+	/**
+	 * Returns a codec storing each <code>String</code> as a two-byte length
+	 * followed by its UTF-8 bytes.
+	 *
+	 * @param maxBytes the largest UTF-8 length a key may have, at most 65535
+	 * @return a codec for string keys
+	 * @throws IllegalArgumentException if maxBytes is negative or above 65535
+	 */
+	public static KeyCodec<String> ofString( int maxBytes ) throws IllegalArgumentException
+	{
+		if( maxBytes < 0 || maxBytes > 0xFFFF )
+		{
+			throw new IllegalArgumentException( "Maximum key length out of range: " + maxBytes );
+		}
+		return new KeyCodec<String>()
+		{
+			@Override
+			public int width()
+			{
+				return Short.BYTES + maxBytes;
+			}
+
+			@Override
+			public int write( MemorySegment segment, long offset, String key )
+			{
+				byte[] bytes = key.getBytes( StandardCharsets.UTF_8 );
+				if( bytes.length > maxBytes )
+				{
+					throw new IllegalArgumentException( "Key longer than " + maxBytes + " bytes: " + key );
+				}
+				segment.set( ValueLayout.JAVA_SHORT_UNALIGNED, offset, (short) bytes.length );
+				MemorySegment.copy( bytes, 0, segment, ValueLayout.JAVA_BYTE, offset + Short.BYTES, bytes.length );
+				return Short.BYTES + bytes.length;
+			}
+
+			@Override
+			public String read( MemorySegment segment, long offset )
+			{
+				int length = Short.toUnsignedInt( segment.get( ValueLayout.JAVA_SHORT_UNALIGNED, offset ) );
+				byte[] bytes = new byte[length];
+				MemorySegment.copy( segment, ValueLayout.JAVA_BYTE, offset + Short.BYTES, bytes, 0, length );
+				return new String( bytes, StandardCharsets.UTF_8 );
+			}
+
+			// Decodes the stored UTF-8 bytes one code point at a time into
+			// UTF-16 chars, so that no String is created and the result
+			// matches String.compareTo.
+			@Override
+			public int compare( String key, MemorySegment segment, long offset )
+			{
+				long position = offset + Short.BYTES;
+				long end = position + Short.toUnsignedInt( segment.get( ValueLayout.JAVA_SHORT_UNALIGNED, offset ) );
+				int index = 0;
+				while( position < end )
+				{
+					int codePoint = segment.get( ValueLayout.JAVA_BYTE, position++ ) & 0xFF;
+					if( codePoint >= 0x80 )
+					{
+						int continuation = codePoint >= 0xF0 ? 3 : codePoint >= 0xE0 ? 2 : 1;
+						codePoint &= 0x3F >> continuation;
+						for( int i = 0; i < continuation; i++ )
+						{
+							codePoint = ( codePoint << 6 ) | ( segment.get( ValueLayout.JAVA_BYTE, position++ ) & 0x3F );
+						}
+					}
+
+					int units = Character.isBmpCodePoint( codePoint ) ? 1 : 2;
+					for( int unit = 0; unit < units; unit++ )
+					{
+						char decoded = units == 1 ? (char) codePoint
+								: unit == 0 ? Character.highSurrogate( codePoint ) : Character.lowSurrogate( codePoint );
+						if( index == key.length() )
+						{
+							return -1;
+						}
+						int difference = key.charAt( index++ ) - decoded;
+						if( difference != 0 )
+						{
+							return difference;
+						}
+					}
+				}
+				return key.length() - index;
+			}
+		};
+	}
+}